@@ -246,6 +246,77 @@ public abstract class AbstractFlywayTask extends Task {
         flyway.setInstalledBy(installedBy);
     }
 
+    /**
+     * Whether migrate should compute the pending migrations only once and then apply all of them based on this plan,
+     * instead of reacquiring the lock on the metadata table and recomputing the pending migrations after every
+     * single migration. On databases where the Flyway lock is held by the session (PostgreSQL, MySQL) the lock is
+     * then only acquired once for the whole run.<br>
+     * Also configurable with Ant Property: ${flyway.singleLockMigrate}
+     *
+     * @param singleLockMigrate {@code true} if all pending migrations should be applied based on a single plan. {@code false} if not. (default: {@code false})
+     */
+    public void setSingleLockMigrate(boolean singleLockMigrate) {
+        flyway.setSingleLockMigrate(singleLockMigrate);
+    }
+
+    /**
+     * The maximum number of consecutive DML statements (INSERT, UPDATE, DELETE) of a sql migration to send to the
+     * database together as a single JDBC batch. DDL, non-transactional statements and PostgreSQL COPY blocks are
+     * always executed on their own. Batching is only used when it is supported by the JDBC driver.<br>
+     * Also configurable with Ant Property: ${flyway.sqlBatchSize}
+     *
+     * @param sqlBatchSize The maximum number of statements per batch. {@code 0} or {@code 1} to disable batching. (default: {@code 0})
+     */
+    public void setSqlBatchSize(int sqlBatchSize) {
+        flyway.setSqlBatchSize(sqlBatchSize);
+    }
+
+    /**
+     * The directory in which to keep a cache of the checksums of sql migrations. On subsequent runs, the checksum
+     * of a migration is then taken from this cache as long as its size and last modification time (filesystem) or
+     * its size and stored crc (jar) haven't changed, instead of reading the whole migration again.<br>
+     * Also configurable with Ant Property: ${flyway.checksumCacheDirectory}
+     *
+     * @param checksumCacheDirectory The directory of the checksum cache. (default: none, the cache is disabled)
+     */
+    public void setChecksumCacheDirectory(String checksumCacheDirectory) {
+        flyway.setChecksumCacheDirectory(checksumCacheDirectory);
+    }
+
+    /**
+     * The number of threads to use for resolving migrations. With more than one thread, the locations are scanned
+     * concurrently and the checksums of all sql migrations are calculated up front in parallel, which mainly pays off
+     * for locations with a high latency per file, such as network filesystems.<br>
+     * Also configurable with Ant Property: ${flyway.resolverThreads}
+     *
+     * @param resolverThreads The number of threads to use for resolving migrations. (default: 1)
+     */
+    public void setResolverThreads(int resolverThreads) {
+        flyway.setResolverThreads(resolverThreads);
+    }
+
+    /**
+     * The number of threads to use for cleaning. With more than one thread, the schemas are cleaned or dropped
+     * concurrently, each on its own connection, which pays off when cleaning many schemas.<br>
+     * Also configurable with Ant Property: ${flyway.cleanThreads}
+     *
+     * @param cleanThreads The number of threads to use for cleaning. (default: 1)
+     */
+    public void setCleanThreads(int cleanThreads) {
+        flyway.setCleanThreads(cleanThreads);
+    }
+
+    /**
+     * The maximum time in seconds to wait for the lock on the metadata table held by another Flyway instance.
+     * Where the database supports it, the lock is polled for without blocking the connection.<br>
+     * Also configurable with Ant Property: ${flyway.lockTimeout}
+     *
+     * @param lockTimeout The maximum time in seconds to wait for the lock on the metadata table. (default: 0, wait indefinitely)
+     */
+    public void setLockTimeout(int lockTimeout) {
+        flyway.setLockTimeout(lockTimeout);
+    }
+
     /**
      * Creates the datasource base on the provided parameters.
      *
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for MigrationVersion, parsing and sorting the versions of 10,000 migrations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MigrationVersionBenchmark {
+    private static final int VERSIONS = 10000;
+
+    private String[] versionStrings;
+
+    private List<MigrationVersion> versions;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        versionStrings = new String[VERSIONS];
+        versions = new ArrayList<MigrationVersion>(VERSIONS);
+        for (int i = 0; i < VERSIONS; i++) {
+            // Mix of simple, multi-part and timestamp-style versions
+            switch (i % 3) {
+                case 0:
+                    versionStrings[i] = String.valueOf(i);
+                    break;
+                case 1:
+                    versionStrings[i] = (i / 100) + "." + (i % 100) + "." + random.nextInt(10);
+                    break;
+                default:
+                    versionStrings[i] = "2017" + (100000000L + random.nextInt(100000000));
+            }
+            versions.add(MigrationVersion.fromVersion(versionStrings[i]));
+        }
+        Collections.shuffle(versions, random);
+    }
+
+    @Benchmark
+    public MigrationVersion[] fromVersion() {
+        MigrationVersion[] result = new MigrationVersion[VERSIONS];
+        for (int i = 0; i < VERSIONS; i++) {
+            result[i] = MigrationVersion.fromVersion(versionStrings[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<MigrationVersion> compareTo() {
+        List<MigrationVersion> sorted = new ArrayList<MigrationVersion>(versions);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
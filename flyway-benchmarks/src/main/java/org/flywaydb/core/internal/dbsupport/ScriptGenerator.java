@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
+import org.flywaydb.core.internal.dbsupport.hsql.HsqlDbSupport;
+import org.flywaydb.core.internal.dbsupport.mysql.MySQLDbSupport;
+import org.flywaydb.core.internal.dbsupport.oracle.OracleDbSupport;
+import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLDbSupport;
+import org.flywaydb.core.internal.dbsupport.sqlserver.SQLServerDbSupport;
+
+/**
+ * Generates large sql scripts in the syntax of the various databases, mixing plain statements, comments, string
+ * literals and the procedural blocks each database delimits differently.
+ */
+public final class ScriptGenerator {
+    /**
+     * Prevents instantiation.
+     */
+    private ScriptGenerator() {
+        // Do nothing
+    }
+
+    /**
+     * Creates the support for this database. It doesn't require a connection as long as it is only used for parsing.
+     *
+     * @param dialect The name of the database.
+     * @return The database-specific support.
+     */
+    public static DbSupport createDbSupport(String dialect) {
+        if ("h2".equals(dialect)) {
+            return new H2DbSupport(null);
+        }
+        if ("hsql".equals(dialect)) {
+            return new HsqlDbSupport(null);
+        }
+        if ("mysql".equals(dialect)) {
+            return new MySQLDbSupport(null);
+        }
+        if ("oracle".equals(dialect)) {
+            return new OracleDbSupport(null);
+        }
+        if ("postgresql".equals(dialect)) {
+            return new PostgreSQLDbSupport(null);
+        }
+        if ("sqlserver".equals(dialect)) {
+            return new SQLServerDbSupport(null);
+        }
+        throw new IllegalArgumentException("Unsupported dialect: " + dialect);
+    }
+
+    /**
+     * Generates a script for this database.
+     *
+     * @param dialect    The name of the database.
+     * @param statements The number of statements the script should contain.
+     * @return The script.
+     */
+    public static String generate(String dialect, int statements) {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < statements; i++) {
+            switch (i % 5) {
+                case 0:
+                    script.append("-- Table ").append(i).append('\n');
+                    script.append("CREATE TABLE t_").append(i).append(" (\n");
+                    script.append("  id INT NOT NULL,\n");
+                    script.append("  name VARCHAR(100),\n");
+                    script.append("  created DATE\n");
+                    script.append(");\n");
+                    break;
+                case 1:
+                    script.append("INSERT INTO t_").append(i - 1)
+                            .append(" (id, name) VALUES (").append(i).append(", 'It''s -- not; a comment');\n");
+                    break;
+                case 2:
+                    script.append("/* Multi-line\n   comment; with a delimiter */\n");
+                    script.append("UPDATE t_").append(i - 2).append("\n   SET name = 'updated'\n WHERE id = ")
+                            .append(i).append(";\n");
+                    break;
+                case 3:
+                    script.append("CREATE INDEX i_").append(i).append(" ON t_").append(i - 3).append(" (name);\n");
+                    break;
+                default:
+                    appendBlock(script, dialect, i);
+            }
+            script.append('\n');
+        }
+        return script.toString();
+    }
+
+    /**
+     * Appends a procedural block in the syntax of this database.
+     *
+     * @param script  The script to append to.
+     * @param dialect The name of the database.
+     * @param i       The number of the statement.
+     */
+    private static void appendBlock(StringBuilder script, String dialect, int i) {
+        if ("mysql".equals(dialect)) {
+            script.append("DELIMITER $$\n");
+            script.append("CREATE PROCEDURE p_").append(i).append("()\n");
+            script.append("BEGIN\n  SELECT 1;\n  SELECT 'x;y';\nEND $$\n");
+            script.append("DELIMITER ;\n");
+        } else if ("oracle".equals(dialect)) {
+            script.append("CREATE OR REPLACE PROCEDURE p_").append(i).append(" AS\n");
+            script.append("BEGIN\n  NULL;\n  DBMS_OUTPUT.PUT_LINE('x;y');\nEND;\n/\n");
+        } else if ("postgresql".equals(dialect)) {
+            script.append("CREATE FUNCTION f_").append(i).append("() RETURNS INTEGER AS $$\n");
+            script.append("BEGIN\n  PERFORM 'x;y';\n  RETURN 1;\nEND;\n$$ LANGUAGE plpgsql;\n");
+        } else if ("sqlserver".equals(dialect)) {
+            script.append("CREATE PROCEDURE p_").append(i).append(" AS\n");
+            script.append("BEGIN\n  SELECT 1;\n  SELECT 'x;y';\nEND\nGO\n");
+        } else if ("hsql".equals(dialect)) {
+            script.append("CREATE PROCEDURE p_").append(i).append("()\n");
+            script.append("BEGIN ATOMIC\n  DECLARE x INT;\n  SET x = 1;\nEND;\n");
+        } else {
+            script.append("CREATE VIEW v_").append(i).append(" AS SELECT 'x;y' AS c FROM DUAL;\n");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for SqlScript, parsing and analysing large generated scripts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SqlScriptBenchmark {
+    @Param({"mysql", "postgresql"})
+    public String dialect;
+
+    @Param({"1000", "10000"})
+    public int statements;
+
+    private DbSupport dbSupport;
+
+    private String source;
+
+    private SqlScript sqlScript;
+
+    @Setup
+    public void setUp() {
+        dbSupport = ScriptGenerator.createDbSupport(dialect);
+        source = ScriptGenerator.generate(dialect, statements);
+        sqlScript = new SqlScript("", dbSupport);
+    }
+
+    @Benchmark
+    public List<SqlStatement> parse() {
+        return sqlScript.parse(source);
+    }
+
+    @Benchmark
+    public Integer parseResource() {
+        // Streams the resource, analysing it and calculating its checksum in a single pass
+        SqlScript resourceScript = new SqlScript(dbSupport, new StringResource(source),
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false);
+        resourceScript.executeInTransaction();
+        return resourceScript.getChecksum();
+    }
+
+    /**
+     * Resource backed by a string.
+     */
+    private static class StringResource implements Resource {
+        private final String source;
+
+        StringResource(String source) {
+            this.source = source;
+        }
+
+        public String getLocation() {
+            return "benchmark.sql";
+        }
+
+        public String getLocationOnDisk() {
+            return null;
+        }
+
+        public String getFingerprint() {
+            return null;
+        }
+
+        public String loadAsString(String encoding) {
+            return source;
+        }
+
+        public Reader loadAsReader(String encoding) {
+            return new StringReader(source);
+        }
+
+        public byte[] loadAsBytes() {
+            throw new UnsupportedOperationException();
+        }
+
+        public String getFilename() {
+            return getLocation();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the SqlStatementBuilder subclasses of the various databases, splitting large generated scripts into
+ * statements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SqlStatementBuilderBenchmark {
+    @Param({"h2", "hsql", "mysql", "oracle", "postgresql", "sqlserver"})
+    public String dialect;
+
+    @Param({"1000", "10000"})
+    public int statements;
+
+    private DbSupport dbSupport;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        dbSupport = ScriptGenerator.createDbSupport(dialect);
+        source = ScriptGenerator.generate(dialect, statements);
+    }
+
+    @Benchmark
+    public void nextStatement(Blackhole blackhole) throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(dbSupport, new StringReader(source));
+        SqlStatement sqlStatement;
+        while ((sqlStatement = reader.nextStatement()) != null) {
+            blackhole.consume(sqlStatement);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.info;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.metadatatable.AppliedMigration;
+import org.flywaydb.core.internal.metadatatable.MetaDataTable;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for MigrationInfoServiceImpl, merging 10,000 applied migrations with the resolved ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MigrationInfoServiceImplBenchmark {
+    private static final int APPLIED = 10000;
+
+    /**
+     * The number of resolved migrations that haven't been applied yet.
+     */
+    @Param({"0", "1000"})
+    public int pending;
+
+    private MigrationResolver migrationResolver;
+
+    private MetaDataTable metaDataTable;
+
+    @Setup
+    public void setUp() {
+        final List<ResolvedMigration> resolvedMigrations = new ArrayList<ResolvedMigration>();
+        List<AppliedMigration> appliedMigrations = new ArrayList<AppliedMigration>();
+        Date installedOn = new Date();
+        for (int i = 1; i <= APPLIED + pending; i++) {
+            MigrationVersion version = MigrationVersion.fromVersion(String.valueOf(i));
+            String description = "Migration " + i;
+            String script = "V" + i + "__Migration_" + i + ".sql";
+
+            ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+            resolvedMigration.setVersion(version);
+            resolvedMigration.setDescription(description);
+            resolvedMigration.setScript(script);
+            resolvedMigration.setChecksum(i);
+            resolvedMigration.setType(MigrationType.SQL);
+            resolvedMigrations.add(resolvedMigration);
+
+            if (i <= APPLIED) {
+                appliedMigrations.add(new AppliedMigration(i, version, description, MigrationType.SQL, script, i,
+                        installedOn, "flyway", 10, true));
+            }
+        }
+
+        migrationResolver = new MigrationResolver() {
+            @Override
+            public Collection<ResolvedMigration> resolveMigrations() {
+                return resolvedMigrations;
+            }
+        };
+        metaDataTable = new InMemoryMetaDataTable(appliedMigrations);
+    }
+
+    @Benchmark
+    public MigrationInfoServiceImpl refresh() {
+        MigrationInfoServiceImpl migrationInfoService =
+                new MigrationInfoServiceImpl(migrationResolver, metaDataTable, MigrationVersion.LATEST, false, true, true, true);
+        migrationInfoService.refresh();
+        return migrationInfoService;
+    }
+
+    @Benchmark
+    public String refreshAndValidate() {
+        return refresh().validate();
+    }
+
+    /**
+     * Read-only metadata table holding a fixed list of applied migrations.
+     */
+    private static class InMemoryMetaDataTable implements MetaDataTable {
+        private final List<AppliedMigration> appliedMigrations;
+
+        InMemoryMetaDataTable(List<AppliedMigration> appliedMigrations) {
+            this.appliedMigrations = appliedMigrations;
+        }
+
+        @Override
+        public <T> T lock(Callable<T> callable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getLockWaitTime() {
+            return 0;
+        }
+
+        @Override
+        public void addAppliedMigration(AppliedMigration appliedMigration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public boolean hasAppliedMigrations() {
+            return !appliedMigrations.isEmpty();
+        }
+
+        @Override
+        public List<AppliedMigration> allAppliedMigrations() {
+            return appliedMigrations;
+        }
+
+        @Override
+        public void addBaselineMarker(MigrationVersion initVersion, String initDescription) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean hasBaselineMarker() {
+            return false;
+        }
+
+        @Override
+        public AppliedMigration getBaselineMarker() {
+            return null;
+        }
+
+        @Override
+        public void removeFailedMigrations() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addSchemasMarker(Schema[] schemas) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean hasSchemasMarker() {
+            return false;
+        }
+
+        @Override
+        public void update(MigrationVersion version, String description, Integer checksum) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean upgradeIfNecessary() {
+            return false;
+        }
+
+        @Override
+        public void clearCache() {
+            // Nothing cached
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for PlaceholderReplacer, replacing the placeholders of a large script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PlaceholderReplacerBenchmark {
+    /**
+     * The number of distinct placeholders defined.
+     */
+    @Param({"5", "50"})
+    public int placeholders;
+
+    /**
+     * The number of lines of the script, each of which references a placeholder.
+     */
+    @Param({"1000", "10000"})
+    public int lines;
+
+    private PlaceholderReplacer placeholderReplacer;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> values = new HashMap<String, String>();
+        for (int i = 0; i < placeholders; i++) {
+            values.put("placeholder" + i, "value_" + i);
+        }
+        placeholderReplacer = new PlaceholderReplacer(values, "${", "}");
+
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            script.append("INSERT INTO ${placeholder").append(i % placeholders)
+                    .append("}.t (id, name) VALUES (").append(i).append(", 'no placeholder here');\n");
+        }
+        source = script.toString();
+    }
+
+    @Benchmark
+    public String replacePlaceholders() {
+        return placeholderReplacer.replacePlaceholders(source);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Benchmark for ClassPathScanner, scanning a large synthetic jar for sql migrations and Java migrations. Each
+ * invocation uses a new scanner, as a scanner caches what it has already scanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClassPathScannerBenchmark {
+    private static final Location LOCATION = new Location("classpath:db/migration");
+
+    /**
+     * The number of migrations in the jar. It contains as many unrelated resources and classes besides these.
+     */
+    @Param({"1000", "10000"})
+    public int migrations;
+
+    private File jarFile;
+
+    private URLClassLoader classLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        jarFile = File.createTempFile("flyway-benchmark", ".jar");
+        JarOutputStream jar = new JarOutputStream(new FileOutputStream(jarFile));
+        try {
+            String jdbcMigration = JdbcMigration.class.getName().replace('.', '/');
+            for (int i = 0; i < migrations; i++) {
+                addEntry(jar, "db/migration/V" + i + "__Sql_migration.sql", "SELECT 1;".getBytes("UTF-8"));
+                addEntry(jar, "db/migration/V" + i + "_1__Java_migration.class",
+                        createClassFile("db/migration/V" + i + "_1__Java_migration", jdbcMigration));
+                addEntry(jar, "db/migration/Helper" + i + ".class", createClassFile("db/migration/Helper" + i, null));
+                addEntry(jar, "com/example/app/Service" + i + ".class", createClassFile("com/example/app/Service" + i, null));
+                addEntry(jar, "com/example/app/messages" + i + ".properties", "key=value".getBytes("UTF-8"));
+            }
+        } finally {
+            jar.close();
+        }
+        classLoader = new URLClassLoader(new URL[]{jarFile.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        classLoader.close();
+        if (!jarFile.delete()) {
+            jarFile.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public Resource[] scanForResources() throws IOException {
+        return new ClassPathScanner(classLoader).scanForResources(LOCATION, "V", ".sql");
+    }
+
+    @Benchmark
+    public String[] scanForClassNames() throws Exception {
+        return new ClassPathScanner(classLoader).scanForClassNames(LOCATION, JdbcMigration.class);
+    }
+
+    private static void addEntry(JarOutputStream jar, String name, byte[] content) throws IOException {
+        jar.putNextEntry(new ZipEntry(name));
+        jar.write(content);
+        jar.closeEntry();
+    }
+
+    /**
+     * Creates a minimal class file for a public class without members.
+     *
+     * @param className     The internal name of the class.
+     * @param interfaceName The internal name of the interface it implements. {@code null} if none.
+     * @return The class file.
+     */
+    private static byte[] createClassFile(String className, String interfaceName) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(50);
+
+        // Constant pool
+        out.writeShort(interfaceName == null ? 5 : 7);
+        out.writeByte(1);
+        out.writeUTF(className);
+        out.writeByte(7);
+        out.writeShort(1);
+        out.writeByte(1);
+        out.writeUTF("java/lang/Object");
+        out.writeByte(7);
+        out.writeShort(3);
+        if (interfaceName != null) {
+            out.writeByte(1);
+            out.writeUTF(interfaceName);
+            out.writeByte(7);
+            out.writeShort(5);
+        }
+
+        // ACC_PUBLIC | ACC_SUPER
+        out.writeShort(0x0021);
+        out.writeShort(2);
+        out.writeShort(4);
+        if (interfaceName == null) {
+            out.writeShort(0);
+        } else {
+            out.writeShort(1);
+            out.writeShort(6);
+        }
+
+        // No fields, methods or attributes
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.close();
+        return bytes.toByteArray();
+    }
+}
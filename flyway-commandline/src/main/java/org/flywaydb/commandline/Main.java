@@ -254,6 +254,12 @@ public class Main {
         LOG.info("placeholderPrefix            : Prefix of every placeholder");
         LOG.info("placeholderSuffix            : Suffix of every placeholder");
         LOG.info("installedBy                  : Username that will be recorded in the metadata table");
+        LOG.info("singleLockMigrate            : Apply all pending migrations based on a single plan");
+        LOG.info("sqlBatchSize                 : Max number of DML statements per JDBC batch");
+        LOG.info("checksumCacheDirectory       : Directory for caching checksums of sql migrations");
+        LOG.info("resolverThreads              : Number of threads for resolving migrations");
+        LOG.info("cleanThreads                 : Number of threads for cleaning schemas");
+        LOG.info("lockTimeout                  : Max seconds to wait for the metadata table lock");
         LOG.info("target                       : Target version up to which Flyway should use migrations");
         LOG.info("outOfOrder                   : Allows migrations to be run \"out of order\"");
         LOG.info("callbacks                    : Comma-separated list of FlywayCallback classes");
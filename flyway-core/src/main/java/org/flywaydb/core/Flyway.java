@@ -19,15 +19,21 @@ package org.flywaydb.core;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationInfoService;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.TenantMigrationResult;
+import org.flywaydb.core.api.TenantMigrationSummary;
 import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.api.metrics.MetricsPhase;
 import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
 import org.flywaydb.core.internal.command.DbBaseline;
 import org.flywaydb.core.internal.command.DbClean;
 import org.flywaydb.core.internal.command.DbMigrate;
 import org.flywaydb.core.internal.command.DbRepair;
 import org.flywaydb.core.internal.command.DbSchemas;
+import org.flywaydb.core.internal.command.DbSnapshot;
 import org.flywaydb.core.internal.command.DbValidate;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
@@ -38,9 +44,13 @@ import org.flywaydb.core.internal.metadatatable.MetaDataTableImpl;
 import org.flywaydb.core.internal.resolver.CompositeMigrationResolver;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.ConfigurationInjectionUtils;
+import org.flywaydb.core.internal.util.DaemonThreadFactory;
 import org.flywaydb.core.internal.util.Locations;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.TimeFormat;
 import org.flywaydb.core.internal.util.VersionPrinter;
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
@@ -62,6 +72,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * This is the centre point of Flyway, and for most users, the only class they will ever have to deal with.
@@ -276,6 +290,11 @@ public class Flyway implements FlywayConfiguration {
      */
     private boolean skipDefaultCallbacks;
 
+    /**
+     * The listeners receiving the timings and counters of the commands. (default: none)
+     */
+    private MetricsListener[] metricsListeners = new MetricsListener[0];
+
     /**
      * The custom MigrationResolvers to be used in addition to the built-in ones for resolving Migrations to apply.
      * <p>(default: none)</p>
@@ -303,6 +322,12 @@ public class Flyway implements FlywayConfiguration {
      */
     private boolean dbConnectionInfoPrinted;
 
+    /**
+     * The migrations resolved by the last command. Holding on to them keeps them in the JVM-wide cache of resolved
+     * migrations for as long as this instance is around.
+     */
+    private List<ResolvedMigration> resolvedMigrations;
+
     /**
      * Whether to allow mixing transactional and non-transactional statements within the same migration.
      * <p>
@@ -317,6 +342,59 @@ public class Flyway implements FlywayConfiguration {
      */
     private String installedBy;
 
+    /**
+     * Whether migrate should compute the pending migrations only once and then apply all of them based on this plan,
+     * instead of reacquiring the lock on the metadata table and recomputing the pending migrations after every
+     * single migration.
+     * <p>
+     * {@code true} if all pending migrations should be applied based on a single plan. {@code false} if not. (default: {@code false})
+     */
+    private boolean singleLockMigrate;
+
+    /**
+     * The maximum number of consecutive DML statements (INSERT, UPDATE, DELETE) of a sql migration to send to the
+     * database together as a single JDBC batch. DDL, non-transactional statements and PostgreSQL COPY blocks are
+     * always executed on their own. Batching is only used when it is supported by the JDBC driver.
+     * <p>
+     * The maximum number of statements per batch. {@code 0} or {@code 1} to disable batching. (default: {@code 0})
+     */
+    private int sqlBatchSize;
+
+    /**
+     * The directory in which to keep a cache of the checksums of sql migrations. On subsequent runs, the checksum
+     * of a migration is then taken from this cache as long as its size and last modification time (filesystem) or
+     * its size and stored crc (jar) haven't changed, instead of reading the whole migration again.
+     * <p>
+     * The directory of the checksum cache. {@code null} to disable the cache. (default: {@code null})
+     */
+    private String checksumCacheDirectory;
+
+    /**
+     * The number of threads to use for resolving migrations. With more than one thread, the locations are scanned
+     * concurrently and the checksums of all sql migrations are calculated up front in parallel, which mainly pays off
+     * for locations with a high latency per file, such as network filesystems.
+     * <p>
+     * {@code 1} to resolve them on the calling thread. (default: {@code 1})
+     */
+    private int resolverThreads = 1;
+
+    /**
+     * The number of threads to use for cleaning. With more than one thread, the schemas are cleaned or dropped
+     * concurrently, each on its own connection, which pays off when cleaning many schemas. Databases that must be
+     * accessed through a single connection, such as SQLite, are always cleaned one schema after the other.
+     * <p>
+     * {@code 1} to clean the schemas one after the other on a single connection. (default: {@code 1})
+     */
+    private int cleanThreads = 1;
+
+    /**
+     * The maximum time in seconds to wait for the lock on the metadata table held by another Flyway instance.
+     * Where the database supports it, the lock is polled for without blocking the connection.
+     * <p>
+     * The timeout in seconds. {@code 0} to wait indefinitely. (default: {@code 0})
+     */
+    private int lockTimeout;
+
     /**
      * Creates a new instance of Flyway. This is your starting point.
      */
@@ -487,6 +565,36 @@ public class Flyway implements FlywayConfiguration {
         return installedBy;
     }
 
+    @Override
+    public boolean isSingleLockMigrate() {
+        return singleLockMigrate;
+    }
+
+    @Override
+    public int getSqlBatchSize() {
+        return sqlBatchSize;
+    }
+
+    @Override
+    public String getChecksumCacheDirectory() {
+        return checksumCacheDirectory;
+    }
+
+    @Override
+    public int getResolverThreads() {
+        return resolverThreads;
+    }
+
+    @Override
+    public int getCleanThreads() {
+        return cleanThreads;
+    }
+
+    @Override
+    public int getLockTimeout() {
+        return lockTimeout;
+    }
+
     /**
      * The username that will be recorded in the metadata table as having applied the migration.
      *
@@ -508,6 +616,73 @@ public class Flyway implements FlywayConfiguration {
         this.allowMixedMigrations = allowMixedMigrations;
     }
 
+    /**
+     * Whether migrate should compute the pending migrations only once and then apply all of them based on this plan,
+     * instead of reacquiring the lock on the metadata table and recomputing the pending migrations after every
+     * single migration. On databases where the Flyway lock is held by the session (PostgreSQL, MySQL) the lock is
+     * then only acquired once for the whole run. As soon as another writer to the metadata table is detected, Flyway
+     * falls back to the regular behavior.
+     *
+     * @param singleLockMigrate {@code true} if all pending migrations should be applied based on a single plan. {@code false} if not. (default: {@code false})
+     */
+    public void setSingleLockMigrate(boolean singleLockMigrate) {
+        this.singleLockMigrate = singleLockMigrate;
+    }
+
+    /**
+     * The maximum number of consecutive DML statements (INSERT, UPDATE, DELETE) of a sql migration to send to the
+     * database together as a single JDBC batch. DDL, non-transactional statements and PostgreSQL COPY blocks are
+     * always executed on their own. Batching is only used when it is supported by the JDBC driver.
+     *
+     * @param sqlBatchSize The maximum number of statements per batch. {@code 0} or {@code 1} to disable batching. (default: {@code 0})
+     */
+    public void setSqlBatchSize(int sqlBatchSize) {
+        this.sqlBatchSize = sqlBatchSize;
+    }
+
+    /**
+     * The directory in which to keep a cache of the checksums of sql migrations. On subsequent runs, the checksum
+     * of a migration is then taken from this cache as long as its size and last modification time (filesystem) or
+     * its size and stored crc (jar) haven't changed, instead of reading the whole migration again.
+     *
+     * @param checksumCacheDirectory The directory of the checksum cache. {@code null} to disable the cache. (default: {@code null})
+     */
+    public void setChecksumCacheDirectory(String checksumCacheDirectory) {
+        this.checksumCacheDirectory = checksumCacheDirectory;
+    }
+
+    /**
+     * The number of threads to use for resolving migrations. With more than one thread, the locations are scanned
+     * concurrently and the checksums of all sql migrations are calculated up front in parallel, which mainly pays off
+     * for locations with a high latency per file, such as network filesystems.
+     *
+     * @param resolverThreads The number of threads to use for resolving migrations. {@code 1} to resolve them on the calling thread. (default: {@code 1})
+     */
+    public void setResolverThreads(int resolverThreads) {
+        this.resolverThreads = resolverThreads;
+    }
+
+    /**
+     * The number of threads to use for cleaning. With more than one thread, the schemas are cleaned or dropped
+     * concurrently, each on its own connection, which pays off when cleaning many schemas. Databases that must be
+     * accessed through a single connection, such as SQLite, are always cleaned one schema after the other.
+     *
+     * @param cleanThreads The number of threads to use for cleaning. {@code 1} to clean the schemas one after the other on a single connection. (default: {@code 1})
+     */
+    public void setCleanThreads(int cleanThreads) {
+        this.cleanThreads = cleanThreads;
+    }
+
+    /**
+     * The maximum time in seconds to wait for the lock on the metadata table held by another Flyway instance.
+     * Where the database supports it, the lock is polled for without blocking the connection.
+     *
+     * @param lockTimeout The timeout in seconds. {@code 0} to wait indefinitely. (default: {@code 0})
+     */
+    public void setLockTimeout(int lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
     /**
      * Ignore missing migrations when reading the metadata table. These are migrations that were performed by an
      * older deployment of the application that are no longer available in this version. For example: we have migrations
@@ -857,6 +1032,16 @@ public class Flyway implements FlywayConfiguration {
         return callbacks;
     }
 
+    /**
+     * Gets the listeners receiving the timings and counters of the commands.
+     *
+     * @return The metrics listeners. An empty array if none. (default: none)
+     */
+    @Override
+    public MetricsListener[] getMetricsListeners() {
+        return metricsListeners;
+    }
+
     @Override
     public boolean isSkipDefaultCallbacks() {
         return skipDefaultCallbacks;
@@ -881,6 +1066,25 @@ public class Flyway implements FlywayConfiguration {
         setCallbacks(callbackList.toArray(new FlywayCallback[callbacks.length]));
     }
 
+    /**
+     * Sets the listeners receiving the timings and counters of the commands, for exporting them to a metrics system.
+     *
+     * @param metricsListeners The metrics listeners. (default: none)
+     */
+    public void setMetricsListeners(MetricsListener... metricsListeners) {
+        this.metricsListeners = metricsListeners;
+    }
+
+    /**
+     * Sets the listeners receiving the timings and counters of the commands, for exporting them to a metrics system.
+     *
+     * @param metricsListeners The fully qualified class names of the metrics listeners. (default: none)
+     */
+    public void setMetricsListenersAsClassNames(String... metricsListeners) {
+        List<MetricsListener> metricsListenerList = ClassUtils.instantiateAll(metricsListeners, classLoader);
+        setMetricsListeners(metricsListenerList.toArray(new MetricsListener[metricsListeners.length]));
+    }
+
     /**
      * Whether Flyway should skip the default callbacks. If true, only custom callbacks are used.
      *
@@ -927,53 +1131,312 @@ public class Flyway implements FlywayConfiguration {
      * @throws FlywayException when the migration failed.
      */
     public int migrate() throws FlywayException {
-        return execute(new Command<Integer>() {
+        return execute("migrate", new Command<Integer>() {
             public Integer execute(Connection connectionMetaDataTable,
                                    MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks) {
-                if (validateOnMigrate) {
-                    doValidate(connectionMetaDataTable, dbSupport, migrationResolver, metaDataTable, schemas, flywayCallbacks, true);
+                return doMigrate(connectionMetaDataTable, dataSource, migrationResolver, metaDataTable, dbSupport, schemas, flywayCallbacks);
+            }
+        });
+    }
+
+    /**
+     * <p>Resets the configured schemas to their fully migrated state. This is meant for test suites that would
+     * otherwise clean and migrate the database before every test.</p>
+     * <p>The first reset cleans and migrates the schemas and then takes a snapshot of them. Subsequent resets within
+     * the same JVM restore this snapshot in a single operation instead, as long as the resolved migrations, the
+     * callbacks and the migration-relevant configuration are unchanged. Otherwise the schemas are cleaned and migrated
+     * again. Callbacks are only invoked when cleaning and migrating.</p>
+     * <p>Snapshots are currently supported for H2 and SQLite. On other databases reset is equivalent to clean followed
+     * by migrate.</p>
+     *
+     * @return The number of successfully applied migrations. {@code 0} if the schemas were restored from a snapshot.
+     * @throws FlywayException when the reset failed.
+     */
+    public int reset() throws FlywayException {
+        return execute("reset", new Command<Integer>() {
+            public Integer execute(Connection connectionMetaDataTable,
+                                   MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks) {
+                DbSnapshot dbSnapshot = new DbSnapshot(connectionMetaDataTable, dbSupport, schemas, migrationResolver, flywayCallbacks, Flyway.this);
+                if (dbSnapshot.restore()) {
+                    return 0;
                 }
 
-                new DbSchemas(connectionMetaDataTable, schemas, metaDataTable).create();
+                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled, dataSource, cleanThreads).clean();
+                metaDataTable.clearCache();
+                int migrationSuccessCount = doMigrate(connectionMetaDataTable, dataSource, migrationResolver, metaDataTable, dbSupport, schemas, flywayCallbacks);
+                dbSnapshot.create();
+                return migrationSuccessCount;
+            }
+        });
+    }
 
-                if (!metaDataTable.exists()) {
-                    List<Schema> nonEmptySchemas = new ArrayList<Schema>();
-                    for (Schema schema : schemas) {
-                        if (!schema.empty()) {
-                            nonEmptySchemas.add(schema);
-                        }
-                    }
+    /**
+     * <p>Migrates these tenant schemas concurrently. Each schema is migrated independently with its own metadata
+     * table, as if it were the only schema configured. All tenants are accessed through the configured DataSource.</p>
+     * <p>The migrations are resolved once and shared by all tenants. A failing tenant does not affect the others: its
+     * failure is reported in the returned summary and the remaining tenants are still migrated.</p>
+     * <p>The callbacks and Java migrations are shared by all tenants and invoked from several threads at the same
+     * time. They must therefore be thread-safe.</p>
+     *
+     * @param threads The maximum number of tenants to migrate concurrently.
+     * @param schemas The schemas of the tenants.
+     * @return The outcome of the migration of each tenant.
+     * @throws FlywayException when the migrations could not be resolved.
+     */
+    public TenantMigrationSummary migrateTenantSchemas(int threads, String... schemas) throws FlywayException {
+        if (dataSource == null) {
+            throw new FlywayException("Unable to connect to the database. Configure the url, user and password!");
+        }
 
-                    if (!nonEmptySchemas.isEmpty()) {
-                        if (baselineOnMigrate) {
-                            new DbBaseline(connectionMetaDataTable, dbSupport, metaDataTable, schemas[0], baselineVersion, baselineDescription, flywayCallbacks).baseline();
-                        } else {
-                            // Second check for MySQL which is sometimes flaky otherwise
-                            if (!metaDataTable.exists()) {
-                                throw new FlywayException("Found non-empty schema(s) "
-                                        + StringUtils.collectionToCommaDelimitedString(nonEmptySchemas)
-                                        + " without metadata table! Use baseline()"
-                                        + " or set baselineOnMigrate to true to initialize the metadata table.");
-                            }
-                        }
+        DataSource[] tenantDataSources = new DataSource[schemas.length];
+        String[][] tenantSchemaNames = new String[schemas.length][];
+        for (int i = 0; i < schemas.length; i++) {
+            tenantDataSources[i] = dataSource;
+            tenantSchemaNames[i] = new String[]{schemas[i]};
+        }
+        return migrateTenants(threads, schemas, tenantDataSources, tenantSchemaNames);
+    }
+
+    /**
+     * <p>Migrates the tenant databases behind these DataSources concurrently. Each of them is migrated independently,
+     * using the configured schemas, or the default schema of its connections if none are configured. All DataSources
+     * must point to the same type of database.</p>
+     * <p>The migrations are resolved once and shared by all tenants. A failing tenant does not affect the others: its
+     * failure is reported in the returned summary and the remaining tenants are still migrated.</p>
+     * <p>The callbacks and Java migrations are shared by all tenants and invoked from several threads at the same
+     * time. They must therefore be thread-safe.</p>
+     *
+     * @param threads     The maximum number of tenants to migrate concurrently.
+     * @param dataSources The DataSources of the tenants.
+     * @return The outcome of the migration of each tenant.
+     * @throws FlywayException when the migrations could not be resolved.
+     */
+    public TenantMigrationSummary migrateTenantDataSources(int threads, DataSource... dataSources) throws FlywayException {
+        String[] tenants = new String[dataSources.length];
+        String[][] tenantSchemaNames = new String[dataSources.length][];
+        for (int i = 0; i < dataSources.length; i++) {
+            tenants[i] = dataSources[i] instanceof DriverDataSource
+                    ? ((DriverDataSource) dataSources[i]).getUrl()
+                    : "DataSource #" + (i + 1);
+            tenantSchemaNames[i] = schemaNames;
+        }
+        return migrateTenants(threads, tenants, dataSources, tenantSchemaNames);
+    }
+
+    /**
+     * Performs the actual migration. All set up must have taken place beforehand.
+     *
+     * @param connectionMetaDataTable The database connection for the metadata table.
+     * @param dataSource              The DataSource to open the connection for the user objects with.
+     * @param migrationResolver       The migration resolver.
+     * @param metaDataTable           The metadata table.
+     * @param dbSupport               The database-specific support.
+     * @param schemas                 The schemas managed by Flyway.
+     * @param flywayCallbacks         The callbacks to use.
+     * @return The number of successfully applied migrations.
+     */
+    private int doMigrate(Connection connectionMetaDataTable, DataSource dataSource, MigrationResolver migrationResolver,
+                          MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks) {
+        if (validateOnMigrate) {
+            doValidate(connectionMetaDataTable, dataSource, dbSupport, migrationResolver, metaDataTable, schemas, flywayCallbacks, true);
+        }
+
+        new DbSchemas(connectionMetaDataTable, schemas, metaDataTable).create();
+
+        if (!metaDataTable.exists()) {
+            List<Schema> nonEmptySchemas = new ArrayList<Schema>();
+            for (Schema schema : schemas) {
+                if (!schema.empty()) {
+                    nonEmptySchemas.add(schema);
+                }
+            }
+
+            if (!nonEmptySchemas.isEmpty()) {
+                if (baselineOnMigrate) {
+                    new DbBaseline(connectionMetaDataTable, dbSupport, metaDataTable, schemas[0], baselineVersion, baselineDescription, flywayCallbacks).baseline();
+                } else {
+                    // Second check for MySQL which is sometimes flaky otherwise
+                    if (!metaDataTable.exists()) {
+                        throw new FlywayException("Found non-empty schema(s) "
+                                + StringUtils.collectionToCommaDelimitedString(nonEmptySchemas)
+                                + " without metadata table! Use baseline()"
+                                + " or set baselineOnMigrate to true to initialize the metadata table.");
                     }
                 }
+            }
+        }
+
+        Connection connectionUserObjects = null;
+        try {
+            connectionUserObjects =
+                    dbSupport.useSingleConnection() ? connectionMetaDataTable : JdbcUtils.openConnection(dataSource);
+            DbMigrate dbMigrate =
+                    new DbMigrate(connectionUserObjects, dbSupport, metaDataTable,
+                            schemas[0], migrationResolver, ignoreFailedFutureMigration, this);
+            return dbMigrate.migrate();
+        } finally {
+            if (!dbSupport.useSingleConnection()) {
+                JdbcUtils.closeConnection(connectionUserObjects);
+            }
+        }
+    }
+
+    /**
+     * Migrates these tenants concurrently, sharing the resolved migrations between them.
+     *
+     * @param threads           The maximum number of tenants to migrate concurrently.
+     * @param tenants           The descriptions of the tenants.
+     * @param tenantDataSources The DataSources of the tenants.
+     * @param tenantSchemaNames The schemas of the tenants.
+     * @return The outcome of the migration of each tenant.
+     * @throws FlywayException when the migrations could not be resolved.
+     */
+    private TenantMigrationSummary migrateTenants(int threads, String[] tenants, DataSource[] tenantDataSources,
+                                                  String[][] tenantSchemaNames) {
+        MetricsListener[] previousMetricsListeners = Metrics.register(metricsListeners);
+        long start = Metrics.start();
+        try {
+            return doMigrateTenants(threads, tenants, tenantDataSources, tenantSchemaNames);
+        } finally {
+            Metrics.timing(MetricsPhase.COMMAND, "migrateTenants", start);
+            Metrics.restore(previousMetricsListeners);
+        }
+    }
 
-                Connection connectionUserObjects = null;
+    /**
+     * Migrates these tenants concurrently, sharing the resolved migrations between them.
+     *
+     * @param threads           The maximum number of tenants to migrate concurrently.
+     * @param tenants           The descriptions of the tenants.
+     * @param tenantDataSources The DataSources of the tenants.
+     * @param tenantSchemaNames The schemas of the tenants.
+     * @return The outcome of the migration of each tenant.
+     * @throws FlywayException when the migrations could not be resolved.
+     */
+    private TenantMigrationSummary doMigrateTenants(int threads, final String[] tenants, final DataSource[] tenantDataSources,
+                                                    final String[][] tenantSchemaNames) {
+        if (threads < 1) {
+            throw new FlywayException("Invalid number of threads for migrating tenants: " + threads);
+        }
+        if (tenants.length == 0) {
+            return new TenantMigrationSummary(new ArrayList<TenantMigrationResult>(), 0);
+        }
+
+        VersionPrinter.printVersion();
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        final String dbName;
+        final CompositeMigrationResolver migrationResolver;
+        final FlywayCallback[] flywayCallbacks;
+        Connection connection = null;
+        try {
+            connection = JdbcUtils.openConnection(tenantDataSources[0]);
+            DbSupport dbSupport = DbSupportFactory.createDbSupport(connection, !dbConnectionInfoPrinted);
+            dbConnectionInfoPrinted = true;
+            dbName = dbSupport.getDbName();
+
+            Scanner scanner = new Scanner(classLoader);
+            migrationResolver = createMigrationResolver(dbSupport, scanner);
+            flywayCallbacks = prepareCallbacks(dbSupport, scanner);
+
+            // Resolve upfront, so the tenants only share the result instead of racing to produce it.
+            resolvedMigrations = migrationResolver.resolveMigrations();
+        } finally {
+            JdbcUtils.closeConnection(connection);
+        }
+
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(threads, tenants.length), new DaemonThreadFactory("flyway-tenant-", metricsListeners));
+        List<TenantMigrationResult> results = new ArrayList<TenantMigrationResult>();
+        try {
+            List<Future<TenantMigrationResult>> futures = new ArrayList<Future<TenantMigrationResult>>();
+            for (int i = 0; i < tenants.length; i++) {
+                final int tenant = i;
+                futures.add(executorService.submit(new Callable<TenantMigrationResult>() {
+                    @Override
+                    public TenantMigrationResult call() {
+                        return migrateTenant(tenants[tenant], tenantDataSources[tenant], tenantSchemaNames[tenant],
+                                dbName, migrationResolver, flywayCallbacks);
+                    }
+                }));
+            }
+
+            for (Future<TenantMigrationResult> future : futures) {
                 try {
-                    connectionUserObjects =
-                            dbSupport.useSingleConnection() ? connectionMetaDataTable : JdbcUtils.openConnection(dataSource);
-                    DbMigrate dbMigrate =
-                            new DbMigrate(connectionUserObjects, dbSupport, metaDataTable,
-                                    schemas[0], migrationResolver, ignoreFailedFutureMigration, Flyway.this);
-                    return dbMigrate.migrate();
-                } finally {
-                    if (!dbSupport.useSingleConnection()) {
-                        JdbcUtils.closeConnection(connectionUserObjects);
+                    results.add(future.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FlywayException("Interrupted while migrating tenants", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
                     }
+                    throw new FlywayException("Unable to migrate tenants", e.getCause());
                 }
             }
-        });
+        } finally {
+            executorService.shutdown();
+        }
+
+        stopWatch.stop();
+        TenantMigrationSummary summary = new TenantMigrationSummary(results, stopWatch.getTotalTimeMillis());
+        if (summary.isSuccess()) {
+            LOG.info("Successfully migrated " + summary + " (execution time "
+                    + TimeFormat.format(summary.getExecutionTime()) + ")");
+        } else {
+            LOG.error("Migrated " + summary + " (execution time " + TimeFormat.format(summary.getExecutionTime()) + ")");
+        }
+        return summary;
+    }
+
+    /**
+     * Migrates this tenant on connections of its own. Failures are reported in the result instead of being thrown.
+     *
+     * @param tenant            The description of the tenant.
+     * @param tenantDataSource  The DataSource of the tenant.
+     * @param tenantSchemaNames The schemas of the tenant. Empty to use the default schema of its connection.
+     * @param dbName            The type of database the migrations were resolved for.
+     * @param migrationResolver The migration resolver shared by all tenants.
+     * @param flywayCallbacks   The callbacks shared by all tenants.
+     * @return The outcome of the migration of this tenant.
+     */
+    private TenantMigrationResult migrateTenant(String tenant, DataSource tenantDataSource, String[] tenantSchemaNames,
+                                                String dbName, MigrationResolver migrationResolver,
+                                                FlywayCallback[] flywayCallbacks) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        int migrationsApplied = 0;
+        FlywayException exception = null;
+        Connection connectionMetaDataTable = null;
+        try {
+            connectionMetaDataTable = JdbcUtils.openConnection(tenantDataSource);
+            DbSupport dbSupport = DbSupportFactory.createDbSupport(connectionMetaDataTable, false);
+            if (!dbName.equals(dbSupport.getDbName())) {
+                throw new FlywayException("Unable to migrate " + dbSupport.getDbName() + " tenant with migrations resolved for "
+                        + dbName + ". All tenants must use the same type of database.");
+            }
+
+            Schema[] schemas = createSchemas(dbSupport, tenantSchemaNames);
+            MetaDataTable metaDataTable = createMetaDataTable(connectionMetaDataTable, dbSupport, schemas[0],
+                    migrationResolver, flywayCallbacks);
+            migrationsApplied = doMigrate(connectionMetaDataTable, tenantDataSource, migrationResolver, metaDataTable,
+                    dbSupport, schemas, flywayCallbacks);
+        } catch (FlywayException e) {
+            exception = e;
+        } catch (RuntimeException e) {
+            exception = new FlywayException("Unable to migrate tenant " + tenant, e);
+        } finally {
+            JdbcUtils.closeConnection(connectionMetaDataTable);
+        }
+        stopWatch.stop();
+
+        if (exception != null) {
+            LOG.error("Migration of tenant " + tenant + " failed: " + exception.getMessage());
+        }
+        return new TenantMigrationResult(tenant, migrationsApplied, exception, stopWatch.getTotalTimeMillis());
     }
 
     /**
@@ -991,10 +1454,10 @@ public class Flyway implements FlywayConfiguration {
      * @throws FlywayException when the validation failed.
      */
     public void validate() throws FlywayException {
-        execute(new Command<Void>() {
+        execute("validate", new Command<Void>() {
             public Void execute(Connection connectionMetaDataTable,
                                 MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks) {
-                doValidate(connectionMetaDataTable, dbSupport, migrationResolver, metaDataTable, schemas, flywayCallbacks, false);
+                doValidate(connectionMetaDataTable, dataSource, dbSupport, migrationResolver, metaDataTable, schemas, flywayCallbacks, false);
                 return null;
             }
         });
@@ -1004,13 +1467,14 @@ public class Flyway implements FlywayConfiguration {
      * Performs the actual validation. All set up must have taken place beforehand.
      *
      * @param connectionMetaDataTable The database connection for the metadata table.
+     * @param dataSource              The DataSource to open additional connections for cleaning with.
      * @param dbSupport               The database-specific support.
      * @param migrationResolver       The migration resolver;
      * @param metaDataTable           The metadata table.
      * @param schemas                 The schemas managed by Flyway.
      * @param pending                 Whether pending migrations are ok.
      */
-    private void doValidate(Connection connectionMetaDataTable, DbSupport dbSupport, MigrationResolver migrationResolver,
+    private void doValidate(Connection connectionMetaDataTable, DataSource dataSource, DbSupport dbSupport, MigrationResolver migrationResolver,
                             MetaDataTable metaDataTable, Schema[] schemas, FlywayCallback[] flywayCallbacks, boolean pending) {
         String validationError =
                 new DbValidate(connectionMetaDataTable, dbSupport, metaDataTable, schemas[0], migrationResolver,
@@ -1018,7 +1482,7 @@ public class Flyway implements FlywayConfiguration {
 
         if (validationError != null) {
             if (cleanOnValidationError) {
-                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled).clean();
+                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled, dataSource, cleanThreads).clean();
                 metaDataTable.clearCache();
             } else {
                 throw new FlywayException("Validate failed: " + validationError);
@@ -1034,11 +1498,11 @@ public class Flyway implements FlywayConfiguration {
      * @throws FlywayException when the clean fails.
      */
     public void clean() {
-        execute(new Command<Void>() {
+        execute("clean", new Command<Void>() {
             public Void execute(Connection connectionMetaDataTable,
                                 MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas,
                                 FlywayCallback[] flywayCallbacks) {
-                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled).clean();
+                new DbClean(connectionMetaDataTable, dbSupport, metaDataTable, schemas, flywayCallbacks, cleanDisabled, dataSource, cleanThreads).clean();
                 return null;
             }
         });
@@ -1053,7 +1517,7 @@ public class Flyway implements FlywayConfiguration {
      * @throws FlywayException when the info retrieval failed.
      */
     public MigrationInfoService info() {
-        return execute(new Command<MigrationInfoService>() {
+        return execute("info", new Command<MigrationInfoService>() {
             public MigrationInfoService execute(final Connection connectionMetaDataTable,
                                                 MigrationResolver migrationResolver, MetaDataTable metaDataTable, final DbSupport dbSupport, final Schema[] schemas, FlywayCallback[] flywayCallbacks) {
                 try {
@@ -1100,7 +1564,7 @@ public class Flyway implements FlywayConfiguration {
      * @throws FlywayException when the schema baselining failed.
      */
     public void baseline() throws FlywayException {
-        execute(new Command<Void>() {
+        execute("baseline", new Command<Void>() {
             public Void execute(Connection connectionMetaDataTable, MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks) {
                 new DbSchemas(connectionMetaDataTable, schemas, metaDataTable).create();
                 new DbBaseline(connectionMetaDataTable, dbSupport, metaDataTable, schemas[0], baselineVersion, baselineDescription, flywayCallbacks).baseline();
@@ -1120,7 +1584,7 @@ public class Flyway implements FlywayConfiguration {
      * @throws FlywayException when the metadata table repair failed.
      */
     public void repair() throws FlywayException {
-        execute(new Command<Void>() {
+        execute("repair", new Command<Void>() {
             public Void execute(Connection connectionMetaDataTable, MigrationResolver migrationResolver, MetaDataTable metaDataTable, DbSupport dbSupport, Schema[] schemas, FlywayCallback[] flywayCallbacks) {
                 new DbRepair(dbSupport, connectionMetaDataTable, schemas[0], migrationResolver, metaDataTable, flywayCallbacks).repair();
                 return null;
@@ -1135,7 +1599,7 @@ public class Flyway implements FlywayConfiguration {
      * @param scanner   The Scanner for resolving migrations.
      * @return A new, fully configured, MigrationResolver instance.
      */
-    private MigrationResolver createMigrationResolver(DbSupport dbSupport, Scanner scanner) {
+    private CompositeMigrationResolver createMigrationResolver(DbSupport dbSupport, Scanner scanner) {
         for (MigrationResolver resolver : resolvers) {
             ConfigurationInjectionUtils.injectFlywayConfiguration(resolver, this);
         }
@@ -1294,6 +1758,10 @@ public class Flyway implements FlywayConfiguration {
         if (StringUtils.hasLength(callbacksProp)) {
             setCallbacksAsClassNames(StringUtils.tokenizeToStringArray(callbacksProp, ","));
         }
+        String metricsListenersProp = getValueAndRemoveEntry(props, "flyway.metricsListeners");
+        if (StringUtils.hasLength(metricsListenersProp)) {
+            setMetricsListenersAsClassNames(StringUtils.tokenizeToStringArray(metricsListenersProp, ","));
+        }
         String skipDefaultCallbacksProp = getValueAndRemoveEntry(props, "flyway.skipDefaultCallbacks");
         if (skipDefaultCallbacksProp != null) {
             setSkipDefaultCallbacks(Boolean.parseBoolean(skipDefaultCallbacksProp));
@@ -1325,6 +1793,36 @@ public class Flyway implements FlywayConfiguration {
             setInstalledBy(installedByProp);
         }
 
+        String singleLockMigrateProp = getValueAndRemoveEntry(props, "flyway.singleLockMigrate");
+        if (singleLockMigrateProp != null) {
+            setSingleLockMigrate(Boolean.parseBoolean(singleLockMigrateProp));
+        }
+
+        String sqlBatchSizeProp = getValueAndRemoveEntry(props, "flyway.sqlBatchSize");
+        if (sqlBatchSizeProp != null) {
+            setSqlBatchSize(Integer.parseInt(sqlBatchSizeProp));
+        }
+
+        String checksumCacheDirectoryProp = getValueAndRemoveEntry(props, "flyway.checksumCacheDirectory");
+        if (checksumCacheDirectoryProp != null) {
+            setChecksumCacheDirectory(checksumCacheDirectoryProp);
+        }
+
+        String resolverThreadsProp = getValueAndRemoveEntry(props, "flyway.resolverThreads");
+        if (resolverThreadsProp != null) {
+            setResolverThreads(Integer.parseInt(resolverThreadsProp));
+        }
+
+        String cleanThreadsProp = getValueAndRemoveEntry(props, "flyway.cleanThreads");
+        if (cleanThreadsProp != null) {
+            setCleanThreads(Integer.parseInt(cleanThreadsProp));
+        }
+
+        String lockTimeoutProp = getValueAndRemoveEntry(props, "flyway.lockTimeout");
+        if (lockTimeoutProp != null) {
+            setLockTimeout(Integer.parseInt(lockTimeoutProp));
+        }
+
         for (String key : props.keySet()) {
             if (key.startsWith("flyway.")) {
                 LOG.warn("Unknown configuration property: " + key);
@@ -1353,10 +1851,24 @@ public class Flyway implements FlywayConfiguration {
      * @return The result of the command.
      */
     /*private -> testing*/ <T> T execute(Command<T> command) {
+        return execute("command", command);
+    }
+
+    /**
+     * Executes this command with proper resource handling and cleanup.
+     *
+     * @param commandName The name of the command, for reporting metrics.
+     * @param command     The command to execute.
+     * @param <T>         The type of the result.
+     * @return The result of the command.
+     */
+    /*private -> testing*/ <T> T execute(String commandName, Command<T> command) {
         T result;
 
         VersionPrinter.printVersion();
 
+        MetricsListener[] previousMetricsListeners = Metrics.register(metricsListeners);
+        long start = Metrics.start();
         Connection connectionMetaDataTable = null;
 
         try {
@@ -1370,13 +1882,9 @@ public class Flyway implements FlywayConfiguration {
             dbConnectionInfoPrinted = true;
             LOG.debug("DDL Transactions Supported: " + dbSupport.supportsDdlTransactions());
 
+            Schema[] schemas = createSchemas(dbSupport, schemaNames);
             if (schemaNames.length == 0) {
-                Schema currentSchema = dbSupport.getOriginalSchema();
-                if (currentSchema == null) {
-                    throw new FlywayException("Unable to determine schema for the metadata table." +
-                            " Set a default schema for the connection or specify one using the schemas property!");
-                }
-                setSchemas(currentSchema.getName());
+                setSchemas(schemas[0].getName());
             }
 
             if (schemaNames.length == 1) {
@@ -1385,38 +1893,93 @@ public class Flyway implements FlywayConfiguration {
                 LOG.debug("Schemas: " + StringUtils.arrayToCommaDelimitedString(schemaNames));
             }
 
-            Schema[] schemas = new Schema[schemaNames.length];
-            for (int i = 0; i < schemaNames.length; i++) {
-                schemas[i] = dbSupport.getSchema(schemaNames[i]);
-            }
-
             Scanner scanner = new Scanner(classLoader);
-            MigrationResolver migrationResolver = createMigrationResolver(dbSupport, scanner);
+            CompositeMigrationResolver migrationResolver = createMigrationResolver(dbSupport, scanner);
+            callbacks = prepareCallbacks(dbSupport, scanner);
 
-            if (!skipDefaultCallbacks) {
-                Set<FlywayCallback> flywayCallbacks = new LinkedHashSet<FlywayCallback>(Arrays.asList(callbacks));
-                flywayCallbacks.add(
-                        new SqlScriptFlywayCallback(dbSupport, scanner, locations, createPlaceholderReplacer(), this));
-                callbacks = flywayCallbacks.toArray(new FlywayCallback[flywayCallbacks.size()]);
-            }
+            MetaDataTable metaDataTable = createMetaDataTable(connectionMetaDataTable, dbSupport, schemas[0], migrationResolver, callbacks);
 
-            for (FlywayCallback callback : callbacks) {
-                ConfigurationInjectionUtils.injectFlywayConfiguration(callback, this);
-            }
+            result = command.execute(connectionMetaDataTable, migrationResolver, metaDataTable, dbSupport, schemas, callbacks);
 
-            MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schemas[0].getTable(table), installedBy);
-            if (metaDataTable.upgradeIfNecessary()) {
-                new DbRepair(dbSupport, connectionMetaDataTable, schemas[0], migrationResolver, metaDataTable, callbacks).repairChecksumsAndDescriptions();
-                LOG.info("Metadata table " + table + " successfully upgraded to the Flyway 4.0 format.");
+            if (migrationResolver.getAvailableMigrations() != null) {
+                resolvedMigrations = migrationResolver.getAvailableMigrations();
             }
-
-            result = command.execute(connectionMetaDataTable, migrationResolver, metaDataTable, dbSupport, schemas, callbacks);
         } finally {
             JdbcUtils.closeConnection(connectionMetaDataTable);
+            Metrics.timing(MetricsPhase.COMMAND, commandName, start);
+            Metrics.restore(previousMetricsListeners);
         }
         return result;
     }
 
+    /**
+     * Creates the schemas with these names.
+     *
+     * @param dbSupport   The database-specific support.
+     * @param schemaNames The names of the schemas. Empty to use the default schema of the connection.
+     * @return The schemas.
+     * @throws FlywayException when no schemas were specified and the connection has no default schema.
+     */
+    private Schema[] createSchemas(DbSupport dbSupport, String[] schemaNames) {
+        if (schemaNames.length == 0) {
+            Schema currentSchema = dbSupport.getOriginalSchema();
+            if (currentSchema == null) {
+                throw new FlywayException("Unable to determine schema for the metadata table." +
+                        " Set a default schema for the connection or specify one using the schemas property!");
+            }
+            return new Schema[]{currentSchema};
+        }
+
+        Schema[] schemas = new Schema[schemaNames.length];
+        for (int i = 0; i < schemaNames.length; i++) {
+            schemas[i] = dbSupport.getSchema(schemaNames[i]);
+        }
+        return schemas;
+    }
+
+    /**
+     * Adds the default callbacks, unless they should be skipped, and injects the configuration into all callbacks.
+     * The configured callbacks are left untouched.
+     *
+     * @param dbSupport The database-specific support.
+     * @param scanner   The Scanner for loading the sql callback scripts.
+     * @return The callbacks to use.
+     */
+    private FlywayCallback[] prepareCallbacks(DbSupport dbSupport, Scanner scanner) {
+        FlywayCallback[] flywayCallbacks = callbacks;
+        if (!skipDefaultCallbacks) {
+            Set<FlywayCallback> callbackSet = new LinkedHashSet<FlywayCallback>(Arrays.asList(callbacks));
+            callbackSet.add(
+                    new SqlScriptFlywayCallback(dbSupport, scanner, locations, createPlaceholderReplacer(), this));
+            flywayCallbacks = callbackSet.toArray(new FlywayCallback[callbackSet.size()]);
+        }
+
+        for (FlywayCallback callback : flywayCallbacks) {
+            ConfigurationInjectionUtils.injectFlywayConfiguration(callback, this);
+        }
+        return flywayCallbacks;
+    }
+
+    /**
+     * Creates the metadata table in this schema, upgrading it to the current format if necessary.
+     *
+     * @param connectionMetaDataTable The database connection for the metadata table.
+     * @param dbSupport               The database-specific support.
+     * @param schema                  The schema containing the metadata table.
+     * @param migrationResolver       The migration resolver.
+     * @param flywayCallbacks         The callbacks to use.
+     * @return The metadata table.
+     */
+    private MetaDataTable createMetaDataTable(Connection connectionMetaDataTable, DbSupport dbSupport, Schema schema,
+                                              MigrationResolver migrationResolver, FlywayCallback[] flywayCallbacks) {
+        MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schema.getTable(table), installedBy, lockTimeout);
+        if (metaDataTable.upgradeIfNecessary()) {
+            new DbRepair(dbSupport, connectionMetaDataTable, schema, migrationResolver, metaDataTable, flywayCallbacks).repairChecksumsAndDescriptions();
+            LOG.info("Metadata table " + table + " successfully upgraded to the Flyway 4.0 format.");
+        }
+        return metaDataTable;
+    }
+
     /**
      * A Flyway command that can be executed.
      *
@@ -16,9 +16,7 @@
 package org.flywaydb.core.api;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 /**
  * A version of a migration.
@@ -29,33 +27,56 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
     /**
      * Version for an empty schema.
      */
-    public static final MigrationVersion EMPTY = new MigrationVersion(null, "<< Empty Schema >>");
+    public static final MigrationVersion EMPTY = new MigrationVersion(new long[0], null, "<< Empty Schema >>");
 
     /**
      * Latest version.
      */
-    public static final MigrationVersion LATEST = new MigrationVersion(BigInteger.valueOf(-1), "<< Latest Version >>");
+    public static final MigrationVersion LATEST = new MigrationVersion(new long[]{-1}, null, "<< Latest Version >>");
 
     /**
      * Current version. Only a marker. For the real version use Flyway.info().current() instead.
      */
-    public static final MigrationVersion CURRENT = new MigrationVersion(BigInteger.valueOf(-2), "<< Current Version >>");
+    public static final MigrationVersion CURRENT = new MigrationVersion(new long[]{-2}, null, "<< Current Version >>");
 
     /**
-     * Compiled pattern for matching proper version format
+     * The version string of LATEST.
      */
-    private static Pattern splitPattern = Pattern.compile("\\.(?=\\d)");
+    private static final String LATEST_VERSION = Long.toString(Long.MAX_VALUE);
 
     /**
-     * The individual parts this version string is composed of. Ex. 1.2.3.4.0 -> [1, 2, 3, 4, 0]
+     * The maximum number of significant digits of a part that is guaranteed to fit in a long.
      */
-    private final List<BigInteger> versionParts;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Marks a part that doesn't fit in a long. It can never be a regular value, as parts have at most
+     * {@link #MAX_LONG_DIGITS} significant digits.
+     */
+    private static final long OVERFLOW = Long.MIN_VALUE;
+
+    /**
+     * The individual parts this version string is composed of. Ex. 1.2.3.4.0 -> [1, 2, 3, 4]. {@code null} if one of
+     * the parts doesn't fit in a long.
+     */
+    private final long[] versionParts;
+
+    /**
+     * The individual parts this version string is composed of, for versions with a part that doesn't fit in a long.
+     * {@code null} otherwise.
+     */
+    private final BigInteger[] bigVersionParts;
 
     /**
      * The printable text to represent the version.
      */
     private final String displayText;
 
+    /**
+     * The hash code of the version parts.
+     */
+    private final int hashCode;
+
     /**
      * Factory for creating a MigrationVersion from a version String
      *
@@ -63,37 +84,25 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      *                a marker for the latest version that has been applied to the database.
      * @return The MigrationVersion
      */
-    @SuppressWarnings("ConstantConditions")
     public static MigrationVersion fromVersion(String version) {
         if ("current".equalsIgnoreCase(version)) return CURRENT;
-        if (LATEST.getVersion().equals(version)) return LATEST;
+        if (LATEST_VERSION.equals(version)) return LATEST;
         if (version == null) return EMPTY;
-        return new MigrationVersion(version);
+        return parse(version.replace('_', '.'));
     }
 
     /**
-     * Creates a Version using this version string.
+     * Creates a Version with these parts.
      *
-     * @param version The version in one of the following formats: 6, 6.0, 005, 1.2.3.4, 201004200021. <br/>{@code null}
-     *                means that this version refers to an empty schema.
+     * @param versionParts    The parts of the version. {@code null} if one of them doesn't fit in a long.
+     * @param bigVersionParts The parts of the version if one of them doesn't fit in a long. {@code null} otherwise.
+     * @param displayText     The text to display for this version.
      */
-    private MigrationVersion(String version) {
-        String normalizedVersion = version.replace('_', '.');
-        this.versionParts = tokenize(normalizedVersion);
-        this.displayText = normalizedVersion;
-    }
-
-    /**
-     * Creates a Version using this version string.
-     *
-     * @param version     The version in one of the following formats: 6, 6.0, 005, 1.2.3.4, 201004200021. <br/>{@code null}
-     *                    means that this version refers to an empty schema.
-     * @param displayText The alternative text to display instead of the version number.
-     */
-    private MigrationVersion(BigInteger version, String displayText) {
-        this.versionParts = new ArrayList<BigInteger>();
-        this.versionParts.add(version);
+    private MigrationVersion(long[] versionParts, BigInteger[] bigVersionParts, String displayText) {
+        this.versionParts = versionParts;
+        this.bigVersionParts = bigVersionParts;
         this.displayText = displayText;
+        this.hashCode = versionParts != null ? Arrays.hashCode(versionParts) : Arrays.hashCode(bigVersionParts);
     }
 
     /**
@@ -109,7 +118,7 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
      */
     public String getVersion() {
         if (this.equals(EMPTY)) return null;
-        if (this.equals(LATEST)) return Long.toString(Long.MAX_VALUE);
+        if (this.equals(LATEST)) return LATEST_VERSION;
         return displayText;
     }
 
@@ -120,12 +129,12 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
 
         MigrationVersion version1 = (MigrationVersion) o;
 
-        return compareTo(version1) == 0;
+        return hashCode == version1.hashCode && compareTo(version1) == 0;
     }
 
     @Override
     public int hashCode() {
-        return versionParts == null ? 0 : versionParts.hashCode();
+        return hashCode;
     }
 
     @SuppressWarnings("NullableProblems")
@@ -157,11 +166,24 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         if (o == LATEST) {
             return Integer.MIN_VALUE;
         }
-        final List<BigInteger> elements1 = versionParts;
-        final List<BigInteger> elements2 = o.versionParts;
-        int largestNumberOfElements = Math.max(elements1.size(), elements2.size());
+
+        if (versionParts != null && o.versionParts != null) {
+            final long[] elements1 = versionParts;
+            final long[] elements2 = o.versionParts;
+            int largestNumberOfElements = Math.max(elements1.length, elements2.length);
+            for (int i = 0; i < largestNumberOfElements; i++) {
+                long element1 = i < elements1.length ? elements1[i] : 0;
+                long element2 = i < elements2.length ? elements2[i] : 0;
+                if (element1 != element2) {
+                    return element1 < element2 ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+
+        int largestNumberOfElements = Math.max(getNumberOfParts(), o.getNumberOfParts());
         for (int i = 0; i < largestNumberOfElements; i++) {
-            final int compared = getOrZero(elements1, i).compareTo(getOrZero(elements2, i));
+            final int compared = getOrZero(i).compareTo(o.getOrZero(i));
             if (compared != 0) {
                 return compared;
             }
@@ -169,31 +191,158 @@ public final class MigrationVersion implements Comparable<MigrationVersion> {
         return 0;
     }
 
-    private BigInteger getOrZero(List<BigInteger> elements, int i) {
-        return i < elements.size() ? elements.get(i) : BigInteger.ZERO;
+    /**
+     * @return The number of parts of this version.
+     */
+    private int getNumberOfParts() {
+        return versionParts != null ? versionParts.length : bigVersionParts.length;
     }
 
     /**
-     * Splits this string into list of Long
+     * @param i The index of the part.
+     * @return This part of the version, or zero if the version has less parts.
+     */
+    private BigInteger getOrZero(int i) {
+        if (i >= getNumberOfParts()) {
+            return BigInteger.ZERO;
+        }
+        return versionParts != null ? BigInteger.valueOf(versionParts[i]) : bigVersionParts[i];
+    }
+
+    /**
+     * Parses this version string. The parts are separated by dots followed by a digit.
      *
-     * @param str The string to split.
-     * @return The resulting array.
-     */
-    private List<BigInteger> tokenize(String str) {
-        List<BigInteger> numbers = new ArrayList<BigInteger>();
-        for (String number : splitPattern.split(str)) {
-            try {
-                numbers.add(new BigInteger(number));
-            } catch (NumberFormatException e) {
-                throw new FlywayException(
-                        "Invalid version containing non-numeric characters. Only 0..9 and . are allowed. Invalid version: "
-                                + str);
+     * @param str The version string, with underscores already replaced by dots.
+     * @return The version.
+     * @throws FlywayException when the version string is invalid.
+     */
+    private static MigrationVersion parse(String str) {
+        int length = str.length();
+        int numberOfParts = 1;
+        for (int i = 0; i < length - 1; i++) {
+            if (isSeparator(str, i)) {
+                numberOfParts++;
+            }
+        }
+
+        long[] parts = new long[numberOfParts];
+        boolean overflow = false;
+        int part = 0;
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || isSeparator(str, i)) {
+                parts[part] = parsePart(str, start, i);
+                overflow |= parts[part] == OVERFLOW;
+                part++;
+                start = i + 1;
             }
         }
-        for (int i = numbers.size() - 1; i > 0; i--) {
-            if (!numbers.get(i).equals(BigInteger.ZERO)) break;
-            numbers.remove(i);
+
+        if (overflow) {
+            return parseBig(str, numberOfParts);
+        }
+
+        int significantParts = numberOfParts;
+        while (significantParts > 1 && parts[significantParts - 1] == 0) {
+            significantParts--;
         }
-        return numbers;
+        if (significantParts < numberOfParts) {
+            parts = Arrays.copyOf(parts, significantParts);
+        }
+        return new MigrationVersion(parts, null, str);
+    }
+
+    /**
+     * Parses this version string, of which at least one part doesn't fit in a long.
+     *
+     * @param str           The version string, already validated.
+     * @param numberOfParts The number of parts of the version.
+     * @return The version.
+     */
+    private static MigrationVersion parseBig(String str, int numberOfParts) {
+        BigInteger[] parts = new BigInteger[numberOfParts];
+        int part = 0;
+        int start = 0;
+        for (int i = 0; i <= str.length(); i++) {
+            if (i == str.length() || isSeparator(str, i)) {
+                parts[part++] = new BigInteger(str.substring(start, i));
+                start = i + 1;
+            }
+        }
+
+        int significantParts = numberOfParts;
+        while (significantParts > 1 && parts[significantParts - 1].signum() == 0) {
+            significantParts--;
+        }
+        if (significantParts < numberOfParts) {
+            parts = Arrays.copyOf(parts, significantParts);
+        }
+        return new MigrationVersion(null, parts, str);
+    }
+
+    /**
+     * Checks whether the character at this position separates two parts, which is the case for a dot followed by a
+     * digit.
+     *
+     * @param str The version string.
+     * @param i   The position to check.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private static boolean isSeparator(String str, int i) {
+        if (str.charAt(i) != '.' || i + 1 >= str.length()) {
+            return false;
+        }
+        char next = str.charAt(i + 1);
+        return next >= '0' && next <= '9';
+    }
+
+    /**
+     * Parses this part of the version string. Accepts the same input as {@code new BigInteger(String)}.
+     *
+     * @param str   The version string.
+     * @param start The index of the first character of the part.
+     * @param end   The index after the last character of the part.
+     * @return The value of the part, or {@link #OVERFLOW} if it doesn't fit in a long.
+     * @throws FlywayException when the part isn't a number.
+     */
+    private static long parsePart(String str, int start, int end) {
+        boolean negative = false;
+        int i = start;
+        if (i < end && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+            negative = str.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw createInvalidVersionException(str);
+        }
+
+        long value = 0;
+        int significantDigits = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(str.charAt(i), 10);
+            if (digit < 0) {
+                throw createInvalidVersionException(str);
+            }
+            if (value != 0 || digit != 0) {
+                significantDigits++;
+            }
+            if (significantDigits <= MAX_LONG_DIGITS) {
+                value = value * 10 + digit;
+            }
+        }
+        if (significantDigits > MAX_LONG_DIGITS) {
+            return OVERFLOW;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @param str The invalid version string.
+     * @return The exception to throw for it.
+     */
+    private static FlywayException createInvalidVersionException(String str) {
+        return new FlywayException(
+                "Invalid version containing non-numeric characters. Only 0..9 and . are allowed. Invalid version: "
+                        + str);
     }
 }
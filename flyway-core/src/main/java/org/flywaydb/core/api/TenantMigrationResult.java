@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api;
+
+/**
+ * The outcome of migrating a single tenant as part of a multi-tenant migration.
+ */
+public class TenantMigrationResult {
+    /**
+     * The tenant this result is for.
+     */
+    private final String tenant;
+
+    /**
+     * The number of successfully applied migrations.
+     */
+    private final int migrationsApplied;
+
+    /**
+     * The exception the migration of this tenant failed with. {@code null} if it succeeded.
+     */
+    private final FlywayException exception;
+
+    /**
+     * The time it took to migrate this tenant, in milliseconds.
+     */
+    private final long executionTime;
+
+    /**
+     * Creates a new tenant migration result.
+     *
+     * @param tenant            The tenant this result is for.
+     * @param migrationsApplied The number of successfully applied migrations.
+     * @param exception         The exception the migration of this tenant failed with. {@code null} if it succeeded.
+     * @param executionTime     The time it took to migrate this tenant, in milliseconds.
+     */
+    public TenantMigrationResult(String tenant, int migrationsApplied, FlywayException exception, long executionTime) {
+        this.tenant = tenant;
+        this.migrationsApplied = migrationsApplied;
+        this.exception = exception;
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @return The tenant this result is for. The name of its schema or a description of its DataSource.
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * @return The number of successfully applied migrations.
+     */
+    public int getMigrationsApplied() {
+        return migrationsApplied;
+    }
+
+    /**
+     * @return The exception the migration of this tenant failed with. {@code null} if it succeeded.
+     */
+    public FlywayException getException() {
+        return exception;
+    }
+
+    /**
+     * @return Whether the migration of this tenant succeeded.
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return The time it took to migrate this tenant, in milliseconds.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return tenant + ": " + (isSuccess() ? migrationsApplied + " migration(s) applied" : "failed (" + exception.getMessage() + ")");
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The aggregated outcome of a multi-tenant migration.
+ */
+public class TenantMigrationSummary {
+    /**
+     * The results of the individual tenants, in the order the tenants were specified in.
+     */
+    private final List<TenantMigrationResult> results;
+
+    /**
+     * The time it took to migrate all tenants, in milliseconds.
+     */
+    private final long executionTime;
+
+    /**
+     * Creates a new tenant migration summary.
+     *
+     * @param results       The results of the individual tenants, in the order the tenants were specified in.
+     * @param executionTime The time it took to migrate all tenants, in milliseconds.
+     */
+    public TenantMigrationSummary(List<TenantMigrationResult> results, long executionTime) {
+        this.results = Collections.unmodifiableList(new ArrayList<TenantMigrationResult>(results));
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @return The results of the individual tenants, in the order the tenants were specified in.
+     */
+    public List<TenantMigrationResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return The results of the tenants whose migration failed.
+     */
+    public List<TenantMigrationResult> getFailures() {
+        List<TenantMigrationResult> failures = new ArrayList<TenantMigrationResult>();
+        for (TenantMigrationResult result : results) {
+            if (!result.isSuccess()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @return The number of tenants that were migrated successfully.
+     */
+    public int getSuccessCount() {
+        return results.size() - getFailureCount();
+    }
+
+    /**
+     * @return The number of tenants whose migration failed.
+     */
+    public int getFailureCount() {
+        int failureCount = 0;
+        for (TenantMigrationResult result : results) {
+            if (!result.isSuccess()) {
+                failureCount++;
+            }
+        }
+        return failureCount;
+    }
+
+    /**
+     * @return Whether all tenants were migrated successfully.
+     */
+    public boolean isSuccess() {
+        return getFailureCount() == 0;
+    }
+
+    /**
+     * @return The total number of migrations successfully applied across all tenants.
+     */
+    public int getMigrationsApplied() {
+        int migrationsApplied = 0;
+        for (TenantMigrationResult result : results) {
+            migrationsApplied += result.getMigrationsApplied();
+        }
+        return migrationsApplied;
+    }
+
+    /**
+     * @return The time it took to migrate all tenants, in milliseconds.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return results.size() + " tenant(s): " + getSuccessCount() + " succeeded, " + getFailureCount() + " failed, "
+                + getMigrationsApplied() + " migration(s) applied";
+    }
+}
@@ -17,6 +17,7 @@ package org.flywaydb.core.api.configuration;
 
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.metrics.MetricsListener;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 
 import javax.sql.DataSource;
@@ -77,6 +78,13 @@ public interface FlywayConfiguration {
      */
     FlywayCallback[] getCallbacks();
 
+    /**
+     * Gets the listeners receiving the timings and counters of the commands.
+     *
+     * @return The metrics listeners. An empty array if none. (default: none)
+     */
+    MetricsListener[] getMetricsListeners();
+
     /**
      * Whether Flyway should skip the default callbacks. If true, only custom callbacks are used.
      *
@@ -297,4 +305,58 @@ public interface FlywayConfiguration {
      * @return The username or {@code null} for the current database user of the connection. (default: {@code null}).
      */
     String getInstalledBy();
+
+    /**
+     * Whether migrate should compute the pending migrations only once and then apply all of them based on this plan,
+     * instead of reacquiring the lock on the metadata table and recomputing the pending migrations after every
+     * single migration. On databases where the Flyway lock is held by the session (PostgreSQL, MySQL) the lock is
+     * then only acquired once for the whole run. As soon as another writer to the metadata table is detected, Flyway
+     * falls back to the regular behavior.
+     *
+     * @return {@code true} if all pending migrations should be applied based on a single plan. {@code false} if not. (default: {@code false})
+     */
+    boolean isSingleLockMigrate();
+
+    /**
+     * The maximum number of consecutive DML statements (INSERT, UPDATE, DELETE) of a sql migration to send to the
+     * database together as a single JDBC batch. DDL, non-transactional statements and PostgreSQL COPY blocks are
+     * always executed on their own. Batching is only used when it is supported by the JDBC driver.
+     *
+     * @return The maximum number of statements per batch. {@code 0} or {@code 1} to disable batching. (default: {@code 0})
+     */
+    int getSqlBatchSize();
+
+    /**
+     * The directory in which to keep a cache of the checksums of sql migrations. On subsequent runs, the checksum
+     * of a migration is then taken from this cache as long as its size and last modification time (filesystem) or
+     * its size and stored crc (jar) haven't changed, instead of reading the whole migration again.
+     *
+     * @return The directory of the checksum cache. {@code null} to disable the cache. (default: {@code null})
+     */
+    String getChecksumCacheDirectory();
+
+    /**
+     * The number of threads to use for resolving migrations. With more than one thread, the locations are scanned
+     * concurrently and the checksums of all sql migrations are calculated up front in parallel, which mainly pays off
+     * for locations with a high latency per file, such as network filesystems.
+     *
+     * @return The number of threads to use for resolving migrations. {@code 1} to resolve them on the calling thread. (default: {@code 1})
+     */
+    int getResolverThreads();
+
+    /**
+     * The number of threads to use for cleaning. With more than one thread, the schemas are cleaned or dropped
+     * concurrently, each on its own connection, which pays off when cleaning many schemas.
+     *
+     * @return The number of threads to use for cleaning. {@code 1} to clean the schemas one after the other on a single connection. (default: {@code 1})
+     */
+    int getCleanThreads();
+
+    /**
+     * The maximum time in seconds to wait for the lock on the metadata table held by another Flyway instance.
+     * Where the database supports it, the lock is polled for without blocking the connection.
+     *
+     * @return The timeout in seconds. {@code 0} to wait indefinitely. (default: {@code 0})
+     */
+    int getLockTimeout();
 }
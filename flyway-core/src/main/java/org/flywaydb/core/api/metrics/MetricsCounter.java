@@ -0,0 +1,43 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+/**
+ * The counters reported by Flyway.
+ */
+public enum MetricsCounter {
+    /**
+     * The sql statements executed by scripts.
+     */
+    STATEMENTS,
+
+    /**
+     * The rows affected by the sql statements executed by scripts, as reported by the JDBC driver.
+     */
+    ROWS_AFFECTED,
+
+    /**
+     * The bytes of script text read to parse scripts or calculate their checksums, in UTF-8 and excluding line
+     * terminators.
+     */
+    BYTES_PARSED,
+
+    /**
+     * The bytes of PostgreSQL COPY FROM STDIN data streamed to the database by scripts, in UTF-8 and including line
+     * terminators.
+     */
+    BYTES_COPIED
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+/**
+ * Receives structured timing and counter events for the work Flyway performs, so they can be exported to a metrics
+ * system. Register it using {@link org.flywaydb.core.Flyway#setMetricsListeners(MetricsListener...)}.
+ *
+ * <p>Events are delivered synchronously on the thread doing the work, which for commands using several threads may
+ * be different from the one that invoked the command. Implementations must therefore be thread-safe and should
+ * return quickly. Exceptions thrown by a listener are logged and otherwise ignored.</p>
+ */
+public interface MetricsListener {
+    /**
+     * Invoked when a phase of a Flyway command completed, successfully or not.
+     *
+     * @param phase         The phase.
+     * @param name          What the phase was performed on, such as the command name, the location scanned, the
+     *                      script checksummed, the metadata table or the migration applied. See {@link MetricsPhase}.
+     * @param durationNanos The time the phase took in nanoseconds.
+     */
+    void timing(MetricsPhase phase, String name, long durationNanos);
+
+    /**
+     * Invoked when a counter increases.
+     *
+     * @param counter The counter.
+     * @param amount  The amount by which it increased.
+     */
+    void count(MetricsCounter counter, long amount);
+}
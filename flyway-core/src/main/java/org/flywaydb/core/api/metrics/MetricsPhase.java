@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.metrics;
+
+/**
+ * The phases of the Flyway commands for which timings are reported.
+ */
+public enum MetricsPhase {
+    /**
+     * A complete command, named after it (migrate, validate, clean, ...).
+     */
+    COMMAND,
+
+    /**
+     * The scanning of a location for resources or classes, named after the location.
+     */
+    SCAN,
+
+    /**
+     * The resolving of all available migrations, named after the locations.
+     */
+    RESOLVE,
+
+    /**
+     * The reading of a script to calculate its checksum, while parsing it or on its own, named after the script.
+     */
+    CHECKSUM,
+
+    /**
+     * The wait for the lock on the metadata table, named after the table.
+     */
+    LOCK_WAIT,
+
+    /**
+     * A query or change of the metadata table, named after the kind of statement (select, insert, update, delete).
+     */
+    METADATA_QUERY,
+
+    /**
+     * The execution of a migration, named after its version or, for repeatable migrations, its description.
+     */
+    MIGRATION,
+
+    /**
+     * The execution of a single sql statement or batch of statements of a script, named after the script.
+     */
+    STATEMENT
+}
@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Flyway Callback, looking for SQL scripts (named like on the callback methods) inside the configured locations.
@@ -100,12 +101,25 @@ public class SqlScriptFlywayCallback implements FlywayCallback {
                                 "-> " + existing.getResource().getLocationOnDisk() + "\n" +
                                 "-> " + resource.getLocationOnDisk());
                     }
-                    scripts.put(key, new SqlScript(dbSupport, resource, placeholderReplacer, configuration.getEncoding(), configuration.isAllowMixedMigrations()));
+                    scripts.put(key, new SqlScript(dbSupport, resource, placeholderReplacer, configuration.getEncoding(), configuration.isAllowMixedMigrations(), configuration.getSqlBatchSize()));
                 }
             }
         }
     }
 
+    /**
+     * @return The resources of the SQL callback scripts that were found, sorted by callback name.
+     */
+    public Map<String, Resource> getResources() {
+        Map<String, Resource> resources = new TreeMap<String, Resource>();
+        for (Map.Entry<String, SqlScript> entry : scripts.entrySet()) {
+            if (entry.getValue() != null) {
+                resources.put(entry.getKey(), entry.getValue().getResource());
+            }
+        }
+        return resources;
+    }
+
     @Override
     public void beforeClean(Connection connection) {
         execute(BEFORE_CLEAN, connection);
@@ -18,17 +18,30 @@ package org.flywaydb.core.internal.command;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
+import org.flywaydb.core.internal.util.DaemonThreadFactory;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.TimeFormat;
+import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Main workflow for cleaning the database.
@@ -69,6 +82,17 @@ public class DbClean {
      */
     private final DbSupport dbSupport;
 
+    /**
+     * The datasource to open the additional connections for cleaning schemas concurrently with. {@code null} to always
+     * clean on {@link #connection}.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * The number of threads to use for cleaning the schemas concurrently. {@code 1} to clean them one after the other.
+     */
+    private final int cleanThreads;
+
     /**
      * Creates a new database cleaner.
      *
@@ -78,15 +102,21 @@ public class DbClean {
      * @param schemas       The schemas to clean.
      * @param callbacks     The list of callbacks that fire before or after the clean task is executed.
      * @param cleanDisabled Whether to disable clean.
+     * @param dataSource    The datasource to open the additional connections for cleaning schemas concurrently with.
+     *                      {@code null} to always clean on this connection.
+     * @param cleanThreads  The number of threads to use for cleaning the schemas concurrently. {@code 1} to clean them
+     *                      one after the other.
      */
     public DbClean(Connection connection, DbSupport dbSupport, MetaDataTable metaDataTable, Schema[] schemas,
-                   FlywayCallback[] callbacks, boolean cleanDisabled) {
+                   FlywayCallback[] callbacks, boolean cleanDisabled, DataSource dataSource, int cleanThreads) {
         this.connection = connection;
         this.dbSupport = dbSupport;
         this.metaDataTable = metaDataTable;
         this.schemas = schemas;
         this.callbacks = callbacks;
         this.cleanDisabled = cleanDisabled;
+        this.dataSource = dataSource;
+        this.cleanThreads = cleanThreads;
     }
 
     /**
@@ -118,16 +148,20 @@ public class DbClean {
                 LOG.error("Error while checking whether the schemas should be dropped", e);
             }
 
+            List<Schema> existingSchemas = new ArrayList<Schema>();
             for (Schema schema : schemas) {
                 if (!schema.exists()) {
                     LOG.warn("Unable to clean unknown schema: " + schema);
                     continue;
                 }
+                existingSchemas.add(schema);
+            }
 
-                if (dropSchemas) {
-                    dropSchema(schema);
-                } else {
-                    cleanSchema(schema);
+            if (cleanThreads > 1 && existingSchemas.size() > 1 && dataSource != null && !dbSupport.useSingleConnection()) {
+                cleanConcurrently(existingSchemas, dropSchemas);
+            } else {
+                for (Schema schema : existingSchemas) {
+                    cleanOrDropSchema(connection, schema, dropSchemas);
                 }
             }
 
@@ -146,13 +180,108 @@ public class DbClean {
         }
     }
 
+    /**
+     * Cleans or drops these schemas concurrently, each on its own connection. All schemas are processed, even if some
+     * fail, after which the failure of the first failed schema (in configured order) is reported and the others are
+     * logged. This keeps the reported error independent of the order in which the threads happen to finish.
+     *
+     * @param schemas     The schemas to clean or drop.
+     * @param dropSchemas {@code true} to drop the schemas, {@code false} to clean them.
+     * @throws FlywayException when clean failed.
+     */
+    private void cleanConcurrently(List<Schema> schemas, final boolean dropSchemas) {
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(cleanThreads, schemas.size()), new DaemonThreadFactory("flyway-clean-", Metrics.getListeners()));
+        try {
+            Map<Schema, Future<Void>> futures = new LinkedHashMap<Schema, Future<Void>>();
+            for (final Schema schema : schemas) {
+                futures.put(schema, executorService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        cleanOrDropSchemaOnNewConnection(schema.getName(), dropSchemas);
+                        return null;
+                    }
+                }));
+            }
+
+            Schema failedSchema = null;
+            Throwable failure = null;
+            for (Map.Entry<Schema, Future<Void>> entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FlywayException("Interrupted while cleaning schemas", e);
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failedSchema = entry.getKey();
+                        failure = e.getCause();
+                    } else {
+                        LOG.error("Unable to clean schema " + entry.getKey(), e);
+                    }
+                }
+            }
+
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new FlywayException("Unable to clean schema " + failedSchema, failure);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Cleans or drops the schema with this name on a new connection of its own.
+     *
+     * @param schemaName  The name of the schema.
+     * @param dropSchemas {@code true} to drop the schema, {@code false} to clean it.
+     * @throws FlywayException when clean failed.
+     */
+    private void cleanOrDropSchemaOnNewConnection(String schemaName, boolean dropSchemas) {
+        Connection schemaConnection = JdbcUtils.openConnection(dataSource);
+        try {
+            DbSupport schemaDbSupport = DbSupportFactory.createDbSupport(schemaConnection, false);
+            try {
+                schemaDbSupport.changeCurrentSchemaTo(schemaDbSupport.getSchema(schemas[0].getName()));
+                cleanOrDropSchema(schemaConnection, schemaDbSupport.getSchema(schemaName), dropSchemas);
+            } finally {
+                schemaDbSupport.restoreCurrentSchema();
+            }
+        } finally {
+            JdbcUtils.closeConnection(schemaConnection);
+        }
+    }
+
+    /**
+     * Cleans or drops this schema.
+     *
+     * @param connection  The connection the schema belongs to.
+     * @param schema      The schema to clean or drop.
+     * @param dropSchemas {@code true} to drop the schema, {@code false} to clean it.
+     * @throws FlywayException when clean failed.
+     */
+    private void cleanOrDropSchema(Connection connection, Schema schema, boolean dropSchemas) {
+        if (dropSchemas) {
+            dropSchema(connection, schema);
+        } else {
+            cleanSchema(connection, schema);
+        }
+    }
+
     /**
      * Drops this schema.
      *
-     * @param schema The schema to drop.
+     * @param connection The connection the schema belongs to.
+     * @param schema     The schema to drop.
      * @throws FlywayException when the drop failed.
      */
-    private void dropSchema(final Schema schema) {
+    private void dropSchema(Connection connection, final Schema schema) {
         LOG.debug("Dropping schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -171,10 +300,11 @@ public class DbClean {
     /**
      * Cleans this schema of all objects.
      *
-     * @param schema The schema to clean.
+     * @param connection The connection the schema belongs to.
+     * @param schema     The schema to clean.
      * @throws FlywayException when clean failed.
      */
-    private void cleanSchema(final Schema schema) {
+    private void cleanSchema(Connection connection, final Schema schema) {
         LOG.debug("Cleaning schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
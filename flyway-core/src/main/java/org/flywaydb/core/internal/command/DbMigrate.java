@@ -21,6 +21,7 @@ import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.FlywayCallback;
 import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.metrics.MetricsPhase;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
@@ -31,6 +32,8 @@ import org.flywaydb.core.internal.info.MigrationInfoImpl;
 import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
 import org.flywaydb.core.internal.metadatatable.AppliedMigration;
 import org.flywaydb.core.internal.metadatatable.MetaDataTable;
+import org.flywaydb.core.internal.util.Metrics;
+import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.TimeFormat;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
@@ -137,59 +140,21 @@ public class DbMigrate {
             stopWatch.start();
 
             int migrationSuccessCount = 0;
-            while (true) {
-                final boolean firstRun = migrationSuccessCount == 0;
-                boolean done = metaDataTable.lock(new Callable<Boolean>() {
+            boolean done = false;
+            boolean firstRun = true;
+            if (configuration.isSingleLockMigrate()) {
+                Pair<Integer, Boolean> result = migrateAccordingToPlan();
+                migrationSuccessCount = result.getLeft();
+                done = result.getRight();
+                firstRun = false;
+            }
+
+            while (!done) {
+                final boolean logCurrentVersion = firstRun;
+                done = metaDataTable.lock(new Callable<Boolean>() {
                     @Override
                     public Boolean call() {
-                        MigrationInfoServiceImpl infoService =
-                                new MigrationInfoServiceImpl(migrationResolver, metaDataTable, configuration.getTarget(), configuration.isOutOfOrder(), true, true, true);
-                        infoService.refresh();
-
-                        MigrationVersion currentSchemaVersion = MigrationVersion.EMPTY;
-                        if (infoService.current() != null) {
-                            currentSchemaVersion = infoService.current().getVersion();
-                        }
-                        if (firstRun) {
-                            LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
-
-                            if (configuration.isOutOfOrder()) {
-                                LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
-                            }
-                        }
-
-                        MigrationInfo[] future = infoService.future();
-                        if (future.length > 0) {
-                            MigrationInfo[] resolved = infoService.resolved();
-                            if (resolved.length == 0) {
-                                LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
-                                        + ", but no migration could be resolved in the configured locations !");
-                            } else {
-                                int offset = resolved.length - 1;
-                                while (resolved[offset].getVersion() == null) {
-                                    // Skip repeatable migrations
-                                    offset--;
-                                }
-                                LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
-                                        + ") that is newer than the latest available migration ("
-                                        + resolved[offset].getVersion() + ") !");
-                            }
-                        }
-
-                        MigrationInfo[] failed = infoService.failed();
-                        if (failed.length > 0) {
-                            if ((failed.length == 1)
-                                    && (failed[0].getState() == MigrationState.FUTURE_FAILED)
-                                    && (configuration.isIgnoreFutureMigrations() || ignoreFailedFutureMigration)) {
-                                LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
-                            } else {
-                                if (failed[0].getVersion() == null) {
-                                    throw new FlywayException("Schema " + schema + " contains a failed repeatable migration (" + failed[0].getDescription() + ") !");
-                                }
-                                throw new FlywayException("Schema " + schema + " contains a failed migration to version " + failed[0].getVersion() + " !");
-                            }
-                        }
-
+                        MigrationInfoServiceImpl infoService = refreshInfoService(logCurrentVersion);
                         MigrationInfoImpl[] pendingMigrations = infoService.pending();
 
                         if (pendingMigrations.length == 0) {
@@ -197,16 +162,14 @@ public class DbMigrate {
                         }
 
                         boolean isOutOfOrder = pendingMigrations[0].getVersion() != null
-                                && pendingMigrations[0].getVersion().compareTo(currentSchemaVersion) < 0;
+                                && pendingMigrations[0].getVersion().compareTo(getCurrentSchemaVersion(infoService)) < 0;
                         return applyMigration(pendingMigrations[0], isOutOfOrder);
                     }
                 });
-                if (done) {
-                    // No further migrations available
-                    break;
+                if (!done) {
+                    migrationSuccessCount++;
                 }
-
-                migrationSuccessCount++;
+                firstRun = false;
             }
 
             stopWatch.stop();
@@ -230,6 +193,124 @@ public class DbMigrate {
         }
     }
 
+    /**
+     * Applies all pending migrations according to a plan that is computed only once. If the lock on the metadata table
+     * is held by the session, it is acquired a single time for the whole plan. Otherwise it is reacquired for each
+     * migration and the plan is abandoned as soon as another writer to the metadata table is detected.
+     *
+     * @return The number of successfully applied migrations and whether the plan could be applied completely.
+     */
+    private Pair<Integer, Boolean> migrateAccordingToPlan() {
+        if (dbSupport.supportsSessionLock()) {
+            return metaDataTable.lock(new Callable<Pair<Integer, Boolean>>() {
+                @Override
+                public Pair<Integer, Boolean> call() {
+                    MigrationPlan plan = new MigrationPlan(refreshInfoService(true));
+                    while (!plan.isComplete()) {
+                        plan.applyNext();
+                    }
+                    return Pair.of(plan.getAppliedCount(), true);
+                }
+            });
+        }
+
+        final MigrationPlan plan = metaDataTable.lock(new Callable<MigrationPlan>() {
+            @Override
+            public MigrationPlan call() {
+                MigrationPlan plan = new MigrationPlan(refreshInfoService(true));
+                plan.trackMetaDataTable();
+                return plan;
+            }
+        });
+        while (!plan.isComplete()) {
+            boolean applied = metaDataTable.lock(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    if (!plan.isMetaDataTableUnchanged()) {
+                        LOG.info("Concurrent changes to metadata table " + metaDataTable
+                                + " detected. Falling back to recomputing pending migrations after each migration.");
+                        return false;
+                    }
+                    plan.applyNext();
+                    return true;
+                }
+            });
+            if (!applied) {
+                return Pair.of(plan.getAppliedCount(), false);
+            }
+        }
+        return Pair.of(plan.getAppliedCount(), true);
+    }
+
+    /**
+     * Computes the current state of all migrations and verifies that migrate can proceed.
+     *
+     * @param firstRun Whether this is the first time the state is computed during this migration run.
+     * @return The refreshed info service.
+     * @throws FlywayException when the schema contains a failed migration.
+     */
+    private MigrationInfoServiceImpl refreshInfoService(boolean firstRun) {
+        MigrationInfoServiceImpl infoService =
+                new MigrationInfoServiceImpl(migrationResolver, metaDataTable, configuration.getTarget(), configuration.isOutOfOrder(), true, true, true);
+        infoService.refresh();
+
+        MigrationVersion currentSchemaVersion = getCurrentSchemaVersion(infoService);
+        if (firstRun) {
+            LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
+
+            if (configuration.isOutOfOrder()) {
+                LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
+            }
+        }
+
+        MigrationInfo[] future = infoService.future();
+        if (future.length > 0) {
+            MigrationInfo[] resolved = infoService.resolved();
+            if (resolved.length == 0) {
+                LOG.warn("Schema " + schema + " has version " + currentSchemaVersion
+                        + ", but no migration could be resolved in the configured locations !");
+            } else {
+                int offset = resolved.length - 1;
+                while (resolved[offset].getVersion() == null) {
+                    // Skip repeatable migrations
+                    offset--;
+                }
+                LOG.warn("Schema " + schema + " has a version (" + currentSchemaVersion
+                        + ") that is newer than the latest available migration ("
+                        + resolved[offset].getVersion() + ") !");
+            }
+        }
+
+        MigrationInfo[] failed = infoService.failed();
+        if (failed.length > 0) {
+            if ((failed.length == 1)
+                    && (failed[0].getState() == MigrationState.FUTURE_FAILED)
+                    && (configuration.isIgnoreFutureMigrations() || ignoreFailedFutureMigration)) {
+                LOG.warn("Schema " + schema + " contains a failed future migration to version " + failed[0].getVersion() + " !");
+            } else {
+                if (failed[0].getVersion() == null) {
+                    throw new FlywayException("Schema " + schema + " contains a failed repeatable migration (" + failed[0].getDescription() + ") !");
+                }
+                throw new FlywayException("Schema " + schema + " contains a failed migration to version " + failed[0].getVersion() + " !");
+            }
+        }
+
+        return infoService;
+    }
+
+    /**
+     * Retrieves the current version of the schema.
+     *
+     * @param infoService The refreshed info service.
+     * @return The current version of the schema.
+     */
+    private MigrationVersion getCurrentSchemaVersion(MigrationInfoServiceImpl infoService) {
+        if (infoService.current() != null) {
+            return infoService.current().getVersion();
+        }
+        return MigrationVersion.EMPTY;
+    }
+
     /**
      * Logs the summary of this migration run.
      *
@@ -242,10 +323,14 @@ public class DbMigrate {
             return;
         }
 
+        String timings = "execution time " + TimeFormat.format(executionTime);
+        if (metaDataTable.getLockWaitTime() > 0) {
+            timings += ", of which " + TimeFormat.format(metaDataTable.getLockWaitTime()) + " waiting for the metadata table lock";
+        }
         if (migrationSuccessCount == 1) {
-            LOG.info("Successfully applied 1 migration to schema " + schema + " (execution time " + TimeFormat.format(executionTime) + ").");
+            LOG.info("Successfully applied 1 migration to schema " + schema + " (" + timings + ").");
         } else {
-            LOG.info("Successfully applied " + migrationSuccessCount + " migrations to schema " + schema + " (execution time " + TimeFormat.format(executionTime) + ").");
+            LOG.info("Successfully applied " + migrationSuccessCount + " migrations to schema " + schema + " (" + timings + ").");
         }
     }
 
@@ -269,8 +354,10 @@ public class DbMigrate {
 
         LOG.info("Migrating " + migrationText);
 
+        String metricsName = version != null ? version.toString() : migration.getDescription();
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
+        long start = Metrics.start();
 
         try {
             if (migrationExecutor.executeInTransaction()) {
@@ -289,6 +376,7 @@ public class DbMigrate {
                 }
             }
         } catch (FlywayException e) {
+            Metrics.timing(MetricsPhase.MIGRATION, metricsName, start);
             String failedMsg = "Migration of " + migrationText + " failed!";
             if (dbSupport.supportsDdlTransactions() && migrationExecutor.executeInTransaction()) {
                 LOG.error(failedMsg + " Changes successfully rolled back.");
@@ -305,6 +393,7 @@ public class DbMigrate {
         }
 
         stopWatch.stop();
+        Metrics.timing(MetricsPhase.MIGRATION, metricsName, start);
         int executionTime = (int) stopWatch.getTotalTimeMillis();
 
         AppliedMigration appliedMigration = new AppliedMigration(version, migration.getDescription(),
@@ -328,4 +417,87 @@ public class DbMigrate {
             callback.afterEachMigrate(connectionUserObjects, migration);
         }
     }
+
+    /**
+     * The pending migrations computed at the start of a migration run, along with the state that is updated
+     * incrementally as they are applied.
+     */
+    private class MigrationPlan {
+        /**
+         * The migrations to apply, in order.
+         */
+        private final MigrationInfoImpl[] pendingMigrations;
+
+        /**
+         * The current version of the schema, taking into account the migrations of this plan applied so far.
+         */
+        private MigrationVersion currentSchemaVersion;
+
+        /**
+         * The number of migrations of this plan applied so far.
+         */
+        private int appliedCount;
+
+        /**
+         * The number of rows expected in the metadata table. {@code -1} if the metadata table isn't being tracked.
+         */
+        private int expectedMetaDataTableSize = -1;
+
+        /**
+         * Creates a new plan for the pending migrations of this info service.
+         *
+         * @param infoService The refreshed info service.
+         */
+        MigrationPlan(MigrationInfoServiceImpl infoService) {
+            this.pendingMigrations = infoService.pending();
+            this.currentSchemaVersion = getCurrentSchemaVersion(infoService);
+        }
+
+        /**
+         * Records the current size of the metadata table, so that changes by other writers can be detected later on.
+         */
+        void trackMetaDataTable() {
+            expectedMetaDataTableSize = metaDataTable.allAppliedMigrations().size();
+        }
+
+        /**
+         * @return {@code true} if the metadata table only contains the changes made by this plan so far.
+         */
+        boolean isMetaDataTableUnchanged() {
+            return metaDataTable.allAppliedMigrations().size() == expectedMetaDataTableSize;
+        }
+
+        /**
+         * @return Whether all migrations of this plan have been applied.
+         */
+        boolean isComplete() {
+            return appliedCount >= pendingMigrations.length;
+        }
+
+        /**
+         * @return The number of migrations of this plan applied so far.
+         */
+        int getAppliedCount() {
+            return appliedCount;
+        }
+
+        /**
+         * Applies the next migration of this plan.
+         */
+        void applyNext() {
+            MigrationInfoImpl migration = pendingMigrations[appliedCount];
+            MigrationVersion version = migration.getVersion();
+
+            boolean isOutOfOrder = version != null && version.compareTo(currentSchemaVersion) < 0;
+            applyMigration(migration, isOutOfOrder);
+
+            if (version != null && version.compareTo(currentSchemaVersion) > 0) {
+                currentSchemaVersion = version;
+            }
+            if (expectedMetaDataTableSize >= 0) {
+                expectedMetaDataTableSize++;
+            }
+            appliedCount++;
+        }
+    }
 }
@@ -0,0 +1,383 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.FlywaySqlException;
+import org.flywaydb.core.internal.dbsupport.Schema;
+import org.flywaydb.core.internal.util.ChecksumReader;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.TimeFormat;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.flywaydb.core.internal.util.scanner.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Handles the snapshots used to reset the schemas to their fully migrated state without replaying all migrations.
+ * <p>
+ * Snapshots are kept for the lifetime of the JVM, one per database and set of schemas. A snapshot is only restored
+ * if it was taken for the same resolved migrations, callbacks and migration-relevant configuration. Snapshots that
+ * are replaced or outdated are deleted right away, the last one of each database is left in the temp directory.
+ * </p>
+ */
+public class DbSnapshot {
+    private static final Log LOG = LogFactory.getLog(DbSnapshot.class);
+
+    /**
+     * The snapshots taken so far, indexed by the key of the database and schemas they were taken for.
+     */
+    private static final Map<String, Snapshot> SNAPSHOTS = new HashMap<String, Snapshot>();
+
+    /**
+     * The database connection to use.
+     */
+    private final Connection connection;
+
+    /**
+     * The database-specific support.
+     */
+    private final DbSupport dbSupport;
+
+    /**
+     * The schemas to snapshot and restore.
+     */
+    private final Schema[] schemas;
+
+    /**
+     * The migration resolver.
+     */
+    private final MigrationResolver migrationResolver;
+
+    /**
+     * The callbacks invoked when migrating.
+     */
+    private final FlywayCallback[] flywayCallbacks;
+
+    /**
+     * The Flyway configuration.
+     */
+    private final FlywayConfiguration configuration;
+
+    /**
+     * The key of the database and schemas this snapshot is for. Lazily computed.
+     */
+    private String key;
+
+    /**
+     * The fingerprint of the resolved migrations, callbacks and configuration. Lazily computed.
+     */
+    private String fingerprint;
+
+    /**
+     * Creates a new DbSnapshot.
+     *
+     * @param connection        The database connection to use.
+     * @param dbSupport         The database-specific support.
+     * @param schemas           The schemas to snapshot and restore.
+     * @param migrationResolver The migration resolver.
+     * @param flywayCallbacks   The callbacks invoked when migrating.
+     * @param configuration     The Flyway configuration.
+     */
+    public DbSnapshot(Connection connection, DbSupport dbSupport, Schema[] schemas, MigrationResolver migrationResolver,
+                      FlywayCallback[] flywayCallbacks, FlywayConfiguration configuration) {
+        this.connection = connection;
+        this.dbSupport = dbSupport;
+        this.schemas = schemas;
+        this.migrationResolver = migrationResolver;
+        this.flywayCallbacks = flywayCallbacks;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Restores the schemas from the snapshot taken by a previous {@link #create()}, if there is one that is still
+     * up to date.
+     *
+     * @return {@code true} if the schemas were restored, {@code false} if they must be cleaned and migrated instead.
+     * @throws FlywayException when clean has been disabled.
+     */
+    public boolean restore() throws FlywayException {
+        if (configuration.isCleanDisabled()) {
+            throw new FlywayException("Unable to execute reset as clean has been disabled with the \"flyway.cleanDisabled\" property.");
+        }
+        if (!dbSupport.supportsSnapshots()) {
+            LOG.debug("Snapshots are not supported for " + dbSupport.getDbName() + ". Falling back to clean and migrate.");
+            return false;
+        }
+
+        Snapshot snapshot;
+        synchronized (SNAPSHOTS) {
+            snapshot = SNAPSHOTS.get(getKey());
+        }
+        if (snapshot == null) {
+            LOG.debug("No snapshot available. Falling back to clean and migrate.");
+            return false;
+        }
+        if (!snapshot.fingerprint.equals(getFingerprint())) {
+            LOG.info("Migrations changed since the last snapshot was taken. Falling back to clean and migrate.");
+            discard(snapshot);
+            return false;
+        }
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        try {
+            dbSupport.restoreSnapshot(schemas, snapshot.directory);
+        } catch (SQLException e) {
+            LOG.warn("Unable to restore snapshot of schema(s) " + StringUtils.arrayToCommaDelimitedString(schemas)
+                    + " (" + e.getMessage() + "). Falling back to clean and migrate.");
+            discard(snapshot);
+            return false;
+        }
+        stopWatch.stop();
+
+        LOG.info("Successfully restored schema(s) " + StringUtils.arrayToCommaDelimitedString(schemas)
+                + " from snapshot (execution time " + TimeFormat.format(stopWatch.getTotalTimeMillis()) + ")");
+        return true;
+    }
+
+    /**
+     * Takes a snapshot of the fully migrated schemas, replacing any previous one.
+     *
+     * @throws FlywayException when the snapshot could not be taken.
+     */
+    public void create() throws FlywayException {
+        if (!dbSupport.supportsSnapshots()) {
+            return;
+        }
+
+        File directory;
+        try {
+            directory = File.createTempFile("flyway-snapshot", "");
+        } catch (IOException e) {
+            throw new FlywayException("Unable to create snapshot directory", e);
+        }
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new FlywayException("Unable to create snapshot directory: " + directory.getAbsolutePath());
+        }
+
+        try {
+            dbSupport.createSnapshot(schemas, directory);
+        } catch (SQLException e) {
+            deleteDirectory(directory);
+            throw new FlywaySqlException("Unable to take snapshot of schema(s) "
+                    + StringUtils.arrayToCommaDelimitedString(schemas), e);
+        }
+
+        Snapshot previous;
+        synchronized (SNAPSHOTS) {
+            previous = SNAPSHOTS.put(getKey(), new Snapshot(getFingerprint(), directory));
+        }
+        if (previous != null) {
+            deleteDirectory(previous.directory);
+        }
+        LOG.debug("Took snapshot of schema(s) " + StringUtils.arrayToCommaDelimitedString(schemas)
+                + " in " + directory.getAbsolutePath());
+    }
+
+    /**
+     * Discards this snapshot, unless it has already been replaced.
+     *
+     * @param snapshot The snapshot to discard.
+     */
+    private void discard(Snapshot snapshot) {
+        synchronized (SNAPSHOTS) {
+            if (SNAPSHOTS.get(getKey()) != snapshot) {
+                return;
+            }
+            SNAPSHOTS.remove(getKey());
+        }
+        deleteDirectory(snapshot.directory);
+    }
+
+    /**
+     * @return The key of the database and schemas this snapshot is for.
+     */
+    private String getKey() {
+        if (key == null) {
+            try {
+                DatabaseMetaData metaData = connection.getMetaData();
+                key = metaData.getURL() + "|" + metaData.getUserName() + "|"
+                        + StringUtils.arrayToCommaDelimitedString(schemas);
+            } catch (SQLException e) {
+                throw new FlywaySqlException("Unable to read database connection metadata", e);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return The fingerprint of the resolved migrations, callbacks and configuration.
+     */
+    private String getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = calculateFingerprint(migrationResolver.resolveMigrations(), flywayCallbacks, configuration);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Calculates the fingerprint of these resolved migrations and callbacks and the configuration that influences the
+     * outcome of migrating a clean database with them.
+     *
+     * @param resolvedMigrations The resolved migrations.
+     * @param flywayCallbacks    The callbacks invoked when migrating.
+     * @param configuration      The Flyway configuration.
+     * @return The fingerprint.
+     */
+    /*private -> testing*/ static String calculateFingerprint(Collection<ResolvedMigration> resolvedMigrations,
+                                                             FlywayCallback[] flywayCallbacks,
+                                                             FlywayConfiguration configuration) {
+        StringBuilder source = new StringBuilder();
+        for (ResolvedMigration resolvedMigration : resolvedMigrations) {
+            source.append(resolvedMigration.getType()).append('|')
+                    .append(resolvedMigration.getVersion()).append('|')
+                    .append(resolvedMigration.getDescription()).append('|')
+                    .append(resolvedMigration.getScript()).append('|')
+                    .append(resolvedMigration.getChecksum()).append('\n');
+        }
+        source.append("table=").append(configuration.getTable()).append('\n');
+        source.append("target=").append(configuration.getTarget()).append('\n');
+        source.append("outOfOrder=").append(configuration.isOutOfOrder()).append('\n');
+        source.append("baselineOnMigrate=").append(configuration.isBaselineOnMigrate()).append('\n');
+        source.append("baselineVersion=").append(configuration.getBaselineVersion()).append('\n');
+        // Sorted and without duplicates, as the default callbacks are added again for every command
+        Set<String> callbacks = new TreeSet<String>();
+        for (FlywayCallback flywayCallback : flywayCallbacks) {
+            // Other callbacks can only be told apart by their class, changes to their code go unnoticed
+            callbacks.add("callback=" + flywayCallback.getClass().getName());
+            if (flywayCallback instanceof SqlScriptFlywayCallback) {
+                for (Map.Entry<String, Resource> script : ((SqlScriptFlywayCallback) flywayCallback).getResources().entrySet()) {
+                    callbacks.add("callbackScript=" + script.getKey() + "|" + script.getValue().getLocation() + "|"
+                            + calculateChecksum(script.getValue(), configuration.getEncoding()));
+                }
+            }
+        }
+        for (String callback : callbacks) {
+            source.append(callback).append('\n');
+        }
+        for (Map.Entry<String, String> placeholder : new TreeMap<String, String>(configuration.getPlaceholders()).entrySet()) {
+            source.append("placeholder=").append(placeholder.getKey()).append('=').append(placeholder.getValue()).append('\n');
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes("UTF-8"));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new FlywayException("Unable to calculate snapshot fingerprint", e);
+        } catch (UnsupportedEncodingException e) {
+            throw new FlywayException("Unable to calculate snapshot fingerprint", e);
+        }
+    }
+
+    /**
+     * Calculates the checksum of the contents of this callback script.
+     *
+     * @param resource The resource of the callback script.
+     * @param encoding The encoding of the callback script.
+     * @return The crc-32 checksum of the script.
+     */
+    private static int calculateChecksum(Resource resource, String encoding) {
+        ChecksumReader checksumReader = new ChecksumReader(resource.loadAsReader(encoding));
+        try {
+            char[] buffer = new char[4096];
+            //noinspection StatementWithEmptyBody
+            while (checksumReader.read(buffer) != -1) {
+                // Only read to calculate the checksum
+            }
+            return checksumReader.getChecksum();
+        } catch (IOException e) {
+            throw new FlywayException("Unable to calculate checksum of callback script " + resource.getLocation()
+                    + " (" + resource.getLocationOnDisk() + ")", e);
+        } finally {
+            try {
+                checksumReader.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Deletes this snapshot directory and the files it contains.
+     *
+     * @param directory The directory to delete.
+     */
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    LOG.debug("Unable to delete snapshot file " + file.getAbsolutePath());
+                }
+            }
+        }
+        if (!directory.delete()) {
+            LOG.debug("Unable to delete snapshot directory " + directory.getAbsolutePath());
+        }
+    }
+
+    /**
+     * A snapshot taken by {@link #create()}.
+     */
+    private static class Snapshot {
+        /**
+         * The fingerprint of the resolved migrations and configuration the snapshot was taken for.
+         */
+        private final String fingerprint;
+
+        /**
+         * The directory containing the snapshot files.
+         */
+        private final File directory;
+
+        /**
+         * Creates a new snapshot.
+         *
+         * @param fingerprint The fingerprint of the resolved migrations and configuration the snapshot was taken for.
+         * @param directory   The directory containing the snapshot files.
+         */
+        Snapshot(String fingerprint, File directory) {
+            this.fingerprint = fingerprint;
+            this.directory = directory;
+        }
+    }
+}
@@ -18,6 +18,10 @@ package org.flywaydb.core.internal.dbsupport;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.concurrent.Callable;
@@ -155,6 +159,14 @@ public abstract class DbSupport {
      */
     public abstract boolean supportsDdlTransactions();
 
+    /**
+     * @return Whether sql scripts for this database may contain statements that must be executed outside of a
+     * transaction. When they can't, scripts don't have to be analysed before they are executed.
+     */
+    public boolean supportsNonTransactionalStatements() {
+        return false;
+    }
+
     /**
      * @return The representation of the value {@code true} in a boolean column.
      */
@@ -200,32 +212,96 @@ public abstract class DbSupport {
     public abstract boolean catalogIsSchema();
 
     /**
-     * Executes this COPY statement (PostgreSQL only).
+     * Executes this COPY statement whose data follows the statement within the sql (PostgreSQL only).
      *
      * @param connection The connection to use.
-     * @param sql        The statement to execute.
+     * @param sql        The statement to execute, followed by its data.
      */
     public void executePgCopy(Connection connection, String sql) throws SQLException {
+        int split = sql.indexOf(";");
+        int start = split + 1;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+
+        StringReader data = new StringReader(sql);
+        try {
+            data.skip(start);
+        } catch (IOException e) {
+            throw new SQLException("Unable to execute COPY operation", e);
+        }
+        executePgCopy(connection, sql.substring(0, split), data);
+    }
+
+    /**
+     * Executes this COPY FROM STDIN statement, streaming its data from this reader (PostgreSQL only).
+     *
+     * @param connection The connection to use.
+     * @param sql        The statement to execute, without its data.
+     * @param data       The reader for the data of the statement.
+     */
+    public void executePgCopy(Connection connection, String sql, Reader data) throws SQLException {
         // Do nothing by default
     }
 
+    /**
+     * @return Whether this database supports taking and restoring snapshots of schemas using
+     * {@link #createSnapshot(Schema[], File)} and {@link #restoreSnapshot(Schema[], File)}.
+     */
+    public boolean supportsSnapshots() {
+        return false;
+    }
+
+    /**
+     * Takes a snapshot of the objects and data of these schemas.
+     *
+     * @param schemas   The schemas to take a snapshot of.
+     * @param directory The empty directory to write the snapshot files to.
+     * @throws SQLException when the snapshot could not be taken.
+     */
+    public void createSnapshot(Schema[] schemas, File directory) throws SQLException {
+        throw new FlywayException("Snapshots are not supported for " + getDbName());
+    }
+
+    /**
+     * Restores these schemas from the snapshot taken by {@link #createSnapshot(Schema[], File)}, replacing their
+     * current objects and data.
+     *
+     * @param schemas   The schemas to restore.
+     * @param directory The directory containing the snapshot files.
+     * @throws SQLException when the snapshot could not be restored.
+     */
+    public void restoreSnapshot(Schema[] schemas, File directory) throws SQLException {
+        throw new FlywayException("Snapshots are not supported for " + getDbName());
+    }
+
     /**
      * Locks this table and executes this callable.
      *
      * @param table    The table to lock.
+     * @param timeout  The maximum time in seconds to wait for the lock. {@code 0} to wait indefinitely.
      * @param callable The callable to execute.
      * @return The result of the callable.
+     * @throws FlywayException when the lock could not be acquired within the timeout.
      */
-    public <T> T lock(final Table table, final Callable<T> callable) {
+    public <T> T lock(final Table table, final int timeout, final Callable<T> callable) {
         return new TransactionTemplate(jdbcTemplate.getConnection(), false).execute(new Callable<T>() {
             @Override
             public T call() throws Exception {
-                table.lock();
+                table.lock(timeout);
                 return callable.call();
             }
         });
     }
 
+    /**
+     * @return Whether the lock acquired by {@link #lock(Table, int, Callable)} is held by the session instead of the current
+     * transaction and can therefore safely be kept while several migrations are being applied.
+     */
+    public boolean supportsSessionLock() {
+        return false;
+    }
+
     /**
      * @return Whether to only use a single connection for both metadata table management and applying migrations.
      */
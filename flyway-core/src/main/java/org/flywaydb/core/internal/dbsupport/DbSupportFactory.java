@@ -146,6 +146,70 @@ public class DbSupportFactory {
         throw new FlywayException("Unsupported Database: " + databaseProductName);
     }
 
+    /**
+     * Creates the database-specific support for this type of database without a connection. It can parse sql scripts
+     * and execute them on connections passed in explicitly, but never keeps a connection reachable. This makes it
+     * suitable for state outliving a single connection, such as the migrations shared by several Flyway instances.
+     *
+     * @param dbName The type of database, as returned by {@link DbSupport#getDbName()}.
+     * @return The database-specific support.
+     */
+    public static DbSupport createDialect(String dbName) {
+        if ("derby".equals(dbName)) {
+            return new DerbyDbSupport(null);
+        }
+        if ("sqlite".equals(dbName)) {
+            return new SQLiteDbSupport(null);
+        }
+        if ("h2".equals(dbName)) {
+            return new H2DbSupport(null);
+        }
+        if ("hsql".equals(dbName)) {
+            return new HsqlDbSupport(null);
+        }
+        if ("sqlserver".equals(dbName)) {
+            return new SQLServerDbSupport(null);
+        }
+        if ("mysql".equals(dbName)) {
+            return new MySQLDbSupport(null);
+        }
+        if ("oracle".equals(dbName)) {
+            return new OracleDbSupport(null);
+        }
+        if ("enterprisedb".equals(dbName)) {
+            return new EnterpriseDBDbSupport(null);
+        }
+        if ("redshift".equals(dbName)) {
+            return new RedshfitDbSupportViaPostgreSQLDriver(null);
+        }
+        if ("postgresql".equals(dbName)) {
+            return new PostgreSQLDbSupport(null);
+        }
+        if ("db2zos".equals(dbName)) {
+            return new DB2zosDbSupport(null);
+        }
+        if ("db2".equals(dbName)) {
+            return new DB2DbSupport(null);
+        }
+        if ("vertica".equals(dbName)) {
+            return new VerticaDbSupport(null);
+        }
+        if ("solid".equals(dbName)) {
+            return new SolidDbSupport(null);
+        }
+        if ("phoenix".equals(dbName)) {
+            return new PhoenixDbSupport(null);
+        }
+        if ("sybaseASE".equals(dbName)) {
+            return new SybaseASEDbSupport(null);
+        }
+        if ("saphana".equals(dbName)) {
+            return new SapHanaDbSupport(null);
+        }
+
+        throw new FlywayException("Unsupported Database: " + dbName);
+    }
+
     /**
      * Retrieves the Jdbc Url for this connection.
      *
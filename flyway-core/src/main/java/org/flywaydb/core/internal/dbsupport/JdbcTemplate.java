@@ -48,6 +48,11 @@ public class JdbcTemplate {
      */
     private final int nullType;
 
+    /**
+     * The timeout in seconds for the statements executed by this template. {@code 0} for no timeout.
+     */
+    private int queryTimeout;
+
     /**
      * Creates a new JdbcTemplate.
      *
@@ -66,6 +71,22 @@ public class JdbcTemplate {
         return connection;
     }
 
+    /**
+     * @return The timeout in seconds for the statements executed by this template. {@code 0} for no timeout.
+     */
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * Sets the timeout for the statements executed by this template from now on.
+     *
+     * @param queryTimeout The timeout in seconds. {@code 0} for no timeout.
+     */
+    public void setQueryTimeout(int queryTimeout) {
+        this.queryTimeout = queryTimeout;
+    }
+
     /**
      * Executes this query with these parameters against this connection.
      *
@@ -80,7 +101,7 @@ public class JdbcTemplate {
 
         List<Map<String, String>> result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -117,7 +138,7 @@ public class JdbcTemplate {
 
         List<String> result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -149,7 +170,7 @@ public class JdbcTemplate {
 
         int result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -178,7 +199,7 @@ public class JdbcTemplate {
 
         boolean result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -207,7 +228,7 @@ public class JdbcTemplate {
 
         String result;
         try {
-            statement = connection.prepareStatement(query);
+            statement = prepareStatement(query);
             for (int i = 0; i < params.length; i++) {
                 statement.setString(i + 1, params[i]);
             }
@@ -255,32 +276,26 @@ public class JdbcTemplate {
      * Executes this sql statement using an ordinary Statement.
      *
      * @param sql The statement to execute.
+     * @return The total number of rows affected by the statement.
      * @throws SQLException when the execution failed.
      */
-    public void executeStatement(String sql) throws SQLException {
+    public int executeStatement(String sql) throws SQLException {
         Statement statement = null;
+        int totalUpdateCount = 0;
         try {
-            statement = connection.createStatement();
+            statement = createStatement();
             statement.setEscapeProcessing(false);
             boolean hasResults = false;
             try {
                 hasResults = statement.execute(sql);
             } finally {
-                @SuppressWarnings("ThrowableResultOfMethodCallIgnored") SQLWarning warning = statement.getWarnings();
-                while (warning != null) {
-                    if ("00000".equals(warning.getSQLState())) {
-                        LOG.info("DB: " + warning.getMessage());
-                    } else {
-                        LOG.warn("DB: " + warning.getMessage()
-                                + " (SQL State: " + warning.getSQLState() + " - Error Code: " + warning.getErrorCode() + ")");
-                    }
-                    warning = warning.getNextWarning();
-                }
+                logWarnings(statement);
                 // retrieve all results to ensure all errors are detected
                 int updateCount = -1;
                 while (hasResults || (updateCount = statement.getUpdateCount()) != -1) {
                     if (updateCount != -1) {
                         LOG.debug("Update Count: " + updateCount);
+                        totalUpdateCount += updateCount;
                     }
                     hasResults = statement.getMoreResults();
                 }
@@ -288,6 +303,52 @@ public class JdbcTemplate {
         } finally {
             JdbcUtils.closeStatement(statement);
         }
+        return totalUpdateCount;
+    }
+
+    /**
+     * Executes these sql statements as a single batch using an ordinary Statement.
+     *
+     * @param sqls The statements to execute.
+     * @return The update counts of the statements.
+     * @throws SQLException when the execution failed. A {@link java.sql.BatchUpdateException} holds the update counts
+     *                      of the statements of the batch.
+     */
+    public int[] executeBatch(List<String> sqls) throws SQLException {
+        Statement statement = null;
+        try {
+            statement = createStatement();
+            statement.setEscapeProcessing(false);
+            for (String sql : sqls) {
+                statement.addBatch(sql);
+            }
+            try {
+                return statement.executeBatch();
+            } finally {
+                logWarnings(statement);
+            }
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * Logs the warnings reported by the database for this statement.
+     *
+     * @param statement The statement that was executed.
+     * @throws SQLException when the warnings could not be retrieved.
+     */
+    private void logWarnings(Statement statement) throws SQLException {
+        @SuppressWarnings("ThrowableResultOfMethodCallIgnored") SQLWarning warning = statement.getWarnings();
+        while (warning != null) {
+            if ("00000".equals(warning.getSQLState())) {
+                LOG.info("DB: " + warning.getMessage());
+            } else {
+                LOG.warn("DB: " + warning.getMessage()
+                        + " (SQL State: " + warning.getSQLState() + " - Error Code: " + warning.getErrorCode() + ")");
+            }
+            warning = warning.getNextWarning();
+        }
     }
 
     /**
@@ -316,7 +377,7 @@ public class JdbcTemplate {
      * @throws SQLException when the statement could not be prepared.
      */
     private PreparedStatement prepareStatement(String sql, Object[] params) throws SQLException {
-        PreparedStatement statement = connection.prepareStatement(sql);
+        PreparedStatement statement = prepareStatement(sql);
         for (int i = 0; i < params.length; i++) {
             if (params[i] == null) {
                 statement.setNull(i + 1, nullType);
@@ -331,6 +392,35 @@ public class JdbcTemplate {
         return statement;
     }
 
+    /**
+     * Creates a new prepared statement for this sql, applying the query timeout.
+     *
+     * @param sql The sql to execute.
+     * @return The new prepared statement.
+     * @throws SQLException when the statement could not be prepared.
+     */
+    private PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        if (queryTimeout > 0) {
+            statement.setQueryTimeout(queryTimeout);
+        }
+        return statement;
+    }
+
+    /**
+     * Creates a new ordinary statement, applying the query timeout.
+     *
+     * @return The new statement.
+     * @throws SQLException when the statement could not be created.
+     */
+    private Statement createStatement() throws SQLException {
+        Statement statement = connection.createStatement();
+        if (queryTimeout > 0) {
+            statement.setQueryTimeout(queryTimeout);
+        }
+        return statement;
+    }
+
     /**
      * Executes this query and map the results using this row mapper.
      *
@@ -346,7 +436,7 @@ public class JdbcTemplate {
 
         List<T> results;
         try {
-            statement = connection.createStatement();
+            statement = createStatement();
             resultSet = statement.executeQuery(query);
 
             results = new ArrayList<T>();
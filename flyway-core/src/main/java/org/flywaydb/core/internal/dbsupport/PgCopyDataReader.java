@@ -0,0 +1,190 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader for the data of a PostgreSQL COPY FROM STDIN statement, streamed line by line from the script source up to
+ * the terminating \. line. This way the data never has to be held in memory as a whole, regardless of its size.
+ * <p>The data is only available until the next statement is read from the script.</p>
+ */
+public class PgCopyDataReader extends Reader {
+    private static final Log LOG = LogFactory.getLog(PgCopyDataReader.class);
+
+    /**
+     * The number of bytes after which the progress of the copy operation is logged again.
+     */
+    private static final long PROGRESS_INTERVAL = 16 * 1024 * 1024;
+
+    /**
+     * The line that terminates the data.
+     */
+    private static final String END_OF_DATA = "\\.";
+
+    /**
+     * The statement reader for the script source the data is read from.
+     */
+    private final SqlStatementReader source;
+
+    /**
+     * The line number of the COPY statement the data belongs to.
+     */
+    private final int lineNumber;
+
+    /**
+     * The line currently being handed out. {@code null} if the next line must be read first.
+     */
+    private String line;
+
+    /**
+     * The position of the next character to hand out within the current line. The line terminator is handed out
+     * once this reaches the length of the line.
+     */
+    private int position;
+
+    /**
+     * Whether the end of the data has been reached.
+     */
+    private boolean finished;
+
+    /**
+     * The number of UTF-8 bytes of data handed out so far, including line terminators.
+     */
+    private long bytes;
+
+    /**
+     * The number of bytes at which the progress will be logged next.
+     */
+    private long nextProgress = PROGRESS_INTERVAL;
+
+    /**
+     * Creates a new reader for the data of a COPY FROM STDIN statement.
+     *
+     * @param source     The statement reader for the script source the data is read from.
+     * @param lineNumber The line number of the COPY statement the data belongs to.
+     */
+    PgCopyDataReader(SqlStatementReader source, int lineNumber) {
+        this.source = source;
+        this.lineNumber = lineNumber;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextLine()) {
+            return -1;
+        }
+
+        int count = 0;
+        while (count < len && nextLine()) {
+            if (position < line.length()) {
+                int chunk = Math.min(len - count, line.length() - position);
+                line.getChars(position, position + chunk, cbuf, off + count);
+                position += chunk;
+                count += chunk;
+            } else {
+                cbuf[off + count++] = '\n';
+                bytes += utf8Length(line) + 1;
+                line = null;
+            }
+        }
+
+        if (bytes >= nextProgress) {
+            LOG.debug("Copied " + (bytes / (1024 * 1024)) + " MB of data for COPY statement at line " + lineNumber);
+            nextProgress = bytes + PROGRESS_INTERVAL;
+        }
+        return count;
+    }
+
+    /**
+     * Skips the remaining data, up to and including the terminating \. line.
+     *
+     * @throws IOException when the script source could not be read.
+     */
+    void skipRemaining() throws IOException {
+        line = null;
+        while (nextLine()) {
+            line = null;
+        }
+    }
+
+    /**
+     * @return The number of UTF-8 bytes of data read so far, including line terminators.
+     */
+    public long getBytesRead() {
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        // The script source is closed by its owner
+    }
+
+    /**
+     * Makes sure there is a current line to hand out, reading the next one from the script source if necessary.
+     *
+     * @return {@code true} if there is, {@code false} if the end of the data has been reached.
+     * @throws IOException when the script source could not be read.
+     */
+    private boolean nextLine() throws IOException {
+        if (line != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+
+        String next = source.readLine();
+        if (next == null || END_OF_DATA.equals(next.trim())) {
+            finished = true;
+            return false;
+        }
+        line = next;
+        position = 0;
+        return true;
+    }
+
+    /**
+     * Calculates the length of this string once encoded in UTF-8, without encoding it.
+     *
+     * @param s The string.
+     * @return The number of bytes.
+     */
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring-like template for executing with one or more locks held by the database session. The locks are acquired in
+ * order by polling with increasing intervals, so that waiting for them never blocks the connection and can be bounded
+ * by a timeout.
+ */
+public abstract class SessionLockTemplate {
+    private static final Log LOG = LogFactory.getLog(SessionLockTemplate.class);
+
+    /**
+     * The interval in milliseconds before the first new attempt to acquire the lock.
+     */
+    private static final long INITIAL_POLL_INTERVAL = 50;
+
+    /**
+     * The maximum interval in milliseconds between two attempts to acquire the lock.
+     */
+    private static final long MAX_POLL_INTERVAL = 2000;
+
+    /**
+     * Randomizes the poll intervals, so that instances starting together don't keep polling in lockstep.
+     */
+    private static final Random JITTER = new Random();
+
+    /**
+     * The connection for the lock.
+     */
+    protected final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The number of locks to acquire.
+     */
+    private final int lockCount;
+
+    /**
+     * The maximum time in seconds to wait for all locks. {@code 0} to wait indefinitely.
+     */
+    private final int timeout;
+
+    /**
+     * The number of locks acquired so far.
+     */
+    private int acquired;
+
+    /**
+     * Creates a new session lock template for this connection.
+     *
+     * @param jdbcTemplate The jdbcTemplate for the connection.
+     * @param lockCount    The number of locks to acquire.
+     * @param timeout      The maximum time in seconds to wait for all locks. {@code 0} to wait indefinitely.
+     */
+    protected SessionLockTemplate(JdbcTemplate jdbcTemplate, int lockCount, int timeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockCount = lockCount;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Executes this callback with the locks.
+     *
+     * @param callable The callback to execute.
+     * @return The result of the callable code.
+     * @throws FlywayException when the locks could not be acquired within the timeout.
+     */
+    public <T> T execute(Callable<T> callable) {
+        try {
+            acquire();
+            return callable.call();
+        } catch (Exception e) {
+            RuntimeException rethrow;
+            if (e instanceof RuntimeException) {
+                rethrow = (RuntimeException) e;
+            } else {
+                rethrow = new FlywayException(e);
+            }
+            throw rethrow;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Acquires the locks in order, polling until each one is available or the timeout expires. Locks that have been
+     * acquired are kept while waiting for the next one.
+     */
+    private void acquire() {
+        long start = System.currentTimeMillis();
+        while (acquired < lockCount) {
+            long interval = INITIAL_POLL_INTERVAL;
+            try {
+                while (!tryLock(acquired)) {
+                    long remaining = timeout * 1000L - (System.currentTimeMillis() - start);
+                    if (timeout > 0 && remaining <= 0) {
+                        throw new FlywayException("Unable to acquire " + getLockDescription(acquired) + " within "
+                                + timeout + " seconds. It is still held by another session.");
+                    }
+                    if (interval == INITIAL_POLL_INTERVAL) {
+                        LOG.info("Waiting for " + getLockDescription(acquired) + " held by another session ...");
+                    }
+
+                    long sleep = interval / 2 + (long) (JITTER.nextDouble() * interval / 2);
+                    Thread.sleep(timeout > 0 ? Math.min(sleep, remaining) : sleep);
+                    interval = Math.min(interval * 2, MAX_POLL_INTERVAL);
+                }
+            } catch (SQLException e) {
+                throw new FlywaySqlException("Unable to acquire " + getLockDescription(acquired), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlywayException("Interrupted while waiting for " + getLockDescription(acquired), e);
+            }
+            LOG.debug("Acquired " + getLockDescription(acquired) + " after "
+                    + (System.currentTimeMillis() - start) + " ms");
+            acquired++;
+        }
+    }
+
+    /**
+     * Releases the locks acquired so far, in reverse order.
+     */
+    private void release() {
+        while (acquired > 0) {
+            acquired--;
+            try {
+                unlock(acquired);
+            } catch (SQLException e) {
+                LOG.error("Unable to release " + getLockDescription(acquired), e);
+            }
+        }
+    }
+
+    /**
+     * Tries to acquire this lock without waiting.
+     *
+     * @param lock The index of the lock to acquire.
+     * @return {@code true} if the lock was acquired, {@code false} if it is held by another session.
+     * @throws SQLException when the lock could not be requested.
+     */
+    protected abstract boolean tryLock(int lock) throws SQLException;
+
+    /**
+     * Releases this lock.
+     *
+     * @param lock The index of the lock to release.
+     * @throws SQLException when the lock could not be released.
+     */
+    protected abstract void unlock(int lock) throws SQLException;
+
+    /**
+     * @param lock The index of the lock.
+     * @return The description of this lock for messages.
+     */
+    protected abstract String getLockDescription(int lock);
+
+    /**
+     * Calculates the lock discriminator used by Flyway versions before the 64-bit lock key. Locks derived from it are
+     * still acquired, so that these versions keep excluding this one during a rolling upgrade.
+     *
+     * @param table The table to calculate the discriminator for.
+     * @return The discriminator.
+     */
+    public static int calculateLegacyLockDiscriminator(Table table) {
+        return table.toString().hashCode();
+    }
+
+    /**
+     * Calculates a 64-bit lock key from the full identity of this table. Unlike a 32-bit hash code, it is practically
+     * free of collisions between the metadata tables of different schemas.
+     *
+     * @param table The table to calculate the key for.
+     * @return The lock key.
+     */
+    public static long calculateLockKey(Table table) {
+        String identity = "Flyway|" + table.getSchema().getName() + "|" + table.getName();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes("UTF-8"));
+            long key = 0;
+            for (int i = 0; i < 8; i++) {
+                key = (key << 8) | (digest[i] & 0xFF);
+            }
+            return key;
+        } catch (NoSuchAlgorithmException e) {
+            throw new FlywayException("Unable to calculate lock key for table " + table, e);
+        } catch (UnsupportedEncodingException e) {
+            throw new FlywayException("Unable to calculate lock key for table " + table, e);
+        }
+    }
+}
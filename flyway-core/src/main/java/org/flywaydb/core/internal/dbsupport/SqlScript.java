@@ -16,27 +16,40 @@
 package org.flywaydb.core.internal.dbsupport;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.metrics.MetricsCounter;
+import org.flywaydb.core.api.metrics.MetricsPhase;
+import org.flywaydb.core.internal.util.ChecksumReader;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
-import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.Resource;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Sql script containing a series of statements terminated by a delimiter (eg: ;).
  * Single-line (--) and multi-line (/* * /) comments are stripped and ignored.
+ * <p>Scripts loaded from a resource are parsed lazily and streamed from the resource, so that scripts of any size
+ * can be executed with bounded memory. Unless the database supports non-transactional statements, whose presence
+ * must be known before anything gets executed, they are parsed and executed in a single pass.</p>
  */
 public class SqlScript {
     private static final Log LOG = LogFactory.getLog(SqlScript.class);
 
+    /**
+     * The maximum total length of the statements of a resource-based script that are kept in memory between analysing
+     * and executing it. The statements of larger scripts are read again from the resource upon execution.
+     */
+    private static final int MAX_CACHED_SQL_LENGTH = 1024 * 1024;
+
     /**
      * The database-specific support.
      */
@@ -48,14 +61,41 @@ public class SqlScript {
     private final boolean allowMixedMigrations;
 
     /**
-     * The sql statements contained in this script.
+     * The resource containing the statements.
      */
-    private final List<SqlStatement> sqlStatements;
+    private final Resource resource;
 
     /**
-     * The resource containing the statements.
+     * The placeholder replacer to apply to the resource.
      */
-    private final Resource resource;
+    private final PlaceholderReplacer placeholderReplacer;
+
+    /**
+     * The encoding of the resource.
+     */
+    private final String encoding;
+
+    /**
+     * The maximum number of consecutive DML statements to execute as a single JDBC batch. {@code 0} or {@code 1} if
+     * batching is disabled.
+     */
+    private final int batchSize;
+
+    /**
+     * The sql statements contained in this script. {@code null} if they haven't been parsed yet or if they are too
+     * large to be kept in memory.
+     */
+    private List<SqlStatement> sqlStatements;
+
+    /**
+     * Whether all statements of this script have been parsed and analysed.
+     */
+    private boolean parsed;
+
+    /**
+     * The checksum of the resource, calculated while parsing it. {@code null} if it hasn't been parsed yet.
+     */
+    private Integer checksum;
 
     /**
      * Whether this SQL script contains at least one transactional statement.
@@ -76,12 +116,17 @@ public class SqlScript {
     public SqlScript(String sqlScriptSource, DbSupport dbSupport) {
         this.dbSupport = dbSupport;
         this.allowMixedMigrations = false;
-        this.sqlStatements = parse(sqlScriptSource);
         this.resource = null;
+        this.placeholderReplacer = PlaceholderReplacer.NO_PLACEHOLDERS;
+        this.encoding = null;
+        this.batchSize = 0;
+        this.sqlStatements = parse(sqlScriptSource);
+        this.parsed = true;
     }
 
     /**
-     * Creates a new sql script from this resource.
+     * Creates a new sql script from this resource. The resource is only read once the script is analysed or
+     * executed.
      *
      * @param dbSupport            The database-specific support.
      * @param sqlScriptResource    The resource containing the statements.
@@ -90,13 +135,28 @@ public class SqlScript {
      * @param allowMixedMigrations Whether to allow mixing transactional and non-transactional statements within the same migration.
      */
     public SqlScript(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, String encoding, boolean allowMixedMigrations) {
+        this(dbSupport, sqlScriptResource, placeholderReplacer, encoding, allowMixedMigrations, 0);
+    }
+
+    /**
+     * Creates a new sql script from this resource. The resource is only read once the script is analysed or
+     * executed.
+     *
+     * @param dbSupport            The database-specific support.
+     * @param sqlScriptResource    The resource containing the statements.
+     * @param placeholderReplacer  The placeholder replacer.
+     * @param encoding             The encoding to use.
+     * @param allowMixedMigrations Whether to allow mixing transactional and non-transactional statements within the same migration.
+     * @param batchSize            The maximum number of consecutive DML statements to execute as a single JDBC batch.
+     *                             {@code 0} or {@code 1} to disable batching.
+     */
+    public SqlScript(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, String encoding, boolean allowMixedMigrations, int batchSize) {
         this.dbSupport = dbSupport;
         this.allowMixedMigrations = allowMixedMigrations;
-
-        String sqlScriptSource = sqlScriptResource.loadAsString(encoding);
-        this.sqlStatements = parse(placeholderReplacer.replacePlaceholders(sqlScriptSource));
-
         this.resource = sqlScriptResource;
+        this.placeholderReplacer = placeholderReplacer;
+        this.encoding = encoding;
+        this.batchSize = batchSize;
     }
 
     /**
@@ -105,17 +165,49 @@ public class SqlScript {
      *
      * @return {@code true} if a transaction should be used (highly recommended), or {@code false} if not.
      */
-    public boolean executeInTransaction() {
+    public synchronized boolean executeInTransaction() {
+        if (!parsed && !dbSupport.supportsNonTransactionalStatements()) {
+            // All statements are transactional, no need to read the script to find out
+            return true;
+        }
+        ensureParsed();
         return !nonTransactionalStatementFound;
     }
 
+    /**
+     * Retrieves the checksum of the resource this script was loaded from, as calculated while parsing it.
+     *
+     * @return The crc-32 checksum of the resource. {@code null} if the script hasn't been parsed from a resource yet.
+     */
+    public synchronized Integer getChecksum() {
+        return checksum;
+    }
+
     /**
      * For increased testability.
      *
      * @return The sql statements contained in this script.
      */
     public List<SqlStatement> getSqlStatements() {
-        return sqlStatements;
+        ensureParsed();
+        if (sqlStatements != null) {
+            return sqlStatements;
+        }
+
+        List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        Reader reader = resource.loadAsReader(encoding);
+        try {
+            SqlStatementReader sqlStatementReader = new SqlStatementReader(dbSupport, reader, placeholderReplacer);
+            SqlStatement sqlStatement;
+            while ((sqlStatement = sqlStatementReader.nextStatement()) != null) {
+                statements.add(sqlStatement);
+            }
+        } catch (IOException e) {
+            throw new FlywayException(getParseErrorMessage(), e);
+        } finally {
+            close(reader);
+        }
+        return statements;
     }
 
     /**
@@ -126,24 +218,279 @@ public class SqlScript {
     }
 
     /**
-     * Executes this script against the database.
+     * Executes this script against the database. Statements of scripts too large to be kept in memory are read from
+     * the resource and executed one at a time. A script that hasn't been analysed yet is parsed while it is executed,
+     * unless the database supports non-transactional statements.
      *
      * @param jdbcTemplate The jdbc template to use to execute this script.
      */
     public void execute(final JdbcTemplate jdbcTemplate) {
-        for (SqlStatement sqlStatement : sqlStatements) {
-            String sql = sqlStatement.getSql();
-            LOG.debug("Executing SQL: " + sql);
-
-            try {
-                if (sqlStatement.isPgCopy()) {
-                    dbSupport.executePgCopy(jdbcTemplate.getConnection(), sql);
-                } else {
-                    jdbcTemplate.executeStatement(sql);
+        List<SqlStatement> cachedStatements;
+        boolean firstPass;
+        synchronized (this) {
+            if (dbSupport.supportsNonTransactionalStatements()) {
+                // Analyse the whole script first, so that mixed migrations are detected before anything gets executed.
+                ensureParsed();
+            }
+            cachedStatements = parsed ? sqlStatements : null;
+            firstPass = !parsed;
+        }
+
+        List<SqlStatement> batch = isBatchingEnabled(jdbcTemplate) ? new ArrayList<SqlStatement>(batchSize) : null;
+
+        if (cachedStatements != null) {
+            for (SqlStatement sqlStatement : cachedStatements) {
+                executeStatement(jdbcTemplate, sqlStatement, batch);
+            }
+            executeBatch(jdbcTemplate, batch);
+            return;
+        }
+
+        // Parsed while executing when this is the first pass over the script
+        StatementCache statementCache = firstPass ? new StatementCache() : null;
+        ChecksumReader reader = new ChecksumReader(resource.loadAsReader(encoding));
+        try {
+            SqlStatementReader sqlStatementReader = new SqlStatementReader(dbSupport, reader, placeholderReplacer, true);
+            SqlStatement sqlStatement;
+            while ((sqlStatement = sqlStatementReader.nextStatement()) != null) {
+                if (statementCache != null) {
+                    statementCache.add(sqlStatement);
+                }
+                executeStatement(jdbcTemplate, sqlStatement, batch);
+            }
+        } catch (IOException e) {
+            throw new FlywayException(getParseErrorMessage(), e);
+        } finally {
+            close(reader);
+        }
+        executeBatch(jdbcTemplate, batch);
+
+        if (statementCache != null) {
+            synchronized (this) {
+                if (!parsed) {
+                    sqlStatements = statementCache.getStatements();
+                    checksum = reader.getChecksum();
+                    parsed = true;
+                    Metrics.count(MetricsCounter.BYTES_PARSED, reader.getLength());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether DML statements should be executed in batches.
+     *
+     * @param jdbcTemplate The jdbc template to use to execute this script.
+     * @return {@code true} if they should, {@code false} if not.
+     */
+    private boolean isBatchingEnabled(JdbcTemplate jdbcTemplate) {
+        if (batchSize <= 1) {
+            return false;
+        }
+
+        try {
+            if (jdbcTemplate.getMetaData().supportsBatchUpdates()) {
+                return true;
+            }
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to check whether the JDBC driver supports batch updates", e);
+        }
+
+        LOG.debug("The JDBC driver doesn't support batch updates. Executing statements one at a time.");
+        return false;
+    }
+
+    /**
+     * Executes this statement against the database, either directly or as part of the current batch.
+     *
+     * @param jdbcTemplate The jdbc template to use to execute this statement.
+     * @param sqlStatement The statement to execute.
+     * @param batch        The statements of the current batch. {@code null} if batching is disabled.
+     */
+    private void executeStatement(JdbcTemplate jdbcTemplate, SqlStatement sqlStatement, List<SqlStatement> batch) {
+        if (batch == null) {
+            executeStatement(jdbcTemplate, sqlStatement);
+            return;
+        }
+
+        if (!sqlStatement.isBatchable()) {
+            executeBatch(jdbcTemplate, batch);
+            executeStatement(jdbcTemplate, sqlStatement);
+            return;
+        }
+
+        batch.add(sqlStatement);
+        if (batch.size() >= batchSize) {
+            executeBatch(jdbcTemplate, batch);
+        }
+    }
+
+    /**
+     * Executes the statements of this batch against the database and empties it.
+     *
+     * @param jdbcTemplate The jdbc template to use to execute the batch.
+     * @param batch        The statements of the batch. {@code null} if batching is disabled.
+     */
+    private void executeBatch(JdbcTemplate jdbcTemplate, List<SqlStatement> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        if (batch.size() == 1) {
+            executeStatement(jdbcTemplate, batch.get(0));
+            batch.clear();
+            return;
+        }
+
+        List<String> sqls = new ArrayList<String>(batch.size());
+        for (SqlStatement sqlStatement : batch) {
+            LOG.debug("Adding SQL to batch: " + sqlStatement.getSql());
+            sqls.add(sqlStatement.getSql());
+        }
+
+        LOG.debug("Executing batch of " + sqls.size() + " statements");
+        long start = Metrics.start();
+        try {
+            int[] updateCounts = jdbcTemplate.executeBatch(sqls);
+            recordStatements(start, sqls.size(), updateCounts);
+        } catch (BatchUpdateException e) {
+            throw new FlywaySqlScriptException(resource, batch.get(getFailedStatementIndex(e, batch.size())), e);
+        } catch (SQLException e) {
+            throw new FlywaySqlScriptException(resource, batch.get(0), e);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Determines which statement of a batch caused it to fail.
+     *
+     * @param e         The exception thrown by the batch.
+     * @param batchSize The number of statements in the batch.
+     * @return The index of the failed statement within the batch.
+     */
+    /* private -> for testing */
+    static int getFailedStatementIndex(BatchUpdateException e, int batchSize) {
+        int[] updateCounts = e.getUpdateCounts();
+        if (updateCounts == null) {
+            return 0;
+        }
+
+        // Drivers that continue after a failure report it explicitly ...
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+
+        // ... while the others only return the update counts of the statements that succeeded before it.
+        return updateCounts.length < batchSize ? updateCounts.length : 0;
+    }
+
+    /**
+     * Executes this statement against the database.
+     *
+     * @param jdbcTemplate The jdbc template to use to execute this statement.
+     * @param sqlStatement The statement to execute.
+     */
+    private void executeStatement(JdbcTemplate jdbcTemplate, SqlStatement sqlStatement) {
+        String sql = sqlStatement.getSql();
+        LOG.debug("Executing SQL: " + sql);
+
+        long start = Metrics.start();
+        try {
+            if (sqlStatement.getPgCopyData() != null) {
+                PgCopyDataReader data = sqlStatement.getPgCopyData();
+                dbSupport.executePgCopy(jdbcTemplate.getConnection(), sql, data);
+                LOG.debug("Copied " + data.getBytesRead() + " bytes of data");
+                recordStatements(start, 1, null);
+                Metrics.count(MetricsCounter.BYTES_COPIED, data.getBytesRead());
+            } else if (sqlStatement.isPgCopy()) {
+                dbSupport.executePgCopy(jdbcTemplate.getConnection(), sql);
+                recordStatements(start, 1, null);
+            } else {
+                int updateCount = jdbcTemplate.executeStatement(sql);
+                recordStatements(start, 1, new int[]{updateCount});
+            }
+        } catch (SQLException e) {
+            throw new FlywaySqlScriptException(resource, sqlStatement, e);
+        }
+    }
+
+    /**
+     * Reports the execution of these statements to the registered metrics listeners.
+     *
+     * @param start        The start time as returned by {@link Metrics#start()}.
+     * @param count        The number of statements executed.
+     * @param updateCounts The update counts of the statements. {@code null} if unknown.
+     */
+    private void recordStatements(long start, int count, int[] updateCounts) {
+        Metrics.timing(MetricsPhase.STATEMENT, resource == null ? null : resource.getLocation(), start);
+        Metrics.count(MetricsCounter.STATEMENTS, count);
+        if (updateCounts != null) {
+            long rowsAffected = 0;
+            for (int updateCount : updateCounts) {
+                // Negative values are SUCCESS_NO_INFO or EXECUTE_FAILED
+                if (updateCount > 0) {
+                    rowsAffected += updateCount;
                 }
-            } catch (SQLException e) {
-                throw new FlywaySqlScriptException(resource, sqlStatement, e);
             }
+            Metrics.count(MetricsCounter.ROWS_AFFECTED, rowsAffected);
+        }
+    }
+
+    /**
+     * Parses and analyses all statements of the resource if this hasn't happened yet. The statements are only kept
+     * in memory as long as their total length doesn't exceed {@link #MAX_CACHED_SQL_LENGTH}.
+     */
+    private synchronized void ensureParsed() {
+        if (parsed) {
+            return;
+        }
+
+        StatementCache statementCache = new StatementCache();
+
+        long start = Metrics.start();
+        ChecksumReader reader = new ChecksumReader(resource.loadAsReader(encoding));
+        try {
+            SqlStatementReader sqlStatementReader = new SqlStatementReader(dbSupport, reader, placeholderReplacer, true);
+            SqlStatement sqlStatement;
+            while ((sqlStatement = sqlStatementReader.nextStatement()) != null) {
+                analyseStatement(sqlStatement);
+                statementCache.add(sqlStatement);
+            }
+        } catch (IOException e) {
+            throw new FlywayException(getParseErrorMessage(), e);
+        } finally {
+            close(reader);
+        }
+
+        sqlStatements = statementCache.getStatements();
+        checksum = reader.getChecksum();
+        parsed = true;
+
+        Metrics.timing(MetricsPhase.CHECKSUM, resource == null ? null : resource.getLocation(), start);
+        Metrics.count(MetricsCounter.BYTES_PARSED, reader.getLength());
+    }
+
+    /**
+     * @return The message to use when the script source could not be read.
+     */
+    private String getParseErrorMessage() {
+        return resource == null ?
+                "Unable to parse lines" :
+                "Unable to parse " + resource.getLocation() + " (" + resource.getLocationOnDisk() + ")";
+    }
+
+    /**
+     * Closes this reader, ignoring any errors.
+     *
+     * @param reader The reader to close.
+     */
+    private static void close(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            //Ignore
         }
     }
 
@@ -155,7 +502,29 @@ public class SqlScript {
      */
     /* private -> for testing */
     List<SqlStatement> parse(String sqlScriptSource) {
-        return linesToStatements(readLines(new StringReader(sqlScriptSource)));
+        return parse(new StringReader(sqlScriptSource));
+    }
+
+    /**
+     * Parses the script source provided by this reader into statements, in a single pass.
+     *
+     * @param reader The reader for the script source.
+     * @return The parsed statements.
+     */
+    private List<SqlStatement> parse(Reader reader) {
+        List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        SqlStatementReader sqlStatementReader = new SqlStatementReader(dbSupport, reader);
+
+        try {
+            SqlStatement sqlStatement;
+            while ((sqlStatement = sqlStatementReader.nextStatement()) != null) {
+                addStatement(statements, sqlStatement);
+            }
+        } catch (IOException e) {
+            throw new FlywayException(getParseErrorMessage(), e);
+        }
+
+        return statements;
     }
 
     /**
@@ -167,57 +536,38 @@ public class SqlScript {
     /* private -> for testing */
     List<SqlStatement> linesToStatements(List<String> lines) {
         List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        SqlStatementReader sqlStatementReader = new SqlStatementReader(dbSupport);
 
-        Delimiter nonStandardDelimiter = null;
-        SqlStatementBuilder sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
-
-        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
-            String line = lines.get(lineNumber - 1);
-
-            if (sqlStatementBuilder.isEmpty()) {
-                if (!StringUtils.hasText(line)) {
-                    // Skip empty line between statements.
-                    continue;
-                }
-
-                Delimiter newDelimiter = sqlStatementBuilder.extractNewDelimiterFromLine(line);
-                if (newDelimiter != null) {
-                    nonStandardDelimiter = newDelimiter;
-                    // Skip this line as it was an explicit delimiter change directive outside of any statements.
-                    continue;
-                }
-
-                sqlStatementBuilder.setLineNumber(lineNumber);
-
-                // Start a new statement, marking it with this line number.
-                if (nonStandardDelimiter != null) {
-                    sqlStatementBuilder.setDelimiter(nonStandardDelimiter);
-                }
-            }
-
-            sqlStatementBuilder.addLine(line);
-
-            if (sqlStatementBuilder.canDiscard()) {
-                sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
-            } else if (sqlStatementBuilder.isTerminated()) {
-                addStatement(statements, sqlStatementBuilder);
-                sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+        for (String line : lines) {
+            SqlStatement sqlStatement = sqlStatementReader.addLine(line);
+            if (sqlStatement != null) {
+                addStatement(statements, sqlStatement);
             }
         }
 
         // Catch any statements not followed by delimiter.
-        if (!sqlStatementBuilder.isEmpty()) {
-            addStatement(statements, sqlStatementBuilder);
+        SqlStatement sqlStatement = sqlStatementReader.finish();
+        if (sqlStatement != null) {
+            addStatement(statements, sqlStatement);
         }
 
         return statements;
     }
 
-    private void addStatement(List<SqlStatement> statements, SqlStatementBuilder sqlStatementBuilder) {
-        SqlStatement sqlStatement = sqlStatementBuilder.getSqlStatement();
+    private void addStatement(List<SqlStatement> statements, SqlStatement sqlStatement) {
         statements.add(sqlStatement);
+        analyseStatement(sqlStatement);
+    }
+
+    /**
+     * Records whether this statement is transactional and checks that the script doesn't mix transactional and
+     * non-transactional statements.
+     *
+     * @param sqlStatement The statement to analyse.
+     */
+    private void analyseStatement(SqlStatement sqlStatement) {
 
-        if (sqlStatementBuilder.executeInTransaction()) {
+        if (sqlStatement.executeInTransaction()) {
             transactionalStatementFound = true;
         } else {
             nonTransactionalStatementFound = true;
@@ -228,36 +578,55 @@ public class SqlScript {
                     "Detected both transactional and non-transactional statements within the same migration"
                             + " (even though allowMixedMigrations is false). Offending statement found at line "
                             + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql()
-                            + (sqlStatementBuilder.executeInTransaction() ? "" : " [non-transactional]"));
+                            + (sqlStatement.executeInTransaction() ? "" : " [non-transactional]"));
         }
 
-        LOG.debug("Found statement at line " + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql() + (sqlStatementBuilder.executeInTransaction() ? "" : " [non-transactional]"));
+        LOG.debug("Found statement at line " + sqlStatement.getLineNumber() + ": " + sqlStatement.getSql() + (sqlStatement.executeInTransaction() ? "" : " [non-transactional]"));
     }
 
     /**
-     * Parses the textual data provided by this reader into a list of lines.
-     *
-     * @param reader The reader for the textual data.
-     * @return The list of lines (in order).
-     * @throws IllegalStateException Thrown when the textual data parsing failed.
+     * Collects the statements of a resource-based script while it is read, as long as they can be kept in memory.
      */
-    private List<String> readLines(Reader reader) {
-        List<String> lines = new ArrayList<String>();
-
-        BufferedReader bufferedReader = new BufferedReader(reader);
-        String line;
+    private class StatementCache {
+        /**
+         * The statements collected so far. {@code null} if they can't be kept in memory.
+         */
+        private List<SqlStatement> statements = new ArrayList<SqlStatement>();
+
+        /**
+         * The total length of the statements collected so far.
+         */
+        private int sqlLength;
+
+        /**
+         * Adds this statement, unless the statements can't be kept in memory anymore.
+         *
+         * @param sqlStatement The statement to add.
+         */
+        void add(SqlStatement sqlStatement) {
+            if (statements == null) {
+                return;
+            }
 
-        try {
-            while ((line = bufferedReader.readLine()) != null) {
-                lines.add(line);
+            sqlLength += sqlStatement.getSql().length();
+            if (sqlStatement.getPgCopyData() != null) {
+                LOG.debug("Sql script " + resource.getLocation() + " contains COPY FROM STDIN data."
+                        + " Its statements will be streamed from the resource upon execution.");
+                statements = null;
+            } else if (sqlLength > MAX_CACHED_SQL_LENGTH) {
+                LOG.debug("Sql script " + resource.getLocation() + " is too large to be kept in memory."
+                        + " Its statements will be streamed from the resource upon execution.");
+                statements = null;
+            } else {
+                statements.add(sqlStatement);
             }
-        } catch (IOException e) {
-            String message = resource == null ?
-                    "Unable to parse lines" :
-                    "Unable to parse " + resource.getLocation() + " (" + resource.getLocationOnDisk() + ")";
-            throw new FlywayException(message, e);
         }
 
-        return lines;
+        /**
+         * @return The statements collected. {@code null} if they can't be kept in memory.
+         */
+        List<SqlStatement> getStatements() {
+            return statements;
+        }
     }
 }
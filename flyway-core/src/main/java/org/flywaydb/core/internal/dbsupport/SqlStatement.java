@@ -15,10 +15,18 @@
  */
 package org.flywaydb.core.internal.dbsupport;
 
+import java.util.regex.Pattern;
+
 /**
  * A sql statement from a script that can be executed at once against a database.
  */
 public class SqlStatement {
+    /**
+     * Matches the RETURNING (PostgreSQL, Oracle) and OUTPUT (SQL Server) clauses through which DML statements return
+     * a result set.
+     */
+    private static final Pattern RESULT_CLAUSE_PATTERN = Pattern.compile("\\b(RETURNING|OUTPUT)\\b", Pattern.CASE_INSENSITIVE);
+
     /**
      * The original line number where the statement was located in the script it came from.
      */
@@ -36,6 +44,17 @@ public class SqlStatement {
      */
     private boolean pgCopy;
 
+    /**
+     * The reader for the data of this PostgreSQL COPY FROM STDIN statement. {@code null} if the data is part of the
+     * sql.
+     */
+    private PgCopyDataReader pgCopyData;
+
+    /**
+     * Whether this statement should be executed within a transaction or not.
+     */
+    private boolean executeInTransaction;
+
     /**
      * Creates a new sql statement.
      *
@@ -44,9 +63,35 @@ public class SqlStatement {
      * @param pgCopy     Whether this is a PostgreSQL COPY FROM STDIN statement.
      */
     public SqlStatement(int lineNumber, String sql, boolean pgCopy) {
+        this(lineNumber, sql, pgCopy, true);
+    }
+
+    /**
+     * Creates a new sql statement.
+     *
+     * @param lineNumber           The original line number where the statement was located in the script it came from.
+     * @param sql                  The sql to send to the database.
+     * @param pgCopy               Whether this is a PostgreSQL COPY FROM STDIN statement.
+     * @param executeInTransaction Whether this statement should be executed within a transaction or not.
+     */
+    public SqlStatement(int lineNumber, String sql, boolean pgCopy, boolean executeInTransaction) {
         this.lineNumber = lineNumber;
         this.sql = sql;
         this.pgCopy = pgCopy;
+        this.executeInTransaction = executeInTransaction;
+    }
+
+    /**
+     * Creates a new PostgreSQL COPY FROM STDIN statement whose data is streamed from the script source.
+     *
+     * @param lineNumber           The original line number where the statement was located in the script it came from.
+     * @param sql                  The COPY statement to send to the database, without its data.
+     * @param pgCopyData           The reader for the data of the statement.
+     * @param executeInTransaction Whether this statement should be executed within a transaction or not.
+     */
+    public SqlStatement(int lineNumber, String sql, PgCopyDataReader pgCopyData, boolean executeInTransaction) {
+        this(lineNumber, sql, true, executeInTransaction);
+        this.pgCopyData = pgCopyData;
     }
 
     /**
@@ -69,4 +114,64 @@ public class SqlStatement {
     public boolean isPgCopy() {
         return pgCopy;
     }
+
+    /**
+     * @return The reader for the data of this PostgreSQL COPY FROM STDIN statement. {@code null} if the data is part
+     * of the sql. The data is only available until the next statement is read from the script.
+     */
+    public PgCopyDataReader getPgCopyData() {
+        return pgCopyData;
+    }
+
+    /**
+     * @return Whether this statement should be executed within a transaction or not.
+     */
+    public boolean executeInTransaction() {
+        return executeInTransaction;
+    }
+
+    /**
+     * Checks whether this is a plain DML statement (INSERT, UPDATE or DELETE) that can be sent to the database as part
+     * of a JDBC batch. Statements that may return a result set through a RETURNING or OUTPUT clause are not batchable,
+     * as drivers reject these in a batch.
+     *
+     * @return {@code true} if it is, {@code false} if not.
+     */
+    public boolean isBatchable() {
+        if (pgCopy || !executeInTransaction) {
+            return false;
+        }
+
+        int start = skipLeadingCommentsAndWhitespace();
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String keyword = sql.substring(start, end);
+        if (!"INSERT".equalsIgnoreCase(keyword) && !"UPDATE".equalsIgnoreCase(keyword) && !"DELETE".equalsIgnoreCase(keyword)) {
+            return false;
+        }
+        return !RESULT_CLAUSE_PATTERN.matcher(sql).find();
+    }
+
+    /**
+     * @return The index of the first character of the sql that is neither whitespace nor part of a comment.
+     */
+    private int skipLeadingCommentsAndWhitespace() {
+        int i = 0;
+        while (i < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
 }
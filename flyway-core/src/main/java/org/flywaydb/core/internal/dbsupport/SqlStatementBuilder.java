@@ -128,7 +128,7 @@ public class SqlStatementBuilder {
      */
     public SqlStatement getSqlStatement() {
         String sql = statement.toString();
-        return new SqlStatement(lineNumber, sql, isPgCopyFromStdIn());
+        return new SqlStatement(lineNumber, sql, isPgCopyFromStdIn(), executeInTransaction());
     }
 
     /**
@@ -227,11 +227,39 @@ public class SqlStatementBuilder {
      * @return The simplified line.
      */
     protected String simplifyLine(String line) {
-        return removeEscapedQuotes(line)
-                .replace("--", " -- ")
-                .replace("/*", " /* ")
-                .replace("*/", " */ ")
-                .replaceAll("\\s+", " ").trim().toUpperCase();
+        String noEscapedQuotes = removeEscapedQuotes(line);
+        int length = noEscapedQuotes.length();
+        StringBuilder simplified = new StringBuilder(length + 8);
+
+        // Single pass: pad -- /* and */ with blanks and collapse all whitespace.
+        boolean pendingBlank = false;
+        for (int i = 0; i < length; i++) {
+            char c = noEscapedQuotes.charAt(i);
+            char next = i + 1 < length ? noEscapedQuotes.charAt(i + 1) : 0;
+            boolean commentMarker = (c == '-' && next == '-')
+                    || (c == '/' && next == '*')
+                    // A / directly followed by * opens a new comment instead of closing the current one
+                    || (c == '*' && next == '/' && !(i + 2 < length && noEscapedQuotes.charAt(i + 2) == '*'));
+
+            if (commentMarker) {
+                if (simplified.length() > 0) {
+                    simplified.append(' ');
+                }
+                simplified.append(c).append(next);
+                pendingBlank = true;
+                i++;
+            } else if (StringUtils.isRegexWhitespace(c)) {
+                pendingBlank = true;
+            } else {
+                if (pendingBlank && simplified.length() > 0) {
+                    simplified.append(' ');
+                }
+                simplified.append(c);
+                pendingBlank = false;
+            }
+        }
+
+        return simplified.toString().trim().toUpperCase();
     }
 
     /**
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedList;
+
+/**
+ * Reads the statements of a sql script one at a time. The source is walked exactly once and only the statement
+ * currently being built is held in memory, which makes it possible to process scripts of any size.
+ */
+public class SqlStatementReader {
+    /**
+     * The database-specific support.
+     */
+    private final DbSupport dbSupport;
+
+    /**
+     * The reader for the script source. {@code null} when lines are fed using {@link #addLine(String)}.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * The placeholder replacer to apply to each line read from the reader.
+     */
+    private final PlaceholderReplacer placeholderReplacer;
+
+    /**
+     * Whether the data of PostgreSQL COPY FROM STDIN statements is streamed from the reader instead of being made
+     * part of the statement.
+     */
+    private final boolean streamPgCopyData;
+
+    /**
+     * The lines introduced by placeholder values containing line terminators, still waiting to be read.
+     */
+    private final LinkedList<String> pendingLines = new LinkedList<String>();
+
+    /**
+     * The reader for the data of the COPY FROM STDIN statement returned last. {@code null} if none.
+     */
+    private PgCopyDataReader pgCopyData;
+
+    /**
+     * The builder for the statement currently being read.
+     */
+    private SqlStatementBuilder sqlStatementBuilder;
+
+    /**
+     * The delimiter set by an explicit delimiter change directive. {@code null} if none.
+     */
+    private Delimiter nonStandardDelimiter;
+
+    /**
+     * The number of the line that was read last.
+     */
+    private int lineNumber;
+
+    /**
+     * Creates a new statement reader that is fed line by line using {@link #addLine(String)}.
+     *
+     * @param dbSupport The database-specific support.
+     */
+    public SqlStatementReader(DbSupport dbSupport) {
+        this(dbSupport, null);
+    }
+
+    /**
+     * Creates a new statement reader for this script source.
+     *
+     * @param dbSupport The database-specific support.
+     * @param reader    The reader for the script source, with all placeholders already replaced.
+     */
+    public SqlStatementReader(DbSupport dbSupport, Reader reader) {
+        this(dbSupport, reader, PlaceholderReplacer.NO_PLACEHOLDERS);
+    }
+
+    /**
+     * Creates a new statement reader for this script source.
+     *
+     * @param dbSupport           The database-specific support.
+     * @param reader              The reader for the script source.
+     * @param placeholderReplacer The placeholder replacer to apply to the script source, line by line.
+     */
+    public SqlStatementReader(DbSupport dbSupport, Reader reader, PlaceholderReplacer placeholderReplacer) {
+        this(dbSupport, reader, placeholderReplacer, false);
+    }
+
+    /**
+     * Creates a new statement reader for this script source.
+     *
+     * @param dbSupport           The database-specific support.
+     * @param reader              The reader for the script source.
+     * @param placeholderReplacer The placeholder replacer to apply to the script source, line by line.
+     * @param streamPgCopyData    Whether the data of PostgreSQL COPY FROM STDIN statements should be streamed from
+     *                            the reader using {@link SqlStatement#getPgCopyData()} instead of being made part of
+     *                            the statement.
+     */
+    public SqlStatementReader(DbSupport dbSupport, Reader reader, PlaceholderReplacer placeholderReplacer,
+                              boolean streamPgCopyData) {
+        this.dbSupport = dbSupport;
+        this.reader = reader == null || reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.placeholderReplacer = placeholderReplacer;
+        this.streamPgCopyData = streamPgCopyData;
+        this.sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+    }
+
+    /**
+     * Reads the next statement from the script source. Any data of the previous COPY FROM STDIN statement that hasn't
+     * been read yet is skipped.
+     *
+     * @return The next statement. {@code null} if the end of the script has been reached.
+     * @throws IOException when the script source could not be read.
+     */
+    public SqlStatement nextStatement() throws IOException {
+        if (pgCopyData != null) {
+            pgCopyData.skipRemaining();
+            pgCopyData = null;
+        }
+
+        String line;
+        while ((line = readSourceLine()) != null) {
+            SqlStatement sqlStatement = addLine(line);
+            if (sqlStatement != null) {
+                return sqlStatement;
+            }
+            if (streamPgCopyData && sqlStatementBuilder.isPgCopyFromStdIn()) {
+                sqlStatement = startPgCopyData();
+                if (sqlStatement != null) {
+                    return sqlStatement;
+                }
+            }
+        }
+
+        return finish();
+    }
+
+    /**
+     * Reads the next line of the script source as part of the data of a COPY FROM STDIN statement.
+     *
+     * @return The line with all placeholders replaced. {@code null} if the end of the script has been reached.
+     * @throws IOException when the script source could not be read.
+     */
+    String readLine() throws IOException {
+        String line = readSourceLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    /**
+     * Reads the next line of the script source.
+     *
+     * @return The line with all placeholders replaced. {@code null} if the end of the script has been reached.
+     * @throws IOException when the script source could not be read.
+     */
+    private String readSourceLine() throws IOException {
+        if (!pendingLines.isEmpty()) {
+            return pendingLines.removeFirst();
+        }
+
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        //Strip UTF-8 BOM if necessary
+        if (lineNumber == 0 && line.startsWith("\ufeff")) {
+            line = line.substring(1);
+        }
+        return splitLines(placeholderReplacer.replacePlaceholders(line));
+    }
+
+    /**
+     * Splits this line at the line terminators that placeholder values may have introduced, so that statements are
+     * split and numbered the same way as if the placeholders had been replaced in the script as a whole.
+     *
+     * @param line The line with all placeholders replaced.
+     * @return The first line. The following ones are queued to be read next.
+     */
+    private String splitLines(String line) {
+        int end = indexOfLineTerminator(line, 0);
+        if (end < 0) {
+            return line;
+        }
+
+        String first = line.substring(0, end);
+        int start;
+        do {
+            start = line.charAt(end) == '\r' && end + 1 < line.length() && line.charAt(end + 1) == '\n' ? end + 2 : end + 1;
+            end = indexOfLineTerminator(line, start);
+            pendingLines.add(line.substring(start, end < 0 ? line.length() : end));
+        } while (end >= 0);
+        return first;
+    }
+
+    /**
+     * Finds the next line terminator (\n or \r) in this line.
+     *
+     * @param line  The line to search.
+     * @param start The position to start searching from.
+     * @return The position of the line terminator. {@code -1} if there is none.
+     */
+    private static int indexOfLineTerminator(String line, int start) {
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Completes the COPY FROM STDIN statement currently being built once a line ending with its terminating ; has been
+     * read, leaving its data to be streamed from the script source. Statements with anything else following the ; on
+     * the same line keep their data as part of the sql instead.
+     *
+     * @return The COPY statement. {@code null} if it isn't complete yet.
+     */
+    private SqlStatement startPgCopyData() {
+        SqlStatement sqlStatement = sqlStatementBuilder.getSqlStatement();
+        String sql = sqlStatement.getSql().trim();
+        if (!sql.endsWith(";")) {
+            return null;
+        }
+
+        pgCopyData = new PgCopyDataReader(this, sqlStatement.getLineNumber());
+        sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+        return new SqlStatement(sqlStatement.getLineNumber(), sql.substring(0, sql.length() - 1), pgCopyData,
+                sqlStatement.executeInTransaction());
+    }
+
+    /**
+     * Adds the next line of the script.
+     *
+     * @param line The line to add.
+     * @return The statement this line completed. {@code null} if no statement was completed.
+     */
+    public SqlStatement addLine(String line) {
+        lineNumber++;
+
+        if (sqlStatementBuilder.isEmpty()) {
+            if (isBlank(line)) {
+                // Skip empty line between statements.
+                return null;
+            }
+
+            Delimiter newDelimiter = sqlStatementBuilder.extractNewDelimiterFromLine(line);
+            if (newDelimiter != null) {
+                nonStandardDelimiter = newDelimiter;
+                // Skip this line as it was an explicit delimiter change directive outside of any statements.
+                return null;
+            }
+
+            // Start a new statement, marking it with this line number.
+            sqlStatementBuilder.setLineNumber(lineNumber);
+            if (nonStandardDelimiter != null) {
+                sqlStatementBuilder.setDelimiter(nonStandardDelimiter);
+            }
+        }
+
+        sqlStatementBuilder.addLine(line);
+
+        if (sqlStatementBuilder.canDiscard()) {
+            sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+        } else if (sqlStatementBuilder.isTerminated()) {
+            return completeStatement();
+        }
+        return null;
+    }
+
+    /**
+     * Signals that the end of the script has been reached.
+     *
+     * @return The last statement if it wasn't followed by a delimiter. {@code null} if there is none.
+     */
+    public SqlStatement finish() {
+        if (sqlStatementBuilder.isEmpty()) {
+            return null;
+        }
+        return completeStatement();
+    }
+
+    private SqlStatement completeStatement() {
+        SqlStatement sqlStatement = sqlStatementBuilder.getSqlStatement();
+        sqlStatementBuilder = dbSupport.createSqlStatementBuilder();
+        return sqlStatement;
+    }
+
+    /**
+     * Checks whether this line only contains whitespace, without creating a trimmed copy of it.
+     *
+     * @param line The line to check.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    private static boolean isBlank(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
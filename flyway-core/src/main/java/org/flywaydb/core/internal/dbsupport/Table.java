@@ -171,14 +171,21 @@ public abstract class Table extends SchemaObject {
 
     /**
      * Locks this table in this schema using a read/write pessimistic lock until the end of the current transaction.
+     *
+     * @param timeout The maximum time in seconds to wait for the lock. {@code 0} to wait indefinitely.
      */
-    public void lock() {
+    public void lock(int timeout) {
+        int queryTimeout = jdbcTemplate.getQueryTimeout();
+        jdbcTemplate.setQueryTimeout(timeout);
         try {
             LOG.debug("Locking table " + this + "...");
             doLock();
             LOG.debug("Lock acquired for table " + this);
         } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to lock table " + this, e);
+            throw new FlywaySqlException("Unable to lock table " + this
+                    + (timeout > 0 ? " within " + timeout + " seconds" : ""), e);
+        } finally {
+            jdbcTemplate.setQueryTimeout(queryTimeout);
         }
     }
 
@@ -37,12 +37,20 @@ public class DB2DbSupport extends DbSupport {
     /**
      * Creates a new instance.
      *
-     * @param connection The connection to use.
+     * @param connection The connection to use. {@code null} for parsing sql scripts only.
      */
     public DB2DbSupport(Connection connection) {
         super(new JdbcTemplate(connection, Types.VARCHAR));
+        majorVersion = connection == null ? 0 : getMajorVersion(connection);
+    }
+
+    /**
+     * @param connection The connection to use.
+     * @return The major version of DB2.
+     */
+    private static int getMajorVersion(Connection connection) {
         try {
-            majorVersion = connection.getMetaData().getDatabaseMajorVersion();
+            return connection.getMetaData().getDatabaseMajorVersion();
         } catch (SQLException e) {
             throw new FlywaySqlException("Unable to determine DB2 major version", e);
         }
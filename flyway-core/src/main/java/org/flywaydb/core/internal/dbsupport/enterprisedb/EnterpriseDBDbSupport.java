@@ -25,7 +25,7 @@ import org.postgresql.copy.CopyManager;
 import org.postgresql.core.BaseConnection;
 
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -130,14 +130,10 @@ public class EnterpriseDBDbSupport extends DbSupport {
     }
 
     @Override
-    public void executePgCopy(Connection connection, String sql) throws SQLException {
-        int split = sql.indexOf(";");
-        String statement = sql.substring(0, split);
-        String data = sql.substring(split + 1).trim();
-
+    public void executePgCopy(Connection connection, String sql, Reader data) throws SQLException {
         CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
         try {
-            copyManager.copyIn(statement, new StringReader(data));
+            copyManager.copyIn(sql, data);
         } catch (IOException e) {
             throw new SQLException("Unable to execute COPY operation", e);
         }
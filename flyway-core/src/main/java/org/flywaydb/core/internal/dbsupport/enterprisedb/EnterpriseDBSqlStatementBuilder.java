@@ -42,6 +42,21 @@ public class EnterpriseDBSqlStatementBuilder extends SqlStatementBuilder {
     /*private -> for testing*/
     static final String DOLLAR_QUOTE_REGEX = "(\\$[A-Za-z0-9_]*\\$).*";
 
+    /**
+     * Compiled version of DOLLAR_QUOTE_REGEX.
+     */
+    private static final Pattern DOLLAR_QUOTE_PATTERN = Pattern.compile(DOLLAR_QUOTE_REGEX);
+
+    /**
+     * Matches lines starting an anonymous SPL block.
+     */
+    private static final Pattern BLOCK_START_REGEX = Pattern.compile("DECLARE|DECLARE\\s.*|BEGIN|BEGIN\\s.*");
+
+    /**
+     * Matches the beginning of statements defining SPL objects.
+     */
+    private static final Pattern SPL_OBJECT_REGEX = Pattern.compile("CREATE( OR REPLACE)? (FUNCTION|PROCEDURE|PACKAGE|TYPE|TRIGGER).*");
+
     /**
      * Delimiter of PL/SQL blocks and statements.
      */
@@ -52,19 +67,25 @@ public class EnterpriseDBSqlStatementBuilder extends SqlStatementBuilder {
      */
     private String statementStart = "";
 
+    /**
+     * Whether the beginning of the statement defines an SPL object.
+     */
+    private boolean splObject;
+
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
-        if (line.matches("DECLARE|DECLARE\\s.*") || line.matches("BEGIN|BEGIN\\s.*")) {
+        if (BLOCK_START_REGEX.matcher(line).matches()) {
             return SPL_DELIMITER;
         }
 
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 8) {
             statementStart += line;
             statementStart += " ";
-            statementStart = statementStart.replaceAll("\\s+", " ");
+            statementStart = StringUtils.collapseWhitespace(statementStart);
+            splObject = SPL_OBJECT_REGEX.matcher(statementStart).matches();
         }
 
-        if (statementStart.matches("CREATE( OR REPLACE)? (FUNCTION|PROCEDURE|PACKAGE|TYPE|TRIGGER).*")) {
+        if (splObject) {
             return SPL_DELIMITER;
         }
 
@@ -98,7 +119,7 @@ public class EnterpriseDBSqlStatementBuilder extends SqlStatementBuilder {
 
     @Override
     protected String extractAlternateOpenQuote(String token) {
-        Matcher matcher = Pattern.compile(DOLLAR_QUOTE_REGEX).matcher(token);
+        Matcher matcher = DOLLAR_QUOTE_PATTERN.matcher(token);
         if (matcher.find()) {
             return matcher.group(1);
         }
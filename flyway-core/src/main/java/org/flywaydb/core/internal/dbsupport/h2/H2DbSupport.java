@@ -21,6 +21,7 @@ import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import org.flywaydb.core.internal.util.jdbc.JdbcUtils;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -86,4 +87,39 @@ public class H2DbSupport extends DbSupport {
     public boolean catalogIsSchema() {
         return false;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    @Override
+    public void createSnapshot(Schema[] schemas, File directory) throws SQLException {
+        StringBuilder schemaNames = new StringBuilder();
+        for (Schema schema : schemas) {
+            if (schemaNames.length() > 0) {
+                schemaNames.append(", ");
+            }
+            schemaNames.append(quote(schema.getName()));
+        }
+        jdbcTemplate.execute("SCRIPT TO " + getSnapshotFileLiteral(directory) + " SCHEMA " + schemaNames);
+    }
+
+    @Override
+    public void restoreSnapshot(Schema[] schemas, File directory) throws SQLException {
+        for (Schema schema : schemas) {
+            if (schema.exists()) {
+                schema.clean();
+            }
+        }
+        jdbcTemplate.execute("RUNSCRIPT FROM " + getSnapshotFileLiteral(directory));
+    }
+
+    /**
+     * @param directory The snapshot directory.
+     * @return The string literal for the snapshot script in this directory.
+     */
+    private static String getSnapshotFileLiteral(File directory) {
+        return "'" + new File(directory, "snapshot.sql").getAbsolutePath().replace("'", "''") + "'";
+    }
+}
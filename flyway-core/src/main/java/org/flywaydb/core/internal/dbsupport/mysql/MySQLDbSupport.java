@@ -30,6 +30,8 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Mysql-specific support.
@@ -37,6 +39,16 @@ import java.util.concurrent.Callable;
 public class MySQLDbSupport extends DbSupport {
     private static final Log LOG = LogFactory.getLog(MySQLDbSupport.class);
 
+    /**
+     * The major, minor and patch version at the start of the server version.
+     */
+    private static final Pattern SERVER_VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d+)\\.(\\d+)");
+
+    /**
+     * Whether a session can hold more than one named lock at a time. {@code null} if not determined yet.
+     */
+    private Boolean multipleNamedLocks;
+
     /**
      * Creates a new instance.
      *
@@ -125,8 +137,51 @@ public class MySQLDbSupport extends DbSupport {
     }
 
     @Override
-    public <T> T lock(Table table, Callable<T> callable) {
-        return new MySQLNamedLockTemplate(jdbcTemplate, table.toString().hashCode()).execute(callable);
+    public <T> T lock(Table table, int timeout, Callable<T> callable) {
+        return new MySQLNamedLockTemplate(jdbcTemplate, table, timeout, supportsMultipleNamedLocks()).execute(callable);
+    }
+
+    /**
+     * Checks whether a session can hold more than one named lock at a time.
+     *
+     * @return {@code true} if it can, {@code false} if not.
+     */
+    private boolean supportsMultipleNamedLocks() {
+        if (multipleNamedLocks == null) {
+            try {
+                multipleNamedLocks = supportsMultipleNamedLocks(jdbcTemplate.queryForString("SELECT VERSION()"));
+            } catch (SQLException e) {
+                throw new FlywaySqlException("Unable to determine the MySQL server version", e);
+            }
+        }
+        return multipleNamedLocks;
+    }
+
+    /**
+     * Checks whether a session can hold more than one named lock at a time on a server with this version, which is
+     * the case since MySQL 5.7.5 and MariaDB 10.0.2.
+     *
+     * @param version The version of the server, as returned by {@code SELECT VERSION()}.
+     * @return {@code true} if it can, {@code false} if not.
+     */
+    /*private -> testing*/
+    static boolean supportsMultipleNamedLocks(String version) {
+        Matcher matcher = SERVER_VERSION_PATTERN.matcher(version);
+        if (!matcher.find()) {
+            return false;
+        }
+        int major = Integer.parseInt(matcher.group(1));
+        int minor = Integer.parseInt(matcher.group(2));
+        int patch = Integer.parseInt(matcher.group(3));
+        if (version.contains("MariaDB")) {
+            return major > 10 || (major == 10 && (minor > 0 || patch >= 2));
+        }
+        return major > 5 || (major == 5 && (minor > 7 || (minor == 7 && patch >= 5)));
+    }
+
+    @Override
+    public boolean supportsSessionLock() {
+        return true;
     }
 
     @Override
@@ -15,65 +15,69 @@
  */
 package org.flywaydb.core.internal.dbsupport.mysql;
 
-import org.flywaydb.core.api.FlywayException;
-import org.flywaydb.core.internal.dbsupport.FlywaySqlException;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
-import org.flywaydb.core.internal.util.logging.Log;
-import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.flywaydb.core.internal.dbsupport.SessionLockTemplate;
+import org.flywaydb.core.internal.dbsupport.Table;
 
 import java.sql.SQLException;
-import java.util.concurrent.Callable;
 
 /**
  * Spring-like template for executing with MySQL named locks.
  */
-public class MySQLNamedLockTemplate {
-    private static final Log LOG = LogFactory.getLog(MySQLNamedLockTemplate.class);
-
+public class MySQLNamedLockTemplate extends SessionLockTemplate {
     /**
-     * The connection for the named lock.
+     * The names of the locks, in the order they are acquired: first the name used by older Flyway versions, so that
+     * they keep excluding this one during a rolling upgrade, then, if the server allows a session to hold more than
+     * one named lock, the name derived from the collision-free 64-bit key.
      */
-    private final JdbcTemplate jdbcTemplate;
-
-    private final String lockName;
+    private final String[] lockNames;
 
     /**
      * Creates a new named lock template for this connection.
      *
      * @param jdbcTemplate  The jdbcTemplate for the connection.
-     * @param discriminator A number to discriminate between locks.
+     * @param table         The table to derive the lock names from.
+     * @param timeout       The maximum time in seconds to wait for the locks. {@code 0} to wait indefinitely.
+     * @param multipleLocks Whether a session can hold more than one named lock at a time. Before MySQL 5.7.5 and
+     *                      MariaDB 10.0.2 a second GET_LOCK silently releases the first one, so only the legacy
+     *                      lock is taken there.
      */
-    MySQLNamedLockTemplate(JdbcTemplate jdbcTemplate, int discriminator) {
-        this.jdbcTemplate = jdbcTemplate;
-        lockName = "Flyway-" + discriminator;
+    MySQLNamedLockTemplate(JdbcTemplate jdbcTemplate, Table table, int timeout, boolean multipleLocks) {
+        this(jdbcTemplate, timeout, multipleLocks
+                ? new String[]{getLegacyLockName(table), "Flyway-" + Long.toHexString(calculateLockKey(table))}
+                : new String[]{getLegacyLockName(table)});
+    }
+
+    private MySQLNamedLockTemplate(JdbcTemplate jdbcTemplate, int timeout, String[] lockNames) {
+        super(jdbcTemplate, lockNames.length, timeout);
+        this.lockNames = lockNames;
     }
 
     /**
-     * Executes this callback with a named lock.
-     *
-     * @param callable The callback to execute.
-     * @return The result of the callable code.
+     * @param table The table to derive the lock name from.
+     * @return The name of the lock used by older Flyway versions.
      */
-    public <T> T execute(Callable<T> callable) {
-        try {
-            jdbcTemplate.execute("SELECT GET_LOCK('" + lockName + "',100000)");
-            return callable.call();
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to acquire MySQL named lock: " + lockName, e);
-        } catch (Exception e) {
-            RuntimeException rethrow;
-            if (e instanceof RuntimeException) {
-                rethrow = (RuntimeException) e;
-            } else {
-                rethrow = new FlywayException(e);
-            }
-            throw rethrow;
-        } finally {
-            try {
-                jdbcTemplate.execute("SELECT RELEASE_LOCK('" + lockName + "')");
-            } catch (SQLException e) {
-                LOG.error("Unable to release MySQL named lock: " + lockName, e);
-            }
+    private static String getLegacyLockName(Table table) {
+        return "Flyway-" + calculateLegacyLockDiscriminator(table);
+    }
+
+    @Override
+    protected boolean tryLock(int lock) throws SQLException {
+        // Returns 1 if the lock was obtained, 0 if it is held by another session and NULL on error
+        String result = jdbcTemplate.queryForString("SELECT GET_LOCK(?,0)", lockNames[lock]);
+        if (result == null) {
+            throw new SQLException("GET_LOCK returned NULL for lock " + lockNames[lock]);
         }
+        return "1".equals(result);
+    }
+
+    @Override
+    protected void unlock(int lock) throws SQLException {
+        jdbcTemplate.execute("SELECT RELEASE_LOCK(?)", lockNames[lock]);
+    }
+
+    @Override
+    protected String getLockDescription(int lock) {
+        return "MySQL named lock " + lockNames[lock];
     }
 }
@@ -18,6 +18,7 @@ package org.flywaydb.core.internal.dbsupport.mysql;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.Table;
+import org.flywaydb.core.internal.util.StringUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -28,6 +29,12 @@ import java.util.Map;
  * MySQL implementation of Schema.
  */
 public class MySQLSchema extends Schema<MySQLDbSupport> {
+    /**
+     * The maximum number of objects to drop with a single DROP statement. This keeps the statements well below the
+     * default max_allowed_packet size, even for long object names.
+     */
+    private static final int MAX_OBJECTS_PER_DROP = 500;
+
     /**
      * Creates a new MySQL schema.
      *
@@ -70,81 +77,68 @@ public class MySQLSchema extends Schema<MySQLDbSupport> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (String statement : cleanEvents()) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : cleanRoutines()) {
-            jdbcTemplate.execute(statement);
+        List<String> events = new ArrayList<String>();
+        List<String> routines = new ArrayList<String>();
+        List<String> views = new ArrayList<String>();
+        List<String> tables = new ArrayList<String>();
+
+        // The names are cast to a common collation, as the information_schema columns don't share one on all versions.
+        for (Map<String, String> row : jdbcTemplate.queryForList(
+                "SELECT 'EVENT' AS object_type, CAST(event_name AS CHAR) AS object_name"
+                        + " FROM information_schema.events WHERE event_schema=?"
+                        + " UNION ALL SELECT CAST(routine_type AS CHAR), CAST(routine_name AS CHAR)"
+                        + " FROM information_schema.routines WHERE routine_schema=?"
+                        + " UNION ALL SELECT CAST(table_type AS CHAR), CAST(table_name AS CHAR)"
+                        + " FROM information_schema.tables WHERE table_schema=? AND table_type IN ('BASE TABLE', 'VIEW')",
+                name, name, name)) {
+            String objectType = row.get("object_type");
+            String objectName = dbSupport.quote(name, row.get("object_name"));
+            if ("EVENT".equals(objectType)) {
+                events.add("DROP EVENT " + objectName);
+            } else if ("VIEW".equals(objectType)) {
+                views.add(objectName);
+            } else if ("BASE TABLE".equals(objectType)) {
+                tables.add(objectName);
+            } else {
+                routines.add("DROP " + objectType + " " + objectName);
+            }
         }
 
-        for (String statement : cleanViews()) {
-            jdbcTemplate.execute(statement);
+        if (!events.isEmpty()) {
+            jdbcTemplate.executeBatch(events);
         }
-
-        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
-        for (Table table : allTables()) {
-            table.drop();
+        if (!routines.isEmpty()) {
+            jdbcTemplate.executeBatch(routines);
         }
-        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
-    }
+        dropInBulk("VIEW", views);
 
-    /**
-     * Generate the statements to clean the events in this schema.
-     *
-     * @return The list of statements.
-     * @throws SQLException when the clean statements could not be generated.
-     */
-    private List<String> cleanEvents() throws SQLException {
-        List<Map<String, String>> eventNames =
-                jdbcTemplate.queryForList(
-                        "SELECT event_name FROM information_schema.events WHERE event_schema=?",
-                        name);
-
-        List<String> statements = new ArrayList<String>();
-        for (Map<String, String> row : eventNames) {
-            statements.add("DROP EVENT " + dbSupport.quote(name, row.get("event_name")));
+        if (tables.isEmpty()) {
+            return;
         }
-        return statements;
-    }
 
-    /**
-     * Generate the statements to clean the routines in this schema.
-     *
-     * @return The list of statements.
-     * @throws SQLException when the clean statements could not be generated.
-     */
-    private List<String> cleanRoutines() throws SQLException {
-        List<Map<String, String>> routineNames =
-                jdbcTemplate.queryForList(
-                        "SELECT routine_name, routine_type FROM information_schema.routines WHERE routine_schema=?",
-                        name);
-
-        List<String> statements = new ArrayList<String>();
-        for (Map<String, String> row : routineNames) {
-            String routineName = row.get("routine_name");
-            String routineType = row.get("routine_type");
-            statements.add("DROP " + routineType + " " + dbSupport.quote(name, routineName));
+        // Tables are dropped in arbitrary order, so foreign keys between them must not be checked in the meantime.
+        // The previous session setting is restored afterwards, as the connection may be reused.
+        int foreignKeyChecks = jdbcTemplate.queryForInt("SELECT @@foreign_key_checks");
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        try {
+            dropInBulk("TABLE", tables);
+        } finally {
+            jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = " + foreignKeyChecks);
         }
-        return statements;
     }
 
     /**
-     * Generate the statements to clean the views in this schema.
+     * Drops these objects using as few multi-object DROP statements as possible.
      *
-     * @return The list of statements.
-     * @throws SQLException when the clean statements could not be generated.
+     * @param objectType  The type of the objects (VIEW or TABLE).
+     * @param objectNames The fully qualified and quoted names of the objects to drop.
+     * @throws SQLException when the objects could not be dropped.
      */
-    private List<String> cleanViews() throws SQLException {
-        List<String> viewNames =
-                jdbcTemplate.queryForStringList(
-                        "SELECT table_name FROM information_schema.views WHERE table_schema=?", name);
-
-        List<String> statements = new ArrayList<String>();
-        for (String viewName : viewNames) {
-            statements.add("DROP VIEW " + dbSupport.quote(name, viewName));
+    private void dropInBulk(String objectType, List<String> objectNames) throws SQLException {
+        for (int i = 0; i < objectNames.size(); i += MAX_OBJECTS_PER_DROP) {
+            List<String> chunk = objectNames.subList(i, Math.min(i + MAX_OBJECTS_PER_DROP, objectNames.size()));
+            jdbcTemplate.execute("DROP " + objectType + " " + StringUtils.collectionToCommaDelimitedString(chunk));
         }
-        return statements;
     }
 
     @Override
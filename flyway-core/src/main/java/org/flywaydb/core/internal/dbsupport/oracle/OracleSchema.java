@@ -19,6 +19,7 @@ import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.Table;
+import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 
@@ -32,6 +33,21 @@ import java.util.List;
 public class OracleSchema extends Schema<OracleDbSupport> {
     private static final Log LOG = LogFactory.getLog(OracleSchema.class);
 
+    /**
+     * The expression for the quoted, qualified name of the current object in the generated PL/SQL blocks.
+     */
+    private static final String QUALIFIED_OBJECT = "'\"' || flyway_owner || '\".\"' || flyway_object.object_name || '\"'";
+
+    /**
+     * The initial delay in milliseconds between two checks for the completion of the Flashback cleanup.
+     */
+    private static final long FLASHBACK_POLL_INITIAL_DELAY_MILLIS = 50;
+
+    /**
+     * The maximum delay in milliseconds between two checks for the completion of the Flashback cleanup.
+     */
+    private static final long FLASHBACK_POLL_MAX_DELAY_MILLIS = 1000;
+
     /**
      * Creates a new Oracle schema.
      *
@@ -102,61 +118,35 @@ public class OracleSchema extends Schema<OracleDbSupport> {
             }
         }
 
-        for (String statement : generateDropStatementsForScheduledJobs()) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("TRIGGER", "")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("SEQUENCE", "")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("FUNCTION", "")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("MATERIALIZED VIEW", "PRESERVE TABLE")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("PACKAGE", "")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("PROCEDURE", "")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("SYNONYM", "")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("VIEW", "CASCADE CONSTRAINTS")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (Table table : allTables()) {
-            table.drop();
-        }
-
-        for (String statement : generateDropStatementsForXmlTables()) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("CLUSTER", "")) {
-            jdbcTemplate.execute(statement);
+        // Each kind of object is looked up and dropped server-side in a single round trip
+        jdbcTemplate.execute(generateBlock(
+                "SELECT job_name AS object_name FROM all_scheduler_jobs WHERE owner = flyway_owner",
+                "'BEGIN DBMS_SCHEDULER.DROP_JOB(job_name => ''' || flyway_object.object_name"
+                        + " || ''', defer => false, force => true); END;'"));
+
+        dropObjectType("TRIGGER", "");
+        dropObjectType("SEQUENCE", "");
+        dropObjectType("FUNCTION", "");
+        dropObjectType("MATERIALIZED VIEW", "PRESERVE TABLE");
+        dropObjectType("PACKAGE", "");
+        dropObjectType("PROCEDURE", "");
+        dropObjectType("SYNONYM", "");
+        dropObjectType("VIEW", "CASCADE CONSTRAINTS");
+
+        jdbcTemplate.execute(generateBlock(getTablesQuery("flyway_owner"),
+                "'DROP TABLE ' || " + QUALIFIED_OBJECT + " || ' CASCADE CONSTRAINTS PURGE'"));
+
+        if (xmlDBExtensionsAvailable()) {
+            jdbcTemplate.execute(generateBlock(
+                    "SELECT table_name AS object_name FROM all_xml_tables WHERE owner = flyway_owner",
+                    "'DROP TABLE ' || " + QUALIFIED_OBJECT + " || ' PURGE'"));
+        } else {
+            LOG.debug("Oracle XML DB Extensions are not available. No cleaning of XML tables.");
         }
 
-        for (String statement : generateDropStatementsForObjectType("TYPE", "FORCE")) {
-            jdbcTemplate.execute(statement);
-        }
-
-        for (String statement : generateDropStatementsForObjectType("JAVA SOURCE", "")) {
-            jdbcTemplate.execute(statement);
-        }
+        dropObjectType("CLUSTER", "");
+        dropObjectType("TYPE", "FORCE");
+        dropObjectType("JAVA SOURCE", "");
 
         jdbcTemplate.execute("PURGE RECYCLEBIN");
     }
@@ -165,27 +155,48 @@ public class OracleSchema extends Schema<OracleDbSupport> {
      * Executes ALTER statements for all tables that have Flashback enabled.
      * Flashback is an asynchronous process so we need to wait until it completes, otherwise cleaning the
      * tables in schema will sometimes fail with ORA-55622 or ORA-55610 depending on the race between
-     * Flashback and Java code
+     * Flashback and Java code. All tables are altered at once and then waited for together, polling with an
+     * exponential backoff.
      *
      * @throws SQLException when the statements could not be generated.
      */
     private void executeAlterStatementsForFlashbackTables() throws SQLException {
         List<String> tableNames = jdbcTemplate.queryForStringList("SELECT table_name " +
                 "FROM DBA_FLASHBACK_ARCHIVE_TABLES WHERE owner_name = ?", name);
-        for (String tableName : tableNames) {
-            jdbcTemplate.execute("ALTER TABLE " + dbSupport.quote(name, tableName) + " NO FLASHBACK ARCHIVE");
-            String queryForOracleTechnicalTables = "SELECT count(archive_table_name) " +
-                    "FROM user_flashback_archive_tables " +
-                    "WHERE table_name = ?";
-            //wait until the tables disappear
-            while (jdbcTemplate.queryForInt(queryForOracleTechnicalTables, tableName) > 0) {
-                try {
-                    LOG.debug("Actively waiting for Flashback cleanup on table: " + tableName);
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    throw new FlywayException("Waiting for Flashback cleanup interrupted", e);
-                }
+        if (tableNames.isEmpty()) {
+            return;
+        }
+
+        StringBuilder queryForOracleTechnicalTables = new StringBuilder("SELECT count(archive_table_name) " +
+                "FROM user_flashback_archive_tables " +
+                "WHERE ");
+        for (int i = 0; i < tableNames.size(); i++) {
+            // Oracle limits IN lists to 1000 elements
+            if (i % 1000 == 0) {
+                queryForOracleTechnicalTables.append(i == 0 ? "table_name IN (?" : ") OR table_name IN (?");
+            } else {
+                queryForOracleTechnicalTables.append(", ?");
+            }
+        }
+        queryForOracleTechnicalTables.append(")");
+
+        jdbcTemplate.execute(generateBlock(
+                "SELECT table_name AS object_name FROM DBA_FLASHBACK_ARCHIVE_TABLES WHERE owner_name = flyway_owner",
+                "'ALTER TABLE ' || " + QUALIFIED_OBJECT + " || ' NO FLASHBACK ARCHIVE'"));
+
+        //wait until the tables disappear
+        String[] params = tableNames.toArray(new String[tableNames.size()]);
+        long delay = FLASHBACK_POLL_INITIAL_DELAY_MILLIS;
+        int remaining;
+        while ((remaining = jdbcTemplate.queryForInt(queryForOracleTechnicalTables.toString(), params)) > 0) {
+            try {
+                LOG.debug("Actively waiting for Flashback cleanup on " + remaining + " table(s)");
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlywayException("Waiting for Flashback cleanup interrupted", e);
             }
+            delay = Math.min(delay * 2, FLASHBACK_POLL_MAX_DELAY_MILLIS);
         }
     }
 
@@ -201,27 +212,56 @@ public class OracleSchema extends Schema<OracleDbSupport> {
                 "where object_name like 'DBA_FLASHBACK_ARCHIVE_TABLES'") > 0;
     }
 
-
     /**
-     * Generates the drop statements for all xml tables.
+     * Drops all database objects of this type. They are looked up and dropped server-side in a single round trip.
      *
-     * @return The complete drop statements, ready to execute.
-     * @throws SQLException when the drop statements could not be generated.
+     * @param objectType     The type of database object to drop.
+     * @param extraArguments The extra arguments to add to the drop statement.
+     * @throws SQLException when the objects could not be dropped.
      */
-    private List<String> generateDropStatementsForXmlTables() throws SQLException {
-        List<String> dropStatements = new ArrayList<String>();
+    private void dropObjectType(String objectType, String extraArguments) throws SQLException {
+        String query = "SELECT object_name FROM all_objects WHERE object_type = '" + objectType + "' AND owner = flyway_owner"
+                // Ignore Spatial Index Sequences as they get dropped automatically when the index gets dropped.
+                + " AND object_name NOT LIKE 'MDRS_%$'"
+                // Ignore Oracle 12 Identity Sequences as they get dropped automatically when the recycle bin gets purged.
+                + " AND object_name NOT LIKE 'ISEQ$$_%'";
 
-        if (!xmlDBExtensionsAvailable()) {
-            LOG.debug("Oracle XML DB Extensions are not available. No cleaning of XML tables.");
-            return dropStatements;
-        }
+        jdbcTemplate.execute(generateBlock(query,
+                "'DROP " + objectType + " ' || " + QUALIFIED_OBJECT + " || ' " + extraArguments + "'"));
+    }
 
-        List<String> objectNames =
-                jdbcTemplate.queryForStringList("SELECT table_name FROM all_xml_tables WHERE owner = ?", name);
-        for (String objectName : objectNames) {
-            dropStatements.add("DROP TABLE " + dbSupport.quote(name, objectName) + " PURGE");
-        }
-        return dropStatements;
+    /**
+     * Generates an anonymous PL/SQL block executing a statement for each object returned by this query. Both can
+     * refer to the owner of this schema as {@code flyway_owner}. All objects are fetched before the first statement
+     * is executed, so the dropped objects don't have to be read consistently with the still open query (ORA-01555).
+     * A failure reports the statement that caused it.
+     *
+     * @param query     The query for the objects. It must return the name of each object as {@code object_name}.
+     * @param statement The expression building the statement to execute for the current {@code flyway_object}.
+     * @return The PL/SQL block.
+     */
+    private String generateBlock(String query, String statement) {
+        return "DECLARE\n"
+                + "  flyway_owner VARCHAR2(128) := '" + StringUtils.replaceAll(name, "'", "''") + "';\n"
+                + "  CURSOR flyway_cursor IS " + query + ";\n"
+                + "  TYPE flyway_object_table IS TABLE OF flyway_cursor%ROWTYPE;\n"
+                + "  flyway_objects flyway_object_table;\n"
+                + "  flyway_object flyway_cursor%ROWTYPE;\n"
+                + "  flyway_statement VARCHAR2(4000);\n"
+                + "BEGIN\n"
+                + "  OPEN flyway_cursor;\n"
+                + "  FETCH flyway_cursor BULK COLLECT INTO flyway_objects;\n"
+                + "  CLOSE flyway_cursor;\n"
+                + "  FOR i IN 1 .. flyway_objects.COUNT LOOP\n"
+                + "    flyway_object := flyway_objects(i);\n"
+                + "    flyway_statement := " + statement + ";\n"
+                + "    EXECUTE IMMEDIATE flyway_statement;\n"
+                + "  END LOOP;\n"
+                + "EXCEPTION\n"
+                + "  WHEN OTHERS THEN\n"
+                // The message of RAISE_APPLICATION_ERROR is limited to 2048 bytes
+                + "    RAISE_APPLICATION_ERROR(-20000, 'Unable to execute: ' || SUBSTR(flyway_statement, 1, 2000), TRUE);\n"
+                + "END;";
     }
 
     /**
@@ -235,29 +275,6 @@ public class OracleSchema extends Schema<OracleDbSupport> {
                 && (jdbcTemplate.queryForInt("SELECT COUNT(*) FROM all_views WHERE view_name = 'RESOURCE_VIEW'") > 0);
     }
 
-    /**
-     * Generates the drop statements for all database objects of this type.
-     *
-     * @param objectType     The type of database object to drop.
-     * @param extraArguments The extra arguments to add to the drop statement.
-     * @return The complete drop statements, ready to execute.
-     * @throws SQLException when the drop statements could not be generated.
-     */
-    private List<String> generateDropStatementsForObjectType(String objectType, String extraArguments) throws SQLException {
-        String query = "SELECT object_name FROM all_objects WHERE object_type = ? AND owner = ?"
-                // Ignore Spatial Index Sequences as they get dropped automatically when the index gets dropped.
-                + " AND object_name NOT LIKE 'MDRS_%$'"
-                // Ignore Oracle 12 Identity Sequences as they get dropped automatically when the recycle bin gets purged.
-                + " AND object_name NOT LIKE 'ISEQ$$_%'";
-
-        List<String> objectNames = jdbcTemplate.queryForStringList(query, objectType, name);
-        List<String> dropStatements = new ArrayList<String>();
-        for (String objectName : objectNames) {
-            dropStatements.add("DROP " + objectType + " " + dbSupport.quote(name, objectName) + " " + extraArguments);
-        }
-        return dropStatements;
-    }
-
     /**
      * Generates the drop statements for Oracle Spatial Extensions-related database objects.
      *
@@ -293,23 +310,6 @@ public class OracleSchema extends Schema<OracleDbSupport> {
         return statements;
     }
 
-    /**
-     * Generates the drop statements for scheduled jobs.
-     *
-     * @return The complete drop statements, ready to execute.
-     * @throws SQLException when the drop statements could not be generated.
-     */
-    private List<String> generateDropStatementsForScheduledJobs() throws SQLException {
-        List<String> statements = new ArrayList<String>();
-
-        List<String> jobNames = jdbcTemplate.queryForStringList("select JOB_NAME from ALL_SCHEDULER_JOBS WHERE owner=?", name);
-        for (String jobName : jobNames) {
-            statements.add("begin DBMS_SCHEDULER.DROP_JOB(job_name => '" + jobName + "', defer => false, force => true); end;");
-        }
-
-        return statements;
-    }
-
     /**
      * Generates the drop statements for queue tables.
      *
@@ -339,33 +339,7 @@ public class OracleSchema extends Schema<OracleDbSupport> {
 
     @Override
     protected Table[] doAllTables() throws SQLException {
-        List<String> tableNames = jdbcTemplate.queryForStringList(
-                // For every table this query will count the number of references (including the transitive ones)
-                // and order the result list using that value.
-                " SELECT r FROM" +
-                        "   (SELECT CONNECT_BY_ROOT t r FROM" +
-                        "     (SELECT DISTINCT c1.table_name f, NVL(c2.table_name, at.table_name) t" +
-                        "     FROM all_constraints c1" +
-                        "       RIGHT JOIN all_constraints c2 ON c2.constraint_name = c1.r_constraint_name" +
-                        "       RIGHT JOIN all_tables at ON at.table_name = c2.table_name" +
-                        "     WHERE at.owner = ?" +
-                        // Ignore Recycle bin objects
-                        "       AND at.table_name NOT LIKE 'BIN$%'" +
-                        // Ignore Spatial Index Tables as they get dropped automatically when the index gets dropped.
-                        "       AND at.table_name NOT LIKE 'MDRT_%$'" +
-                        // Ignore Materialized View Logs
-                        "       AND at.table_name NOT LIKE 'MLOG$%' AND at.table_name NOT LIKE 'RUPD$%'" +
-                        // Ignore Oracle Text Index Tables
-                        "       AND at.table_name NOT LIKE 'DR$%'" +
-                        // Ignore Index Organized Tables
-                        "       AND at.table_name NOT LIKE 'SYS_IOT_OVER_%'" +
-                        // Ignore Nested Tables
-                        "       AND at.nested != 'YES'" +
-                        // Ignore Nested Tables
-                        "       AND at.secondary != 'Y')" +
-                        "   CONNECT BY NOCYCLE PRIOR f = t)" +
-                        " GROUP BY r" +
-                        " ORDER BY COUNT(*)", name);
+        List<String> tableNames = jdbcTemplate.queryForStringList(getTablesQuery("?"), name);
 
         Table[] tables = new Table[tableNames.size()];
         for (int i = 0; i < tableNames.size(); i++) {
@@ -374,6 +348,41 @@ public class OracleSchema extends Schema<OracleDbSupport> {
         return tables;
     }
 
+    /**
+     * Retrieves the query for the names of the tables of this schema.
+     *
+     * @param owner The sql expression for the owner of the tables.
+     * @return The query.
+     */
+    private static String getTablesQuery(String owner) {
+        // For every table this query will count the number of references (including the transitive ones)
+        // and order the result list using that value.
+        return " SELECT r AS object_name FROM" +
+                "   (SELECT CONNECT_BY_ROOT t r FROM" +
+                "     (SELECT DISTINCT c1.table_name f, NVL(c2.table_name, at.table_name) t" +
+                "     FROM all_constraints c1" +
+                "       RIGHT JOIN all_constraints c2 ON c2.constraint_name = c1.r_constraint_name" +
+                "       RIGHT JOIN all_tables at ON at.table_name = c2.table_name" +
+                "     WHERE at.owner = " + owner +
+                // Ignore Recycle bin objects
+                "       AND at.table_name NOT LIKE 'BIN$%'" +
+                // Ignore Spatial Index Tables as they get dropped automatically when the index gets dropped.
+                "       AND at.table_name NOT LIKE 'MDRT_%$'" +
+                // Ignore Materialized View Logs
+                "       AND at.table_name NOT LIKE 'MLOG$%' AND at.table_name NOT LIKE 'RUPD$%'" +
+                // Ignore Oracle Text Index Tables
+                "       AND at.table_name NOT LIKE 'DR$%'" +
+                // Ignore Index Organized Tables
+                "       AND at.table_name NOT LIKE 'SYS_IOT_OVER_%'" +
+                // Ignore Nested Tables
+                "       AND at.nested != 'YES'" +
+                // Ignore Nested Tables
+                "       AND at.secondary != 'Y')" +
+                "   CONNECT BY NOCYCLE PRIOR f = t)" +
+                " GROUP BY r" +
+                " ORDER BY COUNT(*)";
+    }
+
     @Override
     public Table getTable(String tableName) {
         return new OracleTable(jdbcTemplate, dbSupport, this, tableName);
@@ -41,25 +41,42 @@ public class OracleSqlStatementBuilder extends SqlStatementBuilder {
      */
     private static final Delimiter PLSQL_DELIMITER = new Delimiter("/", true);
 
+    /**
+     * Matches lines starting an anonymous PL/SQL block.
+     */
+    private static final Pattern BLOCK_START_REGEX = Pattern.compile("DECLARE|DECLARE\\s.*|BEGIN|BEGIN\\s.*");
+
+    /**
+     * Matches the beginning of statements defining PL/SQL or Java objects.
+     */
+    private static final Pattern PLSQL_OBJECT_REGEX = Pattern.compile(
+            "CREATE(\\s+OR\\s+REPLACE)?(\\s+(NON)?EDITIONABLE)?\\s+(FUNCTION|PROCEDURE|PACKAGE|TYPE|TRIGGER).*"
+                    + "|CREATE(\\s+OR\\s+REPLACE)?(\\s+AND\\s+(RESOLVE|COMPILE))?(\\s+NOFORCE)?\\s+JAVA\\s+(SOURCE|RESOURCE|CLASS).*");
+
     /**
      * Holds the beginning of the statement.
      */
     private String statementStart = "";
 
+    /**
+     * Whether the beginning of the statement defines a PL/SQL or Java object.
+     */
+    private boolean plsqlObject;
+
     @Override
     protected Delimiter changeDelimiterIfNecessary(String line, Delimiter delimiter) {
-        if (line.matches("DECLARE|DECLARE\\s.*") || line.matches("BEGIN|BEGIN\\s.*")) {
+        if (BLOCK_START_REGEX.matcher(line).matches()) {
             return PLSQL_DELIMITER;
         }
 
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 8) {
             statementStart += line;
             statementStart += " ";
-            statementStart = statementStart.replaceAll("\\s+", " ");
+            statementStart = StringUtils.collapseWhitespace(statementStart);
+            plsqlObject = PLSQL_OBJECT_REGEX.matcher(statementStart).matches();
         }
 
-        if (statementStart.matches("CREATE(\\s+OR\\s+REPLACE)?(\\s+(NON)?EDITIONABLE)?\\s+(FUNCTION|PROCEDURE|PACKAGE|TYPE|TRIGGER).*")
-                || statementStart.matches("CREATE(\\s+OR\\s+REPLACE)?(\\s+AND\\s+(RESOLVE|COMPILE))?(\\s+NOFORCE)?\\s+JAVA\\s+(SOURCE|RESOURCE|CLASS).*")) {
+        if (plsqlObject) {
             return PLSQL_DELIMITER;
         }
 
@@ -15,22 +15,20 @@
  */
 package org.flywaydb.core.internal.dbsupport.postgresql;
 
-import org.flywaydb.core.api.FlywayException;
-import org.flywaydb.core.internal.dbsupport.FlywaySqlException;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
-import org.flywaydb.core.internal.util.logging.Log;
-import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.flywaydb.core.internal.dbsupport.SessionLockTemplate;
+import org.flywaydb.core.internal.dbsupport.Table;
 
 import java.sql.SQLException;
-import java.util.concurrent.Callable;
 
 /**
  * Spring-like template for executing with PostgreSQL advisory locks.
  */
-public class PostgreSQLAdvisoryLockTemplate {
-    private static final Log LOG = LogFactory.getLog(PostgreSQLAdvisoryLockTemplate.class);
-
-    private static final long LOCK_MAGIC_NUM =
+public class PostgreSQLAdvisoryLockTemplate extends SessionLockTemplate {
+    /**
+     * The base of the key used by Flyway versions before the 64-bit lock key.
+     */
+    private static final long LEGACY_LOCK_MAGIC_NUM =
             (0x46L << 40) // F
                     + (0x6CL << 32) // l
                     + (0x79L << 24) // y
@@ -39,49 +37,37 @@ public class PostgreSQLAdvisoryLockTemplate {
                     + 0x79; // y
 
     /**
-     * The connection for the advisory lock.
+     * The keys of the advisory locks, in the order they are acquired: first the key used by older Flyway versions, so
+     * that they keep excluding this one during a rolling upgrade, then the collision-free 64-bit key.
      */
-    private final JdbcTemplate jdbcTemplate;
-
-    private final long lockNum;
+    private final long[] lockNums;
 
     /**
      * Creates a new advisory lock template for this connection.
      *
      * @param jdbcTemplate The jdbcTemplate for the connection.
-     * @param discriminator A number to discriminate between locks.
+     * @param table        The table to derive the keys of the advisory locks from.
+     * @param timeout      The maximum time in seconds to wait for the locks. {@code 0} to wait indefinitely.
      */
-    PostgreSQLAdvisoryLockTemplate(JdbcTemplate jdbcTemplate, int discriminator) {
-        this.jdbcTemplate = jdbcTemplate;
-        lockNum = LOCK_MAGIC_NUM + discriminator;
+    PostgreSQLAdvisoryLockTemplate(JdbcTemplate jdbcTemplate, Table table, int timeout) {
+        super(jdbcTemplate, 2, timeout);
+        lockNums = new long[]{
+                LEGACY_LOCK_MAGIC_NUM + calculateLegacyLockDiscriminator(table),
+                calculateLockKey(table)};
     }
 
-    /**
-     * Executes this callback with an advisory lock.
-     *
-     * @param callable The callback to execute.
-     * @return The result of the callable code.
-     */
-    public <T> T execute(Callable<T> callable) {
-        try {
-            jdbcTemplate.execute("SELECT pg_advisory_lock(" + lockNum + ")");
-            return callable.call();
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to acquire Flyway advisory lock", e);
-        } catch (Exception e) {
-            RuntimeException rethrow;
-            if (e instanceof RuntimeException) {
-                rethrow = (RuntimeException) e;
-            } else {
-                rethrow = new FlywayException(e);
-            }
-            throw rethrow;
-        } finally {
-            try {
-                jdbcTemplate.execute("SELECT pg_advisory_unlock(" + lockNum + ")");
-            } catch (SQLException e) {
-                LOG.error("Unable to release Flyway advisory lock", e);
-            }
-        }
+    @Override
+    protected boolean tryLock(int lock) throws SQLException {
+        return jdbcTemplate.queryForBoolean("SELECT pg_try_advisory_lock(" + lockNums[lock] + ")");
+    }
+
+    @Override
+    protected void unlock(int lock) throws SQLException {
+        jdbcTemplate.execute("SELECT pg_advisory_unlock(" + lockNums[lock] + ")");
+    }
+
+    @Override
+    protected String getLockDescription(int lock) {
+        return "Flyway advisory lock " + lockNums[lock];
     }
 }
@@ -26,7 +26,7 @@ import org.postgresql.copy.CopyManager;
 import org.postgresql.core.BaseConnection;
 
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -116,6 +116,11 @@ public class PostgreSQLDbSupport extends DbSupport {
         return true;
     }
 
+    @Override
+    public boolean supportsNonTransactionalStatements() {
+        return true;
+    }
+
     public String getBooleanTrue() {
         return "TRUE";
     }
@@ -144,22 +149,23 @@ public class PostgreSQLDbSupport extends DbSupport {
     }
 
     @Override
-    public void executePgCopy(Connection connection, String sql) throws SQLException {
-        int split = sql.indexOf(";");
-        String statement = sql.substring(0, split);
-        String data = sql.substring(split + 1).trim();
-
+    public void executePgCopy(Connection connection, String sql, Reader data) throws SQLException {
         CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
         try {
-            copyManager.copyIn(statement, new StringReader(data));
+            copyManager.copyIn(sql, data);
         } catch (IOException e) {
             throw new SQLException("Unable to execute COPY operation", e);
         }
     }
 
     @Override
-    public <T> T lock(Table table, Callable<T> callable) {
-        return new PostgreSQLAdvisoryLockTemplate(jdbcTemplate, table.toString().hashCode()).execute(callable);
+    public <T> T lock(Table table, int timeout, Callable<T> callable) {
+        return new PostgreSQLAdvisoryLockTemplate(jdbcTemplate, table, timeout).execute(callable);
+    }
+
+    @Override
+    public boolean supportsSessionLock() {
+        return true;
     }
 
     @Override
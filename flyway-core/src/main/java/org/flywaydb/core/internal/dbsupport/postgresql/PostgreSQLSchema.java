@@ -19,6 +19,7 @@ import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.Table;
 import org.flywaydb.core.internal.dbsupport.Type;
+import org.flywaydb.core.internal.util.StringUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -30,6 +31,19 @@ import java.util.Map;
  * PostgreSQL implementation of Schema.
  */
 public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
+    /**
+     * The expression for the qualified name of the current object in the code block generated for clean.
+     */
+    private static final String QUALIFIED_OBJECT = "quote_ident(flyway_schema) || '.' || quote_ident(flyway_object.obj)";
+
+    /**
+     * The query for the base types of the schema in the code block generated for clean.
+     */
+    private static final String BASE_TYPES_QUERY = "SELECT typname AS obj, typcategory AS category FROM pg_catalog.pg_type t"
+            + " WHERE (t.typrelid = 0 OR (SELECT c.relkind = 'c' FROM pg_catalog.pg_class c WHERE c.oid = t.typrelid))"
+            + " AND NOT EXISTS(SELECT 1 FROM pg_catalog.pg_type el WHERE el.oid = t.typelem AND el.typarray = t.oid)"
+            + " AND t.typnamespace IN (SELECT oid FROM pg_catalog.pg_namespace WHERE nspname = flyway_schema)";
+
     /**
      * Creates a new PostgreSQL schema.
      *
@@ -69,11 +83,11 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
         int databaseMajorVersion = jdbcTemplate.getMetaData().getDatabaseMajorVersion();
         int databaseMinorVersion = jdbcTemplate.getMetaData().getDatabaseMinorVersion();
 
-        if ((databaseMajorVersion > 9) || ((databaseMajorVersion == 9) && (databaseMinorVersion >= 3))) {
-            // PostgreSQL 9.3 and newer only
-            for (String statement : generateDropStatementsForMaterializedViews()) {
-                jdbcTemplate.execute(statement);
-            }
+        if (databaseMajorVersion >= 9) {
+            // PostgreSQL 9.0 and newer only: look up and drop all objects server-side in a single round trip
+            boolean materializedViews = (databaseMajorVersion > 9) || (databaseMinorVersion >= 3);
+            jdbcTemplate.executeStatement(generateCleanBlock(materializedViews));
+            return;
         }
 
         for (String statement : generateDropStatementsForViews()) {
@@ -114,6 +128,104 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
 
     }
 
+    /**
+     * Generates an anonymous code block that drops all objects in this schema. The objects are looked up and dropped
+     * server-side in the same order as when dropping them statement by statement, with each kind of object only being
+     * looked up once the previous kinds have been dropped.
+     *
+     * @param materializedViews Whether the database supports materialized views (PostgreSQL 9.3 and newer).
+     * @return The code block.
+     */
+    private String generateCleanBlock(boolean materializedViews) {
+        StringBuilder block = new StringBuilder();
+        block.append("DO $flyway_clean$\n");
+        block.append("DECLARE\n");
+        block.append("  flyway_schema TEXT := E'")
+                .append(StringUtils.replaceAll(StringUtils.replaceAll(name, "\\", "\\\\"), "'", "''"))
+                .append("';\n");
+        block.append("  flyway_statements TEXT[];\n");
+        block.append("  flyway_types TEXT[];\n");
+        block.append("BEGIN\n");
+
+        if (materializedViews) {
+            appendDropLoop(block,
+                    "SELECT relname AS obj FROM pg_catalog.pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+                            + " WHERE c.relkind = 'm' AND n.nspname = flyway_schema",
+                    "'DROP MATERIALIZED VIEW IF EXISTS ' || " + QUALIFIED_OBJECT + " || ' CASCADE'");
+        }
+
+        appendDropLoop(block,
+                "SELECT relname AS obj FROM pg_catalog.pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+                        + " LEFT JOIN pg_depend dep ON dep.objid = c.oid AND dep.deptype = 'e'"
+                        + " WHERE c.relkind = 'v' AND n.nspname = flyway_schema AND dep.objid IS NULL",
+                "'DROP VIEW IF EXISTS ' || " + QUALIFIED_OBJECT + " || ' CASCADE'");
+
+        appendDropLoop(block,
+                "SELECT t.table_name AS obj FROM information_schema.tables t"
+                        + " WHERE table_schema = flyway_schema AND table_type = 'BASE TABLE'"
+                        + " AND NOT (SELECT EXISTS (SELECT inhrelid FROM pg_catalog.pg_inherits"
+                        + " WHERE inhrelid = (quote_ident(t.table_schema)||'.'||quote_ident(t.table_name))::regclass::oid))",
+                "'DROP TABLE ' || " + QUALIFIED_OBJECT + " || ' CASCADE'");
+
+        appendDropLoop(block,
+                "SELECT sequence_name AS obj FROM information_schema.sequences WHERE sequence_schema = flyway_schema",
+                "'DROP SEQUENCE IF EXISTS ' || " + QUALIFIED_OBJECT);
+
+        // Drop the base types and recreate the pseudo-types and user-defined types as shell types.
+        // Necessary for type-function chicken and egg problem.
+        block.append("  flyway_types := ARRAY(SELECT flyway_object.obj::TEXT FROM (").append(BASE_TYPES_QUERY)
+                .append(") flyway_object WHERE flyway_object.category IN ('P', 'U'));\n");
+        appendDropLoop(block, BASE_TYPES_QUERY, "'DROP TYPE IF EXISTS ' || " + QUALIFIED_OBJECT + " || ' CASCADE'");
+        block.append("  FOR i IN 1..COALESCE(array_length(flyway_types, 1), 0) LOOP\n");
+        block.append("    EXECUTE 'CREATE TYPE ' || quote_ident(flyway_schema) || '.' || quote_ident(flyway_types[i]);\n");
+        block.append("  END LOOP;\n");
+
+        appendDropLoop(block,
+                "SELECT proname AS obj, oidvectortypes(proargtypes) AS args"
+                        + " FROM pg_proc INNER JOIN pg_namespace ns ON (pg_proc.pronamespace = ns.oid)"
+                        + " WHERE pg_proc.proisagg = true AND ns.nspname = flyway_schema",
+                "'DROP AGGREGATE IF EXISTS ' || " + QUALIFIED_OBJECT + " || '(' || flyway_object.args || ') CASCADE'");
+
+        appendDropLoop(block,
+                "SELECT proname AS obj, oidvectortypes(proargtypes) AS args"
+                        + " FROM pg_proc INNER JOIN pg_namespace ns ON (pg_proc.pronamespace = ns.oid)"
+                        + " LEFT JOIN pg_depend dep ON dep.objid = pg_proc.oid AND dep.deptype = 'e'"
+                        + " WHERE pg_proc.proisagg = false AND ns.nspname = flyway_schema AND dep.objid IS NULL",
+                "'DROP FUNCTION IF EXISTS ' || " + QUALIFIED_OBJECT + " || '(' || flyway_object.args || ') CASCADE'");
+
+        appendDropLoop(block,
+                "SELECT t.typname AS obj FROM pg_catalog.pg_type t INNER JOIN pg_catalog.pg_namespace n"
+                        + " ON n.oid = t.typnamespace WHERE n.nspname = flyway_schema AND t.typtype = 'e'",
+                "'DROP TYPE ' || " + QUALIFIED_OBJECT);
+
+        appendDropLoop(block,
+                "SELECT domain_name AS obj FROM information_schema.domains WHERE domain_schema = flyway_schema",
+                "'DROP DOMAIN ' || " + QUALIFIED_OBJECT);
+
+        appendDropLoop(block, BASE_TYPES_QUERY,
+                "'DROP TYPE IF EXISTS ' || " + QUALIFIED_OBJECT + " || ' CASCADE'");
+
+        block.append("END\n");
+        block.append("$flyway_clean$");
+        return block.toString();
+    }
+
+    /**
+     * Appends a loop executing a drop statement for each object returned by this query to this code block. All drop
+     * statements are generated before the first one is executed, just like when dropping statement by statement.
+     *
+     * @param block         The code block to append to.
+     * @param query         The query for the objects to drop. It must return the object name as {@code obj}.
+     * @param dropStatement The expression building the drop statement for the current {@code flyway_object}.
+     */
+    private static void appendDropLoop(StringBuilder block, String query, String dropStatement) {
+        block.append("  flyway_statements := ARRAY(SELECT ").append(dropStatement)
+                .append(" FROM (").append(query).append(") flyway_object);\n");
+        block.append("  FOR i IN 1..COALESCE(array_length(flyway_statements, 1), 0) LOOP\n");
+        block.append("    EXECUTE flyway_statements[i];\n");
+        block.append("  END LOOP;\n");
+    }
+
     /**
      * Generates the statements for dropping the sequences in this schema.
      *
@@ -252,26 +364,6 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDbSupport> {
         return statements;
     }
 
-    /**
-     * Generates the statements for dropping the materialized views in this schema.
-     *
-     * @return The drop statements.
-     * @throws SQLException when the clean statements could not be generated.
-     */
-    private List<String> generateDropStatementsForMaterializedViews() throws SQLException {
-        List<String> viewNames =
-                jdbcTemplate.queryForStringList(
-                        "SELECT relname FROM pg_catalog.pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
-                                + " WHERE c.relkind = 'm' AND n.nspname = ?", name);
-
-        List<String> statements = new ArrayList<String>();
-        for (String domainName : viewNames) {
-            statements.add("DROP MATERIALIZED VIEW IF EXISTS " + dbSupport.quote(name, domainName) + " CASCADE");
-        }
-
-        return statements;
-    }
-
     /**
      * Generates the statements for dropping the views in this schema.
      *
@@ -37,6 +37,27 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
     /*private -> for testing*/
     static final String DOLLAR_QUOTE_REGEX = "(\\$[A-Za-z0-9_]*\\$).*";
 
+    /**
+     * Compiled version of DOLLAR_QUOTE_REGEX.
+     */
+    private static final Pattern DOLLAR_QUOTE_PATTERN = Pattern.compile(DOLLAR_QUOTE_REGEX);
+
+    /**
+     * Matches the beginning of statements that must be executed outside of a transaction.
+     */
+    private static final Pattern NON_TRANSACTIONAL_STATEMENT_REGEX = Pattern.compile("(CREATE|DROP) (DATABASE|TABLESPACE) .*"
+            + "|ALTER SYSTEM .*"
+            + "|CREATE( UNIQUE)? INDEX CONCURRENTLY .*"
+            + "|REINDEX( VERBOSE)? (SCHEMA|DATABASE|SYSTEM) .*"
+            + "|VACUUM .*"
+            + "|DISCARD ALL .*"
+            + "|ALTER TYPE .* ADD VALUE .*");
+
+    /**
+     * Matches the first line of COPY statements.
+     */
+    private static final Pattern COPY_REGEX = Pattern.compile("COPY|COPY\\s.*");
+
     /**
      * Are we at the beginning of the statement.
      */
@@ -68,29 +89,23 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
         if (StringUtils.countOccurrencesOf(statementStart, " ") < 8) {
             statementStart += line;
             statementStart += " ";
-            statementStart = statementStart.replaceAll("\\s+", " ");
-        }
+            statementStart = StringUtils.collapseWhitespace(statementStart);
 
-        if (statementStart.matches("(CREATE|DROP) (DATABASE|TABLESPACE) .*")
-                || statementStart.matches("ALTER SYSTEM .*")
-                || statementStart.matches("CREATE( UNIQUE)? INDEX CONCURRENTLY .*")
-                || statementStart.matches("REINDEX( VERBOSE)? (SCHEMA|DATABASE|SYSTEM) .*")
-                || statementStart.matches("VACUUM .*")
-                || statementStart.matches("DISCARD ALL .*")
-                || statementStart.matches("ALTER TYPE .* ADD VALUE .*")
-                ) {
-            executeInTransaction = false;
+            // The beginning of the statement is only checked again when it has changed.
+            if (NON_TRANSACTIONAL_STATEMENT_REGEX.matcher(statementStart).matches()) {
+                executeInTransaction = false;
+            }
         }
     }
 
     @Override
     protected String[] tokenizeLine(String line) {
-        return StringUtils.tokenizeToStringArray(line, " @<>;:=|(),+{}\\[\\]");
+        return StringUtils.tokenizeToStringArray(line, " @<>;:=|(),+{}[]");
     }
 
     @Override
     protected String extractAlternateOpenQuote(String token) {
-        Matcher matcher = Pattern.compile(DOLLAR_QUOTE_REGEX).matcher(token);
+        Matcher matcher = DOLLAR_QUOTE_PATTERN.matcher(token);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -105,7 +120,7 @@ public class PostgreSQLSqlStatementBuilder extends SqlStatementBuilder {
 
         if (firstLine) {
             firstLine = false;
-            if (line.matches("COPY|COPY\\s.*")) {
+            if (COPY_REGEX.matcher(line).matches()) {
                 copyStatement = line;
             }
         } else if (copyStatement != null) {
@@ -110,6 +110,11 @@ public abstract class RedshiftDbSupport extends DbSupport {
         return true;
     }
 
+    @Override
+    public boolean supportsNonTransactionalStatements() {
+        return true;
+    }
+
     public String getBooleanTrue() {
         return "TRUE";
     }
@@ -15,6 +15,7 @@
  */
 package org.flywaydb.core.internal.dbsupport.sqlite;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
@@ -22,6 +23,7 @@ import org.flywaydb.core.internal.dbsupport.SqlStatementBuilder;
 import org.flywaydb.core.internal.util.logging.Log;
 import org.flywaydb.core.internal.util.logging.LogFactory;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -93,4 +95,45 @@ public class SQLiteDbSupport extends DbSupport {
     public boolean useSingleConnection() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    @Override
+    public void createSnapshot(Schema[] schemas, File directory) throws SQLException {
+        // backup and restore are commands of the Xerial driver, which only recognizes them on plain statements.
+        for (Schema schema : schemas) {
+            jdbcTemplate.executeStatement("backup " + quote(schema.getName())
+                    + " to " + getSnapshotFileLiteral(directory, schema));
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(Schema[] schemas, File directory) throws SQLException {
+        for (Schema schema : schemas) {
+            jdbcTemplate.executeStatement("restore " + quote(schema.getName())
+                    + " from " + getSnapshotFileLiteral(directory, schema));
+        }
+    }
+
+    /**
+     * The Xerial driver only strips the quotes around the file name of backup and restore without unescaping it, so
+     * the name is quoted with whichever quote character it does not contain instead of doubling the quote.
+     *
+     * @param directory The snapshot directory.
+     * @param schema    The schema.
+     * @return The quoted snapshot file for this schema in this directory.
+     */
+    private static String getSnapshotFileLiteral(File directory, Schema schema) {
+        String path = new File(directory, schema.getName() + ".db").getAbsolutePath();
+        if (!path.contains("'")) {
+            return "'" + path + "'";
+        }
+        if (!path.contains("\"")) {
+            return "\"" + path + "\"";
+        }
+        throw new FlywayException("Unable to quote SQLite snapshot file containing both single and double quotes: " + path);
+    }
+}
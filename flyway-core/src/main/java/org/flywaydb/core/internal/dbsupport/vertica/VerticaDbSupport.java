@@ -112,6 +112,11 @@ public class VerticaDbSupport extends DbSupport {
         return false;
     }
 
+    @Override
+    public boolean supportsNonTransactionalStatements() {
+        return true;
+    }
+
     public String getBooleanTrue() {
         return "TRUE";
     }
@@ -51,6 +51,12 @@ public class MigrationInfoImpl implements MigrationInfo {
      */
     private final boolean outOfOrder;
 
+    /**
+     * The state of this migration. Calculated on first access, as it only depends on the context, which doesn't
+     * change anymore once the migration infos are fully initialised. {@code null} if not calculated yet.
+     */
+    private MigrationState state;
+
     /**
      * Creates a new MigrationInfoImpl.
      *
@@ -117,6 +123,18 @@ public class MigrationInfoImpl implements MigrationInfo {
     }
 
     public MigrationState getState() {
+        if (state == null) {
+            state = calculateState();
+        }
+        return state;
+    }
+
+    /**
+     * Calculates the state of this migration based on the context.
+     *
+     * @return The state.
+     */
+    private MigrationState calculateState() {
         if (appliedMigration == null) {
             if (resolvedMigration.getVersion() != null) {
                 if (resolvedMigration.getVersion().compareTo(context.baseline) < 0) {
@@ -30,9 +30,11 @@ import org.flywaydb.core.internal.util.Pair;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -83,6 +85,42 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      */
     private List<MigrationInfoImpl> migrationInfos;
 
+    /**
+     * The migration infos of the last refresh, indexed by state. Each list is ordered like {@link #migrationInfos}.
+     */
+    private Map<MigrationState, List<MigrationInfoImpl>> migrationInfosByState;
+
+    /**
+     * The migration infos of the last refresh that have a version, indexed and ordered by version.
+     */
+    private NavigableMap<MigrationVersion, MigrationInfoImpl> versionedMigrationInfos;
+
+    /**
+     * The migration infos of the last refresh that have been applied, ordered like {@link #migrationInfos}.
+     */
+    private List<MigrationInfoImpl> appliedMigrationInfos;
+
+    /**
+     * The migration infos of the last refresh that have been resolved, ordered like {@link #migrationInfos}.
+     */
+    private List<MigrationInfoImpl> resolvedMigrationInfos;
+
+    /**
+     * The migration infos of the last refresh that have failed, ordered like {@link #migrationInfos}.
+     */
+    private List<MigrationInfoImpl> failedMigrationInfos;
+
+    /**
+     * The migration infos of the last refresh that have been applied in the future, ordered like
+     * {@link #migrationInfos}.
+     */
+    private List<MigrationInfoImpl> futureMigrationInfos;
+
+    /**
+     * The info of the current migration at the last refresh. {@code null} if none has been applied yet.
+     */
+    private MigrationInfoImpl currentMigrationInfo;
+
     /**
      * Creates a new MigrationInfoServiceImpl.
      *
@@ -201,55 +239,145 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
 
         Collections.sort(migrationInfos1);
         migrationInfos = migrationInfos1;
+        index();
     }
 
-    public MigrationInfo[] all() {
-        return migrationInfos.toArray(new MigrationInfoImpl[migrationInfos.size()]);
-    }
+    /**
+     * Indexes the migration infos by state and version, calculating the state of each of them only once.
+     */
+    private void index() {
+        migrationInfosByState = new EnumMap<MigrationState, List<MigrationInfoImpl>>(MigrationState.class);
+        versionedMigrationInfos = new TreeMap<MigrationVersion, MigrationInfoImpl>();
+        appliedMigrationInfos = new ArrayList<MigrationInfoImpl>();
+        resolvedMigrationInfos = new ArrayList<MigrationInfoImpl>();
+        failedMigrationInfos = new ArrayList<MigrationInfoImpl>();
+        futureMigrationInfos = new ArrayList<MigrationInfoImpl>();
+        MigrationInfoImpl lastApplied = null;
 
-    public MigrationInfo current() {
-        MigrationInfo current = null;
         for (MigrationInfoImpl migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isApplied() && migrationInfo.getVersion() != null &&
-                    (current == null || migrationInfo.getVersion().compareTo(current.getVersion()) > 0)) {
-                current = migrationInfo;
+            MigrationState state = migrationInfo.getState();
+            List<MigrationInfoImpl> migrationInfosWithState = migrationInfosByState.get(state);
+            if (migrationInfosWithState == null) {
+                migrationInfosWithState = new ArrayList<MigrationInfoImpl>();
+                migrationInfosByState.put(state, migrationInfosWithState);
             }
-        }
-        if (current != null) {
-            return current;
-        }
+            migrationInfosWithState.add(migrationInfo);
 
-        // If no versioned migration has been applied so far, fall back to the latest repeatable one
-        for (int i = migrationInfos.size() - 1; i >= 0; i--) {
-            MigrationInfoImpl migrationInfo = migrationInfos.get(i);
+            if (state.isApplied()) {
+                appliedMigrationInfos.add(migrationInfo);
+            }
+            if (state.isResolved()) {
+                resolvedMigrationInfos.add(migrationInfo);
+            }
+            if (state.isFailed()) {
+                failedMigrationInfos.add(migrationInfo);
+            }
+            if ((state == MigrationState.FUTURE_SUCCESS) || (state == MigrationState.FUTURE_FAILED)) {
+                futureMigrationInfos.add(migrationInfo);
+            }
+            if (migrationInfo.getVersion() != null) {
+                versionedMigrationInfos.put(migrationInfo.getVersion(), migrationInfo);
+            }
             if (migrationInfo.getAppliedMigration() != null) {
-                return migrationInfo;
+                lastApplied = migrationInfo;
             }
         }
 
-        return null;
+        currentMigrationInfo = null;
+        for (MigrationInfoImpl migrationInfo : versionedMigrationInfos.descendingMap().values()) {
+            if (migrationInfo.getState().isApplied()) {
+                currentMigrationInfo = migrationInfo;
+                break;
+            }
+        }
+        if (currentMigrationInfo == null) {
+            // If no versioned migration has been applied so far, fall back to the latest repeatable one
+            currentMigrationInfo = lastApplied;
+        }
+    }
+
+    /**
+     * Retrieves the infos about the migrations in this state.
+     *
+     * @param state The state.
+     * @return The migrations, ordered like {@link #all()}. An empty list if none.
+     */
+    private List<MigrationInfoImpl> getMigrationInfos(MigrationState state) {
+        List<MigrationInfoImpl> migrationInfosWithState = migrationInfosByState.get(state);
+        if (migrationInfosWithState == null) {
+            return Collections.emptyList();
+        }
+        return migrationInfosWithState;
+    }
+
+    public MigrationInfo[] all() {
+        return migrationInfos.toArray(new MigrationInfoImpl[migrationInfos.size()]);
+    }
+
+    public MigrationInfo current() {
+        return currentMigrationInfo;
     }
 
     public MigrationInfoImpl[] pending() {
+        List<MigrationInfoImpl> pendingMigrations = getMigrationInfos(MigrationState.PENDING);
+        return pendingMigrations.toArray(new MigrationInfoImpl[pendingMigrations.size()]);
+    }
+
+    /**
+     * Retrieves the infos about the pending versioned migrations within this range of versions.
+     *
+     * @param from The lowest version of the range (inclusive).
+     * @param to   The highest version of the range (inclusive).
+     * @return The pending migrations, ordered by version. An empty array if none.
+     */
+    public MigrationInfoImpl[] pending(MigrationVersion from, MigrationVersion to) {
         List<MigrationInfoImpl> pendingMigrations = new ArrayList<MigrationInfoImpl>();
-        for (MigrationInfoImpl migrationInfo : migrationInfos) {
+        for (MigrationInfoImpl migrationInfo : getVersionRange(from, to).values()) {
             if (MigrationState.PENDING == migrationInfo.getState()) {
                 pendingMigrations.add(migrationInfo);
             }
         }
-
         return pendingMigrations.toArray(new MigrationInfoImpl[pendingMigrations.size()]);
     }
 
-    public MigrationInfo[] applied() {
-        List<MigrationInfo> appliedMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isApplied()) {
-                appliedMigrations.add(migrationInfo);
-            }
+    /**
+     * Retrieves the infos about the versioned migrations within this range of versions.
+     *
+     * @param from The lowest version of the range (inclusive).
+     * @param to   The highest version of the range (inclusive).
+     * @return The migrations, ordered by version. An empty array if none.
+     */
+    public MigrationInfoImpl[] versioned(MigrationVersion from, MigrationVersion to) {
+        Collection<MigrationInfoImpl> versioned = getVersionRange(from, to).values();
+        return versioned.toArray(new MigrationInfoImpl[versioned.size()]);
+    }
+
+    /**
+     * Retrieves the info about the migration with this version.
+     *
+     * @param version The version of the migration.
+     * @return The migration. {@code null} if there is none with this version.
+     */
+    public MigrationInfoImpl getMigrationInfo(MigrationVersion version) {
+        return versionedMigrationInfos.get(version);
+    }
+
+    /**
+     * Retrieves the infos about the versioned migrations within this range of versions.
+     *
+     * @param from The lowest version of the range (inclusive).
+     * @param to   The highest version of the range (inclusive).
+     * @return The migrations, indexed by version.
+     */
+    private NavigableMap<MigrationVersion, MigrationInfoImpl> getVersionRange(MigrationVersion from, MigrationVersion to) {
+        if (from.compareTo(to) > 0) {
+            return new TreeMap<MigrationVersion, MigrationInfoImpl>();
         }
+        return versionedMigrationInfos.subMap(from, true, to, true);
+    }
 
-        return appliedMigrations.toArray(new MigrationInfo[appliedMigrations.size()]);
+    public MigrationInfo[] applied() {
+        return appliedMigrationInfos.toArray(new MigrationInfo[appliedMigrationInfos.size()]);
     }
 
     /**
@@ -258,14 +386,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The resolved migrations. An empty array if none.
      */
     public MigrationInfo[] resolved() {
-        List<MigrationInfo> resolvedMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isResolved()) {
-                resolvedMigrations.add(migrationInfo);
-            }
-        }
-
-        return resolvedMigrations.toArray(new MigrationInfo[resolvedMigrations.size()]);
+        return resolvedMigrationInfos.toArray(new MigrationInfo[resolvedMigrationInfos.size()]);
     }
 
     /**
@@ -274,14 +395,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The failed migrations. An empty array if none.
      */
     public MigrationInfo[] failed() {
-        List<MigrationInfo> failedMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState().isFailed()) {
-                failedMigrations.add(migrationInfo);
-            }
-        }
-
-        return failedMigrations.toArray(new MigrationInfo[failedMigrations.size()]);
+        return failedMigrationInfos.toArray(new MigrationInfo[failedMigrationInfos.size()]);
     }
 
     /**
@@ -290,15 +404,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The future migrations. An empty array if none.
      */
     public MigrationInfo[] future() {
-        List<MigrationInfo> futureMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if ((migrationInfo.getState() == MigrationState.FUTURE_SUCCESS)
-                    || (migrationInfo.getState() == MigrationState.FUTURE_FAILED)) {
-                futureMigrations.add(migrationInfo);
-            }
-        }
-
-        return futureMigrations.toArray(new MigrationInfo[futureMigrations.size()]);
+        return futureMigrationInfos.toArray(new MigrationInfo[futureMigrationInfos.size()]);
     }
 
     /**
@@ -307,13 +413,7 @@ public class MigrationInfoServiceImpl implements MigrationInfoService {
      * @return The out of order migrations. An empty array if none.
      */
     public MigrationInfo[] outOfOrder() {
-        List<MigrationInfo> outOfOrderMigrations = new ArrayList<MigrationInfo>();
-        for (MigrationInfo migrationInfo : migrationInfos) {
-            if (migrationInfo.getState() == MigrationState.OUT_OF_ORDER) {
-                outOfOrderMigrations.add(migrationInfo);
-            }
-        }
-
+        List<MigrationInfoImpl> outOfOrderMigrations = getMigrationInfos(MigrationState.OUT_OF_ORDER);
         return outOfOrderMigrations.toArray(new MigrationInfo[outOfOrderMigrations.size()]);
     }
 
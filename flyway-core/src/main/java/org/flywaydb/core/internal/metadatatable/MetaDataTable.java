@@ -32,6 +32,11 @@ public interface MetaDataTable {
      */
     <T> T lock(Callable<T> callable);
 
+    /**
+     * @return The total time in milliseconds spent waiting for the lock on the metadata table so far.
+     */
+    long getLockWaitTime();
+
     /**
      * Adds this migration as executed to the metadata table.
      *
@@ -18,14 +18,18 @@ package org.flywaydb.core.internal.metadatatable;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.metrics.MetricsPhase;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.FlywaySqlException;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.dbsupport.SqlScript;
 import org.flywaydb.core.internal.dbsupport.Table;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.TimeFormat;
 import org.flywaydb.core.internal.util.jdbc.RowMapper;
 import org.flywaydb.core.internal.util.jdbc.TransactionTemplate;
 import org.flywaydb.core.internal.util.logging.Log;
@@ -35,10 +39,12 @@ import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 
 /**
@@ -63,26 +69,75 @@ public class MetaDataTableImpl implements MetaDataTable {
     private final JdbcTemplate jdbcTemplate;
 
     /**
-     * Applied migration cache.
+     * The applied migrations known so far, indexed by installed rank.
      */
-    private final LinkedList<AppliedMigration> cache = new LinkedList<AppliedMigration>();
+    private final TreeMap<Integer, AppliedMigration> appliedMigrations = new TreeMap<Integer, AppliedMigration>();
+
+    /**
+     * The applied migrations known so far, indexed by version. Repeatable migrations and schema markers are not
+     * included as they have no version.
+     */
+    private final Map<MigrationVersion, List<AppliedMigration>> appliedMigrationsByVersion =
+            new HashMap<MigrationVersion, List<AppliedMigration>>();
+
+    /**
+     * The applied migrations known so far, indexed by type.
+     */
+    private final Map<MigrationType, List<AppliedMigration>> appliedMigrationsByType =
+            new EnumMap<MigrationType, List<AppliedMigration>>(MigrationType.class);
+
+    /**
+     * Whether the metadata table may have been changed by other writers since the applied migrations were last loaded.
+     */
+    private boolean stale = true;
+
+    /**
+     * Whether the metadata table is known to exist.
+     */
+    private boolean tableExists;
+
+    /**
+     * The lowest installed rank of the rows inserted by this instance since the applied migrations were last loaded.
+     * These rows are only known locally and are loaded again on the next refresh, both to pick up the values computed
+     * by the database and to drop them in case their transaction was rolled back. {@code -1} if there are none.
+     */
+    private int firstUnconfirmedRank = -1;
+
+    /**
+     * The maximum time in seconds to wait for the lock on the metadata table. {@code 0} to wait indefinitely.
+     */
+    private final int lockTimeout;
+
+    /**
+     * The total time in milliseconds spent waiting for the lock on the metadata table so far.
+     */
+    private long lockWaitTime;
 
     /**
      * The current user in the database.
      */
     private String installedBy;
 
+    /**
+     * The user explicitly configured to record as installed_by. {@code null} for the current database user.
+     */
+    private final String installedByUser;
+
     /**
      * Creates a new instance of the metadata table support.
      *
      * @param dbSupport   Database-specific functionality.
      * @param table       The metadata table used by flyway.
      * @param installedBy The current user in the database.
+     * @param lockTimeout The maximum time in seconds to wait for the lock on the metadata table. {@code 0} to wait
+     *                    indefinitely.
      */
-    public MetaDataTableImpl(DbSupport dbSupport, Table table, String installedBy) {
+    public MetaDataTableImpl(DbSupport dbSupport, Table table, String installedBy, int lockTimeout) {
         this.jdbcTemplate = dbSupport.getJdbcTemplate();
         this.dbSupport = dbSupport;
         this.table = table;
+        this.lockTimeout = lockTimeout;
+        this.installedByUser = installedBy;
         if (installedBy == null) {
             this.installedBy = dbSupport.getCurrentUserFunction();
         } else {
@@ -123,7 +178,12 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public void clearCache() {
-        cache.clear();
+        appliedMigrations.clear();
+        appliedMigrationsByVersion.clear();
+        appliedMigrationsByType.clear();
+        firstUnconfirmedRank = -1;
+        tableExists = false;
+        stale = true;
     }
 
     @Override
@@ -135,6 +195,10 @@ public class MetaDataTableImpl implements MetaDataTable {
      * Creates the metatable if it doesn't exist, upgrades it if it does.
      */
     private void createIfNotExists() {
+        if (tableExists) {
+            return;
+        }
+
         int retries = 0;
         while (!table.exists()) {
             if (retries == 0) {
@@ -166,12 +230,55 @@ public class MetaDataTableImpl implements MetaDataTable {
                 }
             }
         }
+
+        // Rows may have been added by another writer that created the table first.
+        tableExists = true;
+        stale = true;
     }
 
     @Override
-    public <T> T lock(Callable<T> callable) {
+    public <T> T lock(final Callable<T> callable) {
         createIfNotExists();
-        return dbSupport.lock(table, callable);
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        final long start = Metrics.start();
+        try {
+            return dbSupport.lock(table, lockTimeout, new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    stopWatch.stop();
+                    Metrics.timing(MetricsPhase.LOCK_WAIT, table.toString(), start);
+                    recordLockWait(stopWatch.getTotalTimeMillis());
+
+                    // Other writers may have changed the metadata table while it wasn't locked.
+                    stale = true;
+                    return callable.call();
+                }
+            });
+        } catch (RuntimeException e) {
+            // The changes made while holding the lock may have been rolled back.
+            stale = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Records the time spent waiting for the lock on the metadata table.
+     *
+     * @param waitTime The time in milliseconds it took to acquire the lock.
+     */
+    private void recordLockWait(long waitTime) {
+        lockWaitTime += waitTime;
+        if (waitTime >= 1000) {
+            LOG.info("Acquired lock on metadata table " + table + " after waiting " + TimeFormat.format(waitTime));
+        } else {
+            LOG.debug("Acquired lock on metadata table " + table + " after waiting " + waitTime + " ms");
+        }
+    }
+
+    @Override
+    public long getLockWaitTime() {
+        return lockWaitTime;
     }
 
     @Override
@@ -188,6 +295,7 @@ public class MetaDataTableImpl implements MetaDataTable {
             String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/updateMetaDataTable.sql";
             ClassPathResource classPathResource = new ClassPathResource(resourceName, getClass().getClassLoader());
             int installedRank = calculateInstalledRank();
+            long start = Metrics.start();
             if (classPathResource.exists()) {
                 String source = classPathResource.loadAsString("UTF-8");
                 Map<String, String> placeholders = new HashMap<String, String>();
@@ -236,6 +344,11 @@ public class MetaDataTableImpl implements MetaDataTable {
                         appliedMigration.isSuccess()
                 );
             }
+            Metrics.timing(MetricsPhase.METADATA_QUERY, "insert", start);
+
+            addUnconfirmed(new AppliedMigration(installedRank, version, appliedMigration.getDescription(),
+                    appliedMigration.getType(), appliedMigration.getScript(), appliedMigration.getChecksum(), new Date(),
+                    installedByUser, appliedMigration.getExecutionTime(), appliedMigration.isSuccess()));
 
             LOG.debug("MetaData table " + table + " successfully updated to reflect changes");
         } catch (SQLException e) {
@@ -248,32 +361,53 @@ public class MetaDataTableImpl implements MetaDataTable {
      *
      * @return The installed rank.
      */
-    private int calculateInstalledRank() throws SQLException {
-        int currentMax = jdbcTemplate.queryForInt("SELECT MAX(" + dbSupport.quote("installed_rank") + ")"
-                + " FROM " + table);
-        return currentMax + 1;
+    private int calculateInstalledRank() {
+        refresh();
+        return appliedMigrations.isEmpty() ? 1 : appliedMigrations.lastKey() + 1;
     }
 
     @Override
     public List<AppliedMigration> allAppliedMigrations() {
-        return findAppliedMigrations();
+        refresh();
+        return new ArrayList<AppliedMigration>(appliedMigrations.values());
     }
 
     /**
-     * Retrieve the applied migrations from the metadata table.
-     *
-     * @param migrationTypes The specific migration types to look for. (Optional) None means find all migrations.
-     * @return The applied migrations.
+     * Loads the rows added to the metadata table since the applied migrations were last loaded, if they may have been
+     * changed by other writers since.
      */
-    private List<AppliedMigration> findAppliedMigrations(MigrationType... migrationTypes) {
-        if (!table.exists()) {
-            return new ArrayList<AppliedMigration>();
+    private void refresh() {
+        if (!stale) {
+            return;
         }
 
-        createIfNotExists();
+        if (firstUnconfirmedRank >= 0) {
+            for (AppliedMigration appliedMigration :
+                    new ArrayList<AppliedMigration>(appliedMigrations.tailMap(firstUnconfirmedRank).values())) {
+                removeFromIndex(appliedMigration);
+            }
+            firstUnconfirmedRank = -1;
+        }
 
-        int minInstalledRank = cache.isEmpty() ? -1 : cache.getLast().getInstalledRank();
+        if (!tableExists) {
+            tableExists = table.exists();
+        }
+        if (tableExists) {
+            int minInstalledRank = appliedMigrations.isEmpty() ? -1 : appliedMigrations.lastKey();
+            for (AppliedMigration appliedMigration : findAppliedMigrations(minInstalledRank)) {
+                addToIndex(appliedMigration);
+            }
+        }
+        stale = false;
+    }
 
+    /**
+     * Retrieve the applied migrations from the metadata table.
+     *
+     * @param minInstalledRank Only retrieve the migrations with an installed rank higher than this one.
+     * @return The applied migrations.
+     */
+    private List<AppliedMigration> findAppliedMigrations(int minInstalledRank) {
         String query = "SELECT " + dbSupport.quote("installed_rank")
                 + "," + dbSupport.quote("version")
                 + "," + dbSupport.quote("description")
@@ -285,23 +419,12 @@ public class MetaDataTableImpl implements MetaDataTable {
                 + "," + dbSupport.quote("execution_time")
                 + "," + dbSupport.quote("success")
                 + " FROM " + table
-                + " WHERE " + dbSupport.quote("installed_rank") + " > " + minInstalledRank;
-
-        if (migrationTypes.length > 0) {
-            query += " AND " + dbSupport.quote("type") + " IN (";
-            for (int i = 0; i < migrationTypes.length; i++) {
-                if (i > 0) {
-                    query += ",";
-                }
-                query += "'" + migrationTypes[i] + "'";
-            }
-            query += ")";
-        }
-
-        query += " ORDER BY " + dbSupport.quote("installed_rank");
+                + " WHERE " + dbSupport.quote("installed_rank") + " > " + minInstalledRank
+                + " ORDER BY " + dbSupport.quote("installed_rank");
 
+        long start = Metrics.start();
         try {
-            cache.addAll(jdbcTemplate.query(query, new RowMapper<AppliedMigration>() {
+            List<AppliedMigration> result = jdbcTemplate.query(query, new RowMapper<AppliedMigration>() {
                 public AppliedMigration mapRow(final ResultSet rs) throws SQLException {
                     Integer checksum = rs.getInt("checksum");
                     if (rs.wasNull()) {
@@ -310,7 +433,7 @@ public class MetaDataTableImpl implements MetaDataTable {
 
                     return new AppliedMigration(
                             rs.getInt("installed_rank"),
-                            rs.getString("version") != null ? MigrationVersion.fromVersion(rs.getString("version")) : null,
+                            MigrationVersionPool.intern(rs.getString("version")),
                             rs.getString("description"),
                             MigrationType.valueOf(rs.getString("type")),
                             rs.getString("script"),
@@ -321,14 +444,110 @@ public class MetaDataTableImpl implements MetaDataTable {
                             rs.getBoolean("success")
                     );
                 }
-            }));
-            return cache;
+            });
+            Metrics.timing(MetricsPhase.METADATA_QUERY, "select", start);
+            return result;
         } catch (SQLException e) {
             throw new FlywaySqlException("Error while retrieving the list of applied migrations from metadata table "
                     + table, e);
         }
     }
 
+    /**
+     * Adds this row, which was just inserted by this instance, to the applied migrations.
+     *
+     * @param appliedMigration The inserted row.
+     */
+    private void addUnconfirmed(AppliedMigration appliedMigration) {
+        if (firstUnconfirmedRank < 0) {
+            firstUnconfirmedRank = appliedMigration.getInstalledRank();
+        }
+        addToIndex(appliedMigration);
+    }
+
+    /**
+     * Adds this applied migration to all indexes.
+     *
+     * @param appliedMigration The applied migration to add.
+     */
+    private void addToIndex(AppliedMigration appliedMigration) {
+        appliedMigrations.put(appliedMigration.getInstalledRank(), appliedMigration);
+        if (appliedMigration.getVersion() != null) {
+            getIndexEntry(appliedMigrationsByVersion, appliedMigration.getVersion()).add(appliedMigration);
+        }
+        getIndexEntry(appliedMigrationsByType, appliedMigration.getType()).add(appliedMigration);
+    }
+
+    /**
+     * Removes this applied migration from all indexes.
+     *
+     * @param appliedMigration The applied migration to remove.
+     */
+    private void removeFromIndex(AppliedMigration appliedMigration) {
+        appliedMigrations.remove(appliedMigration.getInstalledRank());
+        if (appliedMigration.getVersion() != null) {
+            getIndexEntry(appliedMigrationsByVersion, appliedMigration.getVersion()).remove(appliedMigration);
+        }
+        getIndexEntry(appliedMigrationsByType, appliedMigration.getType()).remove(appliedMigration);
+    }
+
+    /**
+     * Replaces this applied migration in all indexes with an updated version of the same row, keeping its position.
+     *
+     * @param outdated The applied migration to replace.
+     * @param updated  The updated applied migration.
+     */
+    private void replaceInIndex(AppliedMigration outdated, AppliedMigration updated) {
+        appliedMigrations.put(updated.getInstalledRank(), updated);
+        if (outdated.getVersion() != null) {
+            replaceInIndexEntry(getIndexEntry(appliedMigrationsByVersion, outdated.getVersion()), outdated, updated);
+        }
+        replaceInIndexEntry(getIndexEntry(appliedMigrationsByType, outdated.getType()), outdated, updated);
+    }
+
+    /**
+     * Replaces this applied migration within this index entry, keeping its position.
+     *
+     * @param entry    The index entry.
+     * @param outdated The applied migration to replace.
+     * @param updated  The updated applied migration.
+     */
+    private static void replaceInIndexEntry(List<AppliedMigration> entry, AppliedMigration outdated,
+                                            AppliedMigration updated) {
+        int position = entry.indexOf(outdated);
+        if (position >= 0) {
+            entry.set(position, updated);
+        }
+    }
+
+    /**
+     * Retrieves the applied migrations stored under this key of this index, creating the entry if necessary.
+     *
+     * @param index The index.
+     * @param key   The key.
+     * @param <K>   The type of key.
+     * @return The applied migrations, in the order of their installed rank.
+     */
+    private static <K> List<AppliedMigration> getIndexEntry(Map<K, List<AppliedMigration>> index, K key) {
+        List<AppliedMigration> entry = index.get(key);
+        if (entry == null) {
+            entry = new ArrayList<AppliedMigration>();
+            index.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Retrieves the applied migrations of this type, after loading any changes by other writers if necessary.
+     *
+     * @param migrationType The type of migration.
+     * @return The applied migrations, in the order of their installed rank.
+     */
+    /*private -> testing*/ List<AppliedMigration> findAppliedMigrations(MigrationType migrationType) {
+        refresh();
+        return getIndexEntry(appliedMigrationsByType, migrationType);
+    }
+
     @Override
     public void addBaselineMarker(final MigrationVersion baselineVersion, final String baselineDescription) {
         addAppliedMigration(new AppliedMigration(baselineVersion, baselineDescription, MigrationType.BASELINE, baselineDescription, null,
@@ -337,30 +556,29 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public void removeFailedMigrations() {
-        if (!table.exists()) {
+        List<AppliedMigration> failedMigrations = new ArrayList<AppliedMigration>();
+        for (AppliedMigration appliedMigration : allAppliedMigrations()) {
+            if (!appliedMigration.isSuccess()) {
+                failedMigrations.add(appliedMigration);
+            }
+        }
+        if (failedMigrations.isEmpty()) {
             LOG.info("Repair of failed migration in metadata table " + table + " not necessary. No failed migration detected.");
             return;
         }
 
-        createIfNotExists();
-
-        try {
-            int failedCount = jdbcTemplate.queryForInt("SELECT COUNT(*) FROM " + table
-                    + " WHERE " + dbSupport.quote("success") + "=" + dbSupport.getBooleanFalse());
-            if (failedCount == 0) {
-                LOG.info("Repair of failed migration in metadata table " + table + " not necessary. No failed migration detected.");
-                return;
-            }
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to check the metadata table " + table + " for failed migrations", e);
-        }
-
+        long start = Metrics.start();
         try {
             jdbcTemplate.execute("DELETE FROM " + table
                     + " WHERE " + dbSupport.quote("success") + " = " + dbSupport.getBooleanFalse());
         } catch (SQLException e) {
             throw new FlywaySqlException("Unable to repair metadata table " + table, e);
         }
+        Metrics.timing(MetricsPhase.METADATA_QUERY, "delete", start);
+
+        for (AppliedMigration failedMigration : failedMigrations) {
+            removeFromIndex(failedMigration);
+        }
     }
 
     @Override
@@ -373,36 +591,12 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public boolean hasSchemasMarker() {
-        if (!table.exists()) {
-            return false;
-        }
-
-        createIfNotExists();
-
-        try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='SCHEMA'");
-            return count > 0;
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to check whether the metadata table " + table + " has a schema marker migration", e);
-        }
+        return !findAppliedMigrations(MigrationType.SCHEMA).isEmpty();
     }
 
     @Override
     public boolean hasBaselineMarker() {
-        if (!table.exists()) {
-            return false;
-        }
-
-        createIfNotExists();
-
-        try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + "='INIT' OR " + dbSupport.quote("type") + "='BASELINE'");
-            return count > 0;
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to check whether the metadata table " + table + " has an baseline marker migration", e);
-        }
+        return !findAppliedMigrations(MigrationType.BASELINE).isEmpty();
     }
 
     @Override
@@ -413,30 +607,19 @@ public class MetaDataTableImpl implements MetaDataTable {
 
     @Override
     public boolean hasAppliedMigrations() {
-        if (!table.exists()) {
-            return false;
-        }
-
-        createIfNotExists();
-
-        try {
-            int count = jdbcTemplate.queryForInt(
-                    "SELECT COUNT(*) FROM " + table + " WHERE " + dbSupport.quote("type") + " NOT IN ('SCHEMA', 'INIT', 'BASELINE')");
-            return count > 0;
-        } catch (SQLException e) {
-            throw new FlywaySqlException("Unable to check whether the metadata table " + table + " has applied migrations", e);
-        }
+        int markerCount = findAppliedMigrations(MigrationType.SCHEMA).size()
+                + findAppliedMigrations(MigrationType.BASELINE).size();
+        return appliedMigrations.size() > markerCount;
     }
 
     @Override
     public void update(MigrationVersion version, String description, Integer checksum) {
-        clearCache();
-
         LOG.info("Repairing metadata for version " + version + " (Description: " + description + ", Checksum: " + checksum + ")  ...");
 
         // Try load an update.sql file if it exists
         String resourceName = "org/flywaydb/core/internal/dbsupport/" + dbSupport.getDbName() + "/update.sql";
         ClassPathResource resource = new ClassPathResource(resourceName, getClass().getClassLoader());
+        long start = Metrics.start();
         if (resource.exists()) {
             String source = resource.loadAsString("UTF-8");
             Map<String, String> placeholders = new HashMap<String, String>();
@@ -464,6 +647,16 @@ public class MetaDataTableImpl implements MetaDataTable {
                         + " for version " + version, e);
             }
         }
+        Metrics.timing(MetricsPhase.METADATA_QUERY, "update", start);
+
+        List<AppliedMigration> outdatedMigrations = appliedMigrationsByVersion.get(version);
+        if (outdatedMigrations != null) {
+            for (AppliedMigration outdated : new ArrayList<AppliedMigration>(outdatedMigrations)) {
+                replaceInIndex(outdated, new AppliedMigration(outdated.getInstalledRank(), outdated.getVersion(),
+                        description, outdated.getType(), outdated.getScript(), checksum, outdated.getInstalledOn(),
+                        outdated.getInstalledBy(), outdated.getExecutionTime(), outdated.isSuccess()));
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.metadatatable;
+
+import org.flywaydb.core.api.MigrationVersion;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of the versions read from the metadata table, so that a version that is read over and over again, whether by
+ * repeated refreshes or by multiple metadata tables of the same JVM, is parsed and held in memory only once.
+ * <p>
+ * Versions are only referenced weakly and disappear from the pool as soon as they aren't used anymore.
+ * </p>
+ */
+class MigrationVersionPool {
+    /**
+     * The pooled versions, indexed by their version string.
+     */
+    private static final Map<String, WeakReference<MigrationVersion>> VERSIONS =
+            new WeakHashMap<String, WeakReference<MigrationVersion>>();
+
+    /**
+     * Prevents instantiation.
+     */
+    private MigrationVersionPool() {
+        // Do nothing
+    }
+
+    /**
+     * Retrieves the version for this version string from the pool, parsing and adding it if it isn't pooled yet.
+     *
+     * @param version The version string.
+     * @return The version. {@code null} if the version string is {@code null}.
+     */
+    static MigrationVersion intern(String version) {
+        if (version == null) {
+            return null;
+        }
+
+        synchronized (VERSIONS) {
+            WeakReference<MigrationVersion> reference = VERSIONS.get(version);
+            MigrationVersion migrationVersion = reference == null ? null : reference.get();
+            if (migrationVersion == null) {
+                migrationVersion = MigrationVersion.fromVersion(version);
+                VERSIONS.put(version, new WeakReference<MigrationVersion>(migrationVersion));
+            }
+            return migrationVersion;
+        }
+    }
+}
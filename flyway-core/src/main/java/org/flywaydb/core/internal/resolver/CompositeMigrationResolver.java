@@ -17,18 +17,29 @@ package org.flywaydb.core.internal.resolver;
 
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.metrics.MetricsPhase;
+import org.flywaydb.core.api.resolver.MigrationExecutor;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.resolver.jdbc.JdbcMigrationExecutor;
 import org.flywaydb.core.internal.resolver.jdbc.JdbcMigrationResolver;
+import org.flywaydb.core.internal.resolver.spring.SpringJdbcMigrationExecutor;
 import org.flywaydb.core.internal.resolver.spring.SpringJdbcMigrationResolver;
+import org.flywaydb.core.internal.resolver.sql.ChecksumCache;
 import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
+import org.flywaydb.core.internal.util.DaemonThreadFactory;
 import org.flywaydb.core.internal.util.FeatureDetector;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.Locations;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -36,12 +47,20 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Facility for retrieving and sorting the available migrations from the classpath through the various migration
  * resolvers.
  */
 public class CompositeMigrationResolver implements MigrationResolver {
+    private static final Log LOG = LogFactory.getLog(CompositeMigrationResolver.class);
+
     /**
      * The migration resolvers to use internally.
      */
@@ -53,6 +72,31 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     private List<ResolvedMigration> availableMigrations;
 
+    /**
+     * The cache of the checksums of sql migrations. {@code null} if the checksums shouldn't be cached.
+     */
+    private ChecksumCache checksumCache;
+
+    /**
+     * The number of threads to use for resolving migrations.
+     */
+    private final int threads;
+
+    /**
+     * The ClassLoader the migrations are resolved with.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The key of the migrations in the {@link ResolvedMigrationsCache}. {@code null} if they can't be cached.
+     */
+    private final String cacheKey;
+
+    /**
+     * The locations the migrations are resolved from, for reporting metrics.
+     */
+    private final String locationNames;
+
     /**
      * Creates a new CompositeMigrationResolver.
      *
@@ -66,9 +110,18 @@ public class CompositeMigrationResolver implements MigrationResolver {
     public CompositeMigrationResolver(DbSupport dbSupport, Scanner scanner, FlywayConfiguration configuration, Locations locations,
                                       PlaceholderReplacer placeholderReplacer,
                                       MigrationResolver... customMigrationResolvers) {
+        threads = configuration.getResolverThreads();
+        classLoader = scanner.getClassLoader();
+        cacheKey = createCacheKey(dbSupport, configuration, locations, customMigrationResolvers);
+        locationNames = StringUtils.collectionToCommaDelimitedString(locations.getLocations());
+
         if (!configuration.isSkipDefaultResolvers()) {
+            if (StringUtils.hasText(configuration.getChecksumCacheDirectory())) {
+                checksumCache = new ChecksumCache(new File(configuration.getChecksumCacheDirectory()));
+            }
+
             for (Location location : locations.getLocations()) {
-                migrationResolvers.add(new SqlMigrationResolver(dbSupport, scanner, location, placeholderReplacer, configuration));
+                migrationResolvers.add(new SqlMigrationResolver(dbSupport, scanner, location, placeholderReplacer, configuration, checksumCache));
                 migrationResolvers.add(new JdbcMigrationResolver(scanner, location, configuration));
 
                 if (new FeatureDetector(scanner.getClassLoader()).isSpringJdbcAvailable()) {
@@ -89,12 +142,93 @@ public class CompositeMigrationResolver implements MigrationResolver {
      */
     public List<ResolvedMigration> resolveMigrations() {
         if (availableMigrations == null) {
-            availableMigrations = doFindAvailableMigrations();
+            if (cacheKey != null) {
+                availableMigrations = ResolvedMigrationsCache.get(classLoader, cacheKey);
+            }
+            if (availableMigrations == null) {
+                long start = Metrics.start();
+                availableMigrations = Collections.unmodifiableList(doFindAvailableMigrations());
+                Metrics.timing(MetricsPhase.RESOLVE, locationNames, start);
+                if (cacheKey != null && isShareable(availableMigrations)) {
+                    ResolvedMigrationsCache.put(classLoader, cacheKey, availableMigrations);
+                }
+            } else {
+                LOG.debug("Reusing " + availableMigrations.size() + " previously resolved migrations");
+            }
         }
 
         return availableMigrations;
     }
 
+    /**
+     * @return The available migrations, sorted by version, oldest first. {@code null} if they haven't been resolved
+     * yet.
+     */
+    public List<ResolvedMigration> getAvailableMigrations() {
+        return availableMigrations;
+    }
+
+    /**
+     * Creates the key of the migrations resolved with this configuration in the {@link ResolvedMigrationsCache}. It
+     * covers everything influencing the outcome of resolving, parsing and executing the migrations.
+     *
+     * @param dbSupport                The database-specific support.
+     * @param configuration            The Flyway configuration.
+     * @param locations                The locations where migrations are located.
+     * @param customMigrationResolvers Custom Migration Resolvers.
+     * @return The cache key. {@code null} if the migrations can't be cached.
+     */
+    private static String createCacheKey(DbSupport dbSupport, FlywayConfiguration configuration, Locations locations,
+                                         MigrationResolver[] customMigrationResolvers) {
+        if (configuration.isSkipDefaultResolvers() || customMigrationResolvers.length > 0) {
+            // Custom resolvers are specific to the Flyway instance they were configured on.
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(dbSupport.getDbName());
+        for (Location location : locations.getLocations()) {
+            if (location.isFileSystem()) {
+                // Files on the filesystem may change between commands.
+                return null;
+            }
+            key.append('|').append(location.getDescriptor());
+        }
+        key.append('|').append(configuration.getSqlMigrationPrefix())
+                .append('|').append(configuration.getRepeatableSqlMigrationPrefix())
+                .append('|').append(configuration.getSqlMigrationSeparator())
+                .append('|').append(configuration.getSqlMigrationSuffix())
+                .append('|').append(configuration.getEncoding())
+                .append('|').append(configuration.isPlaceholderReplacement())
+                .append('|').append(configuration.getPlaceholderPrefix())
+                .append('|').append(configuration.getPlaceholderSuffix())
+                .append('|').append(new TreeMap<String, String>(configuration.getPlaceholders()))
+                .append('|').append(configuration.isAllowMixedMigrations())
+                .append('|').append(configuration.getSqlBatchSize())
+                .append('|').append(configuration.getChecksumCacheDirectory());
+        return key.toString();
+    }
+
+    /**
+     * Checks whether these migrations can be shared with other Flyway instances. This is not the case for Java
+     * migrations receiving the Flyway configuration, as they would otherwise see the configuration of the instance
+     * that happened to resolve them first.
+     *
+     * @param migrations The migrations to check.
+     * @return {@code true} if they can, {@code false} if not.
+     */
+    private static boolean isShareable(List<ResolvedMigration> migrations) {
+        for (ResolvedMigration migration : migrations) {
+            MigrationExecutor executor = migration.getExecutor();
+            if (executor instanceof JdbcMigrationExecutor && ((JdbcMigrationExecutor) executor).isConfigurationAware()) {
+                return false;
+            }
+            if (executor instanceof SpringJdbcMigrationExecutor && ((SpringJdbcMigrationExecutor) executor).isConfigurationAware()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Finds all available migrations using all migration resolvers (sql, java, ...).
      *
@@ -103,7 +237,27 @@ public class CompositeMigrationResolver implements MigrationResolver {
      * @throws FlywayException when the available migrations have overlapping versions.
      */
     private List<ResolvedMigration> doFindAvailableMigrations() throws FlywayException {
-        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(collectMigrations(migrationResolvers));
+        List<ResolvedMigration> migrations;
+        if (threads > 1) {
+            ExecutorService executorService = createExecutorService(threads);
+            try {
+                migrations = new ArrayList<ResolvedMigration>(collectMigrations(migrationResolvers, executorService));
+                calculateChecksums(migrations, executorService);
+            } finally {
+                executorService.shutdown();
+            }
+        } else {
+            migrations = new ArrayList<ResolvedMigration>(collectMigrations(migrationResolvers));
+            if (checksumCache != null) {
+                for (ResolvedMigration migration : migrations) {
+                    migration.getChecksum();
+                }
+            }
+        }
+
+        if (checksumCache != null) {
+            checksumCache.save();
+        }
         Collections.sort(migrations, new ResolvedMigrationComparator());
 
         checkForIncompatibilities(migrations);
@@ -126,6 +280,92 @@ public class CompositeMigrationResolver implements MigrationResolver {
         return migrations;
     }
 
+    /**
+     * Collects all the migrations for all migration resolvers, running the resolvers concurrently.
+     *
+     * @param migrationResolvers The migration resolvers to check.
+     * @param executorService    The executor service to run the resolvers with.
+     * @return All migrations.
+     */
+    /* private -> for testing */
+    static Collection<ResolvedMigration> collectMigrations(Collection<MigrationResolver> migrationResolvers,
+                                                           ExecutorService executorService) {
+        List<Future<Collection<ResolvedMigration>>> futures = new ArrayList<Future<Collection<ResolvedMigration>>>();
+        for (final MigrationResolver migrationResolver : migrationResolvers) {
+            futures.add(executorService.submit(new Callable<Collection<ResolvedMigration>>() {
+                @Override
+                public Collection<ResolvedMigration> call() {
+                    return migrationResolver.resolveMigrations();
+                }
+            }));
+        }
+
+        Set<ResolvedMigration> migrations = new HashSet<ResolvedMigration>();
+        for (Future<Collection<ResolvedMigration>> future : futures) {
+            migrations.addAll(getResult(future));
+        }
+        return migrations;
+    }
+
+    /**
+     * Calculates the checksums of these migrations concurrently, so that reading the resources of all sql migrations
+     * happens in parallel instead of one at a time when the checksums are first needed.
+     *
+     * @param migrations      The migrations whose checksums to calculate.
+     * @param executorService The executor service to calculate the checksums with.
+     */
+    private static void calculateChecksums(List<ResolvedMigration> migrations, ExecutorService executorService) {
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        for (final ResolvedMigration migration : migrations) {
+            futures.add(executorService.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return migration.getChecksum();
+                }
+            }));
+        }
+
+        for (Future<Integer> future : futures) {
+            getResult(future);
+        }
+    }
+
+    /**
+     * Waits for the result of this task, rethrowing any exception it failed with.
+     *
+     * @param future The task.
+     * @param <T>    The type of the result.
+     * @return The result of the task.
+     */
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while resolving migrations", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FlywayException("Unable to resolve migrations", cause);
+        }
+    }
+
+    /**
+     * Creates the executor service for resolving migrations. Its threads are daemon threads, so they never prevent the
+     * JVM from exiting.
+     *
+     * @param threads The number of threads.
+     * @return The executor service.
+     */
+    private static ExecutorService createExecutorService(int threads) {
+        return Executors.newFixedThreadPool(threads, new DaemonThreadFactory("flyway-resolver-", Metrics.getListeners()));
+    }
+
     /**
      * Checks for incompatible migrations.
      *
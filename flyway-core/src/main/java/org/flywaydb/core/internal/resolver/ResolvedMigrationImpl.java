@@ -157,7 +157,7 @@ public class ResolvedMigrationImpl implements ResolvedMigration {
 
         ResolvedMigrationImpl migration = (ResolvedMigrationImpl) o;
 
-        if (checksum != null ? !checksum.equals(migration.checksum) : migration.checksum != null) return false;
+        if (!ObjectUtils.nullSafeEquals(getChecksum(), migration.getChecksum())) return false;
         if (description != null ? !description.equals(migration.description) : migration.description != null)
             return false;
         if (script != null ? !script.equals(migration.script) : migration.script != null) return false;
@@ -167,10 +167,10 @@ public class ResolvedMigrationImpl implements ResolvedMigration {
 
     @Override
     public int hashCode() {
+        // The checksum is deliberately left out as it may be expensive to calculate (see SqlMigrationResolver)
         int result = (version != null ? version.hashCode() : 0);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (script != null ? script.hashCode() : 0);
-        result = 31 * result + (checksum != null ? checksum.hashCode() : 0);
         result = 31 * result + type.hashCode();
         return result;
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * JVM-wide cache of resolved migrations, shared by all Flyway instances and commands resolving the same locations
+ * with the same configuration through the same ClassLoader.
+ * <p>
+ * Both the ClassLoaders and the cached migrations are only referenced weakly. The migrations stay cached as long as
+ * a Flyway instance holding on to them is still around, but the cache never keeps the ClassLoader of a redeployed
+ * application from being garbage collected.
+ * </p>
+ */
+public final class ResolvedMigrationsCache {
+    /**
+     * The cached migrations, indexed by ClassLoader and then by cache key.
+     */
+    private static final Map<ClassLoader, Map<String, WeakReference<List<ResolvedMigration>>>> CACHE =
+            new WeakHashMap<ClassLoader, Map<String, WeakReference<List<ResolvedMigration>>>>();
+
+    /**
+     * Prevents instantiation.
+     */
+    private ResolvedMigrationsCache() {
+        // Do nothing
+    }
+
+    /**
+     * Retrieves the migrations cached for this key.
+     *
+     * @param classLoader The ClassLoader the migrations were resolved with.
+     * @param key         The cache key.
+     * @return The cached migrations. {@code null} if there are none.
+     */
+    public static synchronized List<ResolvedMigration> get(ClassLoader classLoader, String key) {
+        Map<String, WeakReference<List<ResolvedMigration>>> entries = CACHE.get(classLoader);
+        if (entries == null) {
+            return null;
+        }
+
+        WeakReference<List<ResolvedMigration>> reference = entries.get(key);
+        if (reference == null) {
+            return null;
+        }
+
+        List<ResolvedMigration> migrations = reference.get();
+        if (migrations == null) {
+            entries.remove(key);
+        }
+        return migrations;
+    }
+
+    /**
+     * Caches these migrations under this key.
+     *
+     * @param classLoader The ClassLoader the migrations were resolved with.
+     * @param key         The cache key.
+     * @param migrations  The resolved migrations.
+     */
+    public static synchronized void put(ClassLoader classLoader, String key, List<ResolvedMigration> migrations) {
+        Map<String, WeakReference<List<ResolvedMigration>>> entries = CACHE.get(classLoader);
+        if (entries == null) {
+            entries = new HashMap<String, WeakReference<List<ResolvedMigration>>>();
+            CACHE.put(classLoader, entries);
+        }
+        entries.put(key, new WeakReference<List<ResolvedMigration>>(migrations));
+    }
+
+    /**
+     * Removes all cached migrations.
+     */
+    public static synchronized void clear() {
+        CACHE.clear();
+    }
+}
@@ -16,8 +16,12 @@
 package org.flywaydb.core.internal.resolver.jdbc;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.ConfigurationAware;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.ConfigurationInjectionUtils;
 
 import java.sql.Connection;
 
@@ -28,7 +32,23 @@ public class JdbcMigrationExecutor implements MigrationExecutor {
     /**
      * The JdbcMigration to execute.
      */
-    private final JdbcMigration jdbcMigration;
+    private JdbcMigration jdbcMigration;
+
+    /**
+     * The fully qualified name of the migration class to instantiate on first execution. {@code null} if the
+     * migration was supplied as an instance.
+     */
+    private final String className;
+
+    /**
+     * The ClassLoader to instantiate the migration class with.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The configuration to inject (if necessary) in the migration once instantiated.
+     */
+    private final FlywayConfiguration configuration;
 
     /**
      * Creates a new JdbcMigrationExecutor.
@@ -37,10 +57,28 @@ public class JdbcMigrationExecutor implements MigrationExecutor {
      */
     public JdbcMigrationExecutor(JdbcMigration jdbcMigration) {
         this.jdbcMigration = jdbcMigration;
+        this.className = null;
+        this.classLoader = null;
+        this.configuration = null;
+    }
+
+    /**
+     * Creates a new JdbcMigrationExecutor for a migration class that is only instantiated when it is about to be
+     * executed.
+     *
+     * @param className     The fully qualified name of the migration class.
+     * @param classLoader   The ClassLoader to instantiate the migration class with.
+     * @param configuration The configuration to inject (if necessary) in the migration.
+     */
+    public JdbcMigrationExecutor(String className, ClassLoader classLoader, FlywayConfiguration configuration) {
+        this.className = className;
+        this.classLoader = classLoader;
+        this.configuration = configuration;
     }
 
     @Override
     public void execute(Connection connection) {
+        JdbcMigration jdbcMigration = getJdbcMigration();
         try {
             jdbcMigration.migrate(connection);
         } catch (Exception e) {
@@ -52,4 +90,37 @@ public class JdbcMigrationExecutor implements MigrationExecutor {
     public boolean executeInTransaction() {
         return true;
     }
+
+    /**
+     * Checks whether the migration receives the Flyway configuration, without instantiating it.
+     *
+     * @return {@code true} if it implements ConfigurationAware or its class could not be loaded, {@code false} if not.
+     */
+    public synchronized boolean isConfigurationAware() {
+        if (jdbcMigration != null) {
+            return jdbcMigration instanceof ConfigurationAware;
+        }
+        try {
+            return ConfigurationAware.class.isAssignableFrom(Class.forName(className, false, classLoader));
+        } catch (ClassNotFoundException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Retrieves the migration to execute, instantiating it on first use.
+     *
+     * @return The migration.
+     */
+    private synchronized JdbcMigration getJdbcMigration() {
+        if (jdbcMigration == null) {
+            try {
+                jdbcMigration = ClassUtils.instantiate(className, classLoader);
+            } catch (Exception e) {
+                throw new FlywayException("Unable to instantiate class: " + className, e);
+            }
+            ConfigurationInjectionUtils.injectFlywayConfiguration(jdbcMigration, configuration);
+        }
+        return jdbcMigration;
+    }
 }
@@ -80,14 +80,24 @@ public class JdbcMigrationResolver implements MigrationResolver {
         }
 
         try {
-            Class<?>[] classes = scanner.scanForClasses(location, JdbcMigration.class);
-            for (Class<?> clazz : classes) {
-                JdbcMigration jdbcMigration = ClassUtils.instantiate(clazz.getName(), scanner.getClassLoader());
-                ConfigurationInjectionUtils.injectFlywayConfiguration(jdbcMigration, configuration);
+            ClassLoader classLoader = scanner.getClassLoader();
+            String[] classNames = scanner.scanForClassNames(location, JdbcMigration.class);
+            for (String className : classNames) {
+                // Loaded, but not initialized. Static initializers only run once the migration is instantiated.
+                Class<?> clazz = Class.forName(className, false, classLoader);
 
-                ResolvedMigrationImpl migrationInfo = extractMigrationInfo(jdbcMigration);
+                JdbcMigration jdbcMigration = null;
+                if (MigrationInfoProvider.class.isAssignableFrom(clazz) || MigrationChecksumProvider.class.isAssignableFrom(clazz)) {
+                    // The migration itself must be asked for its version, description or checksum
+                    jdbcMigration = ClassUtils.instantiate(className, classLoader);
+                    ConfigurationInjectionUtils.injectFlywayConfiguration(jdbcMigration, configuration);
+                }
+
+                ResolvedMigrationImpl migrationInfo = extractMigrationInfo(clazz, jdbcMigration);
                 migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(clazz));
-                migrationInfo.setExecutor(new JdbcMigrationExecutor(jdbcMigration));
+                migrationInfo.setExecutor(jdbcMigration == null
+                        ? new JdbcMigrationExecutor(className, classLoader, configuration)
+                        : new JdbcMigrationExecutor(jdbcMigration));
 
                 migrations.add(migrationInfo);
             }
@@ -106,6 +116,18 @@ public class JdbcMigrationResolver implements MigrationResolver {
      * @return The migration info.
      */
     /* private -> testing */ ResolvedMigrationImpl extractMigrationInfo(JdbcMigration jdbcMigration) {
+        return extractMigrationInfo(jdbcMigration.getClass(), jdbcMigration);
+    }
+
+    /**
+     * Extracts the migration info from this migration class.
+     *
+     * @param migrationClass The migration class to analyse.
+     * @param jdbcMigration  The instance of the migration class. {@code null} if it has not been instantiated,
+     *                       in which case the migration info is derived from the class name.
+     * @return The migration info.
+     */
+    private ResolvedMigrationImpl extractMigrationInfo(Class<?> migrationClass, JdbcMigration jdbcMigration) {
         Integer checksum = null;
         if (jdbcMigration instanceof MigrationChecksumProvider) {
             MigrationChecksumProvider checksumProvider = (MigrationChecksumProvider) jdbcMigration;
@@ -122,12 +144,12 @@ public class JdbcMigrationResolver implements MigrationResolver {
                 throw new FlywayException("Missing description for migration " + version);
             }
         } else {
-            String shortName = ClassUtils.getShortName(jdbcMigration.getClass());
+            String shortName = ClassUtils.getShortName(migrationClass);
             String prefix;
             if (shortName.startsWith("V") || shortName.startsWith("R")) {
                 prefix = shortName.substring(0, 1);
             } else {
-                throw new FlywayException("Invalid Jdbc migration class name: " + jdbcMigration.getClass().getName()
+                throw new FlywayException("Invalid Jdbc migration class name: " + migrationClass.getName()
                         + " => ensure it starts with V or R," +
                         " or implement org.flywaydb.core.api.migration.MigrationInfoProvider for non-default naming");
             }
@@ -139,7 +161,7 @@ public class JdbcMigrationResolver implements MigrationResolver {
         ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
         resolvedMigration.setVersion(version);
         resolvedMigration.setDescription(description);
-        resolvedMigration.setScript(jdbcMigration.getClass().getName());
+        resolvedMigration.setScript(migrationClass.getName());
         resolvedMigration.setChecksum(checksum);
         resolvedMigration.setType(MigrationType.JDBC);
         return resolvedMigration;
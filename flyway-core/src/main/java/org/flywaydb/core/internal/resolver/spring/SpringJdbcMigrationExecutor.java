@@ -16,8 +16,12 @@
 package org.flywaydb.core.internal.resolver.spring;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.ConfigurationAware;
+import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
 import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.ConfigurationInjectionUtils;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 
 import java.sql.Connection;
@@ -29,7 +33,23 @@ public class SpringJdbcMigrationExecutor implements MigrationExecutor {
     /**
      * The SpringJdbcMigration to execute.
      */
-    private final SpringJdbcMigration springJdbcMigration;
+    private SpringJdbcMigration springJdbcMigration;
+
+    /**
+     * The fully qualified name of the migration class to instantiate on first execution. {@code null} if the
+     * migration was supplied as an instance.
+     */
+    private final String className;
+
+    /**
+     * The ClassLoader to instantiate the migration class with.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The configuration to inject (if necessary) in the migration once instantiated.
+     */
+    private final FlywayConfiguration configuration;
 
     /**
      * Creates a new SpringJdbcMigrationExecutor.
@@ -38,10 +58,28 @@ public class SpringJdbcMigrationExecutor implements MigrationExecutor {
      */
     public SpringJdbcMigrationExecutor(SpringJdbcMigration springJdbcMigration) {
         this.springJdbcMigration = springJdbcMigration;
+        this.className = null;
+        this.classLoader = null;
+        this.configuration = null;
+    }
+
+    /**
+     * Creates a new SpringJdbcMigrationExecutor for a migration class that is only instantiated when it is about to be
+     * executed.
+     *
+     * @param className     The fully qualified name of the migration class.
+     * @param classLoader   The ClassLoader to instantiate the migration class with.
+     * @param configuration The configuration to inject (if necessary) in the migration.
+     */
+    public SpringJdbcMigrationExecutor(String className, ClassLoader classLoader, FlywayConfiguration configuration) {
+        this.className = className;
+        this.classLoader = classLoader;
+        this.configuration = configuration;
     }
 
     @Override
     public void execute(Connection connection) {
+        SpringJdbcMigration springJdbcMigration = getSpringJdbcMigration();
         try {
             springJdbcMigration.migrate(new org.springframework.jdbc.core.JdbcTemplate(
                     new SingleConnectionDataSource(connection, true)));
@@ -54,4 +92,37 @@ public class SpringJdbcMigrationExecutor implements MigrationExecutor {
     public boolean executeInTransaction() {
         return true;
     }
+
+    /**
+     * Checks whether the migration receives the Flyway configuration, without instantiating it.
+     *
+     * @return {@code true} if it implements ConfigurationAware or its class could not be loaded, {@code false} if not.
+     */
+    public synchronized boolean isConfigurationAware() {
+        if (springJdbcMigration != null) {
+            return springJdbcMigration instanceof ConfigurationAware;
+        }
+        try {
+            return ConfigurationAware.class.isAssignableFrom(Class.forName(className, false, classLoader));
+        } catch (ClassNotFoundException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Retrieves the migration to execute, instantiating it on first use.
+     *
+     * @return The migration.
+     */
+    private synchronized SpringJdbcMigration getSpringJdbcMigration() {
+        if (springJdbcMigration == null) {
+            try {
+                springJdbcMigration = ClassUtils.instantiate(className, classLoader);
+            } catch (Exception e) {
+                throw new FlywayException("Unable to instantiate class: " + className, e);
+            }
+            ConfigurationInjectionUtils.injectFlywayConfiguration(springJdbcMigration, configuration);
+        }
+        return springJdbcMigration;
+    }
 }
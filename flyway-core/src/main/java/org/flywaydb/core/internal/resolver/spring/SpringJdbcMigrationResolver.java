@@ -81,14 +81,24 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
         }
 
         try {
-            Class<?>[] classes = scanner.scanForClasses(location, SpringJdbcMigration.class);
-            for (Class<?> clazz : classes) {
-                SpringJdbcMigration springJdbcMigration = ClassUtils.instantiate(clazz.getName(), scanner.getClassLoader());
-                ConfigurationInjectionUtils.injectFlywayConfiguration(springJdbcMigration, configuration);
+            ClassLoader classLoader = scanner.getClassLoader();
+            String[] classNames = scanner.scanForClassNames(location, SpringJdbcMigration.class);
+            for (String className : classNames) {
+                // Loaded, but not initialized. Static initializers only run once the migration is instantiated.
+                Class<?> clazz = Class.forName(className, false, classLoader);
 
-                ResolvedMigrationImpl migrationInfo = extractMigrationInfo(springJdbcMigration);
+                SpringJdbcMigration springJdbcMigration = null;
+                if (MigrationInfoProvider.class.isAssignableFrom(clazz) || MigrationChecksumProvider.class.isAssignableFrom(clazz)) {
+                    // The migration itself must be asked for its version, description or checksum
+                    springJdbcMigration = ClassUtils.instantiate(className, classLoader);
+                    ConfigurationInjectionUtils.injectFlywayConfiguration(springJdbcMigration, configuration);
+                }
+
+                ResolvedMigrationImpl migrationInfo = extractMigrationInfo(clazz, springJdbcMigration);
                 migrationInfo.setPhysicalLocation(ClassUtils.getLocationOnDisk(clazz));
-                migrationInfo.setExecutor(new SpringJdbcMigrationExecutor(springJdbcMigration));
+                migrationInfo.setExecutor(springJdbcMigration == null
+                        ? new SpringJdbcMigrationExecutor(className, classLoader, configuration)
+                        : new SpringJdbcMigrationExecutor(springJdbcMigration));
 
                 migrations.add(migrationInfo);
             }
@@ -107,6 +117,18 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
      * @return The migration info.
      */
     /* private -> testing */ ResolvedMigrationImpl extractMigrationInfo(SpringJdbcMigration springJdbcMigration) {
+        return extractMigrationInfo(springJdbcMigration.getClass(), springJdbcMigration);
+    }
+
+    /**
+     * Extracts the migration info from this migration class.
+     *
+     * @param migrationClass      The migration class to analyse.
+     * @param springJdbcMigration The instance of the migration class. {@code null} if it has not been instantiated,
+     *                            in which case the migration info is derived from the class name.
+     * @return The migration info.
+     */
+    private ResolvedMigrationImpl extractMigrationInfo(Class<?> migrationClass, SpringJdbcMigration springJdbcMigration) {
         Integer checksum = null;
         if (springJdbcMigration instanceof MigrationChecksumProvider) {
             MigrationChecksumProvider checksumProvider = (MigrationChecksumProvider) springJdbcMigration;
@@ -123,12 +145,12 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
                 throw new FlywayException("Missing description for migration " + version);
             }
         } else {
-            String shortName = ClassUtils.getShortName(springJdbcMigration.getClass());
+            String shortName = ClassUtils.getShortName(migrationClass);
             String prefix;
             if (shortName.startsWith("V") || shortName.startsWith("R")) {
                 prefix = shortName.substring(0, 1);
             } else {
-                throw new FlywayException("Invalid Jdbc migration class name: " + springJdbcMigration.getClass().getName()
+                throw new FlywayException("Invalid Jdbc migration class name: " + migrationClass.getName()
                         + " => ensure it starts with V or R," +
                         " or implement org.flywaydb.core.api.migration.MigrationInfoProvider for non-default naming");
             }
@@ -140,7 +162,7 @@ public class SpringJdbcMigrationResolver implements MigrationResolver {
         ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
         resolvedMigration.setVersion(version);
         resolvedMigration.setDescription(description);
-        resolvedMigration.setScript(springJdbcMigration.getClass().getName());
+        resolvedMigration.setScript(migrationClass.getName());
         resolvedMigration.setChecksum(checksum);
         resolvedMigration.setType(MigrationType.SPRING_JDBC);
         return resolvedMigration;
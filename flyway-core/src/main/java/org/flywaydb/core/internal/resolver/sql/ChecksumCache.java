@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.flywaydb.core.internal.util.scanner.Resource;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * On-disk cache of the checksums of sql migrations. A cached checksum is only used as long as the fingerprint of the
+ * resource it was calculated for (size and last modification time or stored crc) and the encoding are unchanged.
+ * Otherwise the checksum is calculated again by reading the whole resource.
+ */
+public class ChecksumCache {
+    private static final Log LOG = LogFactory.getLog(ChecksumCache.class);
+
+    /**
+     * The name of the file holding the cached checksums.
+     */
+    private static final String CACHE_FILE_NAME = "flyway-checksums.properties";
+
+    /**
+     * The file holding the cached checksums.
+     */
+    private final File file;
+
+    /**
+     * The cached checksums, as location on disk -> encoding|fingerprint|checksum.
+     */
+    private final Properties entries = new Properties();
+
+    /**
+     * Whether any entry has changed since the cache was loaded.
+     */
+    private volatile boolean modified;
+
+    /**
+     * Creates a new checksum cache, loading the checksums cached in this directory.
+     *
+     * @param directory The directory of the cache.
+     */
+    public ChecksumCache(File directory) {
+        this.file = new File(directory, CACHE_FILE_NAME);
+        if (file.isFile()) {
+            InputStream inputStream = null;
+            try {
+                inputStream = new FileInputStream(file);
+                entries.load(inputStream);
+            } catch (IOException e) {
+                LOG.warn("Unable to read checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+                entries.clear();
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring corrupt checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+                entries.clear();
+            } finally {
+                close(inputStream);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the checksum of this sql migration, either from the cache or by calculating it. This method is safe to
+     * call concurrently.
+     *
+     * @param resource The resource of the sql migration.
+     * @param encoding The encoding of the sql migration.
+     * @return The crc-32 checksum of the sql migration.
+     */
+    public int getChecksum(Resource resource, String encoding) {
+        String key = resource.getLocationOnDisk();
+        String fingerprint = resource.getFingerprint();
+        if (key == null || fingerprint == null) {
+            return SqlMigrationResolver.calculateChecksum(resource, resource.loadAsReader(encoding));
+        }
+
+        String prefix = encoding + "|" + fingerprint + "|";
+        String entry = entries.getProperty(key);
+        if (entry != null && entry.startsWith(prefix)) {
+            try {
+                return Integer.parseInt(entry.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                // Corrupt entry, calculate the checksum again
+            }
+        }
+
+        int checksum = SqlMigrationResolver.calculateChecksum(resource, resource.loadAsReader(encoding));
+        synchronized (this) {
+            entries.setProperty(key, prefix + checksum);
+            modified = true;
+        }
+        return checksum;
+    }
+
+    /**
+     * Writes the cache back to disk if any of its entries has changed. The file is replaced atomically where the
+     * platform supports it, so concurrent readers never see a partially written cache. Failures are only logged, as
+     * the cache is merely an optimization.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            LOG.warn("Unable to create checksum cache directory " + directory.getAbsolutePath());
+            return;
+        }
+
+        File tempFile = null;
+        OutputStream outputStream = null;
+        try {
+            tempFile = File.createTempFile(CACHE_FILE_NAME, ".tmp", directory);
+            outputStream = new FileOutputStream(tempFile);
+            entries.store(outputStream, "Flyway sql migration checksums");
+            outputStream.close();
+            outputStream = null;
+
+            if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+                throw new IOException("Unable to rename " + tempFile.getAbsolutePath() + " to " + file.getName());
+            }
+            tempFile = null;
+            modified = false;
+        } catch (IOException e) {
+            LOG.warn("Unable to write checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        } finally {
+            close(outputStream);
+            if (tempFile != null) {
+                //noinspection ResultOfMethodCallIgnored
+                tempFile.delete();
+            }
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+}
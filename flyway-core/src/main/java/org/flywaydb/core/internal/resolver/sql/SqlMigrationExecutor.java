@@ -30,7 +30,8 @@ import java.sql.Connection;
  */
 public class SqlMigrationExecutor implements MigrationExecutor {
     /**
-     * Database-specific support.
+     * Database-specific support. As executors may be shared by several Flyway instances, it should not hold a
+     * connection (see {@link org.flywaydb.core.internal.dbsupport.DbSupportFactory#createDialect(String)}).
      */
     private final DbSupport dbSupport;
 
@@ -47,15 +48,36 @@ public class SqlMigrationExecutor implements MigrationExecutor {
     private final Resource sqlScriptResource;
 
     /**
-     * The Flyway configuration.
+     * The encoding of the sql script.
      */
-    private final FlywayConfiguration configuration;
+    private final String encoding;
 
     /**
-     * The SQL script that will be executed.
+     * Whether to allow mixing transactional and non-transactional statements within the same migration.
+     */
+    private final boolean allowMixedMigrations;
+
+    /**
+     * The maximum number of consecutive DML statements to execute as a single JDBC batch.
+     */
+    private final int sqlBatchSize;
+
+    /**
+     * The cache of the checksums of sql migrations. {@code null} if the checksums shouldn't be cached.
+     */
+    private final ChecksumCache checksumCache;
+
+    /**
+     * The SQL script that will be executed. It only keeps its statements in memory when they are small enough,
+     * larger scripts are streamed from the resource upon execution.
      */
     private SqlScript sqlScript;
 
+    /**
+     * The checksum of the sql script. {@code null} until it is first needed.
+     */
+    private Integer checksum;
+
     /**
      * Creates a new sql script migration based on this sql script.
      *
@@ -65,10 +87,27 @@ public class SqlMigrationExecutor implements MigrationExecutor {
      * @param configuration       The Flyway configuration.
      */
     public SqlMigrationExecutor(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer, FlywayConfiguration configuration) {
+        this(dbSupport, sqlScriptResource, placeholderReplacer, configuration, null);
+    }
+
+    /**
+     * Creates a new sql script migration based on this sql script.
+     *
+     * @param dbSupport           The database-specific support.
+     * @param sqlScriptResource   The resource containing the sql script.
+     * @param placeholderReplacer The placeholder replacer to apply to sql migration scripts.
+     * @param configuration       The Flyway configuration.
+     * @param checksumCache       The cache of the checksums of sql migrations. {@code null} if the checksums shouldn't be cached.
+     */
+    public SqlMigrationExecutor(DbSupport dbSupport, Resource sqlScriptResource, PlaceholderReplacer placeholderReplacer,
+                                FlywayConfiguration configuration, ChecksumCache checksumCache) {
         this.dbSupport = dbSupport;
         this.sqlScriptResource = sqlScriptResource;
         this.placeholderReplacer = placeholderReplacer;
-        this.configuration = configuration;
+        this.encoding = configuration.getEncoding();
+        this.allowMixedMigrations = configuration.isAllowMixedMigrations();
+        this.sqlBatchSize = configuration.getSqlBatchSize();
+        this.checksumCache = checksumCache;
     }
 
     @Override
@@ -78,11 +117,34 @@ public class SqlMigrationExecutor implements MigrationExecutor {
 
     private synchronized SqlScript getSqlScript() {
         if (sqlScript == null) {
-            sqlScript = new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, configuration.getEncoding(), configuration.isAllowMixedMigrations());
+            sqlScript = new SqlScript(dbSupport, sqlScriptResource, placeholderReplacer, encoding, allowMixedMigrations, sqlBatchSize);
         }
         return sqlScript;
     }
 
+    /**
+     * Retrieves the checksum of the sql script. If the script has already been parsed, the checksum calculated while
+     * parsing is used. Otherwise it is taken from the checksum cache or calculated in a single streaming pass over the
+     * resource.
+     *
+     * @return The crc-32 checksum of the sql script.
+     */
+    public synchronized Integer getChecksum() {
+        if (checksum == null) {
+            if (sqlScript != null) {
+                checksum = sqlScript.getChecksum();
+            }
+            if (checksum == null && checksumCache != null) {
+                checksum = checksumCache.getChecksum(sqlScriptResource, encoding);
+            }
+            if (checksum == null) {
+                checksum = SqlMigrationResolver.calculateChecksum(sqlScriptResource,
+                        sqlScriptResource.loadAsReader(encoding));
+            }
+        }
+        return checksum;
+    }
+
     @Override
     public boolean executeInTransaction() {
         return getSqlScript().executeInTransaction();
@@ -19,26 +19,30 @@ import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.configuration.FlywayConfiguration;
+import org.flywaydb.core.api.metrics.MetricsCounter;
+import org.flywaydb.core.api.metrics.MetricsPhase;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.util.ChecksumReader;
 import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.Pair;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.Scanner;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.zip.CRC32;
 
 /**
  * Migration resolver for sql files on the classpath. The sql files must have names like
@@ -70,6 +74,11 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     private final FlywayConfiguration configuration;
 
+    /**
+     * The cache of the checksums of sql migrations. {@code null} if the checksums shouldn't be cached.
+     */
+    private final ChecksumCache checksumCache;
+
     /**
      * Creates a new instance.
      *
@@ -81,24 +90,44 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     public SqlMigrationResolver(DbSupport dbSupport, Scanner scanner, Location location,
                                 PlaceholderReplacer placeholderReplacer, FlywayConfiguration configuration) {
+        this(dbSupport, scanner, location, placeholderReplacer, configuration, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dbSupport                    The database-specific support.
+     * @param scanner                      The Scanner for loading migrations on the classpath.
+     * @param location                     The location on the classpath where to migrations are located.
+     * @param placeholderReplacer          The placeholder replacer to apply to sql migration scripts.
+     * @param configuration                The Flyway configuration.
+     * @param checksumCache                The cache of the checksums of sql migrations. {@code null} if the checksums
+     *                                     shouldn't be cached.
+     */
+    public SqlMigrationResolver(DbSupport dbSupport, Scanner scanner, Location location,
+                                PlaceholderReplacer placeholderReplacer, FlywayConfiguration configuration,
+                                ChecksumCache checksumCache) {
         this.dbSupport = dbSupport;
         this.scanner = scanner;
         this.location = location;
         this.placeholderReplacer = placeholderReplacer;
         this.configuration = configuration;
+        this.checksumCache = checksumCache;
     }
 
     public List<ResolvedMigration> resolveMigrations() {
         List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>();
 
-        scanForMigrations(migrations, configuration.getSqlMigrationPrefix(), configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
-        scanForMigrations(migrations, configuration.getRepeatableSqlMigrationPrefix(), configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
+        // The migrations may be shared by several Flyway instances, so they must not keep this connection reachable
+        DbSupport dialect = dbSupport == null ? null : DbSupportFactory.createDialect(dbSupport.getDbName());
+        scanForMigrations(migrations, dialect, configuration.getSqlMigrationPrefix(), configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
+        scanForMigrations(migrations, dialect, configuration.getRepeatableSqlMigrationPrefix(), configuration.getSqlMigrationSeparator(), configuration.getSqlMigrationSuffix());
 
         Collections.sort(migrations, new ResolvedMigrationComparator());
         return migrations;
     }
 
-    private void scanForMigrations(List<ResolvedMigration> migrations, String prefix, String separator, String suffix) {
+    private void scanForMigrations(List<ResolvedMigration> migrations, DbSupport dialect, String prefix, String separator, String suffix) {
         for (Resource resource : scanner.scanForResources(location, prefix, suffix)) {
             String filename = resource.getFilename();
             if (isSqlCallback(filename, suffix)) {
@@ -107,14 +136,15 @@ public class SqlMigrationResolver implements MigrationResolver {
             Pair<MigrationVersion, String> info =
                     MigrationInfoHelper.extractVersionAndDescription(filename, prefix, separator, suffix);
 
-            ResolvedMigrationImpl migration = new ResolvedMigrationImpl();
+            SqlMigrationExecutor executor = new SqlMigrationExecutor(dialect, resource, placeholderReplacer, configuration, checksumCache);
+
+            ResolvedMigrationImpl migration = new SqlResolvedMigration(executor);
             migration.setVersion(info.getLeft());
             migration.setDescription(info.getRight());
             migration.setScript(extractScriptName(resource));
-            migration.setChecksum(calculateChecksum(resource, resource.loadAsString(configuration.getEncoding())));
             migration.setType(MigrationType.SQL);
             migration.setPhysicalLocation(resource.getLocationOnDisk());
-            migration.setExecutor(new SqlMigrationExecutor(dbSupport, resource, placeholderReplacer, configuration));
+            migration.setExecutor(executor);
             migrations.add(migration);
         }
     }
@@ -154,22 +184,65 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     /* private -> for testing */
     static int calculateChecksum(Resource resource, String str) {
-        final CRC32 crc32 = new CRC32();
+        return calculateChecksum(resource, new StringReader(str));
+    }
 
-        BufferedReader bufferedReader = new BufferedReader(new StringReader(str));
+    /**
+     * Calculates the checksum of the text of this reader in a single streaming pass. The reader is closed when done.
+     *
+     * @param resource The resource the text is read from. {@code null} if none.
+     * @param reader   The reader to calculate the checksum for.
+     * @return The crc-32 checksum of the bytes.
+     */
+    static int calculateChecksum(Resource resource, Reader reader) {
+        long start = Metrics.start();
+        ChecksumReader checksumReader = new ChecksumReader(reader);
         try {
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                crc32.update(line.getBytes("UTF-8"));
+            char[] buffer = new char[4096];
+            //noinspection StatementWithEmptyBody
+            while (checksumReader.read(buffer) != -1) {
+                // Only read to calculate the checksum
             }
+            Metrics.timing(MetricsPhase.CHECKSUM, resource == null ? null : resource.getLocation(), start);
+            Metrics.count(MetricsCounter.BYTES_PARSED, checksumReader.getLength());
+            return checksumReader.getChecksum();
         } catch (IOException e) {
             String message = "Unable to calculate checksum";
             if (resource != null) {
                 message += " for " + resource.getLocation() + " (" + resource.getLocationOnDisk() + ")";
             }
             throw new FlywayException(message, e);
+        } finally {
+            try {
+                checksumReader.close();
+            } catch (IOException e) {
+                // Ignore
+            }
         }
+    }
 
-        return (int) crc32.getValue();
+    /**
+     * Sql migration whose checksum is only calculated when it is first needed. When the migration has already been
+     * parsed for execution by then, the checksum calculated during this pass is used instead of reading the script again.
+     */
+    private static class SqlResolvedMigration extends ResolvedMigrationImpl {
+        /**
+         * The executor of this migration.
+         */
+        private final SqlMigrationExecutor sqlMigrationExecutor;
+
+        /**
+         * Creates a new sql migration.
+         *
+         * @param sqlMigrationExecutor The executor of this migration.
+         */
+        SqlResolvedMigration(SqlMigrationExecutor sqlMigrationExecutor) {
+            this.sqlMigrationExecutor = sqlMigrationExecutor;
+        }
+
+        @Override
+        public Integer getChecksum() {
+            return sqlMigrationExecutor.getChecksum();
+        }
     }
 }
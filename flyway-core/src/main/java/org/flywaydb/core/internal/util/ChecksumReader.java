@@ -0,0 +1,212 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.zip.CRC32;
+
+/**
+ * Reader that calculates the checksum of the text passing through it. The checksum is the crc-32 checksum of the
+ * UTF-8 bytes of all lines, excluding line terminators and a leading byte order mark. This makes it possible to
+ * calculate the checksum of a migration in the same pass that parses it, without ever holding its contents in memory.
+ */
+public class ChecksumReader extends FilterReader {
+    /**
+     * The crc-32 checksum of the text read so far.
+     */
+    private final CRC32 crc32 = new CRC32();
+
+    /**
+     * The UTF-8 bytes that haven't been added to the checksum yet.
+     */
+    private final byte[] bytes = new byte[8192];
+
+    /**
+     * The number of bytes in the byte buffer.
+     */
+    private int byteCount;
+
+    /**
+     * The total number of bytes added to the checksum so far.
+     */
+    private long length;
+
+    /**
+     * Whether no character has been read yet.
+     */
+    private boolean start = true;
+
+    /**
+     * The high surrogate that was read last and still waits for its low surrogate. {@code 0} if none.
+     */
+    private char highSurrogate;
+
+    /**
+     * Creates a new checksum reader.
+     *
+     * @param in The reader whose text to calculate the checksum for.
+     */
+    public ChecksumReader(Reader in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int c = super.read();
+        if (c == -1) {
+            replaceUnpairedHighSurrogate();
+        } else {
+            update((char) c);
+        }
+        flush();
+        return c;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        int count = super.read(cbuf, off, len);
+        if (count == -1) {
+            replaceUnpairedHighSurrogate();
+        } else {
+            for (int i = off; i < off + count; i++) {
+                update(cbuf[i]);
+            }
+        }
+        flush();
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        char[] skipped = new char[(int) Math.min(n, 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            int count = read(skipped, 0, (int) Math.min(remaining, skipped.length));
+            if (count == -1) {
+                break;
+            }
+            remaining -= count;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * Retrieves the checksum of the text. This is only the checksum of the complete text once the underlying reader
+     * has been read to its end.
+     *
+     * @return The crc-32 checksum of the text.
+     */
+    public int getChecksum() {
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * @return The number of UTF-8 bytes added to the checksum so far.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Adds this character to the checksum, encoding it the same way {@code String.getBytes("UTF-8")} does.
+     *
+     * @param c The character to add.
+     */
+    private void update(char c) {
+        if (start) {
+            start = false;
+            if (c == '\ufeff') {
+                // Skip UTF-8 BOM
+                return;
+            }
+        }
+
+        if (bytes.length - byteCount < 4) {
+            flush();
+        }
+
+        if (Character.isLowSurrogate(c) && highSurrogate != 0) {
+            int codePoint = Character.toCodePoint(highSurrogate, c);
+            highSurrogate = 0;
+            bytes[byteCount++] = (byte) (0xf0 | (codePoint >> 18));
+            bytes[byteCount++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            bytes[byteCount++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            bytes[byteCount++] = (byte) (0x80 | (codePoint & 0x3f));
+            return;
+        }
+
+        replaceUnpairedHighSurrogate();
+
+        if (c == '\n' || c == '\r') {
+            // Line terminators are not part of the checksum
+            return;
+        }
+
+        if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            bytes[byteCount++] = '?';
+        } else if (c < 0x80) {
+            bytes[byteCount++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[byteCount++] = (byte) (0xc0 | (c >> 6));
+            bytes[byteCount++] = (byte) (0x80 | (c & 0x3f));
+        } else {
+            bytes[byteCount++] = (byte) (0xe0 | (c >> 12));
+            bytes[byteCount++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            bytes[byteCount++] = (byte) (0x80 | (c & 0x3f));
+        }
+    }
+
+    /**
+     * Adds the replacement character for a pending high surrogate that turned out not to be followed by its low
+     * surrogate.
+     */
+    private void replaceUnpairedHighSurrogate() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            bytes[byteCount++] = '?';
+        }
+    }
+
+    /**
+     * Adds the buffered bytes to the checksum.
+     */
+    private void flush() {
+        if (byteCount > 0) {
+            crc32.update(bytes, 0, byteCount);
+            length += byteCount;
+            byteCount = 0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.metrics.MetricsListener;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factory for the worker threads of Flyway. Its threads are daemon threads, so they never prevent the JVM
+ * from exiting. They report their metrics to the listeners of the command they work for.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+    /**
+     * The prefix of the names of the threads.
+     */
+    private final String namePrefix;
+
+    /**
+     * The metrics listeners to register on the threads.
+     */
+    private final MetricsListener[] metricsListeners;
+
+    /**
+     * The number of the last thread created.
+     */
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    /**
+     * Creates a new thread factory.
+     *
+     * @param namePrefix       The prefix of the names of the threads. The thread number is appended to it.
+     * @param metricsListeners The metrics listeners to register on the threads.
+     */
+    public DaemonThreadFactory(String namePrefix, MetricsListener[] metricsListeners) {
+        this.namePrefix = namePrefix;
+        this.metricsListeners = metricsListeners;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Metrics.register(metricsListeners);
+                runnable.run();
+            }
+        }, namePrefix + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.metrics.MetricsCounter;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.api.metrics.MetricsPhase;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+
+/**
+ * Reports timings and counters to the metrics listeners of the command running on the current thread.
+ *
+ * <p>The listeners are registered for the duration of a command, so that the code doing the work doesn't need to be
+ * handed the configuration. They are not inherited by threads started during the command, as long-lived threads
+ * such as those of JDBC drivers or connection pools would otherwise hold on to them. Flyway's own worker threads
+ * register them explicitly through {@link DaemonThreadFactory}. When no listener is registered, reporting costs a
+ * single thread-local lookup.</p>
+ */
+public final class Metrics {
+    private static final Log LOG = LogFactory.getLog(Metrics.class);
+
+    /**
+     * The listeners of the command running on the current thread. {@code null} if there are none.
+     */
+    private static final ThreadLocal<MetricsListener[]> LISTENERS = new ThreadLocal<MetricsListener[]>();
+
+    /**
+     * Prevents instantiation.
+     */
+    private Metrics() {
+        // Do nothing
+    }
+
+    /**
+     * Registers these listeners for the command about to run on the current thread.
+     *
+     * @param listeners The listeners.
+     * @return The listeners registered before, to be passed to {@link #restore(MetricsListener[])} once the command
+     * completes.
+     */
+    public static MetricsListener[] register(MetricsListener[] listeners) {
+        MetricsListener[] previous = LISTENERS.get();
+        LISTENERS.set(listeners.length == 0 ? null : listeners);
+        return previous;
+    }
+
+    /**
+     * @return The listeners registered on the current thread, to hand them to the worker threads of the command.
+     * An empty array if there are none.
+     */
+    public static MetricsListener[] getListeners() {
+        MetricsListener[] listeners = LISTENERS.get();
+        return listeners == null ? new MetricsListener[0] : listeners;
+    }
+
+    /**
+     * Restores the listeners registered before a command.
+     *
+     * @param previous The listeners returned by {@link #register(MetricsListener[])}.
+     */
+    public static void restore(MetricsListener[] previous) {
+        if (previous == null) {
+            LISTENERS.remove();
+        } else {
+            LISTENERS.set(previous);
+        }
+    }
+
+    /**
+     * Marks the start of a phase.
+     *
+     * @return The start time to pass to {@link #timing(MetricsPhase, String, long)}. {@code 0} if no listener is
+     * registered.
+     */
+    public static long start() {
+        return LISTENERS.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Reports the completion of this phase.
+     *
+     * @param phase The phase.
+     * @param name  What the phase was performed on.
+     * @param start The start time returned by {@link #start()}.
+     */
+    public static void timing(MetricsPhase phase, String name, long start) {
+        MetricsListener[] listeners = LISTENERS.get();
+        if (listeners == null || start == 0) {
+            return;
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.timing(phase, name, durationNanos);
+            } catch (RuntimeException e) {
+                LOG.warn("Metrics listener " + listener.getClass().getName() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reports the increase of this counter.
+     *
+     * @param counter The counter.
+     * @param amount  The amount by which it increased.
+     */
+    public static void count(MetricsCounter counter, long amount) {
+        MetricsListener[] listeners = LISTENERS.get();
+        if (listeners == null || amount <= 0) {
+            return;
+        }
+
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.count(counter, amount);
+            } catch (RuntimeException e) {
+                LOG.warn("Metrics listener " + listener.getClass().getName() + " failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -21,8 +21,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Tool for replacing placeholders.
@@ -67,44 +65,89 @@ public class PlaceholderReplacer {
     }
 
     /**
-     * Replaces the placeholders in this input string with their corresponding values.
+     * Replaces the placeholders in this input string with their corresponding values. The input is scanned in a single
+     * pass, looking up the name of every placeholder expression found. The inserted values aren't scanned again.
      *
      * @param input The input to process.
      * @return The input string with all placeholders replaced.
+     * @throws FlywayException when the input contains placeholder expressions without a corresponding value.
      */
     public String replacePlaceholders(String input) {
-        String noPlaceholders = input;
+        int start = input.indexOf(placeholderPrefix);
+        if (start < 0) {
+            return input;
+        }
+
+        StringBuilder output = null;
+        int copied = 0;
+        Set<String> unmatchedPlaceholderExpressions = null;
+        while (start >= 0) {
+            int end = findSuffix(input, start + placeholderPrefix.length());
+            if (end == -1) {
+                // No suffix anywhere after this prefix, so there can't be any further placeholder
+                break;
+            }
+            if (end == -2) {
+                start = input.indexOf(placeholderPrefix, start + 1);
+                continue;
+            }
+
+            // For nested prefixes, the innermost one opens the placeholder
+            int nested = input.lastIndexOf(placeholderPrefix, end - placeholderPrefix.length() - 1);
+            if (nested > start) {
+                start = nested;
+            }
 
-        for (String placeholder : placeholders.keySet()) {
-            String searchTerm = placeholderPrefix + placeholder + placeholderSuffix;
-            String value = placeholders.get(placeholder);
-            noPlaceholders = StringUtils.replaceAll(noPlaceholders, searchTerm, value == null ? "" : value);
+            String placeholder = input.substring(start + placeholderPrefix.length(), end);
+            int next = end + placeholderSuffix.length();
+            if (placeholders.containsKey(placeholder)) {
+                if (output == null) {
+                    output = new StringBuilder(input.length() + 64);
+                }
+                String value = placeholders.get(placeholder);
+                output.append(input, copied, start).append(value == null ? "" : value);
+                copied = next;
+            } else {
+                if (unmatchedPlaceholderExpressions == null) {
+                    unmatchedPlaceholderExpressions = new TreeSet<String>();
+                }
+                unmatchedPlaceholderExpressions.add(input.substring(start, next));
+            }
+            start = input.indexOf(placeholderPrefix, next);
+        }
+
+        if (unmatchedPlaceholderExpressions != null) {
+            throw new FlywayException("No value provided for placeholder expressions: "
+                    + StringUtils.collectionToCommaDelimitedString(unmatchedPlaceholderExpressions)
+                    + ".  Check your configuration!");
         }
-        checkForUnmatchedPlaceholderExpression(noPlaceholders);
 
-        return noPlaceholders;
+        if (output == null) {
+            return input;
+        }
+        return output.append(input, copied, input.length()).toString();
     }
 
     /**
-     * Check for unmatched placeholder expressions in the input string and throw
-     * a FlywayException if they do not have corresponding values.
+     * Finds the suffix closing the placeholder expression whose name starts at this position. The name must be at
+     * least one character long and may not span multiple lines.
      *
-     * @param input The input string.
-     * @throws FlywayException An exception listing the unmatched expressions.
+     * @param input     The input to search.
+     * @param nameStart The position where the name of the placeholder starts.
+     * @return The position of the suffix, {@code -1} if there is no suffix after this position and {@code -2} if the
+     * suffix is on a different line.
      */
-    private void checkForUnmatchedPlaceholderExpression(String input) {
-        String regex = Pattern.quote(placeholderPrefix) + "(.+?)" + Pattern.quote(placeholderSuffix);
-        Matcher matcher = Pattern.compile(regex).matcher(input);
-
-        Set<String> unmatchedPlaceHolderExpressions = new TreeSet<String>();
-        while (matcher.find()) {
-            unmatchedPlaceHolderExpressions.add(matcher.group());
+    private int findSuffix(String input, int nameStart) {
+        int end = input.indexOf(placeholderSuffix, nameStart + 1);
+        if (end < 0) {
+            return -1;
         }
-
-        if (!unmatchedPlaceHolderExpressions.isEmpty()) {
-            throw new FlywayException("No value provided for placeholder expressions: "
-                    + StringUtils.collectionToCommaDelimitedString(unmatchedPlaceHolderExpressions)
-                    + ".  Check your configuration!");
+        for (int i = nameStart; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return -2;
+            }
         }
+        return end;
     }
 }
@@ -15,10 +15,10 @@
  */
 package org.flywaydb.core.internal.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 /**
  * Various string-related utilities.
@@ -97,7 +97,42 @@ public class StringUtils {
      * @return The input string, with all whitespace collapsed.
      */
     public static String collapseWhitespace(String str) {
-        return str.replaceAll("\\s+", " ");
+        int length = str.length();
+        StringBuilder result = null;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (isRegexWhitespace(c)) {
+                int end = i + 1;
+                while (end < length && isRegexWhitespace(str.charAt(end))) {
+                    end++;
+                }
+                if (c == ' ' && end == i + 1) {
+                    if (result != null) {
+                        result.append(c);
+                    }
+                    continue;
+                }
+                if (result == null) {
+                    result = new StringBuilder(length);
+                    result.append(str, 0, i);
+                }
+                result.append(' ');
+                i = end - 1;
+            } else if (result != null) {
+                result.append(c);
+            }
+        }
+        return result == null ? str : result.toString();
+    }
+
+    /**
+     * Checks whether this character is whitespace according to the {@code \s} regex character class.
+     *
+     * @param c The character to check.
+     * @return {@code true} if it is whitespace, {@code false} if not.
+     */
+    public static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /**
@@ -129,7 +164,7 @@ public class StringUtils {
      * @return The transformed str.
      */
     public static String replaceAll(String str, String originalToken, String replacementToken) {
-        return str.replaceAll(Pattern.quote(originalToken), Matcher.quoteReplacement(replacementToken));
+        return replace(str, originalToken, replacementToken);
     }
 
     /**
@@ -177,18 +212,52 @@ public class StringUtils {
      * Splits this string into an array using these delimiters.
      *
      * @param str        The string to split.
-     * @param delimiters The delimiters to use.
+     * @param delimiters The delimiter characters to use.
      * @return The resulting array.
      */
     public static String[] tokenizeToStringArray(String str, String delimiters) {
         if (str == null) {
             return null;
         }
-        String[] tokens = str.split("[" + delimiters + "]");
-        for (int i = 0; i < tokens.length; i++) {
-            tokens[i] = tokens[i].trim();
+
+        int length = str.length();
+        List<String> tokens = new ArrayList<String>();
+        int start = 0;
+        // Number of tokens up to and including the last non-empty one. Trailing empty tokens are dropped.
+        int nonEmptyTokens = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && delimiters.indexOf(str.charAt(i)) < 0) {
+                continue;
+            }
+            if (i == length && tokens.isEmpty()) {
+                // No delimiter at all
+                return new String[]{str.trim()};
+            }
+            tokens.add(trim(str, start, i));
+            if (i > start) {
+                nonEmptyTokens = tokens.size();
+            }
+            start = i + 1;
         }
-        return tokens;
+        return tokens.subList(0, nonEmptyTokens).toArray(new String[nonEmptyTokens]);
+    }
+
+    /**
+     * Trims the whitespace around this region of this string, the same way {@link String#trim()} does.
+     *
+     * @param str   The string.
+     * @param start The start of the region (inclusive).
+     * @param end   The end of the region (exclusive).
+     * @return The trimmed region.
+     */
+    private static String trim(String str, int start, int end) {
+        while (start < end && str.charAt(start) <= ' ') {
+            start++;
+        }
+        while (start < end && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return str.substring(start, end);
     }
 
     /**
@@ -225,18 +294,21 @@ public class StringUtils {
         if (!hasLength(inString) || !hasLength(oldPattern) || newPattern == null) {
             return inString;
         }
-        StringBuilder sb = new StringBuilder();
-        int pos = 0; // our position in the old string
         int index = inString.indexOf(oldPattern);
         // the index of an occurrence we've found, or -1
+        if (index < 0) {
+            return inString;
+        }
+        StringBuilder sb = new StringBuilder(inString.length());
+        int pos = 0; // our position in the old string
         int patLen = oldPattern.length();
         while (index >= 0) {
-            sb.append(inString.substring(pos, index));
+            sb.append(inString, pos, index);
             sb.append(newPattern);
             pos = index + patLen;
             index = inString.indexOf(oldPattern, pos);
         }
-        sb.append(inString.substring(pos));
+        sb.append(inString, pos, inString.length());
         // remember to append any characters to the right of a match
         return sb.toString();
     }
@@ -15,6 +15,8 @@
  */
 package org.flywaydb.core.internal.util.scanner;
 
+import java.io.Reader;
+
 /**
  * A loadable resource.
  */
@@ -31,6 +33,14 @@ public interface Resource {
      */
     String getLocationOnDisk();
 
+    /**
+     * Retrieves a fingerprint of the contents of this resource that can be determined without reading them, such as
+     * their size and last modification time. Whenever the contents change, so does the fingerprint.
+     *
+     * @return The fingerprint. {@code null} if it can't be determined cheaply for this resource.
+     */
+    String getFingerprint();
+
     /**
      * Loads this resource as a string.
      *
@@ -39,6 +49,15 @@ public interface Resource {
      */
     String loadAsString(String encoding);
 
+    /**
+     * Opens this resource for reading its contents as a stream of characters. The caller is responsible for closing
+     * the reader.
+     *
+     * @param encoding The encoding to use.
+     * @return The reader for the contents of the resource.
+     */
+    Reader loadAsReader(String encoding);
+
     /**
      * Loads this resource as a byte array.
      *
@@ -16,8 +16,10 @@
 package org.flywaydb.core.internal.util.scanner;
 
 import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.metrics.MetricsPhase;
 import org.flywaydb.core.internal.util.FeatureDetector;
 import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.Metrics;
 import org.flywaydb.core.internal.util.scanner.classpath.ResourceAndClassScanner;
 import org.flywaydb.core.internal.util.scanner.classpath.android.AndroidScanner;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
@@ -50,6 +52,7 @@ public class Scanner {
      * @return The resources that were found.
      */
     public Resource[] scanForResources(Location location, String prefix, String suffix) {
+        long start = Metrics.start();
         try {
             if (location.isFileSystem()) {
                 return fileSystemScanner.scanForResources(location, prefix, suffix);
@@ -57,6 +60,8 @@ public class Scanner {
             return resourceAndClassScanner.scanForResources(location, prefix, suffix);
         } catch (Exception e) {
             throw new FlywayException("Unable to scan for SQL migrations in location: " + location, e);
+        } finally {
+            Metrics.timing(MetricsPhase.SCAN, location.toString(), start);
         }
     }
 
@@ -72,7 +77,31 @@ public class Scanner {
      * @throws Exception when the location could not be scanned.
      */
     public Class<?>[] scanForClasses(Location location, Class<?> implementedInterface) throws Exception {
-        return resourceAndClassScanner.scanForClasses(location, implementedInterface);
+        long start = Metrics.start();
+        try {
+            return resourceAndClassScanner.scanForClasses(location, implementedInterface);
+        } finally {
+            Metrics.timing(MetricsPhase.SCAN, location.toString(), start);
+        }
+    }
+
+    /**
+     * Scans the classpath for the names of the concrete classes under the specified package implementing this
+     * interface, without initializing or instantiating them. Non-instantiable abstract classes are filtered out.
+     *
+     * @param location             The location (package) in the classpath to start scanning.
+     *                             Subpackages are also scanned.
+     * @param implementedInterface The interface the matching classes should implement.
+     * @return The fully qualified names of the non-abstract classes that were found.
+     * @throws Exception when the location could not be scanned.
+     */
+    public String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception {
+        long start = Metrics.start();
+        try {
+            return resourceAndClassScanner.scanForClassNames(location, implementedInterface);
+        } finally {
+            Metrics.timing(MetricsPhase.SCAN, location.toString(), start);
+        }
     }
 
     /**
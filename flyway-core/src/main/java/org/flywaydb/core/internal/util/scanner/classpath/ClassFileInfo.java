@@ -0,0 +1,192 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The parts of a class file header needed to filter classes during scanning, read straight from the class file bytes
+ * without loading the class.
+ */
+class ClassFileInfo {
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ENUM = 0x4000;
+
+    /**
+     * The fully qualified name of the class.
+     */
+    private final String className;
+
+    /**
+     * The fully qualified name of the superclass. {@code null} for java.lang.Object.
+     */
+    private final String superClassName;
+
+    /**
+     * The fully qualified names of the interfaces directly implemented by the class.
+     */
+    private final String[] interfaceNames;
+
+    /**
+     * The access flags of the class.
+     */
+    private final int accessFlags;
+
+    private ClassFileInfo(String className, String superClassName, String[] interfaceNames, int accessFlags) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.accessFlags = accessFlags;
+    }
+
+    /**
+     * Reads the header of this class file. Only the constant pool and the class declaration are read, the rest of
+     * the stream is left untouched.
+     *
+     * @param inputStream The stream with the class file bytes. It is not closed.
+     * @return The class file info.
+     * @throws IOException when the stream could not be read or doesn't contain a valid class file.
+     */
+    static ClassFileInfo read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Invalid class file: bad magic number");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8Constants = new String[constantPoolCount];
+        int[] classConstants = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8Constants[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classConstants[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    // These take up two entries in the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Invalid class file: unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = getClassName(utf8Constants, classConstants, in.readUnsignedShort());
+        String superClassName = getClassName(utf8Constants, classConstants, in.readUnsignedShort());
+        String[] interfaceNames = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = getClassName(utf8Constants, classConstants, in.readUnsignedShort());
+        }
+
+        return new ClassFileInfo(className, superClassName, interfaceNames, accessFlags);
+    }
+
+    private static void skipFully(DataInputStream in, int count) throws IOException {
+        int remaining = count;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new IOException("Invalid class file: unexpected end of file");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static String getClassName(String[] utf8Constants, int[] classConstants, int index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        if (index >= classConstants.length || utf8Constants[classConstants[index]] == null) {
+            throw new IOException("Invalid class file: bad class reference " + index);
+        }
+        return utf8Constants[classConstants[index]].replace('/', '.');
+    }
+
+    /**
+     * @return The fully qualified name of the class.
+     */
+    String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return The fully qualified name of the superclass. {@code null} for java.lang.Object.
+     */
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * @return The fully qualified names of the interfaces directly implemented by the class.
+     */
+    String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Checks whether this class can be instantiated, based on its declaration alone. Interfaces, abstract classes,
+     * enums and anonymous classes can't.
+     *
+     * @return {@code true} if it can, {@code false} if not.
+     */
+    boolean isInstantiable() {
+        if ((accessFlags & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ENUM)) != 0) {
+            return false;
+        }
+
+        // Anonymous classes are compiled to Outer$1, Outer$2, ...
+        int dollar = className.lastIndexOf('$');
+        if (dollar < 0 || dollar == className.length() - 1) {
+            return true;
+        }
+        for (int i = dollar + 1; i < className.length(); i++) {
+            if (!Character.isDigit(className.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -25,9 +25,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.util.jar.JarEntry;
 
 /**
  * A resource on the classpath.
@@ -77,20 +80,51 @@ public class ClassPathResource implements Comparable<ClassPathResource>, Resourc
         return classLoader.getResource(location);
     }
 
-    public String loadAsString(String encoding) {
+    public String getFingerprint() {
+        URL url = getUrl();
+        if (url == null) {
+            return null;
+        }
         try {
-            InputStream inputStream = classLoader.getResourceAsStream(location);
-            if (inputStream == null) {
-                throw new FlywayException("Unable to obtain inputstream for resource: " + location);
+            if ("file".equals(url.getProtocol())) {
+                File file = new File(URLDecoder.decode(url.getPath(), "UTF-8"));
+                long lastModified = file.lastModified();
+                if (lastModified == 0) {
+                    return null;
+                }
+                return file.length() + "-" + lastModified;
             }
-            Reader reader = new InputStreamReader(inputStream, Charset.forName(encoding));
 
-            return FileCopyUtils.copyToString(reader);
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                // The size and crc of an entry are stored in the central directory of the jar file
+                JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+                if (jarEntry != null && jarEntry.getSize() != -1 && jarEntry.getCrc() != -1) {
+                    return jarEntry.getSize() + "-" + Long.toHexString(jarEntry.getCrc());
+                }
+            }
+        } catch (IOException e) {
+            // No fingerprint available
+        }
+        return null;
+    }
+
+    public String loadAsString(String encoding) {
+        try {
+            return FileCopyUtils.copyToString(loadAsReader(encoding));
         } catch (IOException e) {
             throw new FlywayException("Unable to load resource: " + location + " (encoding: " + encoding + ")", e);
         }
     }
 
+    public Reader loadAsReader(String encoding) {
+        InputStream inputStream = classLoader.getResourceAsStream(location);
+        if (inputStream == null) {
+            throw new FlywayException("Unable to obtain inputstream for resource: " + location);
+        }
+        return new InputStreamReader(inputStream, Charset.forName(encoding));
+    }
+
     public byte[] loadAsBytes() {
         try {
             InputStream inputStream = classLoader.getResourceAsStream(location);
@@ -26,13 +26,16 @@ import org.flywaydb.core.internal.util.scanner.Resource;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv2UrlResolver;
 import org.flywaydb.core.internal.util.scanner.classpath.jboss.JBossVFSv3ClassPathLocationScanner;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
@@ -41,7 +44,6 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.regex.Pattern;
 
 /**
  * ClassPath scanner.
@@ -69,6 +71,24 @@ public class ClassPathScanner implements ResourceAndClassScanner {
      */
     private final Map<ClassPathLocationScanner, Map<URL, Set<String>>> resourceNameCache = new HashMap<ClassPathLocationScanner, Map<URL, Set<String>>>();
 
+    /**
+     * Cache of the resource names read from location manifests, by location and then by location url.
+     */
+    private final Map<Location, Map<String, Set<String>>> manifestCache = new HashMap<Location, Map<String, Set<String>>>();
+
+    /**
+     * Index of the entry names of the jar files of the classloader that don't contain directory entries, by jar url.
+     * Every jar file is only opened once to build it, after which it serves all location, prefix and suffix queries.
+     * {@code null} until first needed.
+     */
+    private Map<URL, List<String>> directorylessJarEntryNames;
+
+    /**
+     * Cache of the class file info of the classes and supertypes seen while scanning, by class name. {@code null}
+     * values mark class files that could not be read.
+     */
+    private final Map<String, ClassFileInfo> classFileInfoCache = new HashMap<String, ClassFileInfo>();
+
     /**
      * Creates a new Classpath scanner.
      *
@@ -95,13 +115,9 @@ public class ClassPathScanner implements ResourceAndClassScanner {
 
     @Override
     public Class<?>[] scanForClasses(Location location, Class<?> implementedInterface) throws Exception {
-        LOG.debug("Scanning for classes at '" + location + "' (Implementing: '" + implementedInterface.getName() + "')");
-
         List<Class<?>> classes = new ArrayList<Class<?>>();
 
-        Set<String> resourceNames = findResourceNames(location, "", ".class");
-        for (String resourceName : resourceNames) {
-            String className = toClassName(resourceName);
+        for (String className : scanForClassNames(location, implementedInterface)) {
             Class<?> clazz;
 
             try {
@@ -131,12 +147,137 @@ public class ClassPathScanner implements ResourceAndClassScanner {
             }
 
             classes.add(clazz);
-            LOG.debug("Found class: " + className);
         }
 
         return classes.toArray(new Class<?>[classes.size()]);
     }
 
+    @Override
+    public String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception {
+        LOG.debug("Scanning for classes at '" + location + "' (Implementing: '" + implementedInterface.getName() + "')");
+
+        List<String> classNames = new ArrayList<String>();
+
+        Set<String> resourceNames = findResourceNames(location, "", ".class");
+        for (String resourceName : resourceNames) {
+            String className = toClassName(resourceName);
+
+            Boolean implementing = isImplementing(className, implementedInterface.getName());
+            if (Boolean.FALSE.equals(implementing)) {
+                continue;
+            }
+
+            if (implementing == null) {
+                if (!isInstantiableSubclass(className, implementedInterface)) {
+                    continue;
+                }
+            } else if (!getClassFileInfo(className).isInstantiable()) {
+                LOG.debug("Skipping non-instantiable class: " + className);
+                continue;
+            }
+
+            classNames.add(className);
+            LOG.debug("Found class: " + className);
+        }
+
+        return classNames.toArray(new String[classNames.size()]);
+    }
+
+    /**
+     * Checks whether this class implements this interface, based on the class files of the class and its supertypes.
+     *
+     * @param className     The fully qualified name of the class to check.
+     * @param interfaceName The fully qualified name of the interface.
+     * @return {@code true} if it does, {@code false} if it doesn't and {@code null} if the class file of one of its
+     * supertypes could not be read.
+     */
+    private Boolean isImplementing(String className, String interfaceName) {
+        if (className.equals(interfaceName)) {
+            return Boolean.TRUE;
+        }
+        if (className.startsWith("java.") && !interfaceName.startsWith("java.")) {
+            // JDK types can't implement application interfaces
+            return Boolean.FALSE;
+        }
+
+        ClassFileInfo classFileInfo = getClassFileInfo(className);
+        if (classFileInfo == null) {
+            return null;
+        }
+
+        List<String> supertypeNames = new ArrayList<String>(Arrays.asList(classFileInfo.getInterfaceNames()));
+        if (classFileInfo.getSuperClassName() != null) {
+            supertypeNames.add(classFileInfo.getSuperClassName());
+        }
+
+        Boolean result = Boolean.FALSE;
+        for (String supertypeName : supertypeNames) {
+            Boolean implementing = isImplementing(supertypeName, interfaceName);
+            if (Boolean.TRUE.equals(implementing)) {
+                return Boolean.TRUE;
+            }
+            if (implementing == null) {
+                result = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the class file info of this class, reading its class file through the classloader the first time.
+     * Synchronized, as locations may be scanned concurrently.
+     *
+     * @param className The fully qualified name of the class.
+     * @return The class file info. {@code null} if the class file could not be read.
+     */
+    private synchronized ClassFileInfo getClassFileInfo(String className) {
+        if (classFileInfoCache.containsKey(className)) {
+            return classFileInfoCache.get(className);
+        }
+
+        ClassFileInfo classFileInfo = null;
+        InputStream inputStream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class");
+        if (inputStream != null) {
+            try {
+                classFileInfo = ClassFileInfo.read(new BufferedInputStream(inputStream));
+            } catch (IOException e) {
+                LOG.debug("Unable to read class file of " + className + ": " + e.getMessage());
+            } finally {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+
+        classFileInfoCache.put(className, classFileInfo);
+        return classFileInfo;
+    }
+
+    /**
+     * Fallback for classes whose hierarchy could not be determined from their class files. The class is loaded, but
+     * not initialized, to check whether it is an instantiable implementation of this interface.
+     *
+     * @param className            The fully qualified name of the class to check.
+     * @param implementedInterface The interface the class should implement.
+     * @return {@code true} if it is, {@code false} if not or if it could not be loaded.
+     */
+    private boolean isInstantiableSubclass(String className, Class<?> implementedInterface) {
+        try {
+            Class<?> clazz = Class.forName(className, false, classLoader);
+            return implementedInterface.isAssignableFrom(clazz)
+                    && !Modifier.isAbstract(clazz.getModifiers()) && !clazz.isEnum() && !clazz.isAnonymousClass();
+        } catch (ClassNotFoundException e) {
+            LOG.debug("Skipping non-loadable class: " + className);
+        } catch (LinkageError e) {
+            LOG.debug("Skipping non-loadable class: " + className);
+        } catch (InternalError e) {
+            LOG.debug("Skipping invalid class: " + className);
+        }
+        return false;
+    }
+
     /**
      * Converts this resource name to a fully qualified class name.
      *
@@ -150,7 +291,8 @@ public class ClassPathScanner implements ResourceAndClassScanner {
 
     /**
      * Finds the resources names present at this location and below on the classpath starting with this prefix and
-     * ending with this suffix.
+     * ending with this suffix. Synchronized, as the caches of this scanner are shared by all locations and these may
+     * be scanned concurrently.
      *
      * @param location The location on the classpath to scan.
      * @param prefix   The filename prefix to match.
@@ -158,11 +300,25 @@ public class ClassPathScanner implements ResourceAndClassScanner {
      * @return The resource names.
      * @throws IOException when scanning this location failed.
      */
-    private Set<String> findResourceNames(Location location, String prefix, String suffix) throws IOException {
+    private synchronized Set<String> findResourceNames(Location location, String prefix, String suffix) throws IOException {
         Set<String> resourceNames = new TreeSet<String>();
 
+        Map<String, Set<String>> manifests = getManifests(location);
+        Map<String, Set<String>> usedManifests = new HashMap<String, Set<String>>(manifests);
+
         List<URL> locationUrls = getLocationUrlsForPath(location);
         for (URL locationUrl : locationUrls) {
+            String locationUrlString = stripTrailingSlash(locationUrl.toExternalForm());
+            if (manifests.containsKey(locationUrlString)) {
+                if (!"file".equals(locationUrl.getProtocol())) {
+                    LOG.debug("Using manifest for URL: " + locationUrl.toExternalForm());
+                    continue;
+                }
+                // Directories can change after the manifest was generated, for example by an incremental build that
+                // skipped generating it, so a stale manifest must not hide their resources
+                LOG.debug("Ignoring manifest of directory: " + locationUrl.toExternalForm());
+                usedManifests.remove(locationUrlString);
+            }
             LOG.debug("Scanning URL: " + locationUrl.toExternalForm());
 
             UrlResolver urlResolver = createUrlResolver(locationUrl.getProtocol());
@@ -183,15 +339,97 @@ public class ClassPathScanner implements ResourceAndClassScanner {
             }
         }
 
-        boolean locationResolved = !locationUrls.isEmpty();
+        for (Set<String> names : usedManifests.values()) {
+            resourceNames.addAll(names);
+        }
+
+        boolean locationResolved = !locationUrls.isEmpty() || !manifests.isEmpty();
+
+        // Make an additional attempt at finding resources in jar files that don't contain directory entries,
+        // unless the location is described by a manifest, which lists its resources regardless of directory entries
+        if (manifests.isEmpty()) {
+            for (List<String> entryNames : getDirectorylessJarEntryNames().values()) {
+                for (String entryName : entryNames) {
+                    if (entryName.startsWith(location.getPath())) {
+                        locationResolved = true;
+                        if (entryName.endsWith(suffix)) {
+                            resourceNames.add(entryName);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!locationResolved) {
+            LOG.warn("Unable to resolve location " + location);
+        }
+
+        return filterResourceNames(resourceNames, prefix, suffix);
+    }
+
+    /**
+     * Reads the manifests of this location generated at build time, if any.
+     *
+     * @param location The location on the classpath.
+     * @return The resource names listed in the manifests, by location url (without trailing slash). An empty map if
+     * there are no manifests for this location.
+     * @throws IOException when a manifest could not be read.
+     */
+    private Map<String, Set<String>> getManifests(Location location) throws IOException {
+        Map<String, Set<String>> manifests = manifestCache.get(location);
+        if (manifests != null) {
+            return manifests;
+        }
+
+        manifests = new HashMap<String, Set<String>>();
+        Enumeration<URL> urls = classLoader.getResources(getManifestPath(location));
+        while (urls.hasMoreElements()) {
+            URL manifestUrl = urls.nextElement();
+            String manifestUrlString = manifestUrl.toExternalForm();
+            String locationUrl = manifestUrlString.substring(0, manifestUrlString.length() - LocationManifest.FILE_NAME.length());
+            LOG.debug("Found manifest: " + manifestUrlString);
+            manifests.put(stripTrailingSlash(locationUrl), LocationManifest.read(manifestUrl, location.getPath()));
+        }
 
-        // Make an additional attempt at finding resources in jar files that don't contain directory entries
+        manifestCache.put(location, manifests);
+        return manifests;
+    }
+
+    /**
+     * @param location The location on the classpath.
+     * @return The path of the manifest of this location on the classpath.
+     */
+    private static String getManifestPath(Location location) {
+        return location.getPath().length() == 0 ? LocationManifest.FILE_NAME : location.getPath() + "/" + LocationManifest.FILE_NAME;
+    }
+
+    /**
+     * @param url The url to process.
+     * @return The url without its trailing slash, if any.
+     */
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * Retrieves the entry names of the jar files of the classloader that don't contain directory entries, building the
+     * index on first use. Each jar file is walked only once and only until its first directory entry.
+     *
+     * @return The entry names by jar url.
+     * @throws IOException when reading a jar file failed.
+     */
+    private Map<URL, List<String>> getDirectorylessJarEntryNames() throws IOException {
+        if (directorylessJarEntryNames != null) {
+            return directorylessJarEntryNames;
+        }
+
+        Map<URL, List<String>> index = new HashMap<URL, List<String>>();
         if (classLoader instanceof URLClassLoader) {
             URLClassLoader urlClassLoader = (URLClassLoader) classLoader;
             for (URL url : urlClassLoader.getURLs()) {
                 if ("file".equals(url.getProtocol())
                         && url.getPath().endsWith(".jar")
-                        && !url.getPath().matches(".*" + Pattern.quote("/jre/lib/") + ".*")) {
+                        && !url.getPath().contains("/jre/lib/")) {
                     // All non-system jars on disk
                     JarFile jarFile;
                     try {
@@ -202,25 +440,18 @@ public class ClassPathScanner implements ResourceAndClassScanner {
                     }
 
                     try {
-                        boolean directoryFound = false;
+                        List<String> entryNames = new ArrayList<String>();
                         Enumeration<JarEntry> entries = jarFile.entries();
                         while (entries.hasMoreElements()) {
-                            if (entries.nextElement().isDirectory()) {
-                                directoryFound = true;
+                            JarEntry entry = entries.nextElement();
+                            if (entry.isDirectory()) {
+                                entryNames = null;
                                 break;
                             }
+                            entryNames.add(entry.getName());
                         }
-                        if (!directoryFound) {
-                            entries = jarFile.entries();
-                            while (entries.hasMoreElements()) {
-                                String entryName = entries.nextElement().getName();
-                                if (entryName.startsWith(location.getPath())) {
-                                    locationResolved = true;
-                                    if (entryName.endsWith(suffix)) {
-                                        resourceNames.add(entryName);
-                                    }
-                                }
-                            }
+                        if (entryNames != null) {
+                            index.put(url, entryNames);
                         }
                     } finally {
                         jarFile.close();
@@ -229,11 +460,8 @@ public class ClassPathScanner implements ResourceAndClassScanner {
             }
         }
 
-        if (!locationResolved) {
-            LOG.warn("Unable to resolve location " + location);
-        }
-
-        return filterResourceNames(resourceNames, prefix, suffix);
+        directorylessJarEntryNames = index;
+        return index;
     }
 
     /**
@@ -255,9 +483,10 @@ public class ClassPathScanner implements ResourceAndClassScanner {
         if (classLoader.getClass().getName().startsWith("com.ibm")) {
             // WebSphere
             Enumeration<URL> urls = classLoader.getResources(location.getPath() + "/flyway.location");
-            if (!urls.hasMoreElements()) {
+            if (!urls.hasMoreElements() && getManifests(location).isEmpty()) {
                 LOG.warn("Unable to resolve location " + location + " (ClassLoader: " + classLoader + ")"
-                        + " On WebSphere an empty file named flyway.location must be present on the classpath location for WebSphere to find it!");
+                        + " On WebSphere either a manifest generated at build time or an empty file named flyway.location"
+                        + " must be present on the classpath location for WebSphere to find it!");
             }
             while (urls.hasMoreElements()) {
                 URL url = urls.nextElement();
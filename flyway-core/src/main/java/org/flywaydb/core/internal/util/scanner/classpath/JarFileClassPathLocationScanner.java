@@ -20,7 +20,12 @@ import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.jar.JarEntry;
@@ -30,16 +35,40 @@ import java.util.jar.JarFile;
  * ClassPathLocationScanner for jar files.
  */
 public class JarFileClassPathLocationScanner implements ClassPathLocationScanner {
-    public Set<String> findResourceNames(String location, URL locationUrl) throws IOException {
-        JarFile jarFile = getJarFromUrl(locationUrl);
+    /**
+     * The sorted resource names of the jar files scanned so far, by jar url. Every jar file is therefore only opened
+     * and walked once, no matter how many locations within it are scanned.
+     */
+    private final Map<String, List<String>> resourceNameIndex = new HashMap<String, List<String>>();
 
-        try {
-            // For Tomcat and non-expanded WARs.
-            String prefix = jarFile.getName().toLowerCase().endsWith(".war") ? "WEB-INF/classes/" : "";
-            return findResourceNamesFromJarFile(jarFile, prefix, location);
-        } finally {
-            jarFile.close();
+    public Set<String> findResourceNames(String location, URL locationUrl) throws IOException {
+        String jarUrl = getJarUrl(locationUrl);
+        List<String> resourceNames = resourceNameIndex.get(jarUrl);
+        if (resourceNames == null) {
+            JarFile jarFile = getJarFromUrl(locationUrl);
+            try {
+                // For Tomcat and non-expanded WARs.
+                String prefix = jarFile.getName().toLowerCase().endsWith(".war") ? "WEB-INF/classes/" : "";
+                resourceNames = findResourceNamesFromJarFile(jarFile, prefix);
+            } finally {
+                jarFile.close();
+            }
+            resourceNameIndex.put(jarUrl, resourceNames);
         }
+
+        return findResourceNamesInLocation(resourceNames, location);
+    }
+
+    /**
+     * Retrieves the url of the jar file containing this location.
+     *
+     * @param locationUrl The URL of the location within the jar.
+     * @return The url of the jar file.
+     */
+    private String getJarUrl(URL locationUrl) {
+        String url = locationUrl.toExternalForm();
+        int separatorIndex = url.indexOf("!/");
+        return separatorIndex == -1 ? url : url.substring(0, separatorIndex);
     }
 
     /**
@@ -82,26 +111,52 @@ public class JarFileClassPathLocationScanner implements ClassPathLocationScanner
     }
 
     /**
-     * Finds all the resource names contained in this directory within this jar file.
+     * Finds all the resource names contained in this jar file.
      *
-     * @param jarFile  The jar file.
-     * @param prefix   The prefix to ignore within the jar file.
-     * @param location The location to look under.
-     * @return The resource names.
+     * @param jarFile The jar file.
+     * @param prefix  The prefix to ignore within the jar file. Entries outside of it are skipped.
+     * @return The resource names, sorted.
      * @throws java.io.IOException when reading the jar file failed.
      */
-    private Set<String> findResourceNamesFromJarFile(JarFile jarFile, String prefix, String location) throws IOException {
-        String toScan = prefix + location + (location.endsWith("/") ? "" : "/");
-        Set<String> resourceNames = new TreeSet<String>();
+    private List<String> findResourceNamesFromJarFile(JarFile jarFile, String prefix) throws IOException {
+        List<String> resourceNames = new ArrayList<String>();
 
         Enumeration<JarEntry> entries = jarFile.entries();
         while (entries.hasMoreElements()) {
             String entryName = entries.nextElement().getName();
-            if (entryName.startsWith(toScan)) {
+            if (entryName.startsWith(prefix)) {
                 resourceNames.add(entryName.substring(prefix.length()));
             }
         }
 
+        Collections.sort(resourceNames);
         return resourceNames;
     }
+
+    /**
+     * Finds all the resource names contained in this directory.
+     *
+     * @param resourceNames The sorted resource names of the jar file.
+     * @param location      The location to look under.
+     * @return The resource names.
+     */
+    private Set<String> findResourceNamesInLocation(List<String> resourceNames, String location) {
+        String toScan = location + (location.endsWith("/") ? "" : "/");
+        Set<String> locationResourceNames = new TreeSet<String>();
+
+        // All names starting with the location form a contiguous range of the sorted list
+        int index = Collections.binarySearch(resourceNames, toScan);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        for (; index < resourceNames.size(); index++) {
+            String resourceName = resourceNames.get(index);
+            if (!resourceName.startsWith(toScan)) {
+                break;
+            }
+            locationResourceNames.add(resourceName);
+        }
+
+        return locationResourceNames;
+    }
 }
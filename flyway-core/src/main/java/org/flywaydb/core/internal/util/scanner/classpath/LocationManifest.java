@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Manifest listing all resources of a location on the classpath. It is generated at build time (see the Maven
+ * {@code manifest} goal and the Gradle {@code flywayManifest} task) and placed in the directory of the location itself.
+ * At runtime the classpath scanner then reads the resource names from the manifest instead of walking the jar file the
+ * location is in. Directories are still walked, as their contents may have changed since the manifest was generated.
+ * As the manifest is a regular file, it can also be found by classloaders that are unable to list directories, such
+ * as the one of WebSphere, in which case it is used for directories as well.
+ */
+public class LocationManifest {
+    /**
+     * The name of the manifest file within the location.
+     */
+    public static final String FILE_NAME = "flyway.manifest";
+
+    /**
+     * Prevents instantiation.
+     */
+    private LocationManifest() {
+        // Do nothing
+    }
+
+    /**
+     * Reads the resource names listed in this manifest.
+     *
+     * @param manifestUrl  The url of the manifest.
+     * @param locationPath The path of the location on the classpath the manifest belongs to.
+     * @return The names of the resources on the classpath.
+     * @throws IOException when the manifest could not be read.
+     */
+    public static Set<String> read(URL manifestUrl, String locationPath) throws IOException {
+        Set<String> resourceNames = new TreeSet<String>();
+        String prefix = locationPath.length() == 0 || locationPath.endsWith("/") ? locationPath : locationPath + "/";
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(manifestUrl.openStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0 && !line.startsWith("#")) {
+                    resourceNames.add(prefix + line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        return resourceNames;
+    }
+
+    /**
+     * Writes the manifest for this location, listing the resources of the location in all these directories. This is
+     * typically both the directory of the compiled classes and the one of the processed resources of a build.
+     *
+     * @param outputDirectory      The classpath root directory to write the manifest to.
+     * @param locationPath         The path of the location on the classpath.
+     * @param classPathDirectories The classpath root directories whose resources to list.
+     * @return The number of resources listed in the manifest.
+     * @throws IOException when the manifest could not be written.
+     */
+    public static int write(File outputDirectory, String locationPath, File... classPathDirectories) throws IOException {
+        Set<String> resourceNames = new TreeSet<String>();
+        for (File classPathDirectory : classPathDirectories) {
+            findResourceNames(new File(classPathDirectory, locationPath), "", resourceNames);
+        }
+        resourceNames.remove(FILE_NAME);
+
+        File locationDirectory = new File(outputDirectory, locationPath);
+        if (!locationDirectory.isDirectory() && !locationDirectory.mkdirs()) {
+            throw new IOException("Unable to create directory " + locationDirectory.getAbsolutePath());
+        }
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(new File(locationDirectory, FILE_NAME)), "UTF-8");
+        try {
+            writer.write("# Flyway location manifest for " + locationPath + ". Generated at build time, do not edit.\n");
+            for (String resourceName : resourceNames) {
+                writer.write(resourceName);
+                writer.write("\n");
+            }
+        } finally {
+            writer.close();
+        }
+
+        return resourceNames.size();
+    }
+
+    /**
+     * Finds the names of all files in this directory and below.
+     *
+     * @param directory     The directory to search.
+     * @param prefix        The path of the directory relative to the location, with a trailing slash if not empty.
+     * @param resourceNames The set to add the names, relative to the location, to.
+     */
+    private static void findResourceNames(File directory, String prefix, Set<String> resourceNames) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                findResourceNames(file, prefix + file.getName() + "/", resourceNames);
+            } else {
+                resourceNames.add(prefix + file.getName());
+            }
+        }
+    }
+}
@@ -45,4 +45,17 @@ public interface ResourceAndClassScanner {
      * @throws Exception when the location could not be scanned.
      */
     Class<?>[] scanForClasses(Location location, Class<?> implementedInterface) throws Exception;
+
+    /**
+     * Scans the classpath for the names of the concrete classes under the specified package implementing this
+     * interface. Unlike {@link #scanForClasses(Location, Class)} the classes are neither initialized nor instantiated
+     * and, where the class files can be inspected directly, not even loaded.
+     *
+     * @param location             The location (package) in the classpath to start scanning.
+     *                             Subpackages are also scanned.
+     * @param implementedInterface The interface the matching classes should implement.
+     * @return The fully qualified names of the non-abstract classes that were found.
+     * @throws Exception when the location could not be scanned.
+     */
+    String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception;
 }
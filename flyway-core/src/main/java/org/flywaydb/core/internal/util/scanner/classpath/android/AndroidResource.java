@@ -22,6 +22,7 @@ import org.flywaydb.core.internal.util.scanner.Resource;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 
 /**
  * Resource within an Android App.
@@ -47,6 +48,11 @@ public class AndroidResource implements Resource {
         return null;
     }
 
+    @Override
+    public String getFingerprint() {
+        return null;
+    }
+
     @Override
     public String loadAsString(String encoding) {
         try {
@@ -56,6 +62,15 @@ public class AndroidResource implements Resource {
         }
     }
 
+    @Override
+    public Reader loadAsReader(String encoding) {
+        try {
+            return new InputStreamReader(assetManager.open(getLocation()), encoding);
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load asset: " + getLocation(), e);
+        }
+    }
+
     @Override
     public byte[] loadAsBytes() {
         try {
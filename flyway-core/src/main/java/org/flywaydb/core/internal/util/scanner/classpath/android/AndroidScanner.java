@@ -98,4 +98,32 @@ public class AndroidScanner implements ResourceAndClassScanner {
         }
         return classes.toArray(new Class<?>[classes.size()]);
     }
+
+    public String[] scanForClassNames(Location location, Class<?> implementedInterface) throws Exception {
+        String pkg = location.getPath().replace("/", ".");
+
+        List<String> classNames = new ArrayList<String>();
+
+        // Dex files can't be inspected like class files. Load the classes without initializing them instead.
+        DexFile dex = new DexFile(context.getApplicationInfo().sourceDir);
+        Enumeration<String> entries = dex.entries();
+        while (entries.hasMoreElements()) {
+            String className = entries.nextElement();
+            if (className.startsWith(pkg)) {
+                Class<?> clazz = Class.forName(className, false, classLoader);
+                if (Modifier.isAbstract(clazz.getModifiers())) {
+                    LOG.debug("Skipping abstract class: " + className);
+                    continue;
+                }
+
+                if (!implementedInterface.isAssignableFrom(clazz)) {
+                    continue;
+                }
+
+                classNames.add(className);
+                LOG.debug("Found class: " + className);
+            }
+        }
+        return classNames.toArray(new String[classNames.size()]);
+    }
 }
@@ -62,6 +62,19 @@ public class FileSystemResource implements Resource, Comparable<FileSystemResour
         return location.getAbsolutePath();
     }
 
+    /**
+     * Retrieves a fingerprint of the contents of this resource, made up of its size and last modification time.
+     *
+     * @return The fingerprint. {@code null} if the file doesn't exist.
+     */
+    public String getFingerprint() {
+        long lastModified = location.lastModified();
+        if (lastModified == 0) {
+            return null;
+        }
+        return location.length() + "-" + lastModified;
+    }
+
     /**
      * Loads this resource as a string.
      *
@@ -70,10 +83,22 @@ public class FileSystemResource implements Resource, Comparable<FileSystemResour
      */
     public String loadAsString(String encoding) {
         try {
-            InputStream inputStream = new FileInputStream(location);
-            Reader reader = new InputStreamReader(inputStream, Charset.forName(encoding));
+            return FileCopyUtils.copyToString(loadAsReader(encoding));
+        } catch (IOException e) {
+            throw new FlywayException("Unable to load filesystem resource: " + location.getPath() + " (encoding: " + encoding + ")", e);
+        }
+    }
 
-            return FileCopyUtils.copyToString(reader);
+    /**
+     * Opens this resource for reading its contents as a stream of characters.
+     *
+     * @param encoding The encoding to use.
+     * @return The reader for the contents of the resource.
+     */
+    public Reader loadAsReader(String encoding) {
+        try {
+            InputStream inputStream = new FileInputStream(location);
+            return new InputStreamReader(inputStream, Charset.forName(encoding));
         } catch (IOException e) {
             throw new FlywayException("Unable to load filesystem resource: " + location.getPath() + " (encoding: " + encoding + ")", e);
         }
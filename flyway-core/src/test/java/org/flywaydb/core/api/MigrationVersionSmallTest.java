@@ -165,6 +165,26 @@ public class MigrationVersionSmallTest {
         MigrationVersion.fromVersion("1.2.1a-3");
     }
 
+    @Test
+    public void compareToOverflowingLong() {
+        final MigrationVersion small = MigrationVersion.fromVersion("999999999999999999");
+        final MigrationVersion large = MigrationVersion.fromVersion("1000000000000000000");
+        final MigrationVersion huge = MigrationVersion.fromVersion("1.99999999999999999999999");
+        assertTrue(small.compareTo(large) < 0);
+        assertTrue(large.compareTo(small) > 0);
+        assertTrue(huge.compareTo(MigrationVersion.fromVersion("2")) < 0);
+        assertTrue(huge.compareTo(MigrationVersion.fromVersion("1.9")) > 0);
+        assertEquals(huge, MigrationVersion.fromVersion("01.99999999999999999999999.0"));
+        assertEquals(huge.hashCode(), MigrationVersion.fromVersion("01.99999999999999999999999.0").hashCode());
+    }
+
+    @Test
+    public void underscores() {
+        final MigrationVersion version = MigrationVersion.fromVersion("1_2_3");
+        assertEquals("1.2.3", version.getVersion());
+        assertEquals(MigrationVersion.fromVersion("1.2.3"), version);
+    }
+
     @Test
     public void testWouldOverflowLong() {
         final String raw = "9999999999999999999999999999999999.8888888231231231231231298797298789132.22";
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.resolver.MigrationExecutor;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
+import org.flywaydb.core.internal.metadatatable.AppliedMigration;
+import org.flywaydb.core.internal.metadatatable.MetaDataTableImpl;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for the single plan applied by DbMigrate when singleLockMigrate is enabled.
+ */
+public class DbMigrateSmallTest {
+    private Connection connection;
+    private Connection connectionUserObjects;
+
+    /**
+     * The versions of the migrations executed so far, in order.
+     */
+    private final List<String> executed = new ArrayList<String>();
+
+    /**
+     * The metadata table used by the migration run.
+     */
+    private CountingMetaDataTable metaDataTable;
+
+    @Before
+    public void setUp() throws SQLException {
+        DataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:flyway_dbmigrate_test;DB_CLOSE_DELAY=-1", "sa", "", null);
+        connection = dataSource.getConnection();
+        connectionUserObjects = dataSource.getConnection();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            statement.execute("DROP ALL OBJECTS");
+        } finally {
+            statement.close();
+        }
+        connectionUserObjects.close();
+        connection.close();
+    }
+
+    @Test
+    public void singleLockForWholePlan() {
+        DbSupport dbSupport = new H2DbSupport(connection) {
+            @Override
+            public boolean supportsSessionLock() {
+                return true;
+            }
+        };
+
+        assertEquals(3, migrate(dbSupport, null));
+        assertEquals("[1, 2, 3]", executed.toString());
+        assertEquals(1, metaDataTable.locks);
+    }
+
+    @Test
+    public void planRecomputedAfterConcurrentChange() {
+        DbSupport dbSupport = new H2DbSupport(connection);
+
+        // Another writer applies version 2 while version 1 is being applied
+        Runnable concurrentChange = new Runnable() {
+            @Override
+            public void run() {
+                metaDataTable.addAppliedMigration(new AppliedMigration(MigrationVersion.fromVersion("2"),
+                        "Migration 2", MigrationType.JDBC, "V2", null, 0, true));
+            }
+        };
+
+        assertEquals(2, migrate(dbSupport, concurrentChange));
+        assertEquals("[1, 3]", executed.toString());
+        assertEquals(3, metaDataTable.allAppliedMigrations().size());
+    }
+
+    /**
+     * Migrates versions 1 to 3 with singleLockMigrate enabled.
+     *
+     * @param dbSupport        The database-specific support.
+     * @param concurrentChange The change to make to the metadata table while version 1 is being applied. {@code null}
+     *                         for none.
+     * @return The number of successfully applied migrations.
+     */
+    private int migrate(DbSupport dbSupport, Runnable concurrentChange) {
+        metaDataTable = new CountingMetaDataTable(dbSupport);
+
+        final List<ResolvedMigration> resolvedMigrations = new ArrayList<ResolvedMigration>();
+        for (int i = 1; i <= 3; i++) {
+            resolvedMigrations.add(createResolvedMigration(String.valueOf(i), i == 1 ? concurrentChange : null));
+        }
+        MigrationResolver migrationResolver = new MigrationResolver() {
+            @Override
+            public Collection<ResolvedMigration> resolveMigrations() {
+                return resolvedMigrations;
+            }
+        };
+
+        Flyway configuration = new Flyway();
+        configuration.setSingleLockMigrate(true);
+
+        return new DbMigrate(connectionUserObjects, dbSupport, metaDataTable, dbSupport.getOriginalSchema(),
+                migrationResolver, false, configuration).migrate();
+    }
+
+    /**
+     * Creates a migration that records its execution.
+     *
+     * @param version The version of the migration.
+     * @param action  An additional action to run when the migration is executed. {@code null} for none.
+     * @return The resolved migration.
+     */
+    private ResolvedMigration createResolvedMigration(final String version, final Runnable action) {
+        ResolvedMigrationImpl resolvedMigration = new ResolvedMigrationImpl();
+        resolvedMigration.setVersion(MigrationVersion.fromVersion(version));
+        resolvedMigration.setDescription("Migration " + version);
+        resolvedMigration.setScript("V" + version);
+        resolvedMigration.setType(MigrationType.JDBC);
+        resolvedMigration.setExecutor(new MigrationExecutor() {
+            @Override
+            public void execute(Connection connection) {
+                executed.add(version);
+                if (action != null) {
+                    action.run();
+                }
+            }
+
+            @Override
+            public boolean executeInTransaction() {
+                return true;
+            }
+        });
+        return resolvedMigration;
+    }
+
+    /**
+     * Metadata table that counts how often it is locked.
+     */
+    private static class CountingMetaDataTable extends MetaDataTableImpl {
+        private int locks;
+
+        CountingMetaDataTable(DbSupport dbSupport) {
+            super(dbSupport, dbSupport.getOriginalSchema().getTable("schema_version"), null, 0);
+        }
+
+        @Override
+        public <T> T lock(Callable<T> callable) {
+            locks++;
+            return super.lock(callable);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.callback.SqlScriptFlywayCallback;
+import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.util.Locations;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for DbSnapshot.
+ */
+public class DbSnapshotSmallTest {
+    private static final FlywayCallback[] NO_CALLBACKS = new FlywayCallback[0];
+
+    @Test
+    public void fingerprint() {
+        Flyway flyway = new Flyway();
+        String fingerprint = DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway);
+
+        assertEquals(fingerprint, DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway));
+        assertFalse(fingerprint.equals(DbSnapshot.calculateFingerprint(createMigrations(456), NO_CALLBACKS, flyway)));
+
+        flyway.setPlaceholders(Collections.singletonMap("name", "value"));
+        assertFalse(fingerprint.equals(DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway)));
+    }
+
+    @Test
+    public void fingerprintConfiguration() {
+        Flyway flyway = new Flyway();
+        String fingerprint = DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway);
+
+        flyway.setOutOfOrder(true);
+        String outOfOrder = DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway);
+        assertFalse(fingerprint.equals(outOfOrder));
+
+        flyway.setBaselineOnMigrate(true);
+        String baselineOnMigrate = DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway);
+        assertFalse(outOfOrder.equals(baselineOnMigrate));
+
+        flyway.setBaselineVersionAsString("2");
+        assertFalse(baselineOnMigrate.equals(DbSnapshot.calculateFingerprint(createMigrations(123), NO_CALLBACKS, flyway)));
+    }
+
+    @Test
+    public void fingerprintCallbacks() throws IOException {
+        File dir = File.createTempFile("flyway-snapshot-test", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+        File afterMigrate = new File(dir, "afterMigrate.sql");
+        try {
+            Flyway flyway = new Flyway();
+            String fingerprint = DbSnapshot.calculateFingerprint(createMigrations(123), createCallbacks(dir, flyway), flyway);
+
+            write(afterMigrate, "INSERT INTO test VALUES (1);");
+            String withScript = DbSnapshot.calculateFingerprint(createMigrations(123), createCallbacks(dir, flyway), flyway);
+            assertFalse(fingerprint.equals(withScript));
+            assertEquals(withScript, DbSnapshot.calculateFingerprint(createMigrations(123), createCallbacks(dir, flyway), flyway));
+
+            write(afterMigrate, "INSERT INTO test VALUES (2);");
+            assertFalse(withScript.equals(DbSnapshot.calculateFingerprint(createMigrations(123), createCallbacks(dir, flyway), flyway)));
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            afterMigrate.delete();
+            //noinspection ResultOfMethodCallIgnored
+            dir.delete();
+        }
+    }
+
+    private FlywayCallback[] createCallbacks(File dir, Flyway flyway) {
+        return new FlywayCallback[]{new SqlScriptFlywayCallback(DbSupportFactory.createDialect("h2"),
+                new Scanner(Thread.currentThread().getContextClassLoader()),
+                new Locations("filesystem:" + dir.getAbsolutePath()), PlaceholderReplacer.NO_PLACEHOLDERS, flyway)};
+    }
+
+    private void write(File file, String contents) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(contents);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private List<ResolvedMigration> createMigrations(int checksum) {
+        ResolvedMigrationImpl first = new ResolvedMigrationImpl();
+        first.setVersion(MigrationVersion.fromVersion("1"));
+        first.setDescription("First");
+        first.setScript("V1__First.sql");
+        first.setChecksum(checksum);
+        first.setType(MigrationType.SQL);
+
+        ResolvedMigrationImpl second = new ResolvedMigrationImpl();
+        second.setVersion(MigrationVersion.fromVersion("2"));
+        second.setDescription("Second");
+        second.setScript("V2__Second.sql");
+        second.setChecksum(42);
+        second.setType(MigrationType.SQL);
+
+        return Arrays.<ResolvedMigration>asList(first, second);
+    }
+}
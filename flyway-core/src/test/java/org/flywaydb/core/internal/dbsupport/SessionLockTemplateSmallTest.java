@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test for SessionLockTemplate.
+ */
+public class SessionLockTemplateSmallTest {
+    @Test
+    public void calculateLockKey() {
+        DbSupport dbSupport = new H2DbSupport(null);
+        long key = SessionLockTemplate.calculateLockKey(dbSupport.getSchema("flyway_1").getTable("schema_version"));
+
+        assertEquals(key, SessionLockTemplate.calculateLockKey(dbSupport.getSchema("flyway_1").getTable("schema_version")));
+        assertTrue(key != SessionLockTemplate.calculateLockKey(dbSupport.getSchema("flyway_2").getTable("schema_version")));
+        assertTrue(key != SessionLockTemplate.calculateLockKey(dbSupport.getSchema("flyway_1").getTable("schema_version2")));
+    }
+
+    @Test
+    public void acquiredAfterPolling() {
+        CountingLockTemplate lockTemplate = new CountingLockTemplate(3, 0);
+        assertEquals("done", lockTemplate.execute(new Callable<String>() {
+            @Override
+            public String call() {
+                return "done";
+            }
+        }));
+        assertEquals(3, lockTemplate.attempts);
+        assertEquals(1, lockTemplate.unlocks);
+    }
+
+    @Test
+    public void timeout() {
+        CountingLockTemplate lockTemplate = new CountingLockTemplate(Integer.MAX_VALUE, 1);
+        final boolean[] called = {false};
+        try {
+            lockTemplate.execute(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    called[0] = true;
+                    return null;
+                }
+            });
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage().contains("within 1 seconds"));
+        }
+        assertFalse(called[0]);
+        assertTrue(lockTemplate.attempts > 1);
+        assertEquals(0, lockTemplate.unlocks);
+    }
+
+    @Test
+    public void locksAcquiredInOrderAndReleasedInReverse() {
+        CountingLockTemplate lockTemplate = new CountingLockTemplate(new int[]{2, 3}, 0);
+        lockTemplate.execute(new Callable<Object>() {
+            @Override
+            public Object call() {
+                return null;
+            }
+        });
+        assertEquals("[lock0, lock0, lock1, lock1, lock1, unlock1, unlock0]", lockTemplate.events.toString());
+    }
+
+    @Test
+    public void acquiredLocksReleasedOnTimeout() {
+        CountingLockTemplate lockTemplate = new CountingLockTemplate(new int[]{1, Integer.MAX_VALUE}, 1);
+        try {
+            lockTemplate.execute(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return null;
+                }
+            });
+            fail();
+        } catch (FlywayException e) {
+            assertTrue(e.getMessage().contains("test lock 1"));
+        }
+        assertEquals("unlock0", lockTemplate.events.get(lockTemplate.events.size() - 1));
+        assertEquals(1, lockTemplate.unlocks);
+    }
+
+    /**
+     * Lock template whose locks are each only granted on a given attempt.
+     */
+    private static class CountingLockTemplate extends SessionLockTemplate {
+        private final int[] grantedAttempts;
+        private final List<String> events = new ArrayList<String>();
+        private int attempts;
+        private int unlocks;
+
+        CountingLockTemplate(int grantedAttempt, int timeout) {
+            this(new int[]{grantedAttempt}, timeout);
+        }
+
+        CountingLockTemplate(int[] grantedAttempts, int timeout) {
+            super(null, grantedAttempts.length, timeout);
+            this.grantedAttempts = grantedAttempts;
+        }
+
+        @Override
+        protected boolean tryLock(int lock) throws SQLException {
+            events.add("lock" + lock);
+            attempts++;
+            return --grantedAttempts[lock] <= 0;
+        }
+
+        @Override
+        protected void unlock(int lock) throws SQLException {
+            events.add("unlock" + lock);
+            unlocks++;
+        }
+
+        @Override
+        protected String getLockDescription(int lock) {
+            return "test lock " + lock;
+        }
+    }
+}
@@ -15,18 +15,27 @@
  */
 package org.flywaydb.core.internal.dbsupport;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.dbsupport.mysql.MySQLDbSupport;
+import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLDbSupport;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.flywaydb.core.internal.util.scanner.Resource;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test for SqlScript.
@@ -259,6 +268,26 @@ public class SqlScriptSmallTest {
         assertEquals("CREATE OR REPLACE VIEW \"SOME_VIEW\"", sqlStatement.getSql());
     }
 
+    @Test
+    public void multiLinePlaceholderValue() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("v", "'a');\nINSERT INTO t VALUES ('b'");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        SqlScript resourceScript = new SqlScript(new MySQLDbSupport(null),
+                new StringResource("INSERT INTO t VALUES (${v});\nINSERT INTO t VALUES ('c');"),
+                placeholderReplacer, "UTF-8", false);
+
+        List<SqlStatement> sqlStatements = resourceScript.getSqlStatements();
+        assertEquals(3, sqlStatements.size());
+        assertEquals("INSERT INTO t VALUES ('a')", sqlStatements.get(0).getSql());
+        assertEquals(1, sqlStatements.get(0).getLineNumber());
+        assertEquals("INSERT INTO t VALUES ('b')", sqlStatements.get(1).getSql());
+        assertEquals(2, sqlStatements.get(1).getLineNumber());
+        assertEquals("INSERT INTO t VALUES ('c')", sqlStatements.get(2).getSql());
+        assertEquals(3, sqlStatements.get(2).getLineNumber());
+    }
+
     @Test
     public void parseNoTrim() {
         String source = "update emailtemplate set body = 'Hi $order.billingContactDisplayName,\n" +
@@ -304,6 +333,114 @@ public class SqlScriptSmallTest {
         assertEquals(2, sqlStatements.size());
     }
 
+    @Test
+    public void batchable() {
+        assertTrue(new SqlStatement(1, "INSERT INTO t VALUES (1)", false).isBatchable());
+        assertTrue(new SqlStatement(1, "update t set a = 1", false).isBatchable());
+        assertTrue(new SqlStatement(1, "-- comment\n/* more */ DELETE FROM t", false).isBatchable());
+        assertFalse(new SqlStatement(1, "CREATE TABLE t (a INT)", false).isBatchable());
+        assertFalse(new SqlStatement(1, "INSERTED", false).isBatchable());
+        assertFalse(new SqlStatement(1, "/*!40101 SET NAMES utf8 */", false).isBatchable());
+        assertFalse(new SqlStatement(1, "COPY t FROM STDIN", true).isBatchable());
+        assertFalse(new SqlStatement(1, "INSERT INTO t VALUES (1)", false, false).isBatchable());
+        assertFalse(new SqlStatement(1, "INSERT INTO t (a) VALUES (1) RETURNING id", false).isBatchable());
+        assertFalse(new SqlStatement(1, "delete from t where a = 1\nreturning *", false).isBatchable());
+        assertFalse(new SqlStatement(1, "UPDATE t SET a = 1 OUTPUT inserted.id WHERE b = 2", false).isBatchable());
+        assertTrue(new SqlStatement(1, "INSERT INTO outputs (returning_id) VALUES (1)", false).isBatchable());
+    }
+
+    @Test
+    public void failedStatementIndex() {
+        assertEquals(2, SqlScript.getFailedStatementIndex(new BatchUpdateException(new int[]{1, 1}), 5));
+        assertEquals(1, SqlScript.getFailedStatementIndex(new BatchUpdateException(new int[]{1, Statement.EXECUTE_FAILED, 1}), 3));
+        assertEquals(0, SqlScript.getFailedStatementIndex(new BatchUpdateException(new int[]{1, 1, 1}), 3));
+        assertEquals(0, SqlScript.getFailedStatementIndex(new BatchUpdateException(), 3));
+    }
+
+    @Test
+    public void largeResourceMixedMigrationAllowed() {
+        SqlScript largeScript = new SqlScript(new PostgreSQLDbSupport(null), new StringResource(largeSource()),
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", true);
+
+        assertFalse(largeScript.executeInTransaction());
+        List<SqlStatement> sqlStatements = largeScript.getSqlStatements();
+        assertEquals(50001, sqlStatements.size());
+        assertEquals("VACUUM test_data", sqlStatements.get(50000).getSql());
+        assertEquals(50001, sqlStatements.get(50000).getLineNumber());
+    }
+
+    @Test(expected = FlywayException.class)
+    public void largeResourceMixedMigrationNotAllowed() {
+        new SqlScript(new PostgreSQLDbSupport(null), new StringResource(largeSource()),
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false).executeInTransaction();
+    }
+
+    @Test
+    public void transactionModeWithoutReadingResource() {
+        StringResource resource = new StringResource("CREATE TABLE t (a INT);\nINSERT INTO t VALUES (1);");
+        SqlScript resourceScript = new SqlScript(new MySQLDbSupport(null), resource,
+                PlaceholderReplacer.NO_PLACEHOLDERS, "UTF-8", false);
+
+        assertTrue(resourceScript.executeInTransaction());
+        assertEquals(0, resource.loadCount);
+
+        assertEquals(2, resourceScript.getSqlStatements().size());
+        assertEquals(1, resource.loadCount);
+    }
+
+    /**
+     * @return A script too large to be kept in memory, ending with a non-transactional statement.
+     */
+    private static String largeSource() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            source.append("INSERT INTO test_data (id, name) VALUES (").append(i).append(", 'Name number ").append(i).append("');\n");
+        }
+        source.append("VACUUM test_data;\n");
+        return source.toString();
+    }
+
+    /**
+     * Resource backed by a string.
+     */
+    private static class StringResource implements Resource {
+        private final String source;
+        private int loadCount;
+
+        StringResource(String source) {
+            this.source = source;
+        }
+
+        public String getLocation() {
+            return "large.sql";
+        }
+
+        public String getLocationOnDisk() {
+            return null;
+        }
+
+        public String getFingerprint() {
+            return null;
+        }
+
+        public String loadAsString(String encoding) {
+            return source;
+        }
+
+        public Reader loadAsReader(String encoding) {
+            loadCount++;
+            return new StringReader(source);
+        }
+
+        public byte[] loadAsBytes() {
+            throw new UnsupportedOperationException();
+        }
+
+        public String getFilename() {
+            return getLocation();
+        }
+    }
+
     @Ignore("Currently broken")
     @Test
     public void parseWithTrailingComment() {
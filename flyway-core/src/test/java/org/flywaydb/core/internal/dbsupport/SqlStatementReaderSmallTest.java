@@ -0,0 +1,164 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport;
+
+import org.flywaydb.core.internal.dbsupport.mysql.MySQLDbSupport;
+import org.flywaydb.core.internal.dbsupport.postgresql.PostgreSQLDbSupport;
+import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for SqlStatementReader.
+ */
+public class SqlStatementReaderSmallTest {
+    @Test
+    public void nextStatement() throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(new MySQLDbSupport(null), new StringReader(
+                "-- comment\r\nselect 1;\r\n\r\nselect 'a;\r\nb'\r\nfrom dual;\nselect 3"));
+
+        SqlStatement first = reader.nextStatement();
+        assertEquals(2, first.getLineNumber());
+        assertEquals("select 1", first.getSql());
+
+        SqlStatement second = reader.nextStatement();
+        assertEquals(4, second.getLineNumber());
+        assertEquals("select 'a;\nb'\nfrom dual", second.getSql());
+
+        SqlStatement third = reader.nextStatement();
+        assertEquals(7, third.getLineNumber());
+        assertEquals("select 3", third.getSql());
+
+        assertNull(reader.nextStatement());
+        assertNull(reader.nextStatement());
+    }
+
+    @Test
+    public void nextStatementReadsLazily() throws IOException {
+        TrickleReader source = new TrickleReader("select 1;\nselect 2;\nselect 3;\n");
+        SqlStatementReader reader = new SqlStatementReader(new MySQLDbSupport(null), source);
+
+        assertEquals("select 1", reader.nextStatement().getSql());
+        assertFalse(source.exhausted);
+    }
+
+    @Test
+    public void delimiterChange() throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(new MySQLDbSupport(null), new StringReader(
+                "DELIMITER $$\nCREATE PROCEDURE p() BEGIN SELECT 1; END$$\nDELIMITER ;\nSELECT 2;"));
+
+        assertEquals("CREATE PROCEDURE p() BEGIN SELECT 1; END", reader.nextStatement().getSql());
+        assertEquals("SELECT 2", reader.nextStatement().getSql());
+        assertNull(reader.nextStatement());
+    }
+
+    @Test
+    public void executeInTransaction() throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(new PostgreSQLDbSupport(null), new StringReader(
+                "CREATE TABLE t (id INT);\nCREATE INDEX CONCURRENTLY i ON t (id);"));
+
+        assertTrue(reader.nextStatement().executeInTransaction());
+        assertFalse(reader.nextStatement().executeInTransaction());
+    }
+
+    @Test
+    public void pgCopyDataStreamed() throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(new PostgreSQLDbSupport(null), new StringReader(
+                "CREATE TABLE t (id INT, name TEXT);\nCOPY t (id, name)\nFROM STDIN;\n1\ta;b\n2\t\u00e9\n\\.\nSELECT 1;"),
+                PlaceholderReplacer.NO_PLACEHOLDERS, true);
+
+        assertEquals("CREATE TABLE t (id INT, name TEXT)", reader.nextStatement().getSql());
+
+        SqlStatement copy = reader.nextStatement();
+        assertEquals(2, copy.getLineNumber());
+        assertTrue(copy.isPgCopy());
+        assertEquals("COPY t (id, name)\nFROM STDIN", copy.getSql());
+
+        PgCopyDataReader data = copy.getPgCopyData();
+        char[] buffer = new char[3];
+        StringBuilder copied = new StringBuilder();
+        int count;
+        while ((count = data.read(buffer, 0, buffer.length)) != -1) {
+            copied.append(buffer, 0, count);
+        }
+        assertEquals("1\ta;b\n2\t\u00e9\n", copied.toString());
+        assertEquals(11, data.getBytesRead());
+
+        SqlStatement select = reader.nextStatement();
+        assertEquals(7, select.getLineNumber());
+        assertEquals("SELECT 1", select.getSql());
+        assertNull(reader.nextStatement());
+    }
+
+    @Test
+    public void pgCopyDataSkipped() throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(new PostgreSQLDbSupport(null), new StringReader(
+                "COPY t FROM STDIN;\n1\n2\n\\.\nSELECT 1;"), PlaceholderReplacer.NO_PLACEHOLDERS, true);
+
+        assertEquals("COPY t FROM STDIN", reader.nextStatement().getSql());
+
+        SqlStatement select = reader.nextStatement();
+        assertEquals(5, select.getLineNumber());
+        assertEquals("SELECT 1", select.getSql());
+    }
+
+    @Test
+    public void pgCopyDataInline() throws IOException {
+        SqlStatementReader reader = new SqlStatementReader(new PostgreSQLDbSupport(null), new StringReader(
+                "COPY t FROM STDIN;\n1\n2\n\\.\nSELECT 1;"));
+
+        SqlStatement copy = reader.nextStatement();
+        assertTrue(copy.isPgCopy());
+        assertNull(copy.getPgCopyData());
+        assertEquals("COPY t FROM STDIN;\n1\n2\n", copy.getSql());
+        assertEquals("SELECT 1", reader.nextStatement().getSql());
+    }
+
+    /**
+     * Reader that hands out at most one character at a time and records whether it was read to the end.
+     */
+    private static class TrickleReader extends Reader {
+        private final String source;
+        private int position;
+        private boolean exhausted;
+
+        TrickleReader(String source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= source.length()) {
+                exhausted = true;
+                return -1;
+            }
+            cbuf[off] = source.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.flywaydb.core.internal.dbsupport.h2;
 import org.flywaydb.core.DbCategory;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.TenantMigrationSummary;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.migration.MigrationTestCase;
 import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
@@ -25,6 +26,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -62,6 +64,94 @@ public class H2MigrationMediumTest extends MigrationTestCase {
         flyway.baseline();
     }
 
+    @Test
+    public void resetFromSnapshot() throws Exception {
+        DataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:reset_db;DB_CLOSE_DELAY=-1", "sa", "", null);
+        Connection connection = dataSource.getConnection();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, 0);
+
+            Flyway flyway = new Flyway();
+            flyway.setDataSource(dataSource);
+            flyway.setLocations(getBasedir());
+            assertEquals(4, flyway.reset());
+
+            jdbcTemplate.execute("DELETE FROM couple");
+            jdbcTemplate.execute("CREATE TABLE leftover (id INT)");
+            assertEquals(0, flyway.reset());
+            assertEquals("2.0", flyway.info().current().getVersion().toString());
+            assertEquals(1, jdbcTemplate.queryForInt("SELECT COUNT(*) FROM couple"));
+            assertEquals(0, jdbcTemplate.queryForInt(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME='LEFTOVER'"));
+
+            flyway.setTarget(MigrationVersion.fromVersion("1.1"));
+            assertEquals(2, flyway.reset());
+            assertEquals("1.1", flyway.info().current().getVersion().toString());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void migrateTenantSchemas() throws Exception {
+        DataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:tenants_db;DB_CLOSE_DELAY=-1", "sa", "", null);
+        Connection connection = dataSource.getConnection();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, 0);
+            jdbcTemplate.execute("CREATE SCHEMA tenant_3");
+            jdbcTemplate.execute("CREATE TABLE tenant_3.unmanaged (id INT)");
+
+            Flyway flyway = new Flyway();
+            flyway.setDataSource(dataSource);
+            flyway.setLocations(getBasedir());
+            TenantMigrationSummary summary = flyway.migrateTenantSchemas(2, "TENANT_1", "TENANT_2", "TENANT_3", "TENANT_4");
+
+            assertEquals(3, summary.getSuccessCount());
+            assertEquals(1, summary.getFailureCount());
+            assertEquals("TENANT_3", summary.getFailures().get(0).getTenant());
+            assertEquals(12, summary.getMigrationsApplied());
+            assertEquals("TENANT_2", summary.getResults().get(1).getTenant());
+            assertEquals(4, summary.getResults().get(1).getMigrationsApplied());
+            assertEquals(2, jdbcTemplate.queryForInt("SELECT COUNT(*) FROM tenant_4.all_misters"));
+
+            assertEquals(0, flyway.migrateTenantSchemas(2, "TENANT_1", "TENANT_2").getMigrationsApplied());
+
+            // The default callbacks are only added for the duration of the migration
+            assertEquals(0, flyway.getCallbacks().length);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void cleanThreads() throws Exception {
+        DataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:clean_threads_db;DB_CLOSE_DELAY=-1", "sa", "", null);
+        Connection connection = dataSource.getConnection();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(connection, 0);
+            for (int i = 1; i <= 4; i++) {
+                jdbcTemplate.execute("CREATE SCHEMA schema_" + i);
+                jdbcTemplate.execute("CREATE TABLE schema_" + i + ".test_" + i + " (id INT)");
+            }
+
+            Flyway flyway = new Flyway();
+            flyway.setDataSource(dataSource);
+            flyway.setSchemas("SCHEMA_1", "SCHEMA_2", "SCHEMA_3", "SCHEMA_4");
+            flyway.setCleanThreads(3);
+            flyway.clean();
+
+            assertEquals(0, jdbcTemplate.queryForInt(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA LIKE 'SCHEMA_%'"));
+            assertEquals(4, jdbcTemplate.queryForInt(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SCHEMATA WHERE SCHEMA_NAME LIKE 'SCHEMA_%'"));
+        } finally {
+            connection.close();
+        }
+    }
+
     @Test
     public void dollarQuotedString() throws Exception {
         flyway.setLocations("migration/dbsupport/h2/sql/dollar_quoted_string");
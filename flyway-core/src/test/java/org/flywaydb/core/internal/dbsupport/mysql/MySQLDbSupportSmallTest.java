@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.dbsupport.mysql;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for MySQLDbSupport.
+ */
+public class MySQLDbSupportSmallTest {
+    @Test
+    public void supportsMultipleNamedLocksMySQL() {
+        assertFalse(MySQLDbSupport.supportsMultipleNamedLocks("5.1.73"));
+        assertFalse(MySQLDbSupport.supportsMultipleNamedLocks("5.6.35-log"));
+        assertFalse(MySQLDbSupport.supportsMultipleNamedLocks("5.7.4-m14"));
+        assertTrue(MySQLDbSupport.supportsMultipleNamedLocks("5.7.5-m15"));
+        assertTrue(MySQLDbSupport.supportsMultipleNamedLocks("5.7.18-log"));
+        assertTrue(MySQLDbSupport.supportsMultipleNamedLocks("8.0.1-dmr"));
+    }
+
+    @Test
+    public void supportsMultipleNamedLocksMariaDB() {
+        assertFalse(MySQLDbSupport.supportsMultipleNamedLocks("5.5.54-MariaDB"));
+        assertFalse(MySQLDbSupport.supportsMultipleNamedLocks("10.0.1-MariaDB"));
+        assertTrue(MySQLDbSupport.supportsMultipleNamedLocks("10.0.2-MariaDB"));
+        assertTrue(MySQLDbSupport.supportsMultipleNamedLocks("10.1.21-MariaDB-1~jessie"));
+    }
+
+    @Test
+    public void supportsMultipleNamedLocksUnknown() {
+        assertFalse(MySQLDbSupport.supportsMultipleNamedLocks("unknown"));
+    }
+}
@@ -128,6 +128,25 @@ public abstract class MySQLMigrationTestCase extends MigrationTestCase {
         flyway.migrate();
     }
 
+    /**
+     * Tests that clean drops tables referencing each other and restores the foreign key checks of the session.
+     */
+    @Test
+    public void cleanRestoresForeignKeyChecks() throws Exception {
+        Connection connection = flyway.getDataSource().getConnection();
+        flyway.setDataSource(new SingleConnectionDataSource(connection, true));
+        flyway.setLocations("migration/dbsupport/mysql/sql/dump");
+        flyway.migrate();
+
+        flyway.clean();
+
+        JdbcTemplate sessionJdbcTemplate = new JdbcTemplate(connection, 0);
+        assertEquals(1, sessionJdbcTemplate.queryForInt("SELECT @@foreign_key_checks"));
+        assertEquals(0, sessionJdbcTemplate.queryForInt(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema=DATABASE()"));
+        connection.close();
+    }
+
     /**
      * Tests clean and migrate for MySQL InnoDb tables with upper case names.
      * <p/>
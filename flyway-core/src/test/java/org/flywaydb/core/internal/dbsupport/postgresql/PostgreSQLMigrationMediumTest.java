@@ -171,6 +171,10 @@ public class PostgreSQLMigrationMediumTest extends MigrationTestCase {
 
         flyway.clean();
 
+        assertEquals(0, jdbcTemplate.queryForInt("SELECT COUNT(*) FROM pg_class c"
+                + " JOIN pg_namespace n ON n.oid = c.relnamespace"
+                + " WHERE c.relkind = 'm' AND n.nspname = ?", dbSupport.getCurrentSchemaName()));
+
         // Running migrate again on an unclean database, triggers duplicate object exceptions.
         flyway.migrate();
     }
@@ -201,6 +205,8 @@ public class PostgreSQLMigrationMediumTest extends MigrationTestCase {
 
         flyway.clean();
 
+        assertEquals(0, countTypes('d'));
+
         // Running migrate again on an unclean database, triggers duplicate object exceptions.
         flyway.migrate();
     }
@@ -217,6 +223,8 @@ public class PostgreSQLMigrationMediumTest extends MigrationTestCase {
 
         flyway.clean();
 
+        assertEquals(0, countTypes('e'));
+
         // Running migrate again on an unclean database, triggers duplicate object exceptions.
         flyway.migrate();
     }
@@ -306,6 +314,18 @@ public class PostgreSQLMigrationMediumTest extends MigrationTestCase {
         // Log should contain "This is a warning"
     }
 
+    /**
+     * Counts the user-defined types of this kind that are left in the current schema.
+     *
+     * @param typtype The pg_type.typtype of the types to count ('d' for domains, 'e' for enums).
+     * @return The number of matching types.
+     */
+    private int countTypes(char typtype) throws SQLException {
+        return jdbcTemplate.queryForInt("SELECT COUNT(*) FROM pg_type t"
+                + " JOIN pg_namespace n ON n.oid = t.typnamespace"
+                + " WHERE t.typtype = '" + typtype + "' AND n.nspname = ?", dbSupport.getCurrentSchemaName());
+    }
+
     @Override
     protected void createFlyway3MetadataTable() throws Exception {
         jdbcTemplate.execute("CREATE TABLE \"schema_version\" (\n" +
@@ -210,6 +210,49 @@ public class MigrationInfoServiceImplSmallTest {
         assertEquals(0, migrationInfoService.pending().length);
     }
 
+    @Test
+    public void versionRange() {
+        MigrationInfoServiceImpl migrationInfoService =
+                new MigrationInfoServiceImpl(
+                        createMigrationResolver(createResolvedMigration(1), createResolvedMigration(2),
+                                createResolvedMigration(3), createResolvedMigration(4), createResolvedMigration(5)),
+                        createMetaDataTable(createAppliedMigration(1), createAppliedMigration(2)),
+                        MigrationVersion.LATEST, false, true, true, true);
+        migrationInfoService.refresh();
+
+        MigrationInfoImpl[] pending = migrationInfoService.pending(MigrationVersion.fromVersion("2"), MigrationVersion.fromVersion("4"));
+        assertEquals(2, pending.length);
+        assertEquals("3", pending[0].getVersion().toString());
+        assertEquals("4", pending[1].getVersion().toString());
+        assertEquals(3, migrationInfoService.pending(MigrationVersion.EMPTY, MigrationVersion.LATEST).length);
+        assertEquals(0, migrationInfoService.pending(MigrationVersion.fromVersion("4"), MigrationVersion.fromVersion("3")).length);
+        assertEquals(4, migrationInfoService.versioned(MigrationVersion.fromVersion("2"), MigrationVersion.fromVersion("5")).length);
+
+        assertEquals(MigrationState.SUCCESS, migrationInfoService.getMigrationInfo(MigrationVersion.fromVersion("2.0")).getState());
+        assertEquals(MigrationState.PENDING, migrationInfoService.getMigrationInfo(MigrationVersion.fromVersion("5")).getState());
+        assertNull(migrationInfoService.getMigrationInfo(MigrationVersion.fromVersion("6")));
+    }
+
+    @Test
+    public void failedAndFuture() {
+        MigrationInfoServiceImpl migrationInfoService =
+                new MigrationInfoServiceImpl(
+                        createMigrationResolver(createResolvedMigration(1), createResolvedMigration(2)),
+                        createMetaDataTable(createAppliedMigration(1), createAppliedMigration(2, "abc", false),
+                                createAppliedMigration(3)),
+                        MigrationVersion.LATEST, false, true, true, true);
+        migrationInfoService.refresh();
+
+        assertEquals("3", migrationInfoService.current().getVersion().toString());
+        assertEquals(3, migrationInfoService.applied().length);
+        assertEquals(2, migrationInfoService.resolved().length);
+        assertEquals(1, migrationInfoService.failed().length);
+        assertEquals("2", migrationInfoService.failed()[0].getVersion().toString());
+        assertEquals(1, migrationInfoService.future().length);
+        assertEquals(MigrationState.FUTURE_SUCCESS, migrationInfoService.future()[0].getState());
+        assertEquals(0, migrationInfoService.outOfOrder().length);
+    }
+
     /**
      * Creates a new resolved migration with this version.
      *
@@ -243,8 +286,20 @@ public class MigrationInfoServiceImplSmallTest {
      * @return The applied migration.
      */
     private AppliedMigration createAppliedMigration(int version, String description) {
+        return createAppliedMigration(version, description, true);
+    }
+
+    /**
+     * Creates a new applied migration with this version.
+     *
+     * @param version     The version of the migration.
+     * @param description The description of the migration.
+     * @param success     Whether the migration succeeded.
+     * @return The applied migration.
+     */
+    private AppliedMigration createAppliedMigration(int version, String description, boolean success) {
         return new AppliedMigration(version, MigrationVersion.fromVersion(Integer.toString(version)), description,
-                MigrationType.SQL, "x", null, new Date(), "sa", 123, true);
+                MigrationType.SQL, "x", null, new Date(), "sa", 123, success);
     }
 
     /**
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.metadatatable;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
+import org.flywaydb.core.internal.util.jdbc.DriverDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for MetaDataTableImpl.
+ */
+public class MetaDataTableImplSmallTest {
+    private Connection connection;
+    private MetaDataTableImpl metaDataTable;
+
+    @Before
+    public void setUp() throws SQLException {
+        DataSource dataSource = new DriverDataSource(Thread.currentThread().getContextClassLoader(), null,
+                "jdbc:h2:mem:flyway_metadatatable_test;DB_CLOSE_DELAY=-1", "sa", "", null);
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setLocations("migration/sql");
+        flyway.clean();
+        flyway.migrate();
+
+        connection = dataSource.getConnection();
+        DbSupport dbSupport = DbSupportFactory.createDbSupport(connection, false);
+        metaDataTable = new MetaDataTableImpl(dbSupport,
+                dbSupport.getOriginalSchema().getTable(flyway.getTable()), null, 0);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void updateKeepsInstalledRankOrder() {
+        assertEquals(MigrationVersion.fromVersion("1"), metaDataTable.allAppliedMigrations().get(0).getVersion());
+
+        metaDataTable.update(MigrationVersion.fromVersion("1"), "Updated", 42);
+
+        List<AppliedMigration> sqlMigrations = metaDataTable.findAppliedMigrations(MigrationType.SQL);
+        assertEquals("Updated", sqlMigrations.get(0).getDescription());
+        assertEquals(Integer.valueOf(42), sqlMigrations.get(0).getChecksum());
+        for (int i = 1; i < sqlMigrations.size(); i++) {
+            assertTrue(sqlMigrations.get(i - 1).getInstalledRank() < sqlMigrations.get(i).getInstalledRank());
+        }
+        assertEquals("Updated", metaDataTable.allAppliedMigrations().get(0).getDescription());
+    }
+}
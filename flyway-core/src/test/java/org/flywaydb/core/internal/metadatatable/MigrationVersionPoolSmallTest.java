@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.metadatatable;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Small test for MigrationVersionPool
+ */
+public class MigrationVersionPoolSmallTest {
+    @Test
+    public void intern() {
+        MigrationVersion version = MigrationVersionPool.intern(new String("1.2.3"));
+        assertEquals(MigrationVersion.fromVersion("1.2.3"), version);
+        assertSame(version, MigrationVersionPool.intern(new String("1.2.3")));
+    }
+
+    @Test
+    public void nullVersion() {
+        assertNull(MigrationVersionPool.intern(null));
+    }
+}
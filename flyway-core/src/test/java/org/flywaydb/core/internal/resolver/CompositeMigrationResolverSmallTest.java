@@ -15,11 +15,14 @@
  */
 package org.flywaydb.core.internal.resolver;
 
+import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.dbsupport.DbSupport;
+import org.flywaydb.core.internal.dbsupport.h2.H2DbSupport;
 import org.flywaydb.core.internal.util.Locations;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
 import org.flywaydb.core.internal.util.scanner.Scanner;
@@ -28,7 +31,11 @@ import org.junit.Test;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Test for CompositeMigrationResolver.
@@ -54,6 +61,27 @@ public class CompositeMigrationResolverSmallTest {
         assertEquals("Add foreign key", migrationList.get(3).getDescription());
     }
 
+    @Test
+    public void resolveMigrationsMultipleLocationsInParallel() {
+        FlywayConfigurationForTests config = FlywayConfigurationForTests.create();
+        config.setResolverThreads(4);
+
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(new HashMap<String, String>(), "${", "}");
+        MigrationResolver migrationResolver = new CompositeMigrationResolver(null,
+                new Scanner(Thread.currentThread().getContextClassLoader()), config,
+                new Locations("migration/subdir/dir2", "migration.outoforder", "migration/subdir/dir1"),
+                placeholderReplacer, new MyCustomMigrationResolver());
+
+        List<ResolvedMigration> migrationList = new ArrayList<ResolvedMigration>(migrationResolver.resolveMigrations());
+
+        assertEquals(4, migrationList.size());
+        assertEquals("First", migrationList.get(0).getDescription());
+        assertEquals("Late arrivals", migrationList.get(1).getDescription());
+        assertEquals("Virtual Migration", migrationList.get(2).getDescription());
+        assertEquals("Add foreign key", migrationList.get(3).getDescription());
+        assertNotNull(migrationList.get(0).getChecksum());
+    }
+
     /**
      * Checks that migrations are properly collected, eliminating all exact duplicates.
      */
@@ -156,6 +184,32 @@ public class CompositeMigrationResolverSmallTest {
         assertTrue(migrations.isEmpty());
     }
 
+    @Test
+    public void resolveMigrationsSharedBetweenResolvers() {
+        Flyway configuration = new Flyway();
+        DbSupport dbSupport = new H2DbSupport(null);
+        Locations locations = new Locations("migration/subdir/dir1");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(new HashMap<String, String>(), "${", "}");
+        Scanner scanner = new Scanner(Thread.currentThread().getContextClassLoader());
+
+        List<ResolvedMigration> migrations = new CompositeMigrationResolver(dbSupport, scanner, configuration, locations,
+                placeholderReplacer).resolveMigrations();
+        assertEquals(1, migrations.size());
+        assertSame(migrations, new CompositeMigrationResolver(dbSupport, scanner, configuration, locations,
+                placeholderReplacer).resolveMigrations());
+        try {
+            migrations.clear();
+            fail("The shared migrations must not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+        assertEquals(1, migrations.size());
+
+        configuration.setEncoding("ISO-8859-1");
+        assertNotSame(migrations, new CompositeMigrationResolver(dbSupport, scanner, configuration, locations,
+                placeholderReplacer).resolveMigrations());
+    }
+
     /**
      * Creates a migration for our tests.
      *
@@ -22,6 +22,7 @@ import javax.sql.DataSource;
 import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.FlywayCallback;
+import org.flywaydb.core.api.metrics.MetricsListener;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 
 /**
@@ -39,6 +40,7 @@ public class FlywayConfigurationForTests implements FlywayConfiguration {
     private MyCustomMigrationResolver[] migrationResolvers = new MyCustomMigrationResolver[0];
     private boolean skipDefaultResolvers;
     private boolean skipDefaultCallbacks;
+    private int resolverThreads = 1;
 
     public FlywayConfigurationForTests(ClassLoader contextClassLoader, String[] locations, String encoding,
             String sqlMigrationPrefix, String repeatableSqlMigrationPrefix, String sqlMigrationSeparator, String sqlMigrationSuffix,
@@ -98,6 +100,11 @@ public class FlywayConfigurationForTests implements FlywayConfiguration {
         return null;
     }
 
+    @Override
+    public MetricsListener[] getMetricsListeners() {
+        return new MetricsListener[0];
+    }
+
     @Override
     public boolean isSkipDefaultCallbacks() {
         return skipDefaultCallbacks;
@@ -246,6 +253,40 @@ public class FlywayConfigurationForTests implements FlywayConfiguration {
         return null;
     }
 
+    @Override
+    public boolean isSingleLockMigrate() {
+        return false;
+    }
+
+    @Override
+    public int getSqlBatchSize() {
+        return 0;
+    }
+
+    @Override
+    public String getChecksumCacheDirectory() {
+        return null;
+    }
+
+    @Override
+    public int getResolverThreads() {
+        return resolverThreads;
+    }
+
+    @Override
+    public int getCleanThreads() {
+        return 1;
+    }
+
+    @Override
+    public int getLockTimeout() {
+        return 0;
+    }
+
+    public void setResolverThreads(int resolverThreads) {
+        this.resolverThreads = resolverThreads;
+    }
+
     @Override
     public String getEncoding() {
         return this.encoding;
@@ -21,8 +21,10 @@ import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.resolver.FlywayConfigurationForTests;
 import org.flywaydb.core.internal.resolver.jdbc.dummy.V2__InterfaceBasedMigration;
 import org.flywaydb.core.internal.resolver.jdbc.dummy.Version3dot5;
+import org.flywaydb.core.internal.resolver.jdbc.lazy.V1__LazyMigration;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.scanner.Scanner;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.sql.SQLException;
@@ -31,7 +33,9 @@ import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test for JdbcMigrationResolver.
@@ -40,6 +44,11 @@ public class JdbcMigrationResolverSmallTest {
     private final Scanner scanner = new Scanner(Thread.currentThread().getContextClassLoader());
     private final FlywayConfiguration config = FlywayConfigurationForTests.create();
 
+    @Before
+    public void setUp() {
+        V1__LazyMigration.instantiated = false;
+    }
+
     @Test(expected = FlywayException.class)
     public void broken() {
         new JdbcMigrationResolver(scanner, new Location("org/flywaydb/core/internal/resolver/jdbc/error"), config).resolveMigrations();
@@ -73,6 +82,21 @@ public class JdbcMigrationResolverSmallTest {
         assertEquals("4", migrationInfo2.getVersion().toString());
     }
 
+    @Test
+    public void resolveMigrationsDefersInstantiation() throws SQLException {
+        JdbcMigrationResolver jdbcMigrationResolver =
+                new JdbcMigrationResolver(scanner, new Location("org/flywaydb/core/internal/resolver/jdbc/lazy"), config);
+        List<ResolvedMigration> migrations = new ArrayList<ResolvedMigration>(jdbcMigrationResolver.resolveMigrations());
+
+        assertEquals(1, migrations.size());
+        assertEquals("1", migrations.get(0).getVersion().toString());
+        assertEquals("LazyMigration", migrations.get(0).getDescription());
+        assertFalse(V1__LazyMigration.instantiated);
+
+        migrations.get(0).getExecutor().execute(null);
+        assertTrue(V1__LazyMigration.instantiated);
+    }
+
     @Test
     public void conventionOverConfiguration() {
         JdbcMigrationResolver jdbcMigrationResolver = new JdbcMigrationResolver(scanner, null, null);
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.jdbc.lazy;
+
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+
+import java.sql.Connection;
+
+/**
+ * Test for deferred instantiation support.
+ */
+public class V1__LazyMigration implements JdbcMigration {
+    public static boolean instantiated;
+
+    public V1__LazyMigration() {
+        instantiated = true;
+    }
+
+    public final void migrate(Connection connection) throws Exception {
+        // Do nothing
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Small test for ChecksumCache.
+ */
+public class ChecksumCacheSmallTest {
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("flyway-checksum-cache", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdir());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        directory.delete();
+    }
+
+    @Test
+    public void checksum() throws IOException {
+        File migration = write("V1__First.sql", "SELECT 1;\n");
+        FileSystemResource resource = new FileSystemResource(migration.getPath());
+
+        int checksum = new ChecksumCache(directory).getChecksum(resource, "UTF-8");
+        assertEquals(SqlMigrationResolver.calculateChecksum(null, "SELECT 1;\n"), checksum);
+    }
+
+    @Test
+    public void cachedAcrossInstances() throws IOException {
+        File migration = write("V1__First.sql", "SELECT 1;\n");
+        long lastModified = migration.lastModified();
+        FileSystemResource resource = new FileSystemResource(migration.getPath());
+
+        ChecksumCache checksumCache = new ChecksumCache(directory);
+        int checksum = checksumCache.getChecksum(resource, "UTF-8");
+        checksumCache.save();
+
+        // Same size and last modification time -> the cached checksum is used without reading the file
+        write("V1__First.sql", "SELECT 2;\n");
+        assertTrue(migration.setLastModified(lastModified));
+        assertEquals(checksum, new ChecksumCache(directory).getChecksum(resource, "UTF-8"));
+
+        // Different encoding -> calculated again
+        assertEquals(SqlMigrationResolver.calculateChecksum(null, "SELECT 2;\n"),
+                new ChecksumCache(directory).getChecksum(resource, "ISO-8859-1"));
+    }
+
+    @Test
+    public void changedSize() throws IOException {
+        File migration = write("V1__First.sql", "SELECT 1;\n");
+        long lastModified = migration.lastModified();
+        FileSystemResource resource = new FileSystemResource(migration.getPath());
+
+        ChecksumCache checksumCache = new ChecksumCache(directory);
+        checksumCache.getChecksum(resource, "UTF-8");
+        checksumCache.save();
+
+        write("V1__First.sql", "SELECT 12;\n");
+        assertTrue(migration.setLastModified(lastModified));
+        assertEquals(SqlMigrationResolver.calculateChecksum(null, "SELECT 12;\n"),
+                new ChecksumCache(directory).getChecksum(resource, "UTF-8"));
+    }
+
+    @Test
+    public void corruptCache() throws IOException {
+        write("flyway-checksums.properties", "\\u00zz");
+        File migration = write("V1__First.sql", "SELECT 1;\n");
+
+        FileSystemResource resource = new FileSystemResource(migration.getPath());
+        int checksum = SqlMigrationResolver.calculateChecksum(null, "SELECT 1;\n");
+
+        ChecksumCache checksumCache = new ChecksumCache(directory);
+        assertEquals(checksum, checksumCache.getChecksum(resource, "UTF-8"));
+        checksumCache.save();
+
+        assertEquals(checksum, new ChecksumCache(directory).getChecksum(resource, "UTF-8"));
+    }
+
+    private File write(String name, String contents) throws IOException {
+        File file = new File(directory, name);
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(contents.getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+        return file;
+    }
+}
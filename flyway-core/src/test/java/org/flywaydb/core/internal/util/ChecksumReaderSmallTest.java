@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Small test for ChecksumReader
+ */
+public class ChecksumReaderSmallTest {
+    @Test
+    public void lineTerminators() throws IOException {
+        assertEquals(checksum("abc\ndef efg\nxyz"), checksum("abc\r\ndef efg\rxyz\r\n"));
+        assertEquals(expected("abc", "def efg", "xyz"), checksum("abc\r\ndef efg\nxyz\n"));
+    }
+
+    @Test
+    public void byteOrderMark() throws IOException {
+        assertEquals(checksum("select 1;"), checksum("\ufeffselect 1;"));
+        assertEquals(expected("a\ufeffb"), checksum("a\ufeffb"));
+    }
+
+    @Test
+    public void multiByteCharacters() throws IOException {
+        assertEquals(expected("caf\u00e9 \u4e2d \ud83d\ude00"), checksum("caf\u00e9 \u4e2d \ud83d\ude00"));
+        assertEquals(expected("a\ud83d", "\ude00b"), checksum("a\ud83d\n\ude00b"));
+    }
+
+    @Test
+    public void singleCharacterReads() throws IOException {
+        String text = "\ufeffline \ud83d\ude00\r\nline 2";
+        ChecksumReader reader = new ChecksumReader(new StringReader(text));
+        //noinspection StatementWithEmptyBody
+        while (reader.read() != -1) {
+        }
+        assertEquals(checksum(text), reader.getChecksum());
+    }
+
+    @Test
+    public void length() throws IOException {
+        ChecksumReader reader = new ChecksumReader(new BufferedReader(new StringReader("caf\u00e9\r\nx")));
+        char[] buffer = new char[16];
+        //noinspection StatementWithEmptyBody
+        while (reader.read(buffer) != -1) {
+        }
+        assertEquals(6, reader.getLength());
+    }
+
+    private static int checksum(String text) throws IOException {
+        ChecksumReader reader = new ChecksumReader(new StringReader(text));
+        BufferedReader bufferedReader = new BufferedReader(reader, 2);
+        //noinspection StatementWithEmptyBody
+        while (bufferedReader.readLine() != null) {
+        }
+        return reader.getChecksum();
+    }
+
+    private static int expected(String... lines) throws IOException {
+        CRC32 crc32 = new CRC32();
+        for (String line : lines) {
+            crc32.update(line.getBytes("UTF-8"));
+        }
+        return (int) crc32.getValue();
+    }
+}
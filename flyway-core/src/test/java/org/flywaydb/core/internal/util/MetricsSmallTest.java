@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.metrics.MetricsCounter;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.api.metrics.MetricsPhase;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Small test for Metrics
+ */
+public class MetricsSmallTest {
+    private final List<String> events = new ArrayList<String>();
+
+    private final MetricsListener listener = new MetricsListener() {
+        @Override
+        public void timing(MetricsPhase phase, String name, long durationNanos) {
+            events.add(phase + ":" + name);
+        }
+
+        @Override
+        public void count(MetricsCounter counter, long amount) {
+            events.add(counter + ":" + amount);
+        }
+    };
+
+    @After
+    public void tearDown() {
+        Metrics.restore(null);
+    }
+
+    @Test
+    public void noListeners() {
+        assertEquals(0, Metrics.start());
+        Metrics.timing(MetricsPhase.COMMAND, "migrate", 0);
+        Metrics.count(MetricsCounter.STATEMENTS, 1);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void report() {
+        Metrics.register(new MetricsListener[]{listener});
+        Metrics.timing(MetricsPhase.MIGRATION, "1.1", Metrics.start());
+        Metrics.count(MetricsCounter.ROWS_AFFECTED, 0);
+        Metrics.count(MetricsCounter.STATEMENTS, 3);
+        assertEquals("[MIGRATION:1.1, STATEMENTS:3]", events.toString());
+    }
+
+    @Test
+    public void restore() {
+        MetricsListener[] previous = Metrics.register(new MetricsListener[]{listener});
+        Metrics.restore(previous);
+        assertEquals(0, Metrics.start());
+    }
+
+    @Test
+    public void notInherited() throws Exception {
+        Metrics.register(new MetricsListener[]{listener});
+        final long[] start = new long[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                start[0] = Metrics.start();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(0, start[0]);
+    }
+
+    @Test
+    public void daemonThreadFactory() throws Exception {
+        Thread thread = new DaemonThreadFactory("flyway-test-", new MetricsListener[]{listener}).newThread(new Runnable() {
+            @Override
+            public void run() {
+                Metrics.count(MetricsCounter.STATEMENTS, 2);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals("[STATEMENTS:2]", events.toString());
+    }
+
+    @Test
+    public void failingListener() {
+        Metrics.register(new MetricsListener[]{new MetricsListener() {
+            @Override
+            public void timing(MetricsPhase phase, String name, long durationNanos) {
+                throw new IllegalStateException("Failed");
+            }
+
+            @Override
+            public void count(MetricsCounter counter, long amount) {
+                throw new IllegalStateException("Failed");
+            }
+        }, listener});
+        Metrics.timing(MetricsPhase.SCAN, "classpath:db/migration", Metrics.start());
+        Metrics.count(MetricsCounter.BYTES_PARSED, 42);
+        assertEquals("[SCAN:classpath:db/migration, BYTES_PARSED:42]", events.toString());
+    }
+}
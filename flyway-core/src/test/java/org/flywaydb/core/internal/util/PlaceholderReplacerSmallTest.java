@@ -88,6 +88,54 @@ public class PlaceholderReplacerSmallTest {
         placeholderReplacer.replacePlaceholders(TEST_STR + TEST_STR);
     }
 
+    @Test
+    public void adjacentAndRepeatedPlaceholders() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("a", "1");
+        placeholders.put("b", "2");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("12-1-21", placeholderReplacer.replacePlaceholders("${a}${b}-${a}-${b}${a}"));
+    }
+
+    @Test
+    public void valuesNotRescanned() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("a", "${b}");
+        placeholders.put("b", "2");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("${b} 2", placeholderReplacer.replacePlaceholders("${a} ${b}"));
+    }
+
+    @Test
+    public void nullValue() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("a", null);
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("x  y", placeholderReplacer.replacePlaceholders("x ${a} y"));
+    }
+
+    @Test
+    public void nestedPrefix() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("b", "2");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        assertEquals("${a2", placeholderReplacer.replacePlaceholders("${a${b}"));
+    }
+
+    @Test
+    public void placeholderSpanningLines() {
+        Map<String, String> placeholders = new HashMap<String, String>();
+        placeholders.put("a", "1");
+        PlaceholderReplacer placeholderReplacer = new PlaceholderReplacer(placeholders, "${", "}");
+
+        String input = "function() { return '${'; \n} ${a}";
+        assertEquals("function() { return '${'; \n} 1", placeholderReplacer.replacePlaceholders(input));
+    }
+
     @Test
     public void noPlaceholders() {
         PlaceholderReplacer placeholderReplacer = PlaceholderReplacer.NO_PLACEHOLDERS;
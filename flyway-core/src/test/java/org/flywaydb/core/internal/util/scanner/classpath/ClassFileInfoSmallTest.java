@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.api.configuration.ConfigurationAware;
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+import org.flywaydb.core.internal.resolver.jdbc.dummy.V2__InterfaceBasedMigration;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Small test for ClassFileInfo.
+ */
+public class ClassFileInfoSmallTest {
+    @Test
+    public void read() throws IOException {
+        ClassFileInfo classFileInfo = read(V2__InterfaceBasedMigration.class);
+
+        assertEquals(V2__InterfaceBasedMigration.class.getName(), classFileInfo.getClassName());
+        assertEquals(Object.class.getName(), classFileInfo.getSuperClassName());
+        assertArrayEquals(new String[]{JdbcMigration.class.getName(), ConfigurationAware.class.getName()},
+                classFileInfo.getInterfaceNames());
+        assertTrue(classFileInfo.isInstantiable());
+    }
+
+    @Test
+    public void readObject() throws IOException {
+        assertNull(read(Object.class).getSuperClassName());
+    }
+
+    @Test
+    public void readWideConstants() throws IOException {
+        // Long and double constants take up two constant pool entries
+        ClassFileInfo classFileInfo = read(WideConstants.class);
+
+        assertEquals(WideConstants.class.getName(), classFileInfo.getClassName());
+        assertEquals(Number.class.getName(), classFileInfo.getSuperClassName());
+        assertEquals("[" + Comparable.class.getName() + "]", Arrays.toString(classFileInfo.getInterfaceNames()));
+    }
+
+    @Test
+    public void instantiable() throws IOException {
+        assertTrue(read(WideConstants.class).isInstantiable());
+        assertFalse(read(JdbcMigration.class).isInstantiable());
+        assertFalse(read(Number.class).isInstantiable());
+        assertFalse(read(Kind.class).isInstantiable());
+        assertFalse(read(new Object() {}.getClass()).isInstantiable());
+    }
+
+    @Test(expected = IOException.class)
+    public void badMagicNumber() throws IOException {
+        ClassFileInfo.read(new ByteArrayInputStream(new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncated() throws IOException {
+        byte[] bytes = readBytes(V2__InterfaceBasedMigration.class);
+        ClassFileInfo.read(new ByteArrayInputStream(Arrays.copyOf(bytes, 20)));
+    }
+
+    private static ClassFileInfo read(Class<?> clazz) throws IOException {
+        return ClassFileInfo.read(new ByteArrayInputStream(readBytes(clazz)));
+    }
+
+    private static byte[] readBytes(Class<?> clazz) throws IOException {
+        return FileCopyUtils.copyToByteArray(
+                ClassLoader.getSystemResourceAsStream(clazz.getName().replace('.', '/') + ".class"));
+    }
+
+    private enum Kind {
+        A, B
+    }
+
+    @SuppressWarnings("unused")
+    private static class WideConstants extends Number implements Comparable<WideConstants> {
+        private long big = 1234567890123L;
+        private double precise = 1.23456789e300;
+
+        public int compareTo(WideConstants o) {
+            return Long.valueOf(big).compareTo(o.big);
+        }
+
+        public int intValue() {
+            return (int) big;
+        }
+
+        public long longValue() {
+            return big;
+        }
+
+        public float floatValue() {
+            return (float) precise;
+        }
+
+        public double doubleValue() {
+            return precise;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -132,6 +134,25 @@ public class ClassPathScannerSmallTest {
         assertEquals("org/junit/AfterClass.class", resources[1].getLocation());
     }
 
+    @Test
+    public void scanForResourcesJarFilesRepeatedly() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{
+                getClass().getClassLoader().getResource("no-directory-entries.jar"),
+                getClass().getClassLoader().getResource("flyway-sample.jar")}, null);
+        ClassPathScanner jarScanner = new ClassPathScanner(classLoader);
+
+        Resource[] resources = jarScanner.scanForResources(new Location("classpath:db/migration"), "V", ".sql");
+        assertEquals(4, resources.length);
+        assertEquals("db/migration/V1_11__Create_tbl_bob.sql", resources[0].getLocation());
+        assertEquals("db/migration/V1__Initial_structure.sql", resources[3].getLocation());
+
+        // Served from the index built by the first scan
+        resources = jarScanner.scanForResources(new Location("classpath:db/migration"), "V1_1", ".sql");
+        assertEquals(3, resources.length);
+        assertEquals(0, jarScanner.scanForResources(new Location("classpath:db/migration"), "R", ".sql").length);
+        assertEquals(2, jarScanner.scanForResources(new Location("classpath:org/flywaydb/sample/migration"), "V", ".class").length);
+    }
+
     @Test
     public void scanForClasses() throws Exception {
         Class<?>[] classes = classPathScanner.scanForClasses(new Location("classpath:org/flywaydb/core/internal/resolver/jdbc/dummy"), JdbcMigration.class);
@@ -143,6 +164,17 @@ public class ClassPathScannerSmallTest {
         assertEquals(V4__DummyExtendedAbstractJdbcMigration.class, classes[1]);
     }
 
+    @Test
+    public void scanForClassNames() throws Exception {
+        String[] classNames = classPathScanner.scanForClassNames(new Location("classpath:org/flywaydb/core/internal/resolver/jdbc/dummy"), JdbcMigration.class);
+
+        assertEquals(3, classNames.length);
+
+        assertEquals(V2__InterfaceBasedMigration.class.getName(), classNames[0]);
+        assertEquals(V4__DummyExtendedAbstractJdbcMigration.class.getName(), classNames[1]);
+        assertEquals(Version3dot5.class.getName(), classNames[2]);
+    }
+
     @Test
     public void scanForClassesSubPackage() throws Exception {
         Class<?>[] classes = classPathScanner.scanForClasses(new Location("classpath:org/flywaydb/core/internal/dbsupport"), MigrationTestCase.class);
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util.scanner.classpath;
+
+import org.flywaydb.core.internal.util.FileCopyUtils;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.Resource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Small test for LocationManifest.
+ */
+public class LocationManifestSmallTest {
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = File.createTempFile("flyway-manifest", "");
+        assertTrue(root.delete());
+        touch("db/migration/V1__First.sql");
+        touch("db/migration/sub/V2__Second.sql");
+        touch("db/other/V3__Third.sql");
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        assertEquals(2, LocationManifest.write(root, "db/migration", root));
+
+        Set<String> resourceNames = LocationManifest.read(
+                new File(root, "db/migration/" + LocationManifest.FILE_NAME).toURI().toURL(), "db/migration");
+        assertEquals(2, resourceNames.size());
+        assertTrue(resourceNames.contains("db/migration/V1__First.sql"));
+        assertTrue(resourceNames.contains("db/migration/sub/V2__Second.sql"));
+    }
+
+    @Test
+    public void scannerUsesManifestOfJar() throws IOException {
+        LocationManifest.write(root, "db/migration", root);
+
+        // Only listed in the manifest, not present in the jar
+        FileWriter writer = new FileWriter(new File(root, "db/migration/" + LocationManifest.FILE_NAME), true);
+        writer.write("V4__Listed.sql\n");
+        writer.close();
+
+        File jar = new File(root, "migrations.jar");
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (String path : new String[]{"db/migration/" + LocationManifest.FILE_NAME, "db/migration/V1__First.sql",
+                    "db/migration/sub/V2__Second.sql", "db/other/V3__Third.sql"}) {
+                jarOutputStream.putNextEntry(new JarEntry(path));
+                jarOutputStream.write(FileCopyUtils.copyToByteArray(new FileInputStream(new File(root, path))));
+                jarOutputStream.closeEntry();
+            }
+        } finally {
+            jarOutputStream.close();
+        }
+
+        ClassPathScanner classPathScanner = new ClassPathScanner(new URLClassLoader(new URL[]{jar.toURI().toURL()}, null));
+        Resource[] resources = classPathScanner.scanForResources(new Location("classpath:db/migration"), "V", ".sql");
+
+        assertEquals(3, resources.length);
+        assertEquals("db/migration/V1__First.sql", resources[0].getLocation());
+        assertEquals("db/migration/V4__Listed.sql", resources[1].getLocation());
+        assertEquals("db/migration/sub/V2__Second.sql", resources[2].getLocation());
+
+        // Locations without manifest are still scanned
+        assertEquals(1, classPathScanner.scanForResources(new Location("classpath:db/other"), "V", ".sql").length);
+    }
+
+    @Test
+    public void scannerIgnoresStaleManifestOfDirectory() throws IOException {
+        LocationManifest.write(root, "db/migration", root);
+
+        // Added after the manifest was generated
+        touch("db/migration/V5__Added.sql");
+        assertTrue(new File(root, "db/migration/V1__First.sql").delete());
+
+        ClassPathScanner classPathScanner = new ClassPathScanner(new URLClassLoader(new URL[]{root.toURI().toURL()}, null));
+        Resource[] resources = classPathScanner.scanForResources(new Location("classpath:db/migration"), "V", ".sql");
+
+        assertEquals(2, resources.length);
+        assertEquals("db/migration/V5__Added.sql", resources[0].getLocation());
+        assertEquals("db/migration/sub/V2__Second.sql", resources[1].getLocation());
+    }
+
+    private void touch(String path) throws IOException {
+        File file = new File(root, path);
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        new FileOutputStream(file).close();
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+}
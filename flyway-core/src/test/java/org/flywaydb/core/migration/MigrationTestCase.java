@@ -21,6 +21,9 @@ import org.flywaydb.core.api.MigrationInfo;
 import org.flywaydb.core.api.MigrationState;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.metrics.MetricsCounter;
+import org.flywaydb.core.api.metrics.MetricsListener;
+import org.flywaydb.core.api.metrics.MetricsPhase;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
@@ -28,6 +31,9 @@ import org.flywaydb.core.internal.dbsupport.FlywaySqlScriptException;
 import org.flywaydb.core.internal.dbsupport.JdbcTemplate;
 import org.flywaydb.core.internal.dbsupport.Schema;
 import org.flywaydb.core.internal.info.MigrationInfoDumper;
+import org.flywaydb.core.internal.metadatatable.AppliedMigration;
+import org.flywaydb.core.internal.metadatatable.MetaDataTable;
+import org.flywaydb.core.internal.metadatatable.MetaDataTableImpl;
 import org.flywaydb.core.internal.resolver.FlywayConfigurationForTests;
 import org.flywaydb.core.internal.resolver.sql.SqlMigrationResolver;
 import org.flywaydb.core.internal.util.Location;
@@ -47,10 +53,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 import static org.junit.Assert.*;
 
@@ -257,6 +266,67 @@ public abstract class MigrationTestCase {
         assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
     }
 
+    @Test
+    public void reset() throws Exception {
+        flyway.setLocations(getBasedir());
+        assertEquals(4, flyway.reset());
+
+        jdbcTemplate.execute("DELETE FROM couple");
+        flyway.reset();
+
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(1, jdbcTemplate.queryForInt("select count(*) from couple"));
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+    }
+
+    @Test
+    public void singleLockMigrate() throws Exception {
+        flyway.setLocations(getBasedir());
+        flyway.setSingleLockMigrate(true);
+        flyway.migrate();
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+        assertEquals(0, flyway.migrate());
+
+        for (MigrationInfo migrationInfo : flyway.info().applied()) {
+            assertChecksum(migrationInfo);
+            assertEquals(MigrationState.SUCCESS, migrationInfo.getState());
+        }
+
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+    }
+
+    @Test
+    public void sqlBatchSize() throws Exception {
+        flyway.setLocations(getBasedir());
+        flyway.setSqlBatchSize(10);
+        final List<Long> statementCounts = Collections.synchronizedList(new ArrayList<Long>());
+        flyway.setMetricsListeners(new MetricsListener() {
+            @Override
+            public void timing(MetricsPhase phase, String name, long durationNanos) {
+            }
+
+            @Override
+            public void count(MetricsCounter counter, long amount) {
+                if (counter == MetricsCounter.STATEMENTS) {
+                    statementCounts.add(amount);
+                }
+            }
+        });
+        flyway.migrate();
+        assertEquals("2.0", flyway.info().current().getVersion().toString());
+
+        for (MigrationInfo migrationInfo : flyway.info().applied()) {
+            assertEquals(MigrationState.SUCCESS, migrationInfo.getState());
+        }
+
+        assertEquals(2, jdbcTemplate.queryForInt("select count(*) from all_misters"));
+
+        if (jdbcTemplate.getMetaData().supportsBatchUpdates()) {
+            // The inserts of V1_2 are executed together as a single batch
+            assertTrue("No statements were batched: " + statementCounts, Collections.max(statementCounts) > 1);
+        }
+    }
+
     @Test
     public void target() throws Exception {
         flyway.setLocations(getBasedir());
@@ -662,6 +732,39 @@ public abstract class MigrationTestCase {
         assertEquals(org.flywaydb.core.api.MigrationState.OUT_OF_ORDER, all[all.length - 1].getState());
     }
 
+    @Test
+    public void metaDataTableModel() throws Exception {
+        flyway.setLocations(getBasedir());
+        flyway.migrate();
+        int appliedCount = flyway.info().applied().length;
+        MigrationVersion current = flyway.info().current().getVersion();
+
+        Schema schema = flyway.getSchemas().length == 0
+                ? dbSupport.getOriginalSchema() : dbSupport.getSchema(flyway.getSchemas()[0]);
+        final MetaDataTable metaDataTable = new MetaDataTableImpl(dbSupport, schema.getTable(flyway.getTable()), null, 0);
+        assertEquals(appliedCount, metaDataTable.allAppliedMigrations().size());
+        assertTrue(metaDataTable.hasAppliedMigrations());
+
+        metaDataTable.update(current, "Updated", 42);
+        AppliedMigration updated = metaDataTable.allAppliedMigrations().get(appliedCount - 1);
+        assertEquals("Updated", updated.getDescription());
+        assertEquals(Integer.valueOf(42), updated.getChecksum());
+        assertEquals("Updated", flyway.info().current().getDescription());
+
+        // Rows added by other writers are only picked up once the metadata table is locked again
+        flyway.setLocations(getBasedir(), getMigrationDir() + "/outoforder");
+        flyway.setOutOfOrder(true);
+        flyway.setValidateOnMigrate(false);
+        assertEquals(1, flyway.migrate());
+        assertEquals(appliedCount, metaDataTable.allAppliedMigrations().size());
+        assertEquals(appliedCount + 1, metaDataTable.lock(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return metaDataTable.allAppliedMigrations().size();
+            }
+        }).intValue());
+    }
+
     @Test
     public void schemaExists() throws SQLException {
         assertTrue(dbSupport.getOriginalSchema().exists());
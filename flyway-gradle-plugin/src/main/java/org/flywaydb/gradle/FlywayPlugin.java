@@ -19,6 +19,7 @@ import org.flywaydb.gradle.FlywayExtension;
 import org.flywaydb.gradle.task.FlywayBaselineTask;
 import org.flywaydb.gradle.task.FlywayCleanTask;
 import org.flywaydb.gradle.task.FlywayInfoTask;
+import org.flywaydb.gradle.task.FlywayManifestTask;
 import org.flywaydb.gradle.task.FlywayMigrateTask;
 import org.flywaydb.gradle.task.FlywayRepairTask;
 import org.flywaydb.gradle.task.FlywayValidateTask;
@@ -37,5 +38,6 @@ public class FlywayPlugin implements Plugin<Project> {
         project.getTasks().create("flywayValidate", FlywayValidateTask.class);
         project.getTasks().create("flywayInfo", FlywayInfoTask.class);
         project.getTasks().create("flywayRepair", FlywayRepairTask.class);
+        project.getTasks().create("flywayManifest", FlywayManifestTask.class);
     }
 }
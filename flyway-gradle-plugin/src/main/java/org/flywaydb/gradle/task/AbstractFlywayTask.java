@@ -267,6 +267,59 @@ abstract class AbstractFlywayTask extends DefaultTask {
      */
     public String installedBy;
 
+    /**
+     * Whether migrate should compute the pending migrations only once and then apply all of them based on this plan,
+     * instead of reacquiring the lock on the metadata table and recomputing the pending migrations after every
+     * single migration. On databases where the Flyway lock is held by the session (PostgreSQL, MySQL) the lock is
+     * then only acquired once for the whole run.
+     * <p>
+     * {@code true} if all pending migrations should be applied based on a single plan. {@code false} if not. (default: {@code false})
+     */
+    public Boolean singleLockMigrate;
+
+    /**
+     * The maximum number of consecutive DML statements (INSERT, UPDATE, DELETE) of a sql migration to send to the
+     * database together as a single JDBC batch. DDL, non-transactional statements and PostgreSQL COPY blocks are
+     * always executed on their own. Batching is only used when it is supported by the JDBC driver.
+     * <p>
+     * The maximum number of statements per batch. {@code 0} or {@code 1} to disable batching. (default: {@code 0})
+     */
+    public Integer sqlBatchSize;
+
+    /**
+     * The directory in which to keep a cache of the checksums of sql migrations. On subsequent runs, the checksum
+     * of a migration is then taken from this cache as long as its size and last modification time (filesystem) or
+     * its size and stored crc (jar) haven't changed, instead of reading the whole migration again.
+     * <p>
+     * The directory of the checksum cache. {@code null} to disable the cache. (default: {@code null})
+     */
+    public String checksumCacheDirectory;
+
+    /**
+     * The number of threads to use for resolving migrations. With more than one thread, the locations are scanned
+     * concurrently and the checksums of all sql migrations are calculated up front in parallel, which mainly pays off
+     * for locations with a high latency per file, such as network filesystems.
+     * <p>
+     * The number of threads to use for resolving migrations. {@code 1} to resolve them on the calling thread. (default: {@code 1})
+     */
+    public Integer resolverThreads;
+
+    /**
+     * The number of threads to use for cleaning. With more than one thread, the schemas are cleaned or dropped
+     * concurrently, each on its own connection, which pays off when cleaning many schemas.
+     * <p>
+     * The number of threads to use for cleaning. {@code 1} to clean the schemas one after the other on a single connection. (default: {@code 1})
+     */
+    public Integer cleanThreads;
+
+    /**
+     * The maximum time in seconds to wait for the lock on the metadata table held by another Flyway instance.
+     * Where the database supports it, the lock is polled for without blocking the connection.
+     * <p>
+     * The timeout in seconds. {@code 0} to wait indefinitely. (default: {@code 0})
+     */
+    public Integer lockTimeout;
+
     public AbstractFlywayTask() {
         super();
         setGroup("Flyway");
@@ -341,6 +394,12 @@ abstract class AbstractFlywayTask extends DefaultTask {
         putIfSet(conf, "sqlMigrationSuffix", sqlMigrationSuffix, extension.sqlMigrationSuffix);
         putIfSet(conf, "allowMixedMigrations", allowMixedMigrations, extension.allowMixedMigrations);
         putIfSet(conf, "installedBy", installedBy, extension.installedBy);
+        putIfSet(conf, "singleLockMigrate", singleLockMigrate, extension.singleLockMigrate);
+        putIfSet(conf, "sqlBatchSize", sqlBatchSize, extension.sqlBatchSize);
+        putIfSet(conf, "checksumCacheDirectory", checksumCacheDirectory, extension.checksumCacheDirectory);
+        putIfSet(conf, "resolverThreads", resolverThreads, extension.resolverThreads);
+        putIfSet(conf, "cleanThreads", cleanThreads, extension.cleanThreads);
+        putIfSet(conf, "lockTimeout", lockTimeout, extension.lockTimeout);
         putIfSet(conf, "encoding", encoding, extension.encoding);
         putIfSet(conf, "placeholderReplacement", placeholderReplacement, extension.placeholderReplacement);
         putIfSet(conf, "placeholderPrefix", placeholderPrefix, extension.placeholderPrefix);
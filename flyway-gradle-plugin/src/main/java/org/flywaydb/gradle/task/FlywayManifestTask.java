@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.gradle.task;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.scanner.classpath.LocationManifest;
+import org.flywaydb.gradle.FlywayExtension;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.plugins.JavaPluginConvention;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetOutput;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Generates a manifest for each classpath location listing the migrations and other resources it contains, so Flyway
+ * can read these manifests at runtime instead of scanning the classpath. The manifests are written to the resources
+ * output directory of the main source set, so they end up in the jar. Make the jar task depend on this task to keep
+ * them up to date.
+ */
+public class FlywayManifestTask extends DefaultTask {
+    /**
+     * The locations on the classpath to generate manifests for. Filesystem locations are ignored.
+     * (default: the classpath locations of the flyway {} block, or db/migration if there are none)
+     */
+    public String[] locations;
+
+    public FlywayManifestTask() {
+        super();
+        setGroup("Flyway");
+        setDescription("Generates manifests of the classpath locations so they don't need to be scanned at runtime.");
+        dependsOn("classes");
+    }
+
+    @TaskAction
+    public void generateManifests() {
+        JavaPluginConvention plugin = getProject().getConvention().getPlugin(JavaPluginConvention.class);
+        SourceSetOutput output = plugin.getSourceSets().getByName(SourceSet.MAIN_SOURCE_SET_NAME).getOutput();
+
+        for (String location : getLocations()) {
+            Location classPathLocation = new Location(location);
+            if (classPathLocation.isFileSystem()) {
+                getLogger().debug("Skipping manifest for filesystem location " + location);
+                continue;
+            }
+
+            try {
+                int count = LocationManifest.write(output.getResourcesDir(), classPathLocation.getPath(),
+                        output.getClassesDir(), output.getResourcesDir());
+                getLogger().info("Generated manifest for location " + classPathLocation + " (" + count + " resources)");
+            } catch (IOException e) {
+                throw new FlywayException("Unable to generate manifest for location " + location, e);
+            }
+        }
+    }
+
+    /**
+     * @return The locations to generate manifests for.
+     */
+    private String[] getLocations() {
+        if (locations != null) {
+            return locations;
+        }
+
+        FlywayExtension extension = (FlywayExtension) getProject().getExtensions().getByName("flyway");
+        if (extension.locations != null) {
+            for (String location : extension.locations) {
+                if (!new Location(location).isFileSystem()) {
+                    return extension.locations;
+                }
+            }
+        }
+
+        return new Flyway().getLocations();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2017 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.internal.util.Location;
+import org.flywaydb.core.internal.util.logging.Log;
+import org.flywaydb.core.internal.util.logging.LogFactory;
+import org.flywaydb.core.internal.util.scanner.classpath.LocationManifest;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * <p>Generates a manifest for each classpath location listing the migrations and other resources it contains. At
+ * runtime Flyway then reads these manifests instead of scanning the directories and jar files of the classpath.</p>
+ * <p>The manifests must be regenerated whenever migrations are added or removed, which is why this goal is bound to
+ * the process-classes phase.</p>
+ *
+ * @goal manifest
+ * @phase process-classes
+ * @threadSafe
+ */
+@SuppressWarnings({"JavaDoc", "FieldCanBeLocal", "UnusedDeclaration"})
+public class ManifestMojo extends AbstractMojo {
+    /**
+     * Whether to skip the execution of the Maven Plugin for this module.<br/>
+     * <p>Also configurable with Maven or System Property: ${flyway.skip}</p>
+     *
+     * @parameter property="flyway.skip"
+     */
+    private boolean skip;
+
+    /**
+     * Locations on the classpath to generate manifests for. Filesystem locations are ignored.
+     * (default: db/migration)
+     * <p>Also configurable with Maven or System Property: ${flyway.locations} (Comma-separated list)</p>
+     *
+     * @parameter property="flyway.locations"
+     */
+    private String[] locations = new Flyway().getLocations();
+
+    /**
+     * The directory containing the compiled classes and processed resources of the project.
+     *
+     * @parameter default-value="${project.build.outputDirectory}"
+     * @required
+     */
+    private File outputDirectory;
+
+    public void execute() throws MojoExecutionException {
+        LogFactory.setLogCreator(new MavenLogCreator(this));
+        Log log = LogFactory.getLog(getClass());
+
+        if (skip) {
+            log.info("Skipping Flyway execution");
+            return;
+        }
+
+        for (String location : locations) {
+            Location classPathLocation = new Location(location);
+            if (classPathLocation.isFileSystem()) {
+                log.debug("Skipping manifest for filesystem location " + location);
+                continue;
+            }
+
+            try {
+                int count = LocationManifest.write(outputDirectory, classPathLocation.getPath(), outputDirectory);
+                log.info("Generated manifest for location " + classPathLocation + " (" + count + " resources)");
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to generate manifest for location " + location, e);
+            }
+        }
+    }
+}
@@ -81,6 +81,12 @@ object FlywayPlugin extends AutoPlugin {
     val flywayValidateOnMigrate = settingKey[Boolean]("Whether to automatically call validate or not when running migrate. (default: true)")
     val flywayAllowMixedMigrations = settingKey[Boolean]("Whether to allow mixing transactional and non-transactional statements within the same migration. (default: false)")
     val flywayInstalledBy = settingKey[String]("The username that will be recorded in the metadata table as having applied the migration. (default: null)")
+    val flywaySingleLockMigrate = settingKey[Boolean]("Whether migrate should compute the pending migrations only once and then apply all of them based on this plan, instead of reacquiring the lock on the metadata table and recomputing the pending migrations after every single migration. (default: false)")
+    val flywaySqlBatchSize = settingKey[Int]("The maximum number of consecutive DML statements of a sql migration to send to the database together as a single JDBC batch. 0 or 1 disables batching. (default: 0)")
+    val flywayChecksumCacheDirectory = settingKey[String]("The directory in which to keep a cache of the checksums of sql migrations. Disabled if not set.")
+    val flywayResolverThreads = settingKey[Int]("The number of threads to use for resolving migrations. (default: 1)")
+    val flywayCleanThreads = settingKey[Int]("The number of threads to use for cleaning. (default: 1)")
+    val flywayLockTimeout = settingKey[Int]("The maximum time in seconds to wait for the lock on the metadata table. (default: 0)")
 
     //*********************
     // flyway tasks
@@ -107,10 +113,10 @@ object FlywayPlugin extends AutoPlugin {
   private case class ConfigBase(schemas: Seq[String], table: String, baselineVersion: String, baselineDescription: String)
   private case class ConfigMigrationLoading(locations: Seq[String], resolvers: Seq[String], skipDefaultResolvers: Boolean, encoding: String,
                                             cleanOnValidationError: Boolean, cleanDisabled: Boolean, target: String, outOfOrder: Boolean,
-                                            callbacks: Seq[String], skipDefaultCallbacks: Boolean)
+                                            callbacks: Seq[String], skipDefaultCallbacks: Boolean, resolverThreads: Int, cleanThreads: Int, lockTimeout: Int)
   private case class ConfigSqlMigration(sqlMigrationPrefix: String, repeatableSqlMigrationPrefix: String, sqlMigrationSeparator: String, sqlMigrationSuffix: String)
   private case class ConfigMigrate(ignoreMissingMigrations: Boolean, ignoreFutureMigrations: Boolean, ignoreFailedFutureMigration: Boolean, placeholderReplacement: Boolean, placeholders: Map[String, String],
-                                   placeholderPrefix: String, placeholderSuffix: String, baselineOnMigrate: Boolean, validateOnMigrate: Boolean, allowMixedMigrations: Boolean, installedBy: String)
+                                   placeholderPrefix: String, placeholderSuffix: String, baselineOnMigrate: Boolean, validateOnMigrate: Boolean, allowMixedMigrations: Boolean, installedBy: String, singleLockMigrate: Boolean, sqlBatchSize: Int, checksumCacheDirectory: String)
   private case class Config(dataSource: ConfigDataSource, base: ConfigBase, migrationLoading: ConfigMigrationLoading, sqlMigration: ConfigSqlMigration, migrate: ConfigMigrate)
 
 
@@ -162,6 +168,12 @@ object FlywayPlugin extends AutoPlugin {
       flywayValidateOnMigrate := defaults.isValidateOnMigrate,
       flywayAllowMixedMigrations := defaults.isAllowMixedMigrations,
       flywayInstalledBy := "",
+      flywaySingleLockMigrate := defaults.isSingleLockMigrate,
+      flywaySqlBatchSize := defaults.getSqlBatchSize,
+      flywayChecksumCacheDirectory := "",
+      flywayResolverThreads := defaults.getResolverThreads,
+      flywayCleanThreads := defaults.getCleanThreads,
+      flywayLockTimeout := defaults.getLockTimeout,
       flywayCleanOnValidationError := defaults.isCleanOnValidationError,
       flywayCleanDisabled := defaults.isCleanDisabled,
       flywayConfigDataSource <<= (flywayDriver, flywayUrl, flywayUser, flywayPassword) map {
@@ -171,17 +183,17 @@ object FlywayPlugin extends AutoPlugin {
         (schemas, table, baselineVersion, baselineDescription) =>
           ConfigBase(schemas, table, baselineVersion, baselineDescription)
       },
-      flywayConfigMigrationLoading <<= (flywayLocations, flywayResolvers, flywaySkipDefaultResolvers, flywayEncoding, flywayCleanOnValidationError, flywayCleanDisabled, flywayTarget, flywayOutOfOrder, flywayCallbacks, flywaySkipDefaultCallbacks) map {
-        (locations, resolvers, skipDefaultResolvers, encoding, cleanOnValidationError, cleanDisabled, target, outOfOrder, callbacks, skipDefaultCallbacks) =>
-          ConfigMigrationLoading(locations, resolvers, skipDefaultResolvers, encoding, cleanOnValidationError, cleanDisabled, target, outOfOrder, callbacks, skipDefaultCallbacks)
+      flywayConfigMigrationLoading <<= (flywayLocations, flywayResolvers, flywaySkipDefaultResolvers, flywayEncoding, flywayCleanOnValidationError, flywayCleanDisabled, flywayTarget, flywayOutOfOrder, flywayCallbacks, flywaySkipDefaultCallbacks, flywayResolverThreads, flywayCleanThreads, flywayLockTimeout) map {
+        (locations, resolvers, skipDefaultResolvers, encoding, cleanOnValidationError, cleanDisabled, target, outOfOrder, callbacks, skipDefaultCallbacks, resolverThreads, cleanThreads, lockTimeout) =>
+          ConfigMigrationLoading(locations, resolvers, skipDefaultResolvers, encoding, cleanOnValidationError, cleanDisabled, target, outOfOrder, callbacks, skipDefaultCallbacks, resolverThreads, cleanThreads, lockTimeout)
       },
       flywayConfigSqlMigration <<= (flywaySqlMigrationPrefix, flywayRepeatableSqlMigrationPrefix, flywaySqlMigrationSeparator, flywaySqlMigrationSuffix) map {
         (sqlMigrationPrefix, repeatableSqlMigrationPrefix, sqlMigrationSeparator, sqlMigrationSuffix) =>
           ConfigSqlMigration(sqlMigrationPrefix, repeatableSqlMigrationPrefix, sqlMigrationSeparator, sqlMigrationSuffix)
       },
-      flywayConfigMigrate <<= (flywayIgnoreMissingMigrations, flywayIgnoreFutureMigrations, flywayIgnoreFailedFutureMigration, flywayPlaceholderReplacement, flywayPlaceholders, flywayPlaceholderPrefix, flywayPlaceholderSuffix, flywayBaselineOnMigrate, flywayValidateOnMigrate, flywayAllowMixedMigrations, flywayInstalledBy) map {
-        (ignoreMissingMigrations, ignoreFutureMigrations, ignoreFailedFutureMigration, placeholderReplacement, placeholders, placeholderPrefix, placeholderSuffix, baselineOnMigrate, validateOnMigrate, allowMixedMigrations, installedBy) =>
-          ConfigMigrate(ignoreMissingMigrations, ignoreFutureMigrations, ignoreFailedFutureMigration, placeholderReplacement, placeholders, placeholderPrefix, placeholderSuffix, baselineOnMigrate, validateOnMigrate, allowMixedMigrations, installedBy)
+      flywayConfigMigrate <<= (flywayIgnoreMissingMigrations, flywayIgnoreFutureMigrations, flywayIgnoreFailedFutureMigration, flywayPlaceholderReplacement, flywayPlaceholders, flywayPlaceholderPrefix, flywayPlaceholderSuffix, flywayBaselineOnMigrate, flywayValidateOnMigrate, flywayAllowMixedMigrations, flywayInstalledBy, flywaySingleLockMigrate, flywaySqlBatchSize, flywayChecksumCacheDirectory) map {
+        (ignoreMissingMigrations, ignoreFutureMigrations, ignoreFailedFutureMigration, placeholderReplacement, placeholders, placeholderPrefix, placeholderSuffix, baselineOnMigrate, validateOnMigrate, allowMixedMigrations, installedBy, singleLockMigrate, sqlBatchSize, checksumCacheDirectory) =>
+          ConfigMigrate(ignoreMissingMigrations, ignoreFutureMigrations, ignoreFailedFutureMigration, placeholderReplacement, placeholders, placeholderPrefix, placeholderSuffix, baselineOnMigrate, validateOnMigrate, allowMixedMigrations, installedBy, singleLockMigrate, sqlBatchSize, checksumCacheDirectory)
       },
       flywayConfig <<= (flywayConfigDataSource, flywayConfigBase, flywayConfigMigrationLoading, flywayConfigSqlMigration, flywayConfigMigrate) map {
         (dataSource, base, migrationLoading, sqlMigration, migrate) => Config(dataSource, base, migrationLoading, sqlMigration, migrate)
@@ -278,6 +290,9 @@ object FlywayPlugin extends AutoPlugin {
       flyway.setResolversAsClassNames(config.resolvers: _*)
       flyway.setSkipDefaultResolvers(config.skipDefaultResolvers)
       flyway.setSkipDefaultCallbacks(config.skipDefaultCallbacks)
+      flyway.setResolverThreads(config.resolverThreads)
+      flyway.setCleanThreads(config.cleanThreads)
+      flyway.setLockTimeout(config.lockTimeout)
       flyway
     }
     def configure(config: ConfigSqlMigration): Flyway = {
@@ -300,6 +315,9 @@ object FlywayPlugin extends AutoPlugin {
       flyway.setValidateOnMigrate(config.validateOnMigrate)
       flyway.setAllowMixedMigrations(config.allowMixedMigrations)
       flyway.setInstalledBy(config.installedBy)
+      flyway.setSingleLockMigrate(config.singleLockMigrate)
+      flyway.setSqlBatchSize(config.sqlBatchSize)
+      flyway.setChecksumCacheDirectory(config.checksumCacheDirectory)
       flyway
     }
     def configureSysProps(config: ConfigDataSource): Flyway = {